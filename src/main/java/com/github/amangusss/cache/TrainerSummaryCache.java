@@ -0,0 +1,90 @@
+package com.github.amangusss.cache;
+
+import com.github.amangusss.dto.generated.TrainerSummaryResponse;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of rendered {@link TrainerSummaryResponse}s for the summary endpoint, each kept
+ * with the document revision it was rendered from.
+ * <p>
+ * Writers invalidate the trainer's entry after every change. Loads go through Caffeine's atomic
+ * {@code get}, and an invalidation of a key that is being loaded waits for the load to finish, so a
+ * summary read before a write can never be cached after that write's invalidation. The TTL bounds
+ * staleness for changes made by other instances, which this cache cannot observe.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrainerSummaryCache {
+
+    static String CACHE_NAME = "trainerSummaries";
+
+    public record Entry(TrainerSummaryResponse summary, String revision) {}
+
+    boolean enabled;
+    Cache<String, Entry> cache;
+
+    public TrainerSummaryCache(MeterRegistry registry,
+                               @Value("${app.workload.summary-cache.enabled}") boolean enabled,
+                               @Value("${app.workload.summary-cache.max-size}") long maxSize,
+                               @Value("${app.workload.summary-cache.expire-after-write-seconds}") long expireAfterWriteSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached summary, or loads and caches it. Exceptions thrown by {@code loader}
+     * propagate and nothing is cached.
+     */
+    public Entry get(String username, Supplier<Entry> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return cache.get(username, key -> loader.get());
+    }
+
+    /**
+     * Returns the cached entry without loading it.
+     */
+    public Optional<Entry> peek(String username) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(username));
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void evictAll(Collection<String> usernames) {
+        cache.invalidateAll(usernames);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.amangusss.cache;
+
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.YearSummary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-instance cache of hot {@link TrainerWorkload} documents for the read-modify-write DELETE path.
+ * <p>
+ * It is only effective when each trainer's events are consumed by a single instance, which is what
+ * JMS message groups keyed on the username give us. No cross-node invalidation is done: a stale entry
+ * is caught by the {@code version} check on save, and callers evict and reload on conflict. Entries are
+ * copied on the way in and out, so a failed save never leaves a half-modified document behind.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrainerWorkloadCache {
+
+    static String CACHE_NAME = "trainerWorkloads";
+
+    boolean enabled;
+    Cache<String, TrainerWorkload> cache;
+
+    public TrainerWorkloadCache(MeterRegistry registry,
+                                @Value("${app.workload.cache.enabled}") boolean enabled,
+                                @Value("${app.workload.cache.max-size}") long maxSize,
+                                @Value("${app.workload.cache.expire-after-access-minutes}") long expireAfterAccessMinutes) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    public Optional<TrainerWorkload> get(String username) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(username)).map(TrainerWorkloadCache::copyOf);
+    }
+
+    public void put(TrainerWorkload workload) {
+        if (enabled && workload != null) {
+            cache.put(workload.getUsername(), copyOf(workload));
+        }
+    }
+
+    /**
+     * Replaces the cached document of {@code username}, if there is one, with what {@code patch}
+     * makes of a copy of it; returning {@code null} drops the entry. Not counted as a lookup.
+     */
+    public void patch(String username, UnaryOperator<TrainerWorkload> patch) {
+        if (enabled) {
+            cache.asMap().computeIfPresent(username, (key, cached) -> patch.apply(copyOf(cached)));
+        }
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void evictAll(Collection<String> usernames) {
+        cache.invalidateAll(usernames);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static TrainerWorkload copyOf(TrainerWorkload workload) {
+        TreeMap<Integer, YearSummary> years = new TreeMap<>();
+        workload.getYears().forEach((year, summary) -> {
+            TreeMap<Integer, MonthSummary> months = new TreeMap<>();
+            summary.getMonths().forEach((month, monthSummary) ->
+                    months.put(month, MonthSummary.builder().totalHours(monthSummary.getTotalHours()).build()));
+            years.put(year, YearSummary.builder().months(months).build());
+        });
+        return TrainerWorkload.builder()
+                .id(workload.getId())
+                .version(workload.getVersion())
+                .username(workload.getUsername())
+                .firstName(workload.getFirstName())
+                .lastName(workload.getLastName())
+                .status(workload.getStatus())
+                .years(years)
+                .build();
+    }
+}
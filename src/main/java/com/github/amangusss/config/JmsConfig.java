@@ -2,15 +2,25 @@ package com.github.amangusss.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.jms.listener.PartitionedWorkloadDispatcher;
+import jakarta.jms.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.ActiveMQSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQConnectionFactoryCustomizer;
+import org.springframework.boot.jms.ConnectionFactoryUnwrapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jms.annotation.EnableJms;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
 import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
 import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.jms.support.converter.MessageType;
 
 import java.util.Map;
 
+@Slf4j
 @Configuration
 @EnableJms
 public class JmsConfig {
@@ -30,4 +40,81 @@ public class JmsConfig {
 
         return converter;
     }
+
+    /**
+     * Queue prefetch is how many messages the broker pushes to a consumer before it acks.
+     * A large prefetch lets the first consumer grab the whole backlog and starves the
+     * others, so it is kept small enough for the listener concurrency to spread load.
+     * <p>
+     * The partitioned dispatcher acknowledges each message only once its lane applied it, so the
+     * prefetch caps the events in flight across all lanes. It is raised to
+     * {@link PartitionedWorkloadDispatcher#inFlightLimit} there; a smaller one would let a single
+     * slow lane hold every slot and stall the others.
+     */
+    @Bean
+    public ActiveMQConnectionFactoryCustomizer workloadPrefetchCustomizer(
+            @Value("${app.jms.listener.prefetch}") int prefetch,
+            @Value("${app.jms.dispatcher.enabled}") boolean dispatcherEnabled,
+            @Value("${app.jms.dispatcher.lanes}") int lanes,
+            @Value("${app.jms.dispatcher.lane-capacity}") int laneCapacity) {
+        int queuePrefetch = dispatcherEnabled
+                ? Math.max(prefetch, PartitionedWorkloadDispatcher.inFlightLimit(lanes, laneCapacity))
+                : prefetch;
+        if (queuePrefetch != prefetch) {
+            log.info("Raised queue prefetch from {} to {} for {} dispatcher lanes of capacity {}",
+                    prefetch, queuePrefetch, lanes, laneCapacity);
+        }
+        return connectionFactory -> connectionFactory.getPrefetchPolicy().setQueuePrefetch(queuePrefetch);
+    }
+
+    /**
+     * Container factory for {@code @JmsListener} endpoints. Boot's defaults are applied first and
+     * then overridden from {@code app.jms.listener.*}. The listener runs on the raw connection
+     * factory because the container caches its own sessions and consumers. The
+     * {@code CachingConnectionFactory} is left to the DLQ publisher and {@code JmsTemplate} sends.
+     * <p>
+     * Concurrency defaults to a single consumer. Raising it is only safe when producers set
+     * {@code JMSXGroupID} to the trainer username, so the broker pins each trainer to one consumer;
+     * without the group an ADD and a later DELETE of the same trainer can be applied out of order.
+     * With the partitioned dispatcher enabled a single consumer is forced, so events reach the
+     * per-trainer lanes in the order the broker delivers them, and the session is switched to
+     * ActiveMQ's individual acknowledgement: the listener returns as soon as an event is queued,
+     * and each message is acknowledged from its lane once the event was applied.
+     * <p>
+     * No acknowledgement mode is configurable: a transacted session commits each message when the
+     * listener returns and ignores the mode, and the dispatcher always overrides both settings with
+     * a non-transacted session in individual acknowledgement. {@code session-transacted: false}
+     * without the dispatcher falls back to the container's auto acknowledgement.
+     * <p>
+     * Boot only moves Tomcat to virtual threads, so the consumer threads are set here from
+     * {@link WorkloadThreads}.
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory jmsListenerContainerFactory(
+            DefaultJmsListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.jms.listener.concurrency}") String concurrency,
+            @Value("${app.jms.listener.session-transacted}") boolean sessionTransacted,
+            @Value("${app.jms.listener.cache-level}") String cacheLevel,
+            @Value("${app.jms.listener.receive-timeout-ms}") long receiveTimeoutMs,
+            @Value("${app.jms.dispatcher.enabled}") boolean dispatcherEnabled,
+            WorkloadThreads threads) {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        configurer.configure(factory, ConnectionFactoryUnwrapper.unwrapCaching(connectionFactory));
+
+        factory.setConcurrency(dispatcherEnabled ? "1" : concurrency);
+        if (dispatcherEnabled) {
+            factory.setSessionTransacted(false);
+            factory.setSessionAcknowledgeMode(ActiveMQSession.INDIVIDUAL_ACKNOWLEDGE);
+        } else {
+            factory.setSessionTransacted(sessionTransacted);
+        }
+        factory.setCacheLevelName(cacheLevel);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        if (threads.isVirtual()) {
+            factory.setTaskExecutor(threads.taskExecutor("workload-jms-"));
+        }
+
+        return factory;
+    }
 }
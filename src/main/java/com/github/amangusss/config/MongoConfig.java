@@ -1,14 +1,17 @@
 package com.github.amangusss.config;
 
 import com.github.amangusss.converter.impl.YearMonthConverter;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 import java.time.YearMonth;
 import java.util.Arrays;
 
 @Configuration
+@EnableMongoRepositories(basePackageClasses = TrainerWorkloadRepository.class)
 public class MongoConfig {
 
     @Bean
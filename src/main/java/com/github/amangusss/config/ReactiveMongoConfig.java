@@ -0,0 +1,25 @@
+package com.github.amangusss.config;
+
+import com.github.amangusss.repository.ReactiveTrainerWorkloadRepository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive MongoDB client, template and repositories behind the reactive summary reads. Their
+ * auto-configuration is excluded on the application class and imported here directly, so the
+ * second driver and its connection pool exist only with {@code app.workload.reactive-reads.enabled}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.workload.reactive-reads.enabled", havingValue = "true")
+@Import({
+        MongoReactiveAutoConfiguration.class,
+        MongoReactiveDataAutoConfiguration.class
+})
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveTrainerWorkloadRepository.class)
+public class ReactiveMongoConfig {
+}
@@ -8,6 +8,7 @@ import lombok.experimental.FieldDefaults;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -21,6 +22,12 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class SecurityConfig {
 
+    /**
+     * Role, from the token's {@value com.github.amangusss.jwt.JwtUtils#ROLES_CLAIM} claim, required
+     * for maintenance endpoints that rewrite stored data.
+     */
+    public static final String ADMIN_ROLE = "ADMIN";
+
     JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
@@ -30,6 +37,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/workload/events/snapshots",
+                                "/api/v1/workload/events/replay", "/api/v1/reports/rollups/rebuild").hasRole(ADMIN_ROLE)
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
@@ -0,0 +1,56 @@
+package com.github.amangusss.config;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories for the service's own executors. With {@code spring.threads.virtual.enabled}
+ * on a Java 21+ runtime they create virtual threads, the same switch Boot uses for Tomcat;
+ * otherwise they create named platform threads as before. Pool sizes stay as configured, so
+ * virtual threads only change what a blocked Mongo or broker call costs, not how many calls run.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadThreads {
+
+    boolean virtual;
+
+    public WorkloadThreads(@Value("${spring.threads.virtual.enabled:false}") boolean enabled) {
+        boolean supported = JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+        if (enabled && !supported) {
+            log.warn("Virtual threads need Java 21+, running {} on platform threads", JavaVersion.getJavaVersion());
+        }
+        this.virtual = enabled && supported;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory threadFactory(String namePrefix) {
+        return virtual
+                ? new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory()
+                : new CustomizableThreadFactory(namePrefix);
+    }
+
+    /**
+     * Unbounded executor starting one thread per task, for long-running loops such as message
+     * listener consumers.
+     */
+    public SimpleAsyncTaskExecutor taskExecutor(String namePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(namePrefix);
+        executor.setVirtualThreads(virtual);
+        return executor;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.amangusss.controller;
+
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.dto.generated.TrainerSummaryResponse;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.ReactiveTrainerSummaryService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Non-blocking variant of {@code GET /api/v1/workload/{username}} for high-volume dashboard polling,
+ * enabled with {@code app.workload.reactive-reads.enabled}. The handler returns a {@link Mono}, so
+ * Spring MVC releases the request thread while the reactive driver reads the document and writes
+ * the response once it arrives; JWT authentication, the transaction id and error responses work as
+ * on the blocking endpoint.
+ * <p>
+ * Cached summaries and ETags are shared with the blocking endpoint. Summaries read here are not
+ * added to the cache: its loads are synchronous, which is what keeps a load from caching a summary
+ * after a concurrent write invalidated it.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/workload/reactive")
+@ConditionalOnProperty(name = "app.workload.reactive-reads.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReactiveTrainerSummaryController {
+
+    ReactiveTrainerSummaryService service;
+    GeneratedDtoMapper generatedDtoMapper;
+    TrainerSummaryCache summaryCache;
+
+    @GetMapping("/{username}")
+    public Mono<ResponseEntity<TrainerSummaryResponse>> getTrainerSummary(
+            @PathVariable String username,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] GET /api/v1/workload/reactive/{} | Request: username={}", transactionIdToUse, username, username);
+
+        Optional<TrainerSummaryCache.Entry> cached = summaryCache.peek(username);
+        Mono<ResponseEntity<TrainerSummaryResponse>> summary = cached.map(Mono::just)
+                .orElseGet(() -> Mono.defer(() -> service.getTrainerSummary(username, transactionIdToUse))
+                        .map(internalSummary -> new TrainerSummaryCache.Entry(
+                                generatedDtoMapper.toGeneratedSummary(internalSummary), internalSummary.revision())))
+                .map(entry -> {
+                    log.info("[{}] GET /api/v1/workload/reactive/{} | Response: Summary retrieved for username={}",
+                            transactionIdToUse, username, username);
+                    return ResponseEntity.ok()
+                            .eTag(SummaryETags.of(entry.revision(), Optional.empty()))
+                            .body(entry.summary());
+                });
+
+        if (ifNoneMatch == null) {
+            return summary;
+        }
+
+        return cached.map(entry -> Mono.just(entry.revision()))
+                .orElseGet(() -> service.getTrainerRevision(username, transactionIdToUse))
+                .map(revision -> SummaryETags.of(revision, Optional.empty()))
+                .filter(eTag -> SummaryETags.matchesAny(ifNoneMatch, eTag))
+                .map(eTag -> {
+                    log.info("[{}] GET /api/v1/workload/reactive/{} | Response: 304 Not Modified", transactionIdToUse, username);
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<TrainerSummaryResponse>build();
+                })
+                .switchIfEmpty(summary);
+    }
+
+    private String resolveTransactionId(String transactionId) {
+        return transactionId != null ? transactionId : UUID.randomUUID().toString();
+    }
+}
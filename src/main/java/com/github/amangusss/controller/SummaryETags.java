@@ -0,0 +1,30 @@
+package com.github.amangusss.controller;
+
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * ETags of summary responses: the document revision, followed by the range when only part of the
+ * history was served.
+ */
+final class SummaryETags {
+
+    private SummaryETags() {
+    }
+
+    static String of(String revision, Optional<SummaryRange> range) {
+        return "\"" + revision + range.map(within -> ";" + within.tag()).orElse("") + "\"";
+    }
+
+    /**
+     * Weak comparison, as required for {@code If-None-Match}.
+     */
+    static boolean matchesAny(String ifNoneMatch, String eTag) {
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+}
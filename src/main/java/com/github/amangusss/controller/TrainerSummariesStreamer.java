@@ -0,0 +1,120 @@
+package com.github.amangusss.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.dto.generated.TrainerSummaryResponse;
+import com.github.amangusss.dto.generated.TrainerSummaryResult;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.TrainerWorkloadService;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Writes the summaries of many trainers as a JSON array, one element at a time. Summaries found in
+ * {@link TrainerSummaryCache} are written first; the remaining usernames are resolved with a single
+ * {@code $in} query and each document is mapped and written as the cursor returns it. Usernames
+ * without a workload are written last, with {@code found = false}.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrainerSummariesStreamer {
+
+    TrainerWorkloadService service;
+    GeneratedDtoMapper generatedDtoMapper;
+    TrainerSummaryCache summaryCache;
+    ObjectMapper objectMapper;
+    int maxUsernames;
+
+    public TrainerSummariesStreamer(TrainerWorkloadService service,
+                                    GeneratedDtoMapper generatedDtoMapper,
+                                    TrainerSummaryCache summaryCache,
+                                    ObjectMapper objectMapper,
+                                    @Value("${app.workload.summaries.max-usernames}") int maxUsernames) {
+        this.service = service;
+        this.generatedDtoMapper = generatedDtoMapper;
+        this.summaryCache = summaryCache;
+        this.objectMapper = objectMapper;
+        this.maxUsernames = maxUsernames;
+    }
+
+    /**
+     * Checks the request eagerly, so errors are reported before the response is committed.
+     *
+     * @throws IllegalArgumentException if there are no usernames or more than the configured maximum
+     */
+    public StreamingResponseBody stream(List<String> usernames, String transactionId) {
+        Set<String> requested = new LinkedHashSet<>();
+        usernames.stream().filter(Objects::nonNull).map(String::trim).filter(name -> !name.isEmpty()).forEach(requested::add);
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("At least one username is required");
+        }
+        if (requested.size() > maxUsernames) {
+            throw new IllegalArgumentException(
+                    "Request contains " + requested.size() + " usernames, at most " + maxUsernames + " are allowed");
+        }
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                write(requested, transactionId, generator);
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    private void write(Set<String> requested, String transactionId, JsonGenerator generator) throws IOException {
+        Set<String> misses = new LinkedHashSet<>();
+        int cached = 0;
+        for (String username : requested) {
+            Optional<TrainerSummaryCache.Entry> entry = summaryCache.peek(username);
+            if (entry.isPresent()) {
+                writeFound(generator, username, entry.get().summary());
+                cached++;
+            } else {
+                misses.add(username);
+            }
+        }
+
+        int loaded = 0;
+        if (!misses.isEmpty()) {
+            try (Stream<TrainerWorkloadDTO.Response.Summary> summaries = service.streamTrainerSummaries(List.copyOf(misses), transactionId)) {
+                Iterator<TrainerWorkloadDTO.Response.Summary> iterator = summaries.iterator();
+                while (iterator.hasNext()) {
+                    TrainerWorkloadDTO.Response.Summary summary = iterator.next();
+                    writeFound(generator, summary.username(), generatedDtoMapper.toGeneratedSummary(summary));
+                    misses.remove(summary.username());
+                    loaded++;
+                }
+            }
+        }
+
+        for (String username : misses) {
+            generator.writeObject(new TrainerSummaryResult().username(username).found(false));
+        }
+
+        log.info("[{}][Operation] Streamed summaries: {} from cache, {} loaded, {} not found",
+                transactionId, cached, loaded, misses.size());
+    }
+
+    private void writeFound(JsonGenerator generator, String username, TrainerSummaryResponse summary) throws IOException {
+        generator.writeObject(new TrainerSummaryResult().username(username).found(true).summary(summary));
+    }
+}
@@ -1,10 +1,19 @@
 package com.github.amangusss.controller;
 
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.dto.generated.BulkIngestionResponse;
+import com.github.amangusss.dto.generated.ImportResponse;
+import com.github.amangusss.dto.generated.TrainerSummariesRequest;
 import com.github.amangusss.dto.generated.TrainerSummaryResponse;
 import com.github.amangusss.dto.generated.TrainingEventRequest;
+import com.github.amangusss.dto.generated.WorkloadAcceptedResponse;
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.jms.publisher.WorkloadEventPublisher;
 import com.github.amangusss.mapper.GeneratedDtoMapper;
 import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.batch.BulkWorkloadIngestor;
+import com.github.amangusss.service.batch.NdjsonWorkloadImporter;
 
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
@@ -12,6 +21,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,8 +31,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -30,41 +48,158 @@ import java.util.UUID;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class TrainerWorkloadController {
 
+    static String TRANSACTION_ID_HEADER = "X-Transaction-Id";
+
     TrainerWorkloadService service;
     GeneratedDtoMapper generatedDtoMapper;
-
+    TrainerSummaryCache summaryCache;
+    BulkWorkloadIngestor bulkIngestor;
+    NdjsonWorkloadImporter ndjsonImporter;
+    TrainerSummariesStreamer summariesStreamer;
+    WorkloadEventPublisher eventPublisher;
+
+    /**
+     * Applies the event before responding, or with async ingestion enabled queues it for the
+     * workload listener and answers {@code 202} with the transaction id it was queued under; the
+     * listener applies a queued event once per {@code Idempotency-Key}.
+     */
     @PostMapping
-    public ResponseEntity<Void> processTraining(
+    public ResponseEntity<WorkloadAcceptedResponse> processTraining(
             @Valid @RequestBody TrainingEventRequest request,
-            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         String transactionIdToUse = resolveTransactionId(transactionId);
 
         log.info("[{}] POST /api/v1/workload | Request: username={}, action={}",
                 transactionIdToUse, request.getUsername(), request.getActionType());
 
         TrainerWorkloadDTO.Request.Create internalDto = generatedDtoMapper.toInternalCreate(request);
-        service.obtainWorkload(internalDto, transactionIdToUse);
+        if (eventPublisher.isEnabled()) {
+            eventPublisher.publish(internalDto, transactionIdToUse, idempotencyKey);
+
+            log.info("[{}] POST /api/v1/workload | Response: 202 Accepted", transactionIdToUse);
+
+            return ResponseEntity.accepted()
+                    .header(TRANSACTION_ID_HEADER, transactionIdToUse)
+                    .body(new WorkloadAcceptedResponse().transactionId(transactionIdToUse));
+        }
+
+        service.obtainWorkload(internalDto, null, transactionIdToUse);
 
         log.info("[{}] POST /api/v1/workload | Response: 200 OK", transactionIdToUse);
 
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkIngestionResponse> processTrainingEvents(
+            @RequestBody List<TrainingEventRequest> requests,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] POST /api/v1/workload/batch | Request: {} events", transactionIdToUse, requests.size());
+
+        BulkIngestionResponse response = bulkIngestor.ingest(requests, idempotencyKey, transactionIdToUse);
+
+        log.info("[{}] POST /api/v1/workload/batch | Response: 200 OK, applied={}, rejected={}, notFound={}, duplicates={}",
+                transactionIdToUse, response.getApplied(), response.getRejected(), response.getNotFound(),
+                response.getDuplicates());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResponse> importTrainingEvents(
+            InputStream body,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) throws IOException {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] POST /api/v1/workload/import | Request: NDJSON stream", transactionIdToUse);
+
+        ImportResponse response = ndjsonImporter.importEvents(body, transactionIdToUse);
+
+        log.info("[{}] POST /api/v1/workload/import | Response: 200 OK, applied={}, rejected={}",
+                transactionIdToUse, response.getApplied(), response.getRejected());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/summaries", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getTrainerSummaries(
+            @Valid @RequestBody TrainerSummariesRequest request,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] POST /api/v1/workload/summaries | Request: {} usernames",
+                transactionIdToUse, request.getUsernames().size());
+
+        StreamingResponseBody body = summariesStreamer.stream(request.getUsernames(), transactionIdToUse);
+
+        log.info("[{}] POST /api/v1/workload/summaries | Response: 200 OK, streaming", transactionIdToUse);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Without a range the whole history is served through the summary cache. With {@code year}
+     * (and optionally {@code fromMonth}/{@code toMonth}) only that part is projected from MongoDB
+     * and the response is not cached; its ETag carries the range next to the revision, which is
+     * always read from MongoDB.
+     */
     @GetMapping("/{username}")
     public ResponseEntity<TrainerSummaryResponse> getTrainerSummary(
             @PathVariable String username,
-            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer fromMonth,
+            @RequestParam(required = false) Integer toMonth,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         String transactionIdToUse = resolveTransactionId(transactionId);
+        Optional<SummaryRange> range = SummaryRange.of(year, fromMonth, toMonth);
 
-        log.info("[{}] GET /api/v1/workload/{} | Request: username={}", transactionIdToUse, username, username);
+        log.info("[{}] GET /api/v1/workload/{} | Request: username={}, range={}", transactionIdToUse, username, username,
+                range.map(SummaryRange::tag).orElse("all"));
 
-        TrainerWorkloadDTO.Response.Summary internalSummary = service.getTrainerSummary(username, transactionIdToUse);
-        TrainerSummaryResponse response = generatedDtoMapper.toGeneratedSummary(internalSummary);
+        if (ifNoneMatch != null) {
+            Optional<String> currentETag = currentRevision(username, range, transactionIdToUse)
+                    .map(revision -> SummaryETags.of(revision, range));
+            if (currentETag.filter(eTag -> SummaryETags.matchesAny(ifNoneMatch, eTag)).isPresent()) {
+                log.info("[{}] GET /api/v1/workload/{} | Response: 304 Not Modified", transactionIdToUse, username);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag.get()).build();
+            }
+        }
+
+        TrainerSummaryCache.Entry entry = range
+                .map(within -> toEntry(service.getTrainerSummary(username, within, transactionIdToUse)))
+                .orElseGet(() -> summaryCache.get(username,
+                        () -> toEntry(service.getTrainerSummary(username, transactionIdToUse))));
 
         log.info("[{}] GET /api/v1/workload/{} | Response: Summary retrieved for username={}",
                 transactionIdToUse, username, username);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(SummaryETags.of(entry.revision(), range))
+                .body(entry.summary());
+    }
+
+    /**
+     * A ranged response is projected from MongoDB, so its revision is read from MongoDB as well:
+     * the summary cache may still hold an older revision and would confirm a range that changed.
+     */
+    private Optional<String> currentRevision(String username, Optional<SummaryRange> range, String transactionId) {
+        if (range.isPresent()) {
+            return service.getTrainerRevision(username, transactionId);
+        }
+        return summaryCache.peek(username)
+                .map(TrainerSummaryCache.Entry::revision)
+                .or(() -> service.getTrainerRevision(username, transactionId));
+    }
+
+    private TrainerSummaryCache.Entry toEntry(TrainerWorkloadDTO.Response.Summary internalSummary) {
+        return new TrainerSummaryCache.Entry(generatedDtoMapper.toGeneratedSummary(internalSummary), internalSummary.revision());
     }
 
     private String resolveTransactionId(String transactionId) {
@@ -0,0 +1,66 @@
+package com.github.amangusss.controller;
+
+import com.github.amangusss.dto.generated.WorkloadReplayResponse;
+import com.github.amangusss.dto.generated.WorkloadSnapshotResponse;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.eventlog.WorkloadEventReplayer;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/workload/events")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadEventLogController {
+
+    WorkloadEventLog eventLog;
+    WorkloadEventReplayer replayer;
+    GeneratedDtoMapper generatedDtoMapper;
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<WorkloadSnapshotResponse> takeSnapshots(
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] POST /api/v1/workload/events/snapshots | Request: snapshot every trainer", transactionIdToUse);
+
+        WorkloadSnapshotResponse response = generatedDtoMapper.toGeneratedSnapshot(eventLog.snapshot(transactionIdToUse));
+
+        log.info("[{}] POST /api/v1/workload/events/snapshots | Response: 200 OK, {} trainers",
+                transactionIdToUse, response.getTrainers());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<WorkloadReplayResponse> replay(
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] POST /api/v1/workload/events/replay | Request: replay the workload log", transactionIdToUse);
+
+        WorkloadReplayResponse response = generatedDtoMapper.toGeneratedReplay(replayer.replay(transactionIdToUse));
+
+        log.info("[{}] POST /api/v1/workload/events/replay | Response: 200 OK, {} trainers from {} events",
+                transactionIdToUse, response.getTrainers(), response.getEvents());
+
+        return ResponseEntity.ok(response);
+    }
+
+    private String resolveTransactionId(String transactionId) {
+        return transactionId != null ? transactionId : UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.amangusss.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.amangusss.dto.generated.MonthlyTotalsReport;
+import com.github.amangusss.dto.generated.RollupRebuildResponse;
+import com.github.amangusss.dto.generated.TrainerTotalsPage;
+import com.github.amangusss.dto.generated.TrainerWorkloadTotal;
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.WorkloadReportService;
+import com.github.amangusss.service.rollup.WorkloadRollupRebuilder;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Cross-trainer workload reports. All totals are computed by MongoDB; the export streams its
+ * cursor to the client one NDJSON line per trainer instead of collecting the result first.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/reports")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadReportController {
+
+    WorkloadReportService reportService;
+    WorkloadRollupRebuilder rollupRebuilder;
+    GeneratedDtoMapper generatedDtoMapper;
+    ObjectWriter totalWriter;
+
+    public WorkloadReportController(WorkloadReportService reportService,
+                                    WorkloadRollupRebuilder rollupRebuilder,
+                                    GeneratedDtoMapper generatedDtoMapper,
+                                    ObjectMapper objectMapper) {
+        this.reportService = reportService;
+        this.rollupRebuilder = rollupRebuilder;
+        this.generatedDtoMapper = generatedDtoMapper;
+        this.totalWriter = objectMapper.writerFor(TrainerWorkloadTotal.class);
+    }
+
+    @GetMapping("/monthly-totals")
+    public ResponseEntity<MonthlyTotalsReport> getMonthlyTotals(
+            @RequestParam int year,
+            @RequestParam(required = false) TrainerStatus status,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] GET /api/v1/reports/monthly-totals | Request: year={}, status={}", transactionIdToUse, year, status);
+
+        MonthlyTotalsReport report = generatedDtoMapper.toGeneratedMonthlyTotals(year,
+                reportService.getMonthlyTotals(year, status, transactionIdToUse));
+
+        log.info("[{}] GET /api/v1/reports/monthly-totals | Response: 200 OK, {} months",
+                transactionIdToUse, report.getMonths().size());
+
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/monthly-hours")
+    public ResponseEntity<MonthlyTotalsReport> getMonthlyHours(
+            @RequestParam int year,
+            @RequestParam(required = false) TrainerStatus status,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] GET /api/v1/reports/monthly-hours | Request: year={}, status={}", transactionIdToUse, year, status);
+
+        MonthlyTotalsReport report = generatedDtoMapper.toGeneratedMonthlyHours(year,
+                reportService.getMonthlyHours(year, status, transactionIdToUse));
+
+        log.info("[{}] GET /api/v1/reports/monthly-hours | Response: 200 OK, {} months",
+                transactionIdToUse, report.getMonths().size());
+
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildResponse> rebuildRollups(
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] POST /api/v1/reports/rollups/rebuild | Request: rebuild monthly rollups", transactionIdToUse);
+
+        RollupRebuildResponse response = generatedDtoMapper.toGeneratedRollupRebuild(rollupRebuilder.rebuild(transactionIdToUse));
+
+        log.info("[{}] POST /api/v1/reports/rollups/rebuild | Response: 200 OK, {} rollups",
+                transactionIdToUse, response.getRollups());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/trainer-totals")
+    public ResponseEntity<TrainerTotalsPage> getTrainerTotals(
+            @RequestParam int year,
+            @RequestParam(required = false) TrainerStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] GET /api/v1/reports/trainer-totals | Request: year={}, status={}, page={}, size={}",
+                transactionIdToUse, year, status, page, size);
+
+        TrainerTotalsPage response = generatedDtoMapper.toGeneratedTrainerTotals(year,
+                reportService.getTrainerTotals(year, status, page, size, transactionIdToUse));
+
+        log.info("[{}] GET /api/v1/reports/trainer-totals | Response: 200 OK, {} trainers",
+                transactionIdToUse, response.getItems().size());
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/trainer-totals/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTrainerTotals(
+            @RequestParam int year,
+            @RequestParam(required = false) TrainerStatus status,
+            @RequestHeader(value = "X-Transaction-Id", required = false) String transactionId) {
+        String transactionIdToUse = resolveTransactionId(transactionId);
+
+        log.info("[{}] GET /api/v1/reports/trainer-totals/export | Request: year={}, status={}", transactionIdToUse, year, status);
+
+        StreamingResponseBody body = out -> {
+            long written = 0;
+            try (Stream<WorkloadReportDTO.TrainerTotal> totals = reportService.streamTrainerTotals(year, status, transactionIdToUse)) {
+                Iterator<WorkloadReportDTO.TrainerTotal> iterator = totals.iterator();
+                while (iterator.hasNext()) {
+                    out.write(totalWriter.writeValueAsBytes(generatedDtoMapper.toGeneratedTrainerTotal(iterator.next())));
+                    out.write('\n');
+                    written++;
+                }
+            }
+            log.info("[{}] GET /api/v1/reports/trainer-totals/export | Streamed {} trainers", transactionIdToUse, written);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private String resolveTransactionId(String transactionId) {
+        return transactionId != null ? transactionId : UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.amangusss.dto.eventlog;
+
+public class WorkloadEventLogDTO {
+
+    private WorkloadEventLogDTO() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param partitions username partitions replayed in parallel
+     * @param trainers   trainers whose history was rebuilt
+     * @param refused    logged trainers with a gap in their log since their latest snapshot, left as they are
+     * @param skipped    trainers written while they were replayed, left as they are
+     * @param events     log entries folded, from each trainer's latest snapshot on
+     */
+    public record Replay(
+            int partitions,
+            long trainers,
+            long refused,
+            long skipped,
+            long events,
+            long durationMs
+    ) {}
+
+    /**
+     * @param trainers snapshot entries appended, one per trainer
+     */
+    public record Snapshot(
+            long trainers,
+            long durationMs
+    ) {}
+}
@@ -0,0 +1,58 @@
+package com.github.amangusss.dto.report;
+
+import com.github.amangusss.entity.TrainerStatus;
+
+import java.util.List;
+
+public class WorkloadReportDTO {
+
+    private WorkloadReportDTO() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param month    month number (1-12)
+     * @param trainers number of trainers with hours in that month
+     */
+    public record MonthlyTotal(
+            int month,
+            double totalHours,
+            int trainers
+    ) {}
+
+    /**
+     * @param month month number (1-12)
+     */
+    public record MonthlyHours(
+            int month,
+            double totalHours
+    ) {}
+
+    public record TrainerTotal(
+            String username,
+            String firstName,
+            String lastName,
+            TrainerStatus status,
+            double totalHours
+    ) {}
+
+    /**
+     * @param hasMore whether a next page exists
+     */
+    public record TrainerTotalsPage(
+            List<TrainerTotal> items,
+            int page,
+            int size,
+            boolean hasMore
+    ) {}
+
+    /**
+     * @param removed rollups deleted because their year has no hours any more
+     */
+    public record RollupRebuild(
+            int years,
+            int rollups,
+            long removed,
+            long durationMs
+    ) {}
+}
@@ -0,0 +1,19 @@
+package com.github.amangusss.dto.trainerWorkload;
+
+import java.util.Set;
+
+/**
+ * Outcome of writing a batch: the trainers whose documents were written, the batch indexes of
+ * the DELETEs that found no trainer, year or month to remove hours from, as a single event would
+ * have reported them, and the batch indexes of the events their trainer had already applied.
+ */
+public record DeltaWriteResult(
+        Set<String> applied,
+        Set<Integer> notFound,
+        Set<Integer> duplicates
+) {
+
+    public static DeltaWriteResult empty() {
+        return new DeltaWriteResult(Set.of(), Set.of(), Set.of());
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.amangusss.dto.trainerWorkload;
+
+import java.util.Optional;
+
+/**
+ * Part of a trainer's history to read: one year, optionally narrowed to a range of months
+ * (both ends inclusive).
+ */
+public record SummaryRange(int year, int fromMonth, int toMonth) {
+
+    public SummaryRange {
+        if (year < 1) {
+            throw new IllegalArgumentException("year must be positive");
+        }
+        if (fromMonth < 1 || toMonth > 12 || fromMonth > toMonth) {
+            throw new IllegalArgumentException("fromMonth and toMonth must satisfy 1 <= fromMonth <= toMonth <= 12");
+        }
+    }
+
+    /**
+     * Builds a range from optional request parameters. Missing months default to the whole year.
+     *
+     * @return empty if no parameter is given
+     * @throws IllegalArgumentException if months are given without a year or are out of range
+     */
+    public static Optional<SummaryRange> of(Integer year, Integer fromMonth, Integer toMonth) {
+        if (year == null) {
+            if (fromMonth != null || toMonth != null) {
+                throw new IllegalArgumentException("fromMonth and toMonth require a year");
+            }
+            return Optional.empty();
+        }
+        return Optional.of(new SummaryRange(year,
+                fromMonth != null ? fromMonth : 1,
+                toMonth != null ? toMonth : 12));
+    }
+
+    public boolean isWholeYear() {
+        return fromMonth == 1 && toMonth == 12;
+    }
+
+    /**
+     * Short form for logs and ETags, e.g. {@code 2025} or {@code 2025-03..2025-05}.
+     */
+    public String tag() {
+        return isWholeYear() ? String.valueOf(year) : "%d-%02d..%d-%02d".formatted(year, fromMonth, year, toMonth);
+    }
+}
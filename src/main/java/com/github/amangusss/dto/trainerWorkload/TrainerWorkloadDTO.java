@@ -45,12 +45,17 @@ public class TrainerWorkloadDTO {
     }
 
     public static class Response {
+        /**
+         * @param revision identifies this state of the trainer's document ({@code <id>-<version>}),
+         *                 changes with every write
+         */
         public record Summary(
                 String username,
                 String firstName,
                 String lastName,
                 TrainerStatus status,
-                List<YearSummary> years
+                List<YearSummary> years,
+                String revision
         ){}
     }
 
@@ -0,0 +1,34 @@
+package com.github.amangusss.dto.trainerWorkload;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The training events of one trainer in a batch, in the order they arrived. They are folded into
+ * the trainer's document one after another with the rules of a single event and written with one
+ * operation, so a batch never nets an ADD against a DELETE that a single event would have clamped.
+ */
+public record TrainerWorkloadDelta(
+        String username,
+        List<Event> events
+) {
+
+    /**
+     * @param index   position of the event in its batch, so outcomes can be reported per event
+     * @param eventId id the event is deduplicated on, {@code null} if it is always applied
+     */
+    public record Event(int index, String eventId, TrainerWorkloadDTO.Request.Create request) {
+
+        public YearMonth month() {
+            return YearMonth.from(request.trainingDate());
+        }
+    }
+
+    public Set<Integer> years() {
+        Set<Integer> years = new TreeSet<>();
+        events.forEach(event -> years.add(event.request().trainingDate().getYear()));
+        return years;
+    }
+}
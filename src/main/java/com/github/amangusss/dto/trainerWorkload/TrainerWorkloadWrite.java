@@ -0,0 +1,64 @@
+package com.github.amangusss.dto.trainerWorkload;
+
+import com.github.amangusss.entity.TrainerWorkload;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * One trainer's {@link TrainerWorkloadDelta} folded into the document it was read from: the
+ * resulting totals of the touched months and the events that could not be applied. It is written
+ * only if the document still has the {@code version} it was folded into.
+ *
+ * @param version         version of the document that was read, {@code null} if it had none or did not exist
+ * @param profile         profile of the last applied ADD, {@code null} if no ADD was applied
+ * @param hoursBefore     totals of the touched months as read, zero for months the trainer did not have
+ * @param hoursAfter      totals of the touched months after the events; months at zero or below are absent
+ * @param emptiedYears    years the trainer had and that are left without months
+ * @param applied         batch indexes of the applied events
+ * @param notFound        batch indexes of DELETEs whose trainer, year or month did not exist
+ * @param duplicates      batch indexes of events whose id the trainer already listed
+ * @param processedEvents ids of the applied events, recorded on the trainer with the write
+ */
+public record TrainerWorkloadWrite(
+        String username,
+        Long version,
+        TrainerWorkload profile,
+        Map<YearMonth, Double> hoursBefore,
+        Map<YearMonth, Double> hoursAfter,
+        Set<Integer> emptiedYears,
+        List<Integer> applied,
+        List<Integer> notFound,
+        List<Integer> duplicates,
+        List<String> processedEvents
+) {
+
+    public boolean hasChanges() {
+        return !applied.isEmpty();
+    }
+
+    /**
+     * @return the trainer's version once the write is applied; every write bumps it by one and a
+     * trainer created by the write starts at one
+     */
+    public long sequence() {
+        return version != null ? version + 1 : 1;
+    }
+
+    /**
+     * @return hours the write adds (positive) or actually removes (negative) per touched month
+     */
+    public Map<YearMonth, Double> hoursChanged() {
+        Map<YearMonth, Double> changed = new TreeMap<>();
+        hoursBefore.forEach((month, before) -> {
+            double change = hoursAfter.getOrDefault(month, 0.0) - before;
+            if (change != 0) {
+                changed.put(month, change);
+            }
+        });
+        return changed;
+    }
+}
@@ -12,9 +12,6 @@ import org.springframework.data.mongodb.core.mapping.Field;
 @AllArgsConstructor
 public class MonthSummary {
 
-    @Field("month")
-    private Month month;
-
     @Builder.Default
     @Field("totalHours")
     private Double totalHours = 0.0;
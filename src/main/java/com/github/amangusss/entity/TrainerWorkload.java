@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -12,6 +13,8 @@ import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @Data
 @Builder
@@ -21,9 +24,19 @@ import java.util.List;
 @CompoundIndex(name = "name_idx", def = "{'firstName': 1, 'lastName': 1}")
 public class TrainerWorkload {
 
+    /**
+     * Number of event ids kept in {@link #processedEvents}. A redelivery arriving after this many
+     * newer events of the same trainer is no longer recognised.
+     */
+    public static final int PROCESSED_EVENTS_LIMIT = 100;
+
     @Id
     private String id;
 
+    @Version
+    @Field("version")
+    private Long version;
+
     @Indexed(unique = true)
     @Field("username")
     private String username;
@@ -34,11 +47,35 @@ public class TrainerWorkload {
     @Field("lastName")
     private String lastName;
 
+    @Indexed
     @Builder.Default
     @Field("status")
     private TrainerStatus status = TrainerStatus.ACTIVE;
 
+    /**
+     * Keyed by year, stored as {@code years.<year>} so updates can target {@code years.2025.months.3}
+     * directly. A sorted map keeps years in chronological order without sorting on read.
+     */
     @Builder.Default
     @Field("years")
-    private List<YearSummary> years = new ArrayList<>();
+    private SortedMap<Integer, YearSummary> years = new TreeMap<>();
+
+    /**
+     * Ids of the trainer's latest applied events, oldest first, capped at
+     * {@link #PROCESSED_EVENTS_LIMIT}. Every write records its event ids here in the same update
+     * that changes the hours, and a write whose id is already listed is not applied.
+     */
+    @Builder.Default
+    @Field("processedEvents")
+    private List<String> processedEvents = new ArrayList<>();
+
+    /**
+     * Appends an applied event id, dropping the oldest ids beyond {@link #PROCESSED_EVENTS_LIMIT}.
+     */
+    public void recordProcessedEvent(String eventId) {
+        processedEvents.add(eventId);
+        if (processedEvents.size() > PROCESSED_EVENTS_LIMIT) {
+            processedEvents.subList(0, processedEvents.size() - PROCESSED_EVENTS_LIMIT).clear();
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.github.amangusss.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * One entry of the append-only workload log. Entries are only ever inserted; a trainer's entries
+ * in {@link #sequence} order replay to its {@link TrainerWorkload}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "workload_events")
+@CompoundIndex(name = "username_sequence_idx", def = "{'username': 1, 'sequence': 1}")
+public class WorkloadEvent {
+
+    @Id
+    private String id;
+
+    @Field("type")
+    private WorkloadEventType type;
+
+    @Field("username")
+    private String username;
+
+    /**
+     * The trainer's {@link TrainerWorkload#getVersion() version} right after the write this entry
+     * records, or the version a {@link WorkloadEventType#SNAPSHOT} was taken at. Every trainer write
+     * bumps the version atomically with the change, so a trainer's entries are numbered without
+     * gaps in the order the writes happened, whatever order they were appended in.
+     */
+    @Field("sequence")
+    private Long sequence;
+
+    @Field("firstName")
+    private String firstName;
+
+    @Field("lastName")
+    private String lastName;
+
+    @Field("status")
+    private TrainerStatus status;
+
+    /**
+     * Hours per month in the same keyed layout as {@link TrainerWorkload#getYears()}: signed
+     * changes for {@link WorkloadEventType#DELTA}, the requested duration for ADD and DELETE, and
+     * the full history for {@link WorkloadEventType#SNAPSHOT}.
+     */
+    @Builder.Default
+    @Field("years")
+    private SortedMap<Integer, YearSummary> years = new TreeMap<>();
+
+    @Field("transactionId")
+    private String transactionId;
+
+    @Field("recordedAt")
+    private Instant recordedAt;
+}
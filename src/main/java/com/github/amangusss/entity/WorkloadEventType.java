@@ -0,0 +1,30 @@
+package com.github.amangusss.entity;
+
+/**
+ * Kind of change recorded in the workload event log, and how replay folds it into a trainer's
+ * history.
+ */
+public enum WorkloadEventType {
+
+    /**
+     * Hours added to one month, creating the month on demand.
+     */
+    ADD,
+
+    /**
+     * Hours removed from one month; the month is dropped once it reaches zero. A month the
+     * trainer does not have is left alone.
+     */
+    DELETE,
+
+    /**
+     * Signed hours of several months, as applied by a bulk write.
+     */
+    DELTA,
+
+    /**
+     * The trainer's full history at the sequence it was taken at. Replay restarts from the latest
+     * one; a trainer without one restarts from an empty history at sequence 0.
+     */
+    SNAPSHOT
+}
@@ -0,0 +1,49 @@
+package com.github.amangusss.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Hours of all trainers in one month. The id is derived from (year, month), so writers can upsert
+ * a rollup without reading it first. Rollups are not split by trainer status: a trainer's status
+ * changes over time while its hours stay where they were recorded, so only the trainers' own
+ * documents can answer totals by status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "workload_monthly_rollups")
+public class WorkloadMonthlyRollup {
+
+    @Id
+    private String id;
+
+    @Indexed
+    @Field("year")
+    private int year;
+
+    @Field("month")
+    private int month;
+
+    @Builder.Default
+    @Field("totalHours")
+    private Double totalHours = 0.0;
+
+    public static String idOf(int year, int month) {
+        return year + "-" + month;
+    }
+
+    public record Key(int year, int month) {
+
+        public String id() {
+            return idOf(year, month);
+        }
+    }
+}
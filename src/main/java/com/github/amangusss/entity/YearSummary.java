@@ -6,8 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.mongodb.core.mapping.Field;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @Data
 @Builder
@@ -15,10 +15,10 @@ import java.util.List;
 @AllArgsConstructor
 public class YearSummary {
 
-    @Field("year")
-    private Integer year;
-
+    /**
+     * Keyed by month number (1-12), stored as {@code months.<month>}.
+     */
     @Builder.Default
     @Field("months")
-    private List<MonthSummary> months = new ArrayList<>();
+    private SortedMap<Integer, MonthSummary> months = new TreeMap<>();
 }
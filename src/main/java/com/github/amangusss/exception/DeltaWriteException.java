@@ -0,0 +1,20 @@
+package com.github.amangusss.exception;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * A batched write of trainers failed part way. The hours of the trainers in {@code applied} are
+ * already stored; the remaining trainers were not written.
+ */
+@Getter
+public class DeltaWriteException extends RuntimeException {
+
+    private final Set<String> applied;
+
+    public DeltaWriteException(Set<String> applied, Throwable cause) {
+        super(String.format("Delta write failed after %d trainers: %s", applied.size(), cause.getMessage()), cause);
+        this.applied = Set.copyOf(applied);
+    }
+}
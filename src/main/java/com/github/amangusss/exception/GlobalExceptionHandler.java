@@ -4,10 +4,13 @@ import com.github.amangusss.dto.error.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jms.JmsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -73,6 +76,32 @@ public class GlobalExceptionHandler {
                 request);
     }
 
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidParameter(Exception e, WebRequest request) {
+        String transactionId = getTransactionId(request);
+
+        log.error("[Transaction: {}] Invalid request parameter: {}", transactionId, e.getMessage());
+
+        return buildResponse(HttpStatus.BAD_REQUEST,
+                "Bad Request",
+                e.getMessage(),
+                transactionId,
+                request);
+    }
+
+    @ExceptionHandler(JmsException.class)
+    public ResponseEntity<ErrorResponse> handleBrokerUnavailable(JmsException e, WebRequest request) {
+        String transactionId = getTransactionId(request);
+
+        log.error("[Transaction: {}] Message broker unavailable: {}", transactionId, e.getMessage());
+
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable",
+                "The event could not be queued, retry later.",
+                transactionId,
+                request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception e, WebRequest request) {
         String transactionId = getTransactionId(request);
@@ -0,0 +1,20 @@
+package com.github.amangusss.exception;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * An increment of several monthly rollups failed part way. The rollups with ids in
+ * {@code applied} already hold their hours; the others were not changed.
+ */
+@Getter
+public class RollupWriteException extends RuntimeException {
+
+    private final Set<String> applied;
+
+    public RollupWriteException(Set<String> applied, Throwable cause) {
+        super(String.format("Rollup increment failed after %d rollups: %s", applied.size(), cause.getMessage()), cause);
+        this.applied = Set.copyOf(applied);
+    }
+}
@@ -0,0 +1,304 @@
+package com.github.amangusss.jms.listener;
+
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.exception.DeltaWriteException;
+import com.github.amangusss.exception.TrainerNotFoundException;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.idempotency.WorkloadEventDeduplicator;
+import com.github.amangusss.validation.WorkloadEventValidator;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batching alternative to {@link WorkloadMessageListener}, enabled with {@code app.jms.batch.enabled}.
+ * <p>
+ * Each consumer thread drains up to {@code max-size} messages or waits at most {@code max-wait-ms}
+ * after the first one, folds the valid events per trainer, in order, and writes them with a
+ * single bulk write. The batch is consumed in a transacted session: messages (and the DLQ sends
+ * for invalid ones) are committed only after the bulk write succeeds, otherwise the whole batch
+ * is rolled back and redelivered by the broker. Events are deduplicated on the event id
+ * ({@link WorkloadMessageListener#eventId}): the bulk write records the ids it applies on the
+ * trainers' documents in the same update, so a redelivery of a batch that a partly failed bulk
+ * write had already applied for some trainers ({@link DeltaWriteException}) skips their events
+ * instead of adding the hours twice, and applies the rest. An id repeated within the batch is
+ * applied once, and ids this instance already saw are skipped by {@link WorkloadEventDeduplicator}
+ * without a write. Events that remove hours from a trainer or month that does not exist are sent
+ * to the DLQ, as on the single-event path.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jms.batch.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchWorkloadMessageConsumer implements SmartLifecycle {
+
+    static long POLL_TIMEOUT_MS = 1000;
+    static long RECONNECT_DELAY_MS = 5000;
+
+    final ConnectionFactory connectionFactory;
+    final MessageConverter messageConverter;
+    final TrainerWorkloadService trainerWorkloadService;
+    final WorkloadEventDeduplicator deduplicator;
+    final WorkloadMetrics metrics;
+    final WorkloadThreads threads;
+    final String queue;
+    final String dlqQueue;
+    final int maxSize;
+    final long maxWaitMs;
+    final int consumers;
+
+    volatile boolean running;
+    CountDownLatch stopped = new CountDownLatch(0);
+
+    public BatchWorkloadMessageConsumer(ConnectionFactory connectionFactory,
+                                        MessageConverter messageConverter,
+                                        TrainerWorkloadService trainerWorkloadService,
+                                        WorkloadEventDeduplicator deduplicator,
+                                        WorkloadMetrics metrics,
+                                        WorkloadThreads threads,
+                                        @Value("${app.jms.queue.workload}") String queue,
+                                        @Value("${app.jms.queue.workload-dlq}") String dlqQueue,
+                                        @Value("${app.jms.batch.max-size}") int maxSize,
+                                        @Value("${app.jms.batch.max-wait-ms}") long maxWaitMs,
+                                        @Value("${app.jms.batch.consumers}") int consumers) {
+        this.connectionFactory = connectionFactory;
+        this.messageConverter = messageConverter;
+        this.trainerWorkloadService = trainerWorkloadService;
+        this.deduplicator = deduplicator;
+        this.metrics = metrics;
+        this.threads = threads;
+        this.queue = queue;
+        this.dlqQueue = dlqQueue;
+        this.maxSize = maxSize;
+        this.maxWaitMs = maxWaitMs;
+        this.consumers = consumers;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        stopped = new CountDownLatch(consumers);
+        SimpleAsyncTaskExecutor executor = threads.taskExecutor("workload-batch-");
+        for (int i = 0; i < consumers; i++) {
+            executor.execute(this::consumeLoop);
+        }
+        log.info("Started {} batch consumers on {} (maxSize={}, maxWaitMs={})", consumers, queue, maxSize, maxWaitMs);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!stopped.await(POLL_TIMEOUT_MS + maxWaitMs + 5000, TimeUnit.MILLISECONDS)) {
+                log.warn("Batch consumers did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consumeLoop() {
+        try {
+            while (running) {
+                try (Connection connection = connectionFactory.createConnection()) {
+                    connection.start();
+                    Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+                    MessageConsumer consumer = session.createConsumer(session.createQueue(queue));
+                    MessageProducer dlqProducer = session.createProducer(session.createQueue(dlqQueue));
+
+                    while (running) {
+                        pollBatch(session, consumer, dlqProducer);
+                    }
+                } catch (JMSException e) {
+                    log.error("Batch consumer lost connection to {}: {}", queue, e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            }
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Receives and processes a single batch in the given transacted session.
+     *
+     * @return number of messages consumed, {@code 0} if nothing arrived within the poll timeout
+     */
+    public int pollBatch(Session session, MessageConsumer consumer, MessageProducer dlqProducer) throws JMSException {
+        Message first = consumer.receive(POLL_TIMEOUT_MS);
+        if (first == null) {
+            return 0;
+        }
+
+        List<Message> messages = new ArrayList<>();
+        messages.add(first);
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        while (messages.size() < maxSize) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            Message next = consumer.receive(remaining);
+            if (next == null) {
+                break;
+            }
+            messages.add(next);
+        }
+
+        String batchId = "batch-" + UUID.randomUUID();
+        log.info("[{}] Received batch of {} workload messages", batchId, messages.size());
+
+        List<TrainerWorkloadDTO.Request.Create> events = new ArrayList<>(messages.size());
+        List<String> transactionIds = new ArrayList<>(messages.size());
+        List<String> eventIds = new ArrayList<>(messages.size());
+        List<String> keys = new ArrayList<>(messages.size());
+        List<String> deadLetterReasons = new ArrayList<>();
+        int duplicates = 0;
+        try {
+            Set<String> seen = new HashSet<>();
+            for (Message message : messages) {
+                String eventId = WorkloadMessageListener.eventId(message);
+                TrainerWorkloadDTO.Request.Create request = toRequest(message, eventId, batchId, session, dlqProducer, deadLetterReasons);
+                if (request == null) {
+                    continue;
+                }
+                String key = deduplicator.key(eventId);
+                if (key != null && (!seen.add(key) || deduplicator.seenRecently(key, batchId))) {
+                    duplicates++;
+                    continue;
+                }
+                events.add(request);
+                transactionIds.add(resolveTransactionId(message));
+                eventIds.add(eventId);
+                keys.add(key);
+            }
+            int invalid = messages.size() - events.size() - duplicates;
+
+            DeltaWriteResult result = events.isEmpty()
+                    ? DeltaWriteResult.empty()
+                    : trainerWorkloadService.obtainWorkloadBatch(events, keys, batchId);
+            int notFound = 0;
+            for (int i = 0; i < events.size(); i++) {
+                TrainerWorkloadDTO.Request.Create event = events.get(i);
+                if (result.notFound().contains(i)) {
+                    String reason = new TrainerNotFoundException(event.username()).getMessage();
+                    log.error("[{}][{}] Error processing workload: {}, sending to DLQ", batchId, transactionIds.get(i), reason);
+                    sendToDLQ(event, null, transactionIds.get(i), eventIds.get(i), "Processing error: " + reason,
+                            session, dlqProducer);
+                    deadLetterReasons.add(WorkloadMetrics.REASON_PROCESSING_ERROR);
+                    notFound++;
+                } else if (result.duplicates().contains(i)) {
+                    deduplicator.skipProcessed(keys.get(i), transactionIds.get(i));
+                    duplicates++;
+                } else if (keys.get(i) != null) {
+                    deduplicator.remember(keys.get(i));
+                }
+            }
+            session.commit();
+            deadLetterReasons.forEach(metrics::recordDeadLetter);
+            log.info("[{}] Batch committed: {} applied, {} duplicates skipped, {} sent to DLQ",
+                    batchId, events.size() - notFound - result.duplicates().size(), duplicates, invalid + notFound);
+        } catch (DeltaWriteException e) {
+            log.error("[{}] Error processing batch after {} trainers were applied, rolling back {} messages: {}",
+                    batchId, e.getApplied().size(), messages.size(), e.getMessage(), e);
+            session.rollback();
+        } catch (RuntimeException e) {
+            log.error("[{}] Error processing batch, rolling back {} messages: {}", batchId, messages.size(), e.getMessage(), e);
+            session.rollback();
+        }
+
+        return messages.size();
+    }
+
+    private TrainerWorkloadDTO.Request.Create toRequest(Message message, String eventId, String batchId, Session session,
+                                                        MessageProducer dlqProducer,
+                                                        List<String> deadLetterReasons) throws JMSException {
+        String transactionId = resolveTransactionId(message);
+
+        Object payload;
+        try {
+            payload = messageConverter.fromMessage(message);
+        } catch (MessageConversionException e) {
+            log.error("[{}][{}] Unreadable workload message, forwarding to DLQ: {}", batchId, transactionId, e.getMessage());
+            dlqProducer.send(message);
+            deadLetterReasons.add(WorkloadMetrics.REASON_UNREADABLE);
+            return null;
+        }
+
+        if (!(payload instanceof TrainerWorkloadDTO.Request.Create request) || !WorkloadEventValidator.isValid(request)) {
+            log.error("[{}][{}] Invalid workload message: {}, sending to DLQ", batchId, transactionId, payload);
+            sendToDLQ(payload, message, transactionId, eventId, "Required information is missing", session, dlqProducer);
+            deadLetterReasons.add(WorkloadMetrics.REASON_INVALID);
+            return null;
+        }
+
+        log.debug("[{}][{}] Batched workload message: username = {}", batchId, transactionId, request.username());
+        return request;
+    }
+
+    private void sendToDLQ(Object payload, Message original, String transactionId, String eventId, String reason,
+                           Session session, MessageProducer dlqProducer) throws JMSException {
+        if (payload == null) {
+            dlqProducer.send(original);
+            return;
+        }
+
+        Message dlqMessage = messageConverter.toMessage(payload, session);
+        dlqMessage.setStringProperty("transactionId", transactionId);
+        if (eventId != null) {
+            dlqMessage.setStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY, eventId);
+        }
+        dlqMessage.setStringProperty("errorReason", reason);
+        dlqMessage.setLongProperty("timeStamp", System.currentTimeMillis());
+        if (payload instanceof TrainerWorkloadDTO.Request.Create request && request.username() != null) {
+            dlqMessage.setStringProperty(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY, request.username());
+        }
+        dlqProducer.send(dlqMessage);
+    }
+
+    private String resolveTransactionId(Message message) throws JMSException {
+        String transactionId = message.getStringProperty("transactionId");
+        return (transactionId != null && !transactionId.isBlank()) ? transactionId : "Non-Provided";
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
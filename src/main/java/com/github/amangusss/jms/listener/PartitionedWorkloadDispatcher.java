@@ -0,0 +1,120 @@
+package com.github.amangusss.jms.listener;
+
+import com.github.amangusss.config.WorkloadThreads;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs workload events on a fixed set of single-threaded lanes, chosen by hashing the trainer
+ * username. Events for one trainer are always applied in the order they were dispatched, while
+ * different trainers are processed in parallel.
+ * <p>
+ * Ordering holds only if events are dispatched in arrival order, so the listener runs with a
+ * single consumer while the dispatcher is enabled. Lanes are bounded: when a lane is full,
+ * {@link #dispatch} blocks the listener thread and the backlog stays on the broker.
+ * <p>
+ * The listener session acknowledges messages individually, and a message is acknowledged only
+ * once its lane task has finished. Every unacknowledged message counts against the consumer
+ * prefetch, so the prefetch is raised to {@link #inFlightLimit} to keep all lanes fed. A task that
+ * fails unexpectedly hands its event to the dead letter callback and is acknowledged, so it
+ * neither blocks a prefetch slot nor waits for a reconnect. Tasks still queued when the lanes shut
+ * down leave their message unacknowledged, so the broker redelivers it after the consumer
+ * reconnects; events applied but not yet acknowledged are skipped by deduplication.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jms.dispatcher.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PartitionedWorkloadDispatcher implements DisposableBean {
+
+    static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    ThreadPoolExecutor[] lanes;
+
+    public PartitionedWorkloadDispatcher(@Value("${app.jms.dispatcher.lanes}") int laneCount,
+                                         @Value("${app.jms.dispatcher.lane-capacity}") int laneCapacity,
+                                         WorkloadThreads threads) {
+        ThreadFactory threadFactory = threads.threadFactory("workload-lane-");
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneCapacity), threadFactory, PartitionedWorkloadDispatcher::blockUntilQueued);
+        }
+        log.info("Started {} workload lanes (capacity={}, virtual={})", laneCount, laneCapacity, threads.isVirtual());
+    }
+
+    /**
+     * Queues {@code task} on the trainer's lane and runs {@code acknowledge} after it completed. If
+     * the task throws, the error is passed to {@code deadLetter} before acknowledging; only when
+     * that fails as well is the message left unacknowledged for redelivery.
+     */
+    public void dispatch(String username, Runnable task, Runnable acknowledge,
+                         Consumer<RuntimeException> deadLetter) {
+        lanes[laneFor(username)].execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Unhandled error in workload lane for {}, sending event to DLQ: {}", username, e.getMessage(), e);
+                try {
+                    deadLetter.accept(e);
+                } catch (RuntimeException dlqError) {
+                    log.error("Could not dead-letter event of {}, leaving message unacknowledged: {}",
+                            username, dlqError.getMessage(), dlqError);
+                    return;
+                }
+            }
+            acknowledge.run();
+        });
+    }
+
+    /**
+     * Upper bound of messages the listener holds unacknowledged: a running and
+     * {@code laneCapacity} queued tasks per lane, plus the one the listener is blocked on.
+     */
+    public static int inFlightLimit(int laneCount, int laneCapacity) {
+        return laneCount * (laneCapacity + 1) + 1;
+    }
+
+    public int laneFor(String username) {
+        return Math.floorMod(username.hashCode(), lanes.length);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Workload lane did not drain in time, {} unacknowledged events left for redelivery",
+                        lane.shutdownNow().size());
+            }
+        }
+    }
+
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Workload lane is shut down");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a workload lane", e);
+        }
+    }
+}
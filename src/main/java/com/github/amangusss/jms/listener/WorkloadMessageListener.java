@@ -1,74 +1,137 @@
 package com.github.amangusss.jms.listener;
 
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.jms.publisher.WorkloadDeadLetterPublisher;
+import com.github.amangusss.metrics.WorkloadMetrics;
 import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.idempotency.WorkloadEventDeduplicator;
+import com.github.amangusss.validation.WorkloadEventValidator;
+import io.micrometer.core.instrument.Timer;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.jms.annotation.JmsListener;
-import org.springframework.jms.core.JmsTemplate;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.jms.batch.enabled", havingValue = "false", matchIfMissing = true)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class WorkloadMessageListener {
 
-    @Value("${app.jms.queue.workload-dlq}")
-    String dlqQueue;
+    /**
+     * ActiveMQ message group header. The producer keys it on the trainer username so the broker
+     * pins each trainer to one consumer; DLQ messages keep the same group for ordered replay.
+     */
+    public static final String MESSAGE_GROUP_PROPERTY = "JMSXGroupID";
+
+    /**
+     * Producer-assigned id of a workload event, used as its deduplication key. Messages without it
+     * are keyed on their JMS message id; DLQ messages carry the key of the original message.
+     */
+    public static final String EVENT_ID_PROPERTY = "eventId";
 
-    final JmsTemplate jmsTemplate;
+    final WorkloadDeadLetterPublisher deadLetters;
     final TrainerWorkloadService trainerWorkloadService1;
+    final WorkloadEventDeduplicator deduplicator;
+    final WorkloadMetrics metrics;
+    final Optional<PartitionedWorkloadDispatcher> dispatcher;
 
     @JmsListener(destination = "${app.jms.queue.workload}")
     public void receiveMessage(TrainerWorkloadDTO.Request.Create request,
-                               @Header(name = "transactionId", required = false) String transactionId) {
+                               @Header(name = "transactionId", required = false) String transactionId,
+                               Message message) {
+        Timer.Sample sample = metrics.startListenerProcessing();
         String effectiveTransactionId = (transactionId != null && !transactionId.isBlank())
                 ? transactionId
                 : "Non-Provided";
         String username = request != null ? request.username() : "null";
-        log.info("[{}] Received workload message: username = {}", effectiveTransactionId, username);
+        String eventId = resolveEventId(message, effectiveTransactionId);
+        log.info("[{}] Received workload message: username = {}, eventId = {}", effectiveTransactionId, username, eventId);
 
-        if (!isValidMessage(request)) {
+        if (!WorkloadEventValidator.isValid(request)) {
             log.error("[{}] Invalid workload message: {}, sending to DLQ", effectiveTransactionId, request);
-            sendToDLQ(request, effectiveTransactionId, "Required information is missing");
+            sendToDLQ(request, effectiveTransactionId, eventId, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            metrics.recordListenerProcessing(sample, WorkloadMetrics.OUTCOME_DLQ);
+            dispatcher.ifPresent(lanes -> acknowledge(message, effectiveTransactionId));
             return;
         }
 
         try {
-            trainerWorkloadService1.obtainWorkload(request, effectiveTransactionId);
-            log.info("[{}] Workload processed successfully", effectiveTransactionId);
+            dispatcher.ifPresentOrElse(
+                    lanes -> lanes.dispatch(request.username(), () -> process(request, effectiveTransactionId, eventId, sample),
+                            () -> acknowledge(message, effectiveTransactionId),
+                            e -> sendToDLQ(request, effectiveTransactionId, eventId, WorkloadMetrics.REASON_PROCESSING_ERROR,
+                                    "Processing error: " + e.getMessage())),
+                    () -> process(request, effectiveTransactionId, eventId, sample)
+            );
+        } catch (RuntimeException e) {
+            metrics.recordListenerProcessing(sample, WorkloadMetrics.OUTCOME_FAILED);
+            throw e;
+        }
+    }
+
+    private void process(TrainerWorkloadDTO.Request.Create request, String effectiveTransactionId, String eventId,
+                         Timer.Sample sample) {
+        String outcome = WorkloadMetrics.OUTCOME_FAILED;
+        try {
+            boolean applied = deduplicator.runOnce(eventId, effectiveTransactionId,
+                    key -> trainerWorkloadService1.obtainWorkload(request, key, effectiveTransactionId));
+            if (applied) {
+                log.info("[{}] Workload processed successfully", effectiveTransactionId);
+            }
+            outcome = applied ? WorkloadMetrics.OUTCOME_APPLIED : WorkloadMetrics.OUTCOME_DUPLICATE;
         } catch (Exception e) {
             log.error("[{}] Error processing workload: {}", effectiveTransactionId, e.getMessage(), e);
-            sendToDLQ(request, effectiveTransactionId, "Processing error: " + e.getMessage());
+            sendToDLQ(request, effectiveTransactionId, eventId, WorkloadMetrics.REASON_PROCESSING_ERROR,
+                    "Processing error: " + e.getMessage());
+            outcome = WorkloadMetrics.OUTCOME_DLQ;
+        } finally {
+            metrics.recordListenerProcessing(sample, outcome);
         }
     }
 
-    private boolean isValidMessage(TrainerWorkloadDTO.Request.Create request) {
-        return request != null
-                && request.username() != null && !request.username().isBlank()
-                && request.firstName() != null && !request.firstName().isBlank()
-                && request.lastName() != null && !request.lastName().isBlank()
-                && request.trainingDate() != null
-                && request.trainingDuration() != null && request.trainingDuration() > 0
-                && request.actionType() != null;
+    /**
+     * With the dispatcher the session acknowledges each message on its own, once its lane is done
+     * with it. A failed acknowledgement only means the broker redelivers a message that
+     * deduplication then skips.
+     */
+    private void acknowledge(Message message, String transactionId) {
+        try {
+            message.acknowledge();
+        } catch (JMSException | RuntimeException e) {
+            log.warn("[{}] Could not acknowledge workload message, it will be redelivered: {}", transactionId, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the event id set by the producer, or else the JMS message id
+     */
+    public static String eventId(Message message) throws JMSException {
+        String eventId = message.getStringProperty(EVENT_ID_PROPERTY);
+        return (eventId != null && !eventId.isBlank()) ? eventId : message.getJMSMessageID();
     }
 
-    private void sendToDLQ(TrainerWorkloadDTO.Request.Create request, String transactionId, String reason) {
+    private String resolveEventId(Message message, String transactionId) {
         try {
-            jmsTemplate.convertAndSend(dlqQueue, request, message -> {
-                message.setStringProperty("transactionId", transactionId);
-                message.setStringProperty("errorReason", reason);
-                message.setLongProperty("timeStamp", System.currentTimeMillis());
-                return message;
-            });
-            log.info("[{}] Sent message to DLQ: {}", transactionId, request);
-        } catch (Exception e) {
-            log.error("[{}] Failed to send message to DLQ: {}", transactionId, request, e);
+            return eventId(message);
+        } catch (JMSException e) {
+            log.warn("[{}] Could not read the event id, applying without deduplication: {}", transactionId, e.getMessage());
+            return null;
         }
     }
+
+    private void sendToDLQ(TrainerWorkloadDTO.Request.Create request, String transactionId, String eventId,
+                           String reasonTag, String reason) {
+        deadLetters.publish(request, transactionId, eventId, reasonTag, reason);
+        log.info("[{}] Queued message for DLQ: {}", transactionId, request);
+    }
 }
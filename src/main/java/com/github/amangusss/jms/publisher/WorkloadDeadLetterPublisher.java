@@ -0,0 +1,400 @@
+package com.github.amangusss.jms.publisher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.metrics.WorkloadMetrics;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends dead letters of {@link WorkloadMessageListener} off the consumer thread. Letters are put
+ * on a bounded in-memory queue and a single thread sends up to {@code batch-size} of them at a
+ * time in one transacted session.
+ * <p>
+ * When a batch cannot be sent, or the queue is full, the letters are appended as JSON lines to
+ * {@code spill-file} instead of being dropped. Sends are not attempted again for
+ * {@code retry-delay-ms}; after that the file is replayed to the DLQ in batches once the publisher
+ * is idle or a send succeeds. Letters that are still pending at shutdown are spilled as well and
+ * replayed after the next start. Replay is at-least-once: a crash in the middle of a replay can
+ * send a batch of the file again.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WorkloadDeadLetterPublisher implements SmartLifecycle {
+
+    static long POLL_TIMEOUT_MS = 1000;
+
+    final ConnectionFactory connectionFactory;
+    final MessageConverter messageConverter;
+    final ObjectMapper objectMapper;
+    final WorkloadMetrics metrics;
+    final WorkloadThreads threads;
+    final String dlqQueue;
+    final int batchSize;
+    final long retryDelayMs;
+    final Path spillFile;
+    final Path replayFile;
+    final BlockingQueue<DeadLetter> pending;
+    final ReentrantLock spillLock = new ReentrantLock();
+
+    volatile boolean running;
+    volatile boolean closed;
+    volatile long retryAt;
+    CountDownLatch stopped = new CountDownLatch(0);
+
+    public WorkloadDeadLetterPublisher(ConnectionFactory connectionFactory,
+                                       MessageConverter messageConverter,
+                                       ObjectMapper objectMapper,
+                                       WorkloadMetrics metrics,
+                                       WorkloadThreads threads,
+                                       @Value("${app.jms.queue.workload-dlq}") String dlqQueue,
+                                       @Value("${app.jms.dlq.capacity}") int capacity,
+                                       @Value("${app.jms.dlq.batch-size}") int batchSize,
+                                       @Value("${app.jms.dlq.retry-delay-ms}") long retryDelayMs,
+                                       @Value("${app.jms.dlq.spill-file}") String spillFile) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("DLQ capacity and batch size must be at least 1");
+        }
+        this.connectionFactory = connectionFactory;
+        this.messageConverter = messageConverter;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.threads = threads;
+        this.dlqQueue = dlqQueue;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        this.spillFile = Path.of(spillFile);
+        this.replayFile = Path.of(spillFile + ".replay");
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        metrics.registerDeadLetterBacklog(pending);
+    }
+
+    /**
+     * Queues a message for the DLQ without waiting for the broker. Never throws: a letter that
+     * cannot be queued is spilled to disk. A letter queued while {@link #stop()} drains the queue
+     * is taken back and spilled here unless the drain already spilled it, so it is never left
+     * behind in the queue.
+     */
+    public void publish(TrainerWorkloadDTO.Request.Create request, String transactionId, String eventId,
+                        String reasonTag, String reason) {
+        DeadLetter letter = new DeadLetter(transactionId, eventId, reasonTag, reason, System.currentTimeMillis(), request);
+        if (closed || !pending.offer(letter)) {
+            log.warn("[{}] DLQ publisher is {}, spilling dead letter to {}",
+                    transactionId, closed ? "stopped" : "full", spillFile);
+            spill(List.of(letter));
+        } else if (closed && pending.remove(letter)) {
+            log.warn("[{}] DLQ publisher stopped while queueing, spilling dead letter to {}", transactionId, spillFile);
+            spill(List.of(letter));
+        }
+    }
+
+    @Override
+    public void start() {
+        closed = false;
+        running = true;
+        stopped = new CountDownLatch(1);
+        threads.taskExecutor("workload-dlq-").execute(this::drainLoop);
+        log.info("Started DLQ publisher on {} (batchSize={}, spillFile={})", dlqQueue, batchSize, spillFile);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!stopped.await(POLL_TIMEOUT_MS + 5000, TimeUnit.MILLISECONDS)) {
+                log.warn("DLQ publisher did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closed = true;
+        List<DeadLetter> left = new ArrayList<>();
+        pending.drainTo(left);
+        if (!left.isEmpty()) {
+            spill(left);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Started before and stopped after the listener containers, so letters of messages that are
+     * still being processed at shutdown are drained.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 1024;
+    }
+
+    private void drainLoop() {
+        try {
+            while (running || !pending.isEmpty()) {
+                if (deliverPending(POLL_TIMEOUT_MS) == 0 && running) {
+                    replaySpilled();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Sends the next batch of queued letters, spilling it if the broker is unavailable.
+     *
+     * @return number of letters taken from the queue, {@code 0} if none arrived within the timeout
+     */
+    public int deliverPending(long timeoutMs) throws InterruptedException {
+        DeadLetter first = pending.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+
+        List<DeadLetter> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        pending.drainTo(batch, batchSize - 1);
+
+        if (System.currentTimeMillis() < retryAt) {
+            spill(batch);
+            return batch.size();
+        }
+        try {
+            send(batch);
+        } catch (JMSException | RuntimeException e) {
+            log.error("Failed to send {} dead letters to {}, spilling to {}: {}", batch.size(), dlqQueue, spillFile, e.getMessage());
+            retryAt = System.currentTimeMillis() + retryDelayMs;
+            spill(batch);
+            return batch.size();
+        }
+        log.debug("Sent {} dead letters to {}", batch.size(), dlqQueue);
+        if (Files.exists(spillFile) || Files.exists(replayFile)) {
+            replaySpilled();
+        }
+        return batch.size();
+    }
+
+    /**
+     * Sends spilled letters to the DLQ, oldest file first. Letters of a batch that fails stay in
+     * the file for the next attempt.
+     *
+     * @return number of letters sent
+     */
+    public int replaySpilled() {
+        if (System.currentTimeMillis() < retryAt || !claimSpillFile()) {
+            return 0;
+        }
+
+        int sent = 0;
+        int handledLines = 0;
+        int batchLines = 0;
+        List<DeadLetter> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                batchLines++;
+                try {
+                    batch.add(objectMapper.readValue(line, DeadLetter.class));
+                } catch (JsonProcessingException e) {
+                    log.error("Skipping unreadable dead letter at {}:{}: {}", replayFile, lineNumber, e.getOriginalMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    send(batch);
+                    sent += batch.size();
+                    handledLines += batchLines;
+                    batchLines = 0;
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                sent += batch.size();
+            }
+        } catch (JMSException | RuntimeException e) {
+            log.error("Replay of spilled dead letters failed after {} sent: {}", sent, e.getMessage());
+            retryAt = System.currentTimeMillis() + retryDelayMs;
+            keepUnsent(handledLines);
+            return sent;
+        } catch (IOException e) {
+            log.error("Failed to read spilled dead letters from {}: {}", replayFile, e.getMessage());
+            return sent;
+        }
+
+        try {
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            log.error("Failed to delete replayed dead letters {}: {}", replayFile, e.getMessage());
+        }
+        log.info("Replayed {} spilled dead letters to {}", sent, dlqQueue);
+        return sent;
+    }
+
+    private void send(List<DeadLetter> batch) throws JMSException {
+        try (Connection connection = connectionFactory.createConnection()) {
+            Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            MessageProducer producer = session.createProducer(session.createQueue(dlqQueue));
+            for (DeadLetter letter : batch) {
+                producer.send(toMessage(letter, session));
+            }
+            session.commit();
+        }
+        batch.forEach(letter -> metrics.recordDeadLetter(letter.reasonTag()));
+    }
+
+    private Message toMessage(DeadLetter letter, Session session) throws JMSException {
+        TrainerWorkloadDTO.Request.Create request = letter.payload();
+        Message message = request != null ? messageConverter.toMessage(request, session) : session.createMessage();
+        message.setStringProperty("transactionId", letter.transactionId());
+        if (letter.eventId() != null) {
+            message.setStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY, letter.eventId());
+        }
+        message.setStringProperty("errorReason", letter.errorReason());
+        message.setLongProperty("timeStamp", letter.timeStamp());
+        if (request != null && request.username() != null) {
+            message.setStringProperty(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY, request.username());
+        }
+        return message;
+    }
+
+    private void spill(List<DeadLetter> letters) {
+        spillLock.lock();
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (DeadLetter letter : letters) {
+                lines.write(objectMapper.writeValueAsBytes(letter));
+                lines.write('\n');
+            }
+            append(spillFile, ByteBuffer.wrap(lines.toByteArray()));
+            metrics.recordDeadLetterSpill(letters.size());
+        } catch (IOException e) {
+            log.error("Failed to spill {} dead letters to {}, they are lost: {}", letters.size(), spillFile, e.getMessage(), e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the spill file aside for replay unless a previous replay left one, so new letters can
+     * be spilled while it is read.
+     */
+    private boolean claimSpillFile() {
+        if (Files.exists(replayFile)) {
+            return true;
+        }
+        spillLock.lock();
+        try {
+            if (!Files.exists(spillFile)) {
+                return false;
+            }
+            Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to claim spilled dead letters {}: {}", spillFile, e.getMessage());
+            return false;
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the replay file without its first {@code handledLines} entries, which were sent or
+     * skipped as unreadable.
+     */
+    private void keepUnsent(int handledLines) {
+        Path remaining = Path.of(replayFile + ".tmp");
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8);
+             FileChannel channel = FileChannel.open(remaining, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int skipped = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (skipped < handledLines) {
+                    skipped++;
+                    continue;
+                }
+                writeFully(channel, ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8)));
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("Failed to trim replayed dead letters in {}, they may be sent again: {}", replayFile, e.getMessage());
+            return;
+        }
+        try {
+            Files.move(remaining, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to trim replayed dead letters in {}, they may be sent again: {}", replayFile, e.getMessage());
+        }
+    }
+
+    private static void append(Path file, ByteBuffer bytes) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeFully(channel, bytes);
+            channel.force(false);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * A message on its way to the DLQ, also the line format of the spill file.
+     */
+    record DeadLetter(String transactionId, String eventId, String reasonTag, String errorReason, long timeStamp,
+                      TrainerWorkloadDTO.Request.Create payload) {
+    }
+}
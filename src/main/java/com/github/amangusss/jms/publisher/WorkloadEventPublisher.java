@@ -0,0 +1,66 @@
+package com.github.amangusss.jms.publisher;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.validation.WorkloadEventValidator;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accept-and-enqueue ingestion for {@code POST /api/v1/workload}, enabled with
+ * {@code app.workload.async-ingestion.enabled}. Events are validated with the listener's rules and
+ * sent to the workload queue, so REST events go through the same pipeline as broker events:
+ * listener or batch consumer, per-trainer ordering, deduplication and DLQ.
+ * <p>
+ * Messages carry the request's transaction id and, when the client sent an idempotency key, that
+ * key as the event id the listener deduplicates on, so a client retrying with the same
+ * {@code Idempotency-Key} is applied once. Without a key every request is a new event. Messages
+ * are grouped by trainer username like the upstream producer's. A failed send is propagated, so
+ * the client is not told the event was accepted.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadEventPublisher {
+
+    JmsTemplate jmsTemplate;
+    String workloadQueue;
+    boolean enabled;
+
+    public WorkloadEventPublisher(JmsTemplate jmsTemplate,
+                                  @Value("${app.jms.queue.workload}") String workloadQueue,
+                                  @Value("${app.workload.async-ingestion.enabled}") boolean enabled) {
+        this.jmsTemplate = jmsTemplate;
+        this.workloadQueue = workloadQueue;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the event would be dead-lettered by the listener
+     */
+    public void publish(TrainerWorkloadDTO.Request.Create request, String transactionId, String idempotencyKey) {
+        if (!WorkloadEventValidator.isValid(request)) {
+            throw new IllegalArgumentException("Required information is missing");
+        }
+
+        jmsTemplate.convertAndSend(workloadQueue, request, message -> {
+            message.setStringProperty("transactionId", transactionId);
+            if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+                message.setStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY, idempotencyKey);
+            }
+            message.setStringProperty(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY, request.username());
+            return message;
+        });
+        log.debug("[{}][Operation] Enqueued workload event for trainer {}", transactionId, request.username());
+    }
+}
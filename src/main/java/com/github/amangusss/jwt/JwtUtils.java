@@ -1,7 +1,11 @@
 package com.github.amangusss.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
@@ -12,20 +16,76 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * Verifies bearer tokens. The parser is built once and shared, since {@link JwtParser} is immutable
+ * and thread-safe. Optionally, tokens that verified successfully are remembered by their SHA-256
+ * hash until they expire, so a client reusing its token skips signature verification and claims
+ * parsing on subsequent requests. Rejected tokens are never cached. The subject's roles are read
+ * from the {@value #ROLES_CLAIM} claim.
+ */
 @Slf4j
 @Component
 public class JwtUtils {
 
-    private final SecretKey signingKey;
+    /**
+     * Claim listing the roles of the token's subject, either as an array or a single string.
+     */
+    public static final String ROLES_CLAIM = "roles";
 
-    public JwtUtils(@Value("${jwt.secret}") String secret) {
+    public record AuthenticatedToken(String subject, Set<String> roles, Instant expiresAt) {}
+
+    private final JwtParser parser;
+    private final boolean cacheEnabled;
+    private final Cache<String, AuthenticatedToken> verifiedTokens;
+
+    public JwtUtils(@Value("${jwt.secret}") String secret,
+                    @Value("${jwt.cache.enabled}") boolean cacheEnabled,
+                    @Value("${jwt.cache.max-size}") long cacheMaxSize) {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
             throw new IllegalArgumentException("JWT secret must be at least 256 bits");
         }
-        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        SecretKey signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.cacheEnabled = cacheEnabled;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.<String, AuthenticatedToken>creating((hash, token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .build();
+    }
+
+    /**
+     * Verifies the token once and returns its subject and expiry.
+     *
+     * @return empty if the token is malformed, has a bad signature, has no expiry or has expired
+     */
+    public Optional<AuthenticatedToken> authenticate(String token) {
+        String hash = cacheEnabled ? hash(token) : null;
+        if (hash != null) {
+            AuthenticatedToken cached = verifiedTokens.getIfPresent(hash);
+            if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+                return Optional.of(cached);
+            }
+        }
+
+        Optional<AuthenticatedToken> authenticated = verify(token);
+        if (hash != null) {
+            authenticated.ifPresent(verified -> verifiedTokens.put(hash, verified));
+        }
+        return authenticated;
     }
 
     public String extractUsername(String token) {
@@ -33,26 +93,52 @@ public class JwtUtils {
     }
 
     public boolean isTokenValid(String token) {
+        return authenticate(token).isPresent();
+    }
+
+    private Optional<AuthenticatedToken> verify(String token) {
         try {
             Claims claims = extractAllClaims(token);
-            return !claims.getExpiration().before(new Date());
+            if (claims.getExpiration() == null) {
+                log.error("Invalid token: no expiration");
+                return Optional.empty();
+            }
+            Instant expiresAt = claims.getExpiration().toInstant();
+            if (!expiresAt.isAfter(Instant.now())) {
+                log.warn("Token expired");
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedToken(claims.getSubject(), roles(claims), expiresAt));
         } catch (ExpiredJwtException e) {
             log.warn("Token expired");
-            return false;
+            return Optional.empty();
         } catch (MalformedJwtException | SignatureException e) {
             log.error("Invalid token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         } catch (Exception e) {
             log.error("Token validation error: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
 
+    private static Set<String> roles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+        }
+        return roles != null ? Set.of(roles.toString()) : Set.of();
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -1,9 +1,18 @@
 package com.github.amangusss.mapper;
 
+import com.github.amangusss.dto.eventlog.WorkloadEventLogDTO;
 import com.github.amangusss.dto.generated.MonthSummary;
+import com.github.amangusss.dto.generated.MonthlyTotalsReport;
+import com.github.amangusss.dto.generated.MonthlyWorkloadTotal;
+import com.github.amangusss.dto.generated.RollupRebuildResponse;
+import com.github.amangusss.dto.generated.TrainerTotalsPage;
+import com.github.amangusss.dto.generated.TrainerWorkloadTotal;
 import com.github.amangusss.dto.generated.TrainerSummaryResponse;
 import com.github.amangusss.dto.generated.TrainingEventRequest;
+import com.github.amangusss.dto.generated.WorkloadReplayResponse;
+import com.github.amangusss.dto.generated.WorkloadSnapshotResponse;
 import com.github.amangusss.dto.generated.YearSummary;
+import com.github.amangusss.dto.report.WorkloadReportDTO;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
 import com.github.amangusss.entity.ActionType;
 import com.github.amangusss.entity.Month;
@@ -11,6 +20,7 @@ import com.github.amangusss.entity.TrainerStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.ZoneId;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -40,6 +50,74 @@ public class GeneratedDtoMapper {
         return response;
     }
 
+    public MonthlyTotalsReport toGeneratedMonthlyTotals(int year, List<WorkloadReportDTO.MonthlyTotal> totals) {
+        return new MonthlyTotalsReport()
+                .year(year)
+                .months(totals.stream()
+                        .map(total -> new MonthlyWorkloadTotal()
+                                .month(MonthlyWorkloadTotal.MonthEnum.valueOf(Month.of(total.month()).name()))
+                                .totalHours(total.totalHours())
+                                .trainers(total.trainers()))
+                        .collect(Collectors.toList()));
+    }
+
+    public MonthlyTotalsReport toGeneratedMonthlyHours(int year, List<WorkloadReportDTO.MonthlyHours> hours) {
+        return new MonthlyTotalsReport()
+                .year(year)
+                .months(hours.stream()
+                        .map(month -> new MonthlyWorkloadTotal()
+                                .month(MonthlyWorkloadTotal.MonthEnum.valueOf(Month.of(month.month()).name()))
+                                .totalHours(month.totalHours()))
+                        .collect(Collectors.toList()));
+    }
+
+    public RollupRebuildResponse toGeneratedRollupRebuild(WorkloadReportDTO.RollupRebuild rebuild) {
+        return new RollupRebuildResponse()
+                .years(rebuild.years())
+                .rollups(rebuild.rollups())
+                .removed(rebuild.removed())
+                .durationMs(rebuild.durationMs());
+    }
+
+    public WorkloadReplayResponse toGeneratedReplay(WorkloadEventLogDTO.Replay replay) {
+        return new WorkloadReplayResponse()
+                .partitions(replay.partitions())
+                .trainers(replay.trainers())
+                .refused(replay.refused())
+                .skipped(replay.skipped())
+                .events(replay.events())
+                .durationMs(replay.durationMs());
+    }
+
+    public WorkloadSnapshotResponse toGeneratedSnapshot(WorkloadEventLogDTO.Snapshot snapshot) {
+        return new WorkloadSnapshotResponse()
+                .trainers(snapshot.trainers())
+                .durationMs(snapshot.durationMs());
+    }
+
+    public TrainerTotalsPage toGeneratedTrainerTotals(int year, WorkloadReportDTO.TrainerTotalsPage page) {
+        return new TrainerTotalsPage()
+                .year(year)
+                .page(page.page())
+                .size(page.size())
+                .hasMore(page.hasMore())
+                .items(page.items().stream()
+                        .map(this::toGeneratedTrainerTotal)
+                        .collect(Collectors.toList()));
+    }
+
+    public TrainerWorkloadTotal toGeneratedTrainerTotal(WorkloadReportDTO.TrainerTotal total) {
+        return new TrainerWorkloadTotal()
+                .username(total.username())
+                .firstName(total.firstName())
+                .lastName(total.lastName())
+                .status(switch (total.status()) {
+                    case ACTIVE -> TrainerWorkloadTotal.StatusEnum.ACTIVE;
+                    case INACTIVE -> TrainerWorkloadTotal.StatusEnum.INACTIVE;
+                })
+                .totalHours(total.totalHours());
+    }
+
     private YearSummary mapYearSummary(TrainerWorkloadDTO.YearSummary yearSummary) {
         YearSummary generated = new YearSummary();
         generated.setYear(yearSummary.year());
@@ -1,14 +1,15 @@
 package com.github.amangusss.mapper;
 
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.Month;
 import com.github.amangusss.entity.MonthSummary;
 import com.github.amangusss.entity.TrainerWorkload;
 
 import com.github.amangusss.entity.YearSummary;
 import org.springframework.stereotype.Component;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class TrainerWorkloadMapper {
@@ -18,9 +19,8 @@ public class TrainerWorkloadMapper {
             return null;
         }
 
-        List<TrainerWorkloadDTO.YearSummary> years = workload.getYears().stream()
+        List<TrainerWorkloadDTO.YearSummary> years = workload.getYears().entrySet().stream()
                 .map(this::toYearSummaryDto)
-                .sorted(Comparator.comparingInt(TrainerWorkloadDTO.YearSummary::year))
                 .toList();
 
         return new TrainerWorkloadDTO.Response.Summary(
@@ -28,27 +28,37 @@ public class TrainerWorkloadMapper {
                 workload.getFirstName(),
                 workload.getLastName(),
                 workload.getStatus(),
-                years
+                years,
+                toRevision(workload)
         );
     }
 
+    /**
+     * Revision of the document, derived from its id and {@code version}. The id keeps a trainer
+     * that was deleted and recreated from reusing an old revision.
+     */
+    public String toRevision(TrainerWorkload workload) {
+        long version = workload.getVersion() != null ? workload.getVersion() : 0L;
+        return workload.getId() + "-" + version;
+    }
+
     public void updateWorkloadInfo(TrainerWorkload workload, TrainerWorkloadDTO.Request.Create request) {
         workload.setFirstName(request.firstName());
         workload.setLastName(request.lastName());
         workload.setStatus(request.status());
     }
 
-    private TrainerWorkloadDTO.YearSummary toYearSummaryDto(YearSummary yearSummary) {
-        List<TrainerWorkloadDTO.MonthSummary> months = yearSummary.getMonths().stream()
+    private TrainerWorkloadDTO.YearSummary toYearSummaryDto(Map.Entry<Integer, YearSummary> year) {
+        List<TrainerWorkloadDTO.MonthSummary> months = year.getValue().getMonths().entrySet().stream()
                 .map(this::toMonthSummaryDto)
                 .toList();
-        return new TrainerWorkloadDTO.YearSummary(yearSummary.getYear(), months);
+        return new TrainerWorkloadDTO.YearSummary(year.getKey(), months);
     }
 
-    private TrainerWorkloadDTO.MonthSummary toMonthSummaryDto(MonthSummary monthSummary) {
+    private TrainerWorkloadDTO.MonthSummary toMonthSummaryDto(Map.Entry<Integer, MonthSummary> month) {
         return new TrainerWorkloadDTO.MonthSummary(
-                monthSummary.getMonth(),
-                monthSummary.getTotalHours()
+                Month.of(month.getKey()),
+                month.getValue().getTotalHours()
         );
     }
 }
@@ -0,0 +1,240 @@
+package com.github.amangusss.metrics;
+
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerWorkload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the workload pipeline. Meters are tagged only with bounded values (action, outcome,
+ * reason, operation), so their number of series stays fixed and no trainer identity is exported.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadMetrics {
+
+    static String WRITE_RETRIES = "workload.write.retries";
+    static String WRITE_RETRIES_EXHAUSTED = "workload.write.retries.exhausted";
+    static String DUPLICATE_EVENTS = "workload.events.duplicates";
+    static String EVENT_APPLY = "workload.events.apply";
+    static String LISTENER_PROCESSING = "workload.listener.processing";
+    static String LISTENER_BACKLOG = "workload.listener.backlog";
+    static String DLQ_SENT = "workload.dlq.sent";
+    static String DLQ_PENDING = "workload.dlq.pending";
+    static String DLQ_SPILLED = "workload.dlq.spilled";
+    static String REPOSITORY_CALLS = "workload.repository.calls";
+    static String DOCUMENT_YEARS = "workload.document.years";
+    static String DOCUMENT_MONTHS = "workload.document.months";
+    static String ROLLUP_FAILURES = "workload.rollup.failures";
+    static String ROLLUP_DRIFT = "workload.rollup.drift";
+    static String ROLLUPS_STALE = "workload.rollups.stale";
+    static String EVENT_LOG_FAILURES = "workload.event.log.failures";
+    static String ACTION_TAG = "action";
+    static String SOURCE_TAG = "source";
+    static String OUTCOME_TAG = "outcome";
+    static String REASON_TAG = "reason";
+    static String OPERATION_TAG = "operation";
+
+    public static String OUTCOME_APPLIED = "applied";
+    public static String OUTCOME_DUPLICATE = "duplicate";
+    public static String OUTCOME_FAILED = "failed";
+    public static String OUTCOME_DLQ = "dlq";
+
+    public static String ACTION_BATCH = "batch";
+    public static String ACTION_ROLLUP = "rollup";
+
+    public static String REASON_INVALID = "invalid";
+    public static String REASON_UNREADABLE = "unreadable";
+    public static String REASON_PROCESSING_ERROR = "processing-error";
+
+    MeterRegistry registry;
+    AtomicInteger backlog;
+    DistributionSummary documentYears;
+    DistributionSummary documentMonths;
+
+    public WorkloadMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.backlog = new AtomicInteger();
+        Gauge.builder(LISTENER_BACKLOG, backlog, AtomicInteger::get)
+                .description("Workload messages received by the listener and not yet processed")
+                .register(registry);
+        this.documentYears = DistributionSummary.builder(DOCUMENT_YEARS)
+                .description("Years in a trainer's workload document after a write")
+                .register(registry);
+        this.documentMonths = DistributionSummary.builder(DOCUMENT_MONTHS)
+                .description("Months across all years in a trainer's workload document after a write")
+                .register(registry);
+    }
+
+    public void recordWriteRetry(ActionType actionType) {
+        recordWriteRetry(actionType.getCode());
+    }
+
+    /**
+     * @param action code of the retried action, {@link #ACTION_BATCH} for a bulk write or
+     *               {@link #ACTION_ROLLUP} for a monthly rollup increment
+     */
+    public void recordWriteRetry(String action) {
+        writeCounter(WRITE_RETRIES, "Optimistic write retries caused by concurrent updates", action)
+                .increment();
+    }
+
+    public void recordWriteRetriesExhausted(ActionType actionType) {
+        recordWriteRetriesExhausted(actionType.getCode());
+    }
+
+    public void recordWriteRetriesExhausted(String action) {
+        writeCounter(WRITE_RETRIES_EXHAUSTED, "Writes that failed after all retry attempts", action)
+                .increment();
+    }
+
+    public void recordDuplicateEvent(String source) {
+        Counter.builder(DUPLICATE_EVENTS)
+                .description("Redelivered or replayed events skipped by deduplication")
+                .tag(SOURCE_TAG, source)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Marks a message as received by the listener: it counts towards the backlog until
+     * {@link #recordListenerProcessing} is called with the returned sample.
+     */
+    public Timer.Sample startListenerProcessing() {
+        backlog.incrementAndGet();
+        return Timer.start(registry);
+    }
+
+    public void recordListenerProcessing(Timer.Sample sample, String outcome) {
+        backlog.decrementAndGet();
+        sample.stop(Timer.builder(LISTENER_PROCESSING)
+                .description("Time from a workload message being received to it being processed")
+                .tag(OUTCOME_TAG, outcome)
+                .register(registry));
+    }
+
+    public void recordDeadLetter(String reason) {
+        Counter.builder(DLQ_SENT)
+                .description("Workload messages sent to the dead letter queue")
+                .tag(REASON_TAG, reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Registers the gauge of dead letters queued for sending. The queue is held by the gauge for
+     * the lifetime of the registry.
+     */
+    public void registerDeadLetterBacklog(Collection<?> pending) {
+        Gauge.builder(DLQ_PENDING, pending, Collection::size)
+                .description("Dead letters queued and not yet sent to the dead letter queue")
+                .register(registry);
+    }
+
+    public void recordDeadLetterSpill(int letters) {
+        Counter.builder(DLQ_SPILLED)
+                .description("Dead letters written to the local spill file while the broker was unavailable")
+                .register(registry)
+                .increment(letters);
+    }
+
+    public void recordRollupFailure(double hours) {
+        Counter.builder(ROLLUP_FAILURES)
+                .description("Monthly rollup updates that failed for good after the trainer write succeeded")
+                .register(registry)
+                .increment();
+        Counter.builder(ROLLUP_DRIFT)
+                .description("Hours that failed rollup updates left out of the monthly rollups, added or removed")
+                .baseUnit("hours")
+                .register(registry)
+                .increment(hours);
+    }
+
+    /**
+     * Registers the gauge of monthly rollups that missed an update and were not rebuilt since. The
+     * set is held by the gauge for the lifetime of the registry.
+     */
+    public void registerStaleRollups(Collection<?> stale) {
+        Gauge.builder(ROLLUPS_STALE, stale, Collection::size)
+                .description("Monthly rollups that missed an update on this instance and were not rebuilt since")
+                .register(registry);
+    }
+
+    public void recordEventLogFailure() {
+        Counter.builder(EVENT_LOG_FAILURES)
+                .description("Workload event log appends that failed and could not be covered by a snapshot")
+                .register(registry)
+                .increment();
+    }
+
+    public Timer.Sample startEventApply() {
+        return Timer.start(registry);
+    }
+
+    public void recordEventApply(Timer.Sample sample, ActionType actionType, String outcome) {
+        sample.stop(Timer.builder(EVENT_APPLY)
+                .description("Time to apply a single workload event, retries included")
+                .tag(ACTION_TAG, actionType.getCode())
+                .tag(OUTCOME_TAG, outcome)
+                .register(registry));
+    }
+
+    public <T> T timeRepository(String operation, Supplier<T> call) {
+        return repositoryTimer(operation).record(call);
+    }
+
+    /**
+     * Times a reactive repository call from subscription until it completes, fails or is cancelled.
+     */
+    public <T> Mono<T> timeRepository(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call.doFinally(signal -> sample.stop(repositoryTimer(operation)));
+        });
+    }
+
+    public void timeRepository(String operation, Runnable call) {
+        timeRepository(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public void recordDocumentSize(TrainerWorkload workload) {
+        if (workload == null || workload.getYears() == null) {
+            return;
+        }
+        documentYears.record(workload.getYears().size());
+        documentMonths.record(workload.getYears().values().stream()
+                .mapToInt(year -> year.getMonths() != null ? year.getMonths().size() : 0)
+                .sum());
+    }
+
+    private Timer repositoryTimer(String operation) {
+        return Timer.builder(REPOSITORY_CALLS)
+                .description("Latency of trainer workload repository calls")
+                .tag(OPERATION_TAG, operation)
+                .register(registry);
+    }
+
+    private Counter writeCounter(String name, String description, String action) {
+        return Counter.builder(name)
+                .description(description)
+                .tag(ACTION_TAG, action)
+                .register(registry);
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.amangusss.migration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a startup migration step on one instance only. The step is guarded by a lease document in
+ * {@code migration_locks}, taken with an upsert that only matches an expired lease: while another
+ * instance holds the lease, the upsert collides with its id and fails with a duplicate key.
+ * <p>
+ * An instance that does not get the lease waits, polling every {@code lock-poll-ms}, until the
+ * step is no longer pending. Migrations run before listeners start, so a waiting instance writes
+ * nothing meanwhile. If the holder dies, its lease expires after {@code lock-lease-seconds} and a
+ * waiting instance takes the step over; a step must therefore finish within the lease. Waiting
+ * longer than {@code lock-wait-seconds} fails startup.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MigrationLock {
+
+    static String COLLECTION = "migration_locks";
+
+    MongoTemplate mongoTemplate;
+    String owner = UUID.randomUUID().toString();
+    long leaseMs;
+    long waitMs;
+    long pollMs;
+
+    public MigrationLock(MongoTemplate mongoTemplate,
+                         @Value("${app.workload.migration.lock-lease-seconds}") long leaseSeconds,
+                         @Value("${app.workload.migration.lock-wait-seconds}") long waitSeconds,
+                         @Value("${app.workload.migration.lock-poll-ms}") long pollMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseMs = leaseSeconds * 1000;
+        this.waitMs = waitSeconds * 1000;
+        this.pollMs = pollMs;
+    }
+
+    /**
+     * Runs {@code migrate} once across all instances while {@code pending} holds, or waits for the
+     * instance that runs it to finish.
+     *
+     * @throws IllegalStateException if the step is still pending after waiting
+     */
+    public void runOnce(String step, BooleanSupplier pending, Runnable migrate) {
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (pending.getAsBoolean()) {
+            if (tryAcquire(step)) {
+                try {
+                    if (pending.getAsBoolean()) {
+                        migrate.run();
+                    }
+                } finally {
+                    release(step);
+                }
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("Timed out waiting for another instance to run migration step " + step);
+            }
+            log.info("Waiting for another instance to run migration step {}", step);
+            pause();
+        }
+    }
+
+    boolean tryAcquire(String step) {
+        Date now = new Date();
+        Query expired = Query.query(Criteria.where("_id").is(step).and("expiresAt").lt(now));
+        Update lease = new Update()
+                .set("owner", owner)
+                .set("expiresAt", new Date(now.getTime() + leaseMs));
+        try {
+            mongoTemplate.upsert(expired, lease, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    void release(String step) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(step).and("owner").is(owner)), COLLECTION);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a migration lock", e);
+        }
+    }
+}
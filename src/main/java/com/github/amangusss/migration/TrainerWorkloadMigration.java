@@ -0,0 +1,135 @@
+package com.github.amangusss.migration;
+
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.service.rollup.WorkloadRollupRebuilder;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Brings existing {@code trainer_workloads} documents and the monthly rollups derived from them
+ * up to the current layout before listeners start consuming. Every step is idempotent and only touches documents that
+ * still need it. A failed step fails startup, so the service never runs on a half-migrated
+ * layout; a restart resumes where it stopped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrainerWorkloadMigration implements SmartInitializingSingleton {
+
+    static int ARRAY_TYPE = 4;
+    static int CURSOR_BATCH_SIZE = 500;
+    static String ROLLUP_REBUILD = "rebuild-status-keyed-rollups";
+
+    MongoTemplate mongoTemplate;
+    WorkloadRollupRebuilder rollupRebuilder;
+    MigrationLock migrationLock;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            backfillVersions();
+            migrateToKeyedLayout();
+            rebuildStatusKeyedRollups();
+        } catch (RuntimeException e) {
+            log.error("Could not migrate trainer workloads: {}", e.getMessage());
+            throw new IllegalStateException("Trainer workload migration failed", e);
+        }
+    }
+
+    /**
+     * Documents written before optimistic locking have no {@code version}; Spring Data
+     * would treat them as new and try to insert them again on save.
+     */
+    void backfillVersions() {
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                TrainerWorkload.class
+        ).getModifiedCount();
+
+        if (updated > 0) {
+            log.info("Backfilled version on {} trainer workloads", updated);
+        }
+    }
+
+    /**
+     * Converts the old list layout ({@code years: [{year, months: [{month, totalHours}]}]}) to
+     * keyed sub-documents ({@code years: {"2025": {months: {"3": {totalHours}}}}}). Legacy
+     * documents are read through a cursor, so memory does not grow with their number. Each document
+     * is rewritten only while {@code years} is still an array, so concurrent writers and reruns
+     * are safe.
+     */
+    void migrateToKeyedLayout() {
+        Query legacy = Query.query(Criteria.where("years").type(ARRAY_TYPE)).cursorBatchSize(CURSOR_BATCH_SIZE);
+        legacy.fields().include("years");
+
+        String collection = mongoTemplate.getCollectionName(TrainerWorkload.class);
+        long migrated = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(legacy, Document.class, collection)) {
+            Iterator<Document> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                Document document = iterator.next();
+                Query stillLegacy = Query.query(Criteria.where("_id").is(document.get("_id")).and("years").type(ARRAY_TYPE));
+                Update update = new Update()
+                        .set("years", toKeyedYears(document.getList("years", Document.class)))
+                        .inc("version", 1);
+                migrated += mongoTemplate.updateFirst(stillLegacy, update, collection).getModifiedCount();
+            }
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated {} trainer workloads to keyed year/month layout", migrated);
+        }
+    }
+
+    /**
+     * Rollups used to be split by trainer status under ids of (year, month, status). Increments
+     * now go to (year, month) rollups, so the old ones would be counted next to them; a rebuild
+     * recomputes every year and removes rollups whose id it did not write.
+     * <p>
+     * A rebuild overwrites increments made while it runs, so it runs on one instance through
+     * {@link MigrationLock}, and every other starting instance waits for it before its listeners
+     * start incrementing rollups.
+     */
+    void rebuildStatusKeyedRollups() {
+        migrationLock.runOnce(ROLLUP_REBUILD, this::hasStatusKeyedRollups, () -> {
+            log.info("Rebuilding monthly rollups that are still split by trainer status");
+            rollupRebuilder.rebuild("rollup-migration");
+        });
+    }
+
+    private boolean hasStatusKeyedRollups() {
+        return mongoTemplate.exists(Query.query(Criteria.where("status").exists(true)), WorkloadMonthlyRollup.class);
+    }
+
+    private Document toKeyedYears(List<Document> years) {
+        Document keyedYears = new Document();
+        for (Document year : years) {
+            Document keyedMonths = new Document();
+            for (Document month : year.getList("months", Document.class, List.of())) {
+                int monthNumber = Month.valueOf(month.getString("month")).getValue();
+                keyedMonths.put(String.valueOf(monthNumber), new Document("totalHours", month.get("totalHours")));
+            }
+            keyedYears.put(String.valueOf(year.getInteger("year")), new Document("months", keyedMonths));
+        }
+        return keyedYears;
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.entity.TrainerWorkload;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read view of {@code trainer_workloads} for the reactive summary endpoint. Writes
+ * stay on {@link TrainerWorkloadRepository}.
+ */
+public interface ReactiveTrainerWorkloadRepository extends ReactiveMongoRepository<TrainerWorkload, String> {
+    Mono<TrainerWorkload> findByUsername(String username);
+
+    /**
+     * Only the id and {@code version}, enough to derive the revision for conditional requests.
+     */
+    @Query(value = "{ 'username': ?0 }", fields = "{ '_id': 1, 'version': 1 }")
+    Mono<TrainerWorkload> findVersionByUsername(String username);
+}
@@ -0,0 +1,43 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cross-trainer reports computed server-side with aggregation pipelines. Every report covers one
+ * year and, when {@code status} is not {@code null}, only trainers with that status.
+ */
+public interface TrainerWorkloadReportRepository {
+
+    /**
+     * Hours and number of trainers per month, in month order. Months without hours are omitted.
+     */
+    List<WorkloadReportDTO.MonthlyTotal> aggregateMonthlyTotals(int year, TrainerStatus status);
+
+    /**
+     * Yearly hours per trainer, highest first (ties by username), skipping {@code skip} trainers
+     * and returning at most {@code limit}.
+     */
+    List<WorkloadReportDTO.TrainerTotal> aggregateTrainerTotals(int year, TrainerStatus status, long skip, int limit);
+
+    /**
+     * Yearly hours of every matching trainer in username order, read through a cursor fetching
+     * {@code batchSize} documents at a time. The stream must be closed.
+     */
+    Stream<WorkloadReportDTO.TrainerTotal> streamTrainerTotals(int year, TrainerStatus status, int batchSize);
+
+    /**
+     * Every year that at least one trainer has hours in, in no particular order.
+     */
+    List<Integer> findYears();
+
+    /**
+     * Recomputes the monthly rollups of {@code year} from the trainers' documents: hours per
+     * month of all trainers. The returned rollups have no id.
+     */
+    List<WorkloadMonthlyRollup> aggregateRollups(int year);
+}
@@ -3,8 +3,22 @@ package com.github.amangusss.repository;
 import com.github.amangusss.entity.TrainerWorkload;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TrainerWorkloadRepository extends MongoRepository<TrainerWorkload, String> {
+public interface TrainerWorkloadRepository extends MongoRepository<TrainerWorkload, String>, TrainerWorkloadRepositoryCustom,
+        TrainerWorkloadReportRepository {
     Optional<TrainerWorkload> findByUsername(String username);
+
+    /**
+     * One {@code $in} query on the unique {@code username} index, read through a cursor.
+     * The stream must be closed.
+     */
+    Stream<TrainerWorkload> streamByUsernameIn(Collection<String> usernames);
+
+    /**
+     * Every trainer, read through a cursor. The stream must be closed.
+     */
+    Stream<TrainerWorkload> streamAllBy();
 }
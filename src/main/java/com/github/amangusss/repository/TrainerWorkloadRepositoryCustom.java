@@ -0,0 +1,68 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.TrainerWorkload;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface TrainerWorkloadRepositoryCustom {
+
+    /**
+     * Atomically adds {@code hours} to the given year/month of the trainer identified by
+     * {@code profile.getUsername()}, creating the trainer, year or month on demand.
+     * Profile fields (first name, last name, status) are refreshed and {@code eventId}, unless
+     * {@code null}, is recorded in {@code processedEvents} in the same write.
+     *
+     * @return {@code _id}, {@code version}, {@code username}, {@code status} and the incremented
+     * month as they are after the update; other years and months are not read back. Empty if the
+     * trainer already lists {@code eventId}, in which case nothing was written
+     */
+    Optional<TrainerWorkload> incrementMonthHours(TrainerWorkload profile, String eventId, int year, Month month, double hours);
+
+    /**
+     * Reads the profile, {@code version}, {@code processedEvents} and the given years of each
+     * trainer, the state a batch is folded into. Trainers without a document are not returned.
+     */
+    List<TrainerWorkload> findHistories(Collection<String> usernames, Collection<Integer> years);
+
+    /**
+     * Stores folded batches with one unordered {@code bulkWrite}, one upsert per trainer, each
+     * applied only if the trainer is still at the version the batch was folded into. Trainers
+     * without a document are created.
+     *
+     * @throws com.github.amangusss.exception.DeltaWriteException if any write failed, carrying the
+     * trainers that were written; its cause is an
+     * {@link org.springframework.dao.OptimisticLockingFailureException} when all failures were
+     * trainers written concurrently
+     */
+    void applyWrites(Collection<TrainerWorkloadWrite> writes);
+
+    /**
+     * Overwrites the profile and whole history of each trainer with one unordered
+     * {@code bulkWrite} of upserts by username, setting {@code version} to the workload's version.
+     * A trainer is only overwritten while its document is not past that version, so a write that
+     * happened after the history was read is never lost. Trainers not in {@code workloads} are
+     * left alone.
+     *
+     * @return trainers whose document moved past the given version, left as they are
+     */
+    Set<String> replaceHistories(Collection<TrainerWorkload> workloads);
+
+    /**
+     * Reads only {@code _id} and {@code version} of the trainer's document, for cheap
+     * "has it changed" checks. Other fields of the returned workload are not populated.
+     */
+    Optional<TrainerWorkload> findVersionByUsername(String username);
+
+    /**
+     * Reads the trainer's profile, {@code version} and only the part of the history inside
+     * {@code range}, projected server-side on the keyed {@code years.<year>.months.<month>} paths.
+     * Years and months outside the range are neither read nor transferred.
+     */
+    Optional<TrainerWorkload> findByUsernameWithin(String username, SummaryRange range);
+}
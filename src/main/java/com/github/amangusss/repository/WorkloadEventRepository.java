@@ -0,0 +1,7 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.entity.WorkloadEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface WorkloadEventRepository extends MongoRepository<WorkloadEvent, String>, WorkloadEventRepositoryCustom {
+}
@@ -0,0 +1,26 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.entity.WorkloadEvent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface WorkloadEventRepositoryCustom {
+
+    /**
+     * Every username with at least one logged event, in no particular order.
+     */
+    List<String> findUsernames();
+
+    /**
+     * Events of the given trainers from each trainer's latest
+     * {@link com.github.amangusss.entity.WorkloadEventType#SNAPSHOT} on, or from its first entry if
+     * it has none, ordered by username, then by {@code sequence}, so each trainer's events arrive
+     * together, in the order the trainer was written and starting with that snapshot. Entries
+     * logged before entries were numbered have no sequence and are left out. Read through a cursor
+     * fetching {@code batchSize} documents at a time on the {@code (username, sequence)} index. The
+     * stream must be closed.
+     */
+    Stream<WorkloadEvent> streamFromLatestSnapshot(Collection<String> usernames, int batchSize);
+}
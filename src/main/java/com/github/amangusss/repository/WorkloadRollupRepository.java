@@ -0,0 +1,10 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface WorkloadRollupRepository extends MongoRepository<WorkloadMonthlyRollup, String>, WorkloadRollupRepositoryCustom {
+    List<WorkloadMonthlyRollup> findByYearOrderByMonth(int year);
+}
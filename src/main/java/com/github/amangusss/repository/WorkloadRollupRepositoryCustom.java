@@ -0,0 +1,29 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface WorkloadRollupRepositoryCustom {
+
+    /**
+     * Adds the signed hours to each rollup with one unordered {@code bulkWrite} of upserting
+     * {@code $inc}, creating rollups on demand.
+     *
+     * @throws com.github.amangusss.exception.RollupWriteException if some of the increments failed,
+     *         carrying the ids of the rollups that were incremented
+     */
+    void incrementHours(Map<WorkloadMonthlyRollup.Key, Double> hoursByKey);
+
+    /**
+     * Makes {@code rollups} the only rollups of {@code year}: their totals are overwritten and
+     * rollups of that year not among them are removed.
+     */
+    void replaceYear(int year, Collection<WorkloadMonthlyRollup> rollups);
+
+    /**
+     * Removes rollups of every year not in {@code years}.
+     */
+    long deleteYearsOtherThan(Collection<Integer> years);
+}
@@ -0,0 +1,28 @@
+package com.github.amangusss.repository.impl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+
+import java.util.List;
+
+/**
+ * Per-operation errors of a failed {@code bulkWrite}. Spring translates a bulk failure into a
+ * {@link BulkOperationException}, or into a {@link org.springframework.dao.DuplicateKeyException}
+ * wrapping the driver's {@link MongoBulkWriteException} when a write hit a unique index.
+ */
+final class BulkWriteErrors {
+
+    static final int DUPLICATE_KEY = 11000;
+
+    private BulkWriteErrors() {
+    }
+
+    static List<BulkWriteError> of(DataAccessException e) {
+        if (e instanceof BulkOperationException bulkFailure) {
+            return bulkFailure.getErrors();
+        }
+        return e.getCause() instanceof MongoBulkWriteException bulkFailure ? bulkFailure.getWriteErrors() : List.of();
+    }
+}
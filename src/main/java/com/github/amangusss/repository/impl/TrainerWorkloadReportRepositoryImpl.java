@@ -0,0 +1,141 @@
+package com.github.amangusss.repository.impl;
+
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.repository.TrainerWorkloadReportRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.amangusss.repository.impl.TrainerWorkloadRepositoryCustomImpl.yearPath;
+
+/**
+ * Aggregation pipelines behind {@link TrainerWorkloadReportRepository}.
+ * <p>
+ * Years and months are keyed sub-documents rather than arrays, so instead of unwinding every year
+ * each pipeline addresses the requested year directly ({@code years.2025.months}) and turns only
+ * its months into an array with {@code $objectToArray}. The leading {@code $match} on
+ * {@code status} uses the status index, and trainers without the year are dropped before any
+ * document is reshaped.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrainerWorkloadReportRepositoryImpl implements TrainerWorkloadReportRepository {
+
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public List<WorkloadReportDTO.MonthlyTotal> aggregateMonthlyTotals(int year, TrainerStatus status) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                match(year, status),
+                Aggregation.stage(new Document("$project", new Document("_id", 0)
+                        .append("months", new Document("$objectToArray", "$" + monthsPath(year))))),
+                Aggregation.stage(new Document("$unwind", "$months")),
+                Aggregation.stage(new Document("$group", new Document("_id", new Document("$toInt", "$months.k"))
+                        .append("totalHours", new Document("$sum", "$months.v.totalHours"))
+                        .append("trainers", new Document("$sum", 1)))),
+                Aggregation.stage(new Document("$sort", new Document("_id", 1))),
+                Aggregation.stage(new Document("$project", new Document("_id", 0)
+                        .append("month", "$_id")
+                        .append("totalHours", 1)
+                        .append("trainers", 1))));
+
+        return mongoTemplate.aggregate(aggregation, collection(), WorkloadReportDTO.MonthlyTotal.class).getMappedResults();
+    }
+
+    @Override
+    public List<WorkloadReportDTO.TrainerTotal> aggregateTrainerTotals(int year, TrainerStatus status, long skip, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                match(year, status),
+                projectTrainerTotal(year),
+                Aggregation.stage(new Document("$sort", new Document("totalHours", -1).append("username", 1))),
+                Aggregation.stage(new Document("$skip", skip)),
+                Aggregation.stage(new Document("$limit", limit)));
+
+        return mongoTemplate.aggregate(aggregation, collection(), WorkloadReportDTO.TrainerTotal.class).getMappedResults();
+    }
+
+    @Override
+    public Stream<WorkloadReportDTO.TrainerTotal> streamTrainerTotals(int year, TrainerStatus status, int batchSize) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                        match(year, status),
+                        Aggregation.stage(new Document("$sort", new Document("username", 1))),
+                        projectTrainerTotal(year))
+                .withOptions(AggregationOptions.builder().cursorBatchSize(batchSize).build());
+
+        return mongoTemplate.aggregateStream(aggregation, collection(), WorkloadReportDTO.TrainerTotal.class);
+    }
+
+    @Override
+    public List<Integer> findYears() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.stage(new Document("$project", new Document("_id", 0)
+                        .append("years", new Document("$objectToArray", "$years")))),
+                Aggregation.stage(new Document("$unwind", "$years")),
+                Aggregation.stage(new Document("$group", new Document("_id", "$years.k"))));
+
+        return mongoTemplate.aggregate(aggregation, collection(), Document.class).getMappedResults().stream()
+                .map(year -> Integer.valueOf(year.getString("_id")))
+                .toList();
+    }
+
+    @Override
+    public List<WorkloadMonthlyRollup> aggregateRollups(int year) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                match(year, null),
+                Aggregation.stage(new Document("$project", new Document("_id", 0)
+                        .append("months", new Document("$objectToArray", "$" + monthsPath(year))))),
+                Aggregation.stage(new Document("$unwind", "$months")),
+                Aggregation.stage(new Document("$group", new Document("_id", new Document("$toInt", "$months.k"))
+                        .append("totalHours", new Document("$sum", "$months.v.totalHours")))),
+                Aggregation.stage(new Document("$project", new Document("_id", 0)
+                        .append("year", new Document("$literal", year))
+                        .append("month", "$_id")
+                        .append("totalHours", 1))));
+
+        return mongoTemplate.aggregate(aggregation, collection(), WorkloadMonthlyRollup.class).getMappedResults();
+    }
+
+    private AggregationOperation match(int year, TrainerStatus status) {
+        Document filter = new Document();
+        if (status != null) {
+            filter.append("status", status.name());
+        }
+        filter.append(yearPath(year), new Document("$exists", true));
+        return Aggregation.stage(new Document("$match", filter));
+    }
+
+    private AggregationOperation projectTrainerTotal(int year) {
+        Document monthHours = new Document("$map", new Document("input", new Document("$objectToArray", "$" + monthsPath(year)))
+                .append("as", "month")
+                .append("in", "$$month.v.totalHours"));
+
+        return Aggregation.stage(new Document("$project", new Document("_id", 0)
+                .append("username", 1)
+                .append("firstName", 1)
+                .append("lastName", 1)
+                .append("status", 1)
+                .append("totalHours", new Document("$sum", monthHours))));
+    }
+
+    private String collection() {
+        return mongoTemplate.getCollectionName(TrainerWorkload.class);
+    }
+
+    private static String monthsPath(int year) {
+        return yearPath(year) + ".months";
+    }
+}
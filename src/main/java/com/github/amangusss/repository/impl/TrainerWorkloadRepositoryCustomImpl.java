@@ -0,0 +1,267 @@
+package com.github.amangusss.repository.impl;
+
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.exception.DeltaWriteException;
+import com.github.amangusss.repository.TrainerWorkloadRepositoryCustom;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Server-side update path for {@link TrainerWorkload} documents.
+ * <p>
+ * Years and months are stored as keyed sub-documents ({@code years.2025.months.3.totalHours}), so
+ * an ADD is a single upserting {@code findAndModify} with {@code $inc} on that direct path: MongoDB
+ * creates the trainer, year and month on demand and concurrent writers never overwrite each other's
+ * increments. Only the touched month is projected back, so the reply does not grow with history.
+ * Two writers racing to insert the same new trainer surface as a {@link DuplicateKeyException},
+ * which callers are expected to retry.
+ * <p>
+ * Writes of identified events are idempotent: the event id is pushed onto the trainer's capped
+ * {@code processedEvents} in the same update that changes the hours, and the update only matches
+ * a trainer that does not list the id yet. A redelivered event therefore fails to match, and its
+ * upsert fails on the unique username, without a separate claim being written before it.
+ * Every write bumps {@code version}, so read-modify-write paths relying on
+ * {@link org.springframework.data.annotation.Version} detect these updates.
+ * <p>
+ * Batches are folded into documents read with {@link #findHistories} and stored with
+ * {@link #applyWrites}: one unordered {@code bulkWrite} with a single upsert per trainer that sets
+ * the resulting month totals and unsets months and years the batch emptied. Each upsert matches
+ * the trainer only at the {@code version} it was read at, so a trainer written in between fails
+ * on the unique username instead of being overwritten. The write errors name the failed
+ * operations, so the trainers that were written are reported through {@link DeltaWriteException}
+ * and callers never apply them twice.
+ * {@link #replaceHistories} overwrites whole histories the same way when they are rebuilt from the
+ * workload event log, as long as the trainer was not written past the rebuilt version.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrainerWorkloadRepositoryCustomImpl implements TrainerWorkloadRepositoryCustom {
+
+    static String PROCESSED_EVENTS = "processedEvents";
+    static FindAndModifyOptions UPSERT_RETURN_NEW = FindAndModifyOptions.options().returnNew(true).upsert(true);
+
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<TrainerWorkload> incrementMonthHours(TrainerWorkload profile, String eventId, int year, Month month,
+                                                         double hours) {
+        Update update = profileUpdate(profile)
+                .inc(totalHoursPath(year, month.getValue()), hours);
+
+        Query query = byUsername(profile.getUsername());
+        if (eventId != null) {
+            query.addCriteria(Criteria.where(PROCESSED_EVENTS).ne(eventId));
+            recordProcessedEvents(update, List.of(eventId));
+        }
+        query.fields().include("version", "username", "status", monthPath(year, month.getValue()));
+        try {
+            return Optional.of(mongoTemplate.findAndModify(query, update, UPSERT_RETURN_NEW, TrainerWorkload.class));
+        } catch (DuplicateKeyException e) {
+            if (eventId != null && mongoTemplate.exists(byUsername(profile.getUsername())
+                    .addCriteria(Criteria.where(PROCESSED_EVENTS).is(eventId)), TrainerWorkload.class)) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<TrainerWorkload> findHistories(Collection<String> usernames, Collection<Integer> years) {
+        if (usernames.isEmpty()) {
+            return List.of();
+        }
+        Query query = Query.query(Criteria.where("username").in(usernames));
+        Field fields = query.fields().include("username", "firstName", "lastName", "status", "version", PROCESSED_EVENTS);
+        years.forEach(year -> fields.include(yearPath(year)));
+        return mongoTemplate.find(query, TrainerWorkload.class);
+    }
+
+    @Override
+    public void applyWrites(Collection<TrainerWorkloadWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        List<String> trainers = new ArrayList<>(writes.size());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class);
+        for (TrainerWorkloadWrite write : writes) {
+            trainers.add(write.username());
+            bulk.upsert(byUsernameAtVersion(write.username(), write.version()), writeUpdate(write));
+        }
+
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (DataAccessException e) {
+            List<BulkWriteError> errors = BulkWriteErrors.of(e);
+            Set<String> applied = new LinkedHashSet<>();
+            if (!errors.isEmpty()) {
+                applied.addAll(trainers);
+                errors.forEach(error -> applied.remove(trainers.get(error.getIndex())));
+            }
+            log.warn("Trainer write bulk failed: {} of {} trainers applied", applied.size(), trainers.size());
+            boolean conflicts = !errors.isEmpty()
+                    && errors.stream().allMatch(error -> error.getCode() == BulkWriteErrors.DUPLICATE_KEY);
+            throw new DeltaWriteException(applied, conflicts
+                    ? new OptimisticLockingFailureException("Trainers changed since they were read", e)
+                    : e);
+        }
+
+        log.debug("Applied {} trainer writes: matched={}, modified={}, upserted={}",
+                trainers.size(), result.getMatchedCount(), result.getModifiedCount(), result.getUpserts().size());
+    }
+
+    @Override
+    public Set<String> replaceHistories(Collection<TrainerWorkload> workloads) {
+        if (workloads.isEmpty()) {
+            return Set.of();
+        }
+
+        List<String> trainers = new ArrayList<>(workloads.size());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class);
+        for (TrainerWorkload workload : workloads) {
+            trainers.add(workload.getUsername());
+            bulk.upsert(byUsernameNotPast(workload.getUsername(), workload.getVersion()), new Update()
+                    .set("firstName", workload.getFirstName())
+                    .set("lastName", workload.getLastName())
+                    .set("status", workload.getStatus())
+                    .set("years", workload.getYears())
+                    .set("version", workload.getVersion()));
+        }
+
+        try {
+            BulkWriteResult result = bulk.execute();
+            log.debug("Replaced {} trainer histories: modified={}, upserted={}",
+                    workloads.size(), result.getModifiedCount(), result.getUpserts().size());
+            return Set.of();
+        } catch (DataAccessException e) {
+            List<BulkWriteError> errors = BulkWriteErrors.of(e);
+            if (errors.isEmpty() || errors.stream().anyMatch(error -> error.getCode() != BulkWriteErrors.DUPLICATE_KEY)) {
+                throw e;
+            }
+            Set<String> moved = new LinkedHashSet<>();
+            errors.forEach(error -> moved.add(trainers.get(error.getIndex())));
+            log.debug("Replaced {} trainer histories, {} were written meanwhile", workloads.size() - moved.size(), moved.size());
+            return moved;
+        }
+    }
+
+    @Override
+    public Optional<TrainerWorkload> findVersionByUsername(String username) {
+        Query query = byUsername(username);
+        query.fields().include("version");
+        return Optional.ofNullable(mongoTemplate.findOne(query, TrainerWorkload.class));
+    }
+
+    @Override
+    public Optional<TrainerWorkload> findByUsernameWithin(String username, SummaryRange range) {
+        Query query = byUsername(username);
+        Field fields = query.fields().include("username", "firstName", "lastName", "status", "version");
+        if (range.isWholeYear()) {
+            fields.include(yearPath(range.year()));
+        } else {
+            for (int month = range.fromMonth(); month <= range.toMonth(); month++) {
+                fields.include(monthPath(range.year(), month));
+            }
+        }
+        return Optional.ofNullable(mongoTemplate.findOne(query, TrainerWorkload.class));
+    }
+
+    /**
+     * Matches the trainer only while its version is at most {@code version}. As an upsert, a
+     * trainer written past it fails on the unique username instead of being overwritten.
+     */
+    private Query byUsernameNotPast(String username, Long version) {
+        return Query.query(Criteria.where("username").is(username).and("version").not().gt(version));
+    }
+
+    /**
+     * Matches the trainer only while it is at {@code version}. As an upsert, a trainer that moved
+     * on fails on the unique username instead of being written, and one that does not exist yet
+     * is created.
+     */
+    private Query byUsernameAtVersion(String username, Long version) {
+        Criteria criteria = Criteria.where("username").is(username);
+        return Query.query(version != null ? criteria.and("version").is(version) : criteria.and("version").exists(false));
+    }
+
+    /**
+     * Sets the resulting totals of the touched months, unsets the months that dropped to zero
+     * and the years left empty, records the applied event ids and refreshes the profile if an ADD
+     * was applied.
+     */
+    private Update writeUpdate(TrainerWorkloadWrite write) {
+        Update update = write.profile() != null ? profileUpdate(write.profile()) : new Update().inc("version", 1);
+        write.hoursBefore().keySet().forEach(yearMonth -> {
+            if (write.emptiedYears().contains(yearMonth.getYear())) {
+                return;
+            }
+            Double hours = write.hoursAfter().get(yearMonth);
+            if (hours != null) {
+                update.set(totalHoursPath(yearMonth.getYear(), yearMonth.getMonthValue()), hours);
+            } else {
+                update.unset(monthPath(yearMonth.getYear(), yearMonth.getMonthValue()));
+            }
+        });
+        write.emptiedYears().forEach(year -> update.unset(yearPath(year)));
+        if (!write.processedEvents().isEmpty()) {
+            recordProcessedEvents(update, write.processedEvents());
+        }
+        return update;
+    }
+
+    private static void recordProcessedEvents(Update update, List<String> eventIds) {
+        update.push(PROCESSED_EVENTS).slice(-TrainerWorkload.PROCESSED_EVENTS_LIMIT).each(eventIds.toArray());
+    }
+
+    private Query byUsername(String username) {
+        return Query.query(Criteria.where("username").is(username));
+    }
+
+    private Update profileUpdate(TrainerWorkload profile) {
+        return new Update()
+                .set("firstName", profile.getFirstName())
+                .set("lastName", profile.getLastName())
+                .set("status", profile.getStatus())
+                .inc("version", 1);
+    }
+
+    static String yearPath(int year) {
+        return "years." + year;
+    }
+
+    static String monthPath(int year, int month) {
+        return yearPath(year) + ".months." + month;
+    }
+
+    static String totalHoursPath(int year, int month) {
+        return monthPath(year, month) + ".totalHours";
+    }
+}
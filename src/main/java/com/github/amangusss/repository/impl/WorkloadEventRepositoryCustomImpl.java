@@ -0,0 +1,88 @@
+package com.github.amangusss.repository.impl;
+
+import com.github.amangusss.entity.WorkloadEvent;
+import com.github.amangusss.entity.WorkloadEventType;
+import com.github.amangusss.repository.WorkloadEventRepositoryCustom;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The latest snapshot of each trainer is found with one {@code $sort} and {@code $group} on the
+ * {@code (username, sequence)} index; its sequence is then the lower bound of that trainer's clause
+ * in the {@code $or} the events are streamed with, so entries before it are never read.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadEventRepositoryCustomImpl implements WorkloadEventRepositoryCustom {
+
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public List<String> findUsernames() {
+        return mongoTemplate.findDistinct(new Query(), "username", WorkloadEvent.class, String.class);
+    }
+
+    /**
+     * Several snapshots of a trainer can share a sequence, and the snapshot shares it with the
+     * entry of the write it was taken after, so only the chosen snapshot is read at its sequence
+     * and the entries strictly after it.
+     */
+    @Override
+    public Stream<WorkloadEvent> streamFromLatestSnapshot(Collection<String> usernames, int batchSize) {
+        if (usernames.isEmpty()) {
+            return Stream.empty();
+        }
+        Map<String, Document> snapshots = new HashMap<>();
+        findLatestSnapshots(usernames).forEach(snapshot -> snapshots.put(snapshot.getString("_id"), snapshot));
+
+        List<Criteria> clauses = new ArrayList<>(usernames.size() + 1);
+        List<Object> snapshotIds = new ArrayList<>(snapshots.size());
+        for (String username : usernames) {
+            Document snapshot = snapshots.get(username);
+            clauses.add(Criteria.where("username").is(username)
+                    .and("sequence").gt(snapshot != null ? snapshot.get("sequence") : 0L));
+            if (snapshot != null) {
+                snapshotIds.add(snapshot.get("id"));
+            }
+        }
+        if (!snapshotIds.isEmpty()) {
+            clauses.add(Criteria.where("_id").in(snapshotIds));
+        }
+
+        Query query = Query.query(new Criteria().orOperator(clauses))
+                .with(Sort.by("username", "sequence"))
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, WorkloadEvent.class);
+    }
+
+    private List<Document> findLatestSnapshots(Collection<String> usernames) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.stage(new Document("$match", new Document("username", new Document("$in", List.copyOf(usernames)))
+                        .append("type", WorkloadEventType.SNAPSHOT.name())
+                        .append("sequence", new Document("$exists", true)))),
+                Aggregation.stage(new Document("$sort", new Document("username", 1).append("sequence", -1))),
+                Aggregation.stage(new Document("$group", new Document("_id", "$username")
+                        .append("id", new Document("$first", "$_id"))
+                        .append("sequence", new Document("$first", "$sequence")))));
+
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(WorkloadEvent.class), Document.class)
+                .getMappedResults();
+    }
+}
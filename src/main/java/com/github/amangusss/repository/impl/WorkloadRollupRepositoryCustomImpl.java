@@ -0,0 +1,86 @@
+package com.github.amangusss.repository.impl;
+
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.exception.RollupWriteException;
+import com.github.amangusss.repository.WorkloadRollupRepositoryCustom;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadRollupRepositoryCustomImpl implements WorkloadRollupRepositoryCustom {
+
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementHours(Map<WorkloadMonthlyRollup.Key, Double> hoursByKey) {
+        if (hoursByKey.isEmpty()) {
+            return;
+        }
+
+        List<WorkloadMonthlyRollup.Key> keys = List.copyOf(hoursByKey.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WorkloadMonthlyRollup.class);
+        keys.forEach(key -> bulk.upsert(byId(key.id()), keyUpdate(key)
+                .inc("totalHours", hoursByKey.get(key))));
+        try {
+            bulk.execute();
+        } catch (DataAccessException e) {
+            List<BulkWriteError> errors = BulkWriteErrors.of(e);
+            if (errors.isEmpty()) {
+                throw e;
+            }
+            Set<String> applied = new HashSet<>();
+            keys.forEach(key -> applied.add(key.id()));
+            errors.forEach(error -> applied.remove(keys.get(error.getIndex()).id()));
+            throw new RollupWriteException(applied, e);
+        }
+    }
+
+    @Override
+    public void replaceYear(int year, Collection<WorkloadMonthlyRollup> rollups) {
+        List<String> ids = rollups.stream().map(WorkloadMonthlyRollup::getId).toList();
+        mongoTemplate.remove(Query.query(Criteria.where("year").is(year).and("_id").nin(ids)), WorkloadMonthlyRollup.class);
+        if (rollups.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WorkloadMonthlyRollup.class);
+        rollups.forEach(rollup -> bulk.upsert(byId(rollup.getId()), new Update()
+                .set("year", rollup.getYear())
+                .set("month", rollup.getMonth())
+                .set("totalHours", rollup.getTotalHours())));
+        bulk.execute();
+    }
+
+    @Override
+    public long deleteYearsOtherThan(Collection<Integer> years) {
+        return mongoTemplate.remove(Query.query(Criteria.where("year").nin(years)), WorkloadMonthlyRollup.class)
+                .getDeletedCount();
+    }
+
+    private Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private Update keyUpdate(WorkloadMonthlyRollup.Key key) {
+        return new Update()
+                .setOnInsert("year", key.year())
+                .setOnInsert("month", key.month());
+    }
+}
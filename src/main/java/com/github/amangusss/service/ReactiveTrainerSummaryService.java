@@ -0,0 +1,10 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTrainerSummaryService {
+    Mono<TrainerWorkloadDTO.Response.Summary> getTrainerSummary(String username, String transactionId);
+    Mono<String> getTrainerRevision(String username, String transactionId);
+}
@@ -1,8 +1,30 @@
 package com.github.amangusss.service;
 
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDelta;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TrainerWorkloadService {
-    void obtainWorkload(TrainerWorkloadDTO.Request.Create request, String transactionId);
+    /**
+     * @param eventId id the event is deduplicated on, {@code null} to always apply it
+     * @return {@code false} if the trainer had already applied {@code eventId} and nothing was written
+     */
+    boolean obtainWorkload(TrainerWorkloadDTO.Request.Create request, String eventId, String transactionId);
+
+    /**
+     * @param eventIds id of each request, at the same position, or {@code null} to always apply it
+     */
+    DeltaWriteResult obtainWorkloadBatch(List<TrainerWorkloadDTO.Request.Create> requests, List<String> eventIds,
+                                         String transactionId);
+    DeltaWriteResult applyWorkloadDeltas(List<TrainerWorkloadDelta> deltas, String transactionId);
     TrainerWorkloadDTO.Response.Summary getTrainerSummary(String username, String transactionId);
+    TrainerWorkloadDTO.Response.Summary getTrainerSummary(String username, SummaryRange range, String transactionId);
+    Optional<String> getTrainerRevision(String username, String transactionId);
+    Stream<TrainerWorkloadDTO.Response.Summary> streamTrainerSummaries(Collection<String> usernames, String transactionId);
 }
@@ -0,0 +1,14 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface WorkloadReportService {
+    List<WorkloadReportDTO.MonthlyTotal> getMonthlyTotals(int year, TrainerStatus status, String transactionId);
+    List<WorkloadReportDTO.MonthlyHours> getMonthlyHours(int year, TrainerStatus status, String transactionId);
+    WorkloadReportDTO.TrainerTotalsPage getTrainerTotals(int year, TrainerStatus status, int page, int size, String transactionId);
+    Stream<WorkloadReportDTO.TrainerTotal> streamTrainerTotals(int year, TrainerStatus status, String transactionId);
+}
@@ -0,0 +1,172 @@
+package com.github.amangusss.service.batch;
+
+import com.github.amangusss.dto.generated.BulkIngestionResponse;
+import com.github.amangusss.dto.generated.BulkItemResult;
+import com.github.amangusss.dto.generated.TrainingEventRequest;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.exception.TrainerNotFoundException;
+import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.idempotency.WorkloadEventDeduplicator;
+import com.github.amangusss.validation.TrainingEventRequestValidator;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies a list of training events received over REST. Each event is validated on its own with
+ * {@link TrainingEventRequestValidator}; the valid ones go through {@link TrainerWorkloadService#obtainWorkloadBatch}, which folds
+ * them per trainer, in order, into a single bulk write. Item statuses follow the write's
+ * {@link DeltaWriteResult}: events removing hours from a trainer or month that does not exist are
+ * reported as {@code NOT_FOUND}.
+ * <p>
+ * With an idempotency key, every valid event is identified by the key and its position, and the
+ * write records the ids it applies on the trainers' documents, so a retried request only applies
+ * the events that were not applied yet and reports the others as {@code DUPLICATE}. Events that
+ * were not applied, because the write failed or their trainer or month was not found, were never
+ * recorded and are applied by a retry. {@link WorkloadEventDeduplicator} answers ids this instance
+ * already saw without a write.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BulkWorkloadIngestor {
+
+    TrainerWorkloadService service;
+    TrainingEventRequestValidator validator;
+    WorkloadEventDeduplicator deduplicator;
+    int maxEvents;
+
+    public BulkWorkloadIngestor(TrainerWorkloadService service,
+                                TrainingEventRequestValidator validator,
+                                WorkloadEventDeduplicator deduplicator,
+                                @Value("${app.workload.bulk.max-events}") int maxEvents) {
+        this.service = service;
+        this.validator = validator;
+        this.deduplicator = deduplicator;
+        this.maxEvents = maxEvents;
+    }
+
+    /**
+     * @param idempotencyKey key of the request across retries, or {@code null} to apply every valid event
+     */
+    public BulkIngestionResponse ingest(List<TrainingEventRequest> requests, String idempotencyKey, String transactionId) {
+        if (requests.size() > maxEvents) {
+            throw new IllegalArgumentException(
+                    "Bulk request contains " + requests.size() + " events, at most " + maxEvents + " are allowed");
+        }
+
+        log.info("[{}][Operation] Validating bulk request of {} events", transactionId, requests.size());
+
+        List<BulkItemResult> results = new ArrayList<>(requests.size());
+        Map<Integer, TrainerWorkloadDTO.Request.Create> valid = new LinkedHashMap<>();
+        int rejected = 0;
+        for (int index = 0; index < requests.size(); index++) {
+            TrainingEventRequest request = requests.get(index);
+            BulkItemResult result = new BulkItemResult()
+                    .index(index)
+                    .username(request != null ? request.getUsername() : null);
+
+            TrainingEventRequestValidator.Result validation = validator.validate(request);
+            if (validation.isValid()) {
+                valid.put(index, validation.event());
+            } else {
+                log.debug("[{}][Operation] Rejected bulk event {}: {}", transactionId, index, validation.errors());
+                result.status(BulkItemResult.StatusEnum.REJECTED).errors(validation.errors());
+                rejected++;
+            }
+            results.add(result);
+        }
+
+        Map<Integer, String> eventIds = eventIds(valid, idempotencyKey);
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        int duplicates = 0;
+        for (int index : valid.keySet()) {
+            String eventId = eventIds.get(index);
+            if (eventId == null || !deduplicator.seenRecently(eventId, transactionId)) {
+                accepted.add(index);
+            } else {
+                results.get(index).status(BulkItemResult.StatusEnum.DUPLICATE);
+                duplicates++;
+            }
+        }
+
+        DeltaWriteResult written = write(accepted, valid, eventIds, transactionId);
+
+        Set<String> trainers = new HashSet<>();
+        int notFound = 0;
+        int applied = 0;
+        for (int position = 0; position < accepted.size(); position++) {
+            int index = accepted.get(position);
+            String username = valid.get(index).username();
+            String eventId = eventIds.get(index);
+            if (written.notFound().contains(position)) {
+                results.get(index).status(BulkItemResult.StatusEnum.NOT_FOUND)
+                        .errors(List.of(new TrainerNotFoundException(username).getMessage()));
+                notFound++;
+            } else if (written.duplicates().contains(position)) {
+                results.get(index).status(BulkItemResult.StatusEnum.DUPLICATE);
+                deduplicator.skipProcessed(eventId, transactionId);
+                duplicates++;
+            } else {
+                results.get(index).status(BulkItemResult.StatusEnum.APPLIED);
+                if (eventId != null) {
+                    deduplicator.remember(eventId);
+                }
+                trainers.add(username);
+                applied++;
+            }
+        }
+
+        log.info("[{}][Operation] Bulk request applied: {} events, {} rejected, {} not found, {} duplicates, {} trainers",
+                transactionId, applied, rejected, notFound, duplicates, trainers.size());
+
+        return new BulkIngestionResponse()
+                .received(requests.size())
+                .applied(applied)
+                .rejected(rejected)
+                .notFound(notFound)
+                .duplicates(duplicates)
+                .trainers(trainers.size())
+                .results(results);
+    }
+
+    private Map<Integer, String> eventIds(Map<Integer, TrainerWorkloadDTO.Request.Create> valid, String idempotencyKey) {
+        Map<Integer, String> eventIds = new HashMap<>();
+        String key = deduplicator.key(idempotencyKey);
+        if (key != null) {
+            valid.keySet().forEach(index -> eventIds.put(index, key + ":" + index));
+        }
+        return eventIds;
+    }
+
+    /**
+     * A write that fails part way has recorded the ids of the trainers it applied, so retrying
+     * the request reports their events as duplicates.
+     */
+    private DeltaWriteResult write(List<Integer> accepted, Map<Integer, TrainerWorkloadDTO.Request.Create> valid,
+                                   Map<Integer, String> eventIds, String transactionId) {
+        if (accepted.isEmpty()) {
+            return DeltaWriteResult.empty();
+        }
+        List<TrainerWorkloadDTO.Request.Create> requests = new ArrayList<>(accepted.size());
+        List<String> ids = new ArrayList<>(accepted.size());
+        accepted.forEach(index -> {
+            requests.add(valid.get(index));
+            ids.add(eventIds.get(index));
+        });
+        return service.obtainWorkloadBatch(requests, ids, transactionId);
+    }
+}
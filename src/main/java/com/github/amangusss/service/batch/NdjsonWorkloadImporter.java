@@ -0,0 +1,226 @@
+package com.github.amangusss.service.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.amangusss.dto.generated.ImportLineError;
+import com.github.amangusss.dto.generated.ImportResponse;
+import com.github.amangusss.dto.generated.TrainingEventRequest;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.validation.TrainingEventRequestValidator;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports training events from an NDJSON stream without holding the payload in memory. Lines are
+ * read one at a time, bound with a shared {@link ObjectReader} and validated like bulk events;
+ * valid events are grouped per trainer in a {@link WorkloadDeltaAggregator} that is written out with one
+ * bulk write every {@code window-size} events. Memory use is bounded by the window size, the
+ * maximum line length and the number of reported errors, whatever the size of the stream.
+ * <p>
+ * Each line is parsed on its own, so a malformed line is reported and skipped instead of
+ * aborting the import. Windows are applied as they fill up; if a write fails, the windows
+ * before it stay applied and the failure is propagated.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NdjsonWorkloadImporter {
+
+    TrainerWorkloadService service;
+    TrainingEventRequestValidator validator;
+    ObjectReader eventReader;
+    int windowSize;
+    int maxLineLength;
+    int maxReportedErrors;
+
+    public NdjsonWorkloadImporter(TrainerWorkloadService service,
+                                  TrainingEventRequestValidator validator,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.workload.import.window-size}") int windowSize,
+                                  @Value("${app.workload.import.max-line-length}") int maxLineLength,
+                                  @Value("${app.workload.import.max-reported-errors}") int maxReportedErrors) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Import window size must be at least 1");
+        }
+        this.service = service;
+        this.validator = validator;
+        this.eventReader = objectMapper.readerFor(TrainingEventRequest.class);
+        this.windowSize = windowSize;
+        this.maxLineLength = maxLineLength;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResponse importEvents(InputStream body, String transactionId) throws IOException {
+        log.info("[{}][Operation] Starting NDJSON import (window={})", transactionId, windowSize);
+
+        LineReader lines = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), maxLineLength);
+        WorkloadDeltaAggregator window = new WorkloadDeltaAggregator();
+        List<ImportLineError> errors = new ArrayList<>();
+        long lineNumber = 0;
+        long received = 0;
+        long applied = 0;
+        long rejected = 0;
+        int windows = 0;
+
+        try {
+            String line;
+            while ((line = lines.next()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                received++;
+
+                List<String> lineErrors = lines.truncated()
+                        ? List.of("line exceeds " + maxLineLength + " characters")
+                        : accept(line, window);
+                if (!lineErrors.isEmpty()) {
+                    rejected++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add(new ImportLineError().line(lineNumber).errors(lineErrors));
+                    }
+                    continue;
+                }
+
+                if (window.eventCount() >= windowSize) {
+                    applied += flush(window, transactionId);
+                    windows++;
+                }
+            }
+
+            if (!window.isEmpty()) {
+                applied += flush(window, transactionId);
+                windows++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("[{}][Operation] NDJSON import failed at line {}: {} events applied in {} windows before the failure",
+                    transactionId, lineNumber, applied, windows);
+            throw e;
+        }
+
+        log.info("[{}][Operation] NDJSON import finished: {} lines, {} applied, {} rejected, {} windows",
+                transactionId, received, applied, rejected, windows);
+
+        return new ImportResponse()
+                .received(received)
+                .applied(applied)
+                .rejected(rejected)
+                .windows(windows)
+                .errors(errors)
+                .errorsTruncated(rejected > errors.size());
+    }
+
+    private List<String> accept(String line, WorkloadDeltaAggregator window) {
+        TrainingEventRequest request;
+        try {
+            request = eventReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return List.of("malformed event: " + e.getOriginalMessage());
+        }
+
+        TrainingEventRequestValidator.Result validation = validator.validate(request);
+        if (validation.isValid()) {
+            window.add(validation.event());
+        }
+        return validation.errors();
+    }
+
+    private int flush(WorkloadDeltaAggregator window, String transactionId) {
+        int events = window.eventCount();
+        log.debug("[{}][Operation] Flushing import window: {} events for {} trainers",
+                transactionId, events, window.trainerCount());
+        DeltaWriteResult result = service.applyWorkloadDeltas(window.toDeltas(), transactionId);
+        if (!result.notFound().isEmpty()) {
+            log.warn("[{}][Operation] Import window removed hours from unknown trainers or months, skipped {} events",
+                    transactionId, result.notFound().size());
+        }
+        window.clear();
+        return events;
+    }
+
+    /**
+     * Splits a character stream into lines ({@code \n} or {@code \r\n}) and keeps at most
+     * {@code maxLength} characters of each, so an unterminated or oversized line cannot exhaust
+     * memory. Not thread-safe.
+     */
+    static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return the next line without its terminator, or {@code null} at the end of the stream
+         */
+        String next() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean readAny = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return readAny ? finish() : null;
+                    }
+                }
+                readAny = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        boolean truncated() {
+            return truncated;
+        }
+
+        private void append(int start, int end) {
+            int room = maxLength - line.length();
+            if (end - start > room) {
+                truncated = true;
+                end = start + Math.max(room, 0);
+            }
+            line.append(buffer, start, end - start);
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+    }
+}
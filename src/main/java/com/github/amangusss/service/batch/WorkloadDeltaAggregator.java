@@ -0,0 +1,56 @@
+package com.github.amangusss.service.batch;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDelta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups training events into one {@link TrainerWorkloadDelta} per trainer, keeping each
+ * trainer's events in arrival order and numbering all events in the order they were added. Not
+ * thread-safe; use one instance per batch.
+ */
+public class WorkloadDeltaAggregator {
+
+    private final Map<String, List<TrainerWorkloadDelta.Event>> trainers = new LinkedHashMap<>();
+    private int eventCount;
+
+    public void add(TrainerWorkloadDTO.Request.Create request) {
+        add(request, null);
+    }
+
+    /**
+     * @param eventId id the event is deduplicated on, {@code null} to always apply it
+     */
+    public void add(TrainerWorkloadDTO.Request.Create request, String eventId) {
+        trainers.computeIfAbsent(request.username(), username -> new ArrayList<>())
+                .add(new TrainerWorkloadDelta.Event(eventCount, eventId, request));
+        eventCount++;
+    }
+
+    public int eventCount() {
+        return eventCount;
+    }
+
+    public int trainerCount() {
+        return trainers.size();
+    }
+
+    public boolean isEmpty() {
+        return eventCount == 0;
+    }
+
+    public List<TrainerWorkloadDelta> toDeltas() {
+        return trainers.entrySet().stream()
+                .map(trainer -> new TrainerWorkloadDelta(trainer.getKey(), List.copyOf(trainer.getValue())))
+                .toList();
+    }
+
+    public void clear() {
+        trainers.clear();
+        eventCount = 0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.amangusss.service.batch;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDelta;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.YearSummary;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Folds a trainer's batched events into its current document, one event after another, with the
+ * rules of the single-event path:
+ * <ul>
+ *     <li>an ADD adds its hours, creating the trainer, year and month on demand, and refreshes the
+ *     profile;</li>
+ *     <li>a DELETE subtracts its hours from a month the trainer has, dropping the month at zero or
+ *     below and the year once it has no months left. A DELETE whose trainer, year or month does not
+ *     exist changes nothing and is reported as not found.</li>
+ * </ul>
+ * A DELETE of 5 hours followed by an ADD of 3 therefore leaves a 2-hour month at 3 hours, as it
+ * would event by event, where netting the two to -2 would clear the month. What still differs from
+ * single events is the write: all events of a trainer are stored at once or not at all, and a
+ * concurrent write to the trainer makes the whole batch of the trainer retry instead of
+ * interleaving with it.
+ * <p>
+ * An event whose id the trainer already lists, or that repeats an id earlier in the batch, is
+ * skipped as a duplicate; the ids of applied events are recorded with the write.
+ */
+public final class WorkloadDeltaPlanner {
+
+    private WorkloadDeltaPlanner() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param current the trainer's document with at least the years the events touch, or
+     *                {@code null} if the trainer has none
+     */
+    public static TrainerWorkloadWrite plan(TrainerWorkloadDelta delta, TrainerWorkload current) {
+        Map<YearMonth, Double> before = new TreeMap<>();
+        Map<YearMonth, Double> after = new TreeMap<>();
+        Map<Integer, Set<Integer>> monthsByYear = new TreeMap<>();
+        List<Integer> applied = new ArrayList<>();
+        List<Integer> notFound = new ArrayList<>();
+        List<Integer> duplicates = new ArrayList<>();
+        List<String> processedEvents = new ArrayList<>();
+        Set<String> seen = current != null ? new HashSet<>(current.getProcessedEvents()) : new HashSet<>();
+        boolean exists = current != null;
+        TrainerWorkload profile = null;
+
+        for (TrainerWorkloadDelta.Event event : delta.events()) {
+            if (event.eventId() != null && seen.contains(event.eventId())) {
+                duplicates.add(event.index());
+                continue;
+            }
+            TrainerWorkloadDTO.Request.Create request = event.request();
+            YearMonth month = event.month();
+            Set<Integer> months = monthsByYear.computeIfAbsent(month.getYear(), year -> monthsOf(current, year));
+            if (!before.containsKey(month)) {
+                Double hours = hoursOf(current, month);
+                before.put(month, hours != null ? hours : 0.0);
+                if (hours != null) {
+                    after.put(month, hours);
+                }
+            }
+
+            if (request.actionType() == ActionType.ADD) {
+                after.merge(month, request.trainingDuration(), Double::sum);
+                months.add(month.getMonthValue());
+                profile = TrainerWorkload.builder()
+                        .username(request.username())
+                        .firstName(request.firstName())
+                        .lastName(request.lastName())
+                        .status(request.status())
+                        .build();
+                exists = true;
+                applied(event, applied, processedEvents, seen);
+                continue;
+            }
+
+            Double hours = after.get(month);
+            if (!exists || hours == null) {
+                notFound.add(event.index());
+                continue;
+            }
+            double remaining = hours - request.trainingDuration();
+            if (remaining <= 0) {
+                after.remove(month);
+                months.remove(month.getMonthValue());
+            } else {
+                after.put(month, remaining);
+            }
+            applied(event, applied, processedEvents, seen);
+        }
+
+        Set<Integer> emptiedYears = new TreeSet<>();
+        monthsByYear.forEach((year, months) -> {
+            if (months.isEmpty() && current != null && current.getYears().containsKey(year)) {
+                emptiedYears.add(year);
+            }
+        });
+
+        return new TrainerWorkloadWrite(delta.username(), current != null ? current.getVersion() : null, profile,
+                before, after, emptiedYears, applied, notFound, duplicates, processedEvents);
+    }
+
+    private static void applied(TrainerWorkloadDelta.Event event, List<Integer> applied, List<String> processedEvents,
+                                Set<String> seen) {
+        applied.add(event.index());
+        if (event.eventId() != null) {
+            processedEvents.add(event.eventId());
+            seen.add(event.eventId());
+        }
+    }
+
+    private static Set<Integer> monthsOf(TrainerWorkload current, int year) {
+        YearSummary summary = current != null ? current.getYears().get(year) : null;
+        return summary != null ? new TreeSet<>(summary.getMonths().keySet()) : new TreeSet<>();
+    }
+
+    private static Double hoursOf(TrainerWorkload current, YearMonth month) {
+        YearSummary year = current != null ? current.getYears().get(month.getYear()) : null;
+        MonthSummary summary = year != null ? year.getMonths().get(month.getMonthValue()) : null;
+        return summary != null ? summary.getTotalHours() : null;
+    }
+}
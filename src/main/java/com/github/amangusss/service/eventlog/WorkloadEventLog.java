@@ -0,0 +1,213 @@
+package com.github.amangusss.service.eventlog;
+
+import com.github.amangusss.dto.eventlog.WorkloadEventLogDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadEvent;
+import com.github.amangusss.entity.WorkloadEventType;
+import com.github.amangusss.entity.YearSummary;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadEventRepository;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Appends training events to the {@code workload_events} log. Entries are only ever inserted: a
+ * single event is one insert, and every bulk write or import window is logged with one
+ * {@code insertMany} of its per-trainer writes.
+ * <p>
+ * Entries are appended once the trainer's document has been written, numbered with the
+ * {@code sequence} the write gave the trainer (its version after the write), so a write that fails
+ * leaves nothing to undo and concurrent writes of a trainer are ordered by the document itself
+ * rather than by the order their entries reach the log. MongoDB has no transaction around the two
+ * writes: when an append fails after its write, the trainers are snapshotted instead, which covers
+ * the write the log is missing. If that fails as well the failure is counted, and
+ * {@link WorkloadEventReplayer} refuses the trainers, whose sequence now has a gap, until the next
+ * {@link #snapshot}. A snapshot also covers hours recorded before the log was enabled.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadEventLog {
+
+    WorkloadEventRepository repository;
+    TrainerWorkloadRepository workloadRepository;
+    WorkloadMetrics metrics;
+    boolean enabled;
+    int batchSize;
+
+    public WorkloadEventLog(WorkloadEventRepository repository,
+                            TrainerWorkloadRepository workloadRepository,
+                            WorkloadMetrics metrics,
+                            @Value("${app.workload.event-log.enabled}") boolean enabled,
+                            @Value("${app.workload.event-log.batch-size}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Event log batch size must be at least 1");
+        }
+        this.repository = repository;
+        this.workloadRepository = workloadRepository;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param sequence the trainer's version after the write applied the event
+     */
+    public void record(TrainerWorkloadDTO.Request.Create request, int year, int month, long sequence, String transactionId) {
+        WorkloadEvent event = WorkloadEvent.builder()
+                .type(request.actionType() == ActionType.ADD ? WorkloadEventType.ADD : WorkloadEventType.DELETE)
+                .username(request.username())
+                .sequence(sequence)
+                .firstName(request.firstName())
+                .lastName(request.lastName())
+                .status(request.status())
+                .years(years(YearMonth.of(year, month), request.trainingDuration()))
+                .transactionId(transactionId)
+                .recordedAt(Instant.now())
+                .build();
+        append(List.of(event), transactionId);
+    }
+
+    /**
+     * Appends one entry per applied write, numbered with {@link TrainerWorkloadWrite#sequence()}.
+     * An entry carries the hours each month actually gained or lost, and the profile only when the
+     * write applied an ADD. A write that changed neither still bumped the trainer's version and is
+     * logged without hours, so the trainer's sequence stays without gaps.
+     */
+    public void record(Collection<TrainerWorkloadWrite> writes, String transactionId) {
+        Instant recordedAt = Instant.now();
+        List<WorkloadEvent> events = new ArrayList<>();
+        for (TrainerWorkloadWrite write : writes) {
+            SortedMap<Integer, YearSummary> years = new TreeMap<>();
+            write.hoursChanged().forEach((yearMonth, hours) -> putHours(years, yearMonth, hours));
+            TrainerWorkload profile = write.profile();
+            events.add(WorkloadEvent.builder()
+                    .type(WorkloadEventType.DELTA)
+                    .username(write.username())
+                    .sequence(write.sequence())
+                    .firstName(profile != null ? profile.getFirstName() : null)
+                    .lastName(profile != null ? profile.getLastName() : null)
+                    .status(profile != null ? profile.getStatus() : null)
+                    .years(years)
+                    .transactionId(transactionId)
+                    .recordedAt(recordedAt)
+                    .build());
+        }
+        append(events, transactionId);
+    }
+
+    /**
+     * Appends a {@link WorkloadEventType#SNAPSHOT} of every trainer's current document, read
+     * through a cursor and inserted {@code batch-size} entries at a time. Failures are propagated.
+     */
+    public WorkloadEventLogDTO.Snapshot snapshot(String transactionId) {
+        long startedAt = System.currentTimeMillis();
+        log.info("[{}][Operation] Taking workload snapshots", transactionId);
+
+        long trainers = 0;
+        Instant recordedAt = Instant.now();
+        try (Stream<TrainerWorkload> workloads = workloadRepository.streamAllBy()) {
+            List<WorkloadEvent> batch = new ArrayList<>(batchSize);
+            Iterator<TrainerWorkload> iterator = workloads.iterator();
+            while (iterator.hasNext()) {
+                batch.add(toSnapshot(iterator.next(), transactionId, recordedAt));
+                if (batch.size() == batchSize) {
+                    trainers += insert(batch);
+                }
+            }
+            trainers += insert(batch);
+        }
+
+        WorkloadEventLogDTO.Snapshot result = new WorkloadEventLogDTO.Snapshot(trainers, System.currentTimeMillis() - startedAt);
+        log.info("[{}][Operation] Took {} workload snapshots in {} ms", transactionId, result.trainers(), result.durationMs());
+        return result;
+    }
+
+    /**
+     * The trainers are already written, so a failure is not propagated: it would only make the
+     * caller retry a write that happened.
+     */
+    private void append(List<WorkloadEvent> events, String transactionId) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        try {
+            metrics.timeRepository("appendEvents", () -> repository.insert(events));
+            log.debug("[{}][Operation] Logged {} workload events", transactionId, events.size());
+        } catch (RuntimeException e) {
+            log.warn("[{}][Operation] Could not log {} workload events, snapshotting their trainers instead: {}",
+                    transactionId, events.size(), e.getMessage());
+            snapshot(events.stream().map(WorkloadEvent::getUsername).distinct().toList(), transactionId);
+        }
+    }
+
+    private void snapshot(List<String> usernames, String transactionId) {
+        Instant recordedAt = Instant.now();
+        try (Stream<TrainerWorkload> workloads = workloadRepository.streamByUsernameIn(usernames)) {
+            List<WorkloadEvent> snapshots = workloads.map(workload -> toSnapshot(workload, transactionId, recordedAt)).toList();
+            metrics.timeRepository("appendSnapshots", () -> repository.insert(snapshots));
+            log.info("[{}][Operation] Snapshotted {} trainers whose workload events could not be logged",
+                    transactionId, snapshots.size());
+        } catch (RuntimeException e) {
+            metrics.recordEventLogFailure();
+            log.error("[{}][Operation] Could not snapshot trainers {} either, replay refuses them until the next snapshot: {}",
+                    transactionId, usernames, e.getMessage());
+        }
+    }
+
+    private int insert(List<WorkloadEvent> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int inserted = batch.size();
+        metrics.timeRepository("appendSnapshots", () -> repository.insert(batch));
+        batch.clear();
+        return inserted;
+    }
+
+    private WorkloadEvent toSnapshot(TrainerWorkload workload, String transactionId, Instant recordedAt) {
+        return WorkloadEvent.builder()
+                .type(WorkloadEventType.SNAPSHOT)
+                .username(workload.getUsername())
+                .sequence(workload.getVersion() != null ? workload.getVersion() : 0L)
+                .firstName(workload.getFirstName())
+                .lastName(workload.getLastName())
+                .status(workload.getStatus())
+                .years(workload.getYears())
+                .transactionId(transactionId)
+                .recordedAt(recordedAt)
+                .build();
+    }
+
+    private static SortedMap<Integer, YearSummary> years(YearMonth yearMonth, double hours) {
+        SortedMap<Integer, YearSummary> years = new TreeMap<>();
+        putHours(years, yearMonth, hours);
+        return years;
+    }
+
+    private static void putHours(SortedMap<Integer, YearSummary> years, YearMonth yearMonth, double hours) {
+        years.computeIfAbsent(yearMonth.getYear(), year -> new YearSummary())
+                .getMonths()
+                .put(yearMonth.getMonthValue(), MonthSummary.builder().totalHours(hours).build());
+    }
+}
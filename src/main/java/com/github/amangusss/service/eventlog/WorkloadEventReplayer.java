@@ -0,0 +1,199 @@
+package com.github.amangusss.service.eventlog;
+
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.dto.eventlog.WorkloadEventLogDTO;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadEvent;
+import com.github.amangusss.entity.WorkloadEventType;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadEventRepository;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds {@code trainer_workloads} from the {@code workload_events} log. Usernames are split
+ * into {@code replay-parallelism} partitions by hash (one per core when it is not positive), and
+ * each partition is replayed on its own thread: {@code batch-size} trainers at a time, their
+ * entries are read through one cursor in log order, folded by {@link WorkloadProjection} and
+ * written back with one bulk write. A trainer's entries always land in the same partition, so
+ * partitions never write the same document.
+ * <p>
+ * A trainer is rebuilt from its latest {@link WorkloadEventType#SNAPSHOT}, or from an empty history
+ * at sequence 0 if it has none, and the entries numbered after it, which must follow each other
+ * without a gap. A gap means the trainer was written without the write being logged, for instance
+ * hours recorded before the log was enabled or an append that failed, so such a trainer is refused
+ * and left as it is; taking a snapshot gives it a new baseline. The rebuilt history gets the
+ * sequence of its last entry as version and only replaces a document that is not past it, so
+ * events applied while a trainer is being replayed are kept and the trainer is reported as
+ * skipped; a replay is idempotent and can simply be run again. Only one replay runs at a time.
+ * Monthly rollups are not touched and should be rebuilt afterwards.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadEventReplayer {
+
+    WorkloadEventRepository eventRepository;
+    TrainerWorkloadRepository workloadRepository;
+    TrainerWorkloadCache workloadCache;
+    TrainerSummaryCache summaryCache;
+    WorkloadThreads threads;
+    int parallelism;
+    int batchSize;
+    ReentrantLock replayLock = new ReentrantLock();
+
+    public WorkloadEventReplayer(WorkloadEventRepository eventRepository,
+                                 TrainerWorkloadRepository workloadRepository,
+                                 TrainerWorkloadCache workloadCache,
+                                 TrainerSummaryCache summaryCache,
+                                 WorkloadThreads threads,
+                                 @Value("${app.workload.event-log.replay-parallelism}") int parallelism,
+                                 @Value("${app.workload.event-log.batch-size}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Event log batch size must be at least 1");
+        }
+        this.eventRepository = eventRepository;
+        this.workloadRepository = workloadRepository;
+        this.workloadCache = workloadCache;
+        this.summaryCache = summaryCache;
+        this.threads = threads;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+    }
+
+    public WorkloadEventLogDTO.Replay replay(String transactionId) {
+        replayLock.lock();
+        try {
+            return replayAll(transactionId);
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    private WorkloadEventLogDTO.Replay replayAll(String transactionId) {
+        long startedAt = System.currentTimeMillis();
+        List<String> usernames = eventRepository.findUsernames();
+        int partitionCount = Math.max(1, Math.min(parallelism, usernames.size()));
+        log.info("[{}][Operation] Replaying workload log of {} trainers in {} partitions",
+                transactionId, usernames.size(), partitionCount);
+
+        List<List<String>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        usernames.forEach(username -> partitions.get(Math.floorMod(username.hashCode(), partitionCount)).add(username));
+
+        ExecutorService executor = Executors.newFixedThreadPool(partitionCount, threads.threadFactory("workload-replay-"));
+        PartitionReplay total = new PartitionReplay(0, 0, 0, 0);
+        try {
+            List<CompletableFuture<PartitionReplay>> replays = partitions.stream()
+                    .map(partition -> CompletableFuture.supplyAsync(() -> replayPartition(partition, transactionId), executor))
+                    .toList();
+            for (CompletableFuture<PartitionReplay> replay : replays) {
+                total = total.plus(replay.join());
+            }
+        } catch (CompletionException e) {
+            log.error("[{}][Operation] Workload log replay failed: {}", transactionId, e.getCause().getMessage());
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdown();
+            workloadCache.evictAll(usernames);
+            summaryCache.evictAll(usernames);
+        }
+
+        WorkloadEventLogDTO.Replay result = new WorkloadEventLogDTO.Replay(
+                partitionCount, total.trainers(), total.refused(), total.skipped(), total.events(),
+                System.currentTimeMillis() - startedAt);
+        if (result.refused() > 0) {
+            log.warn("[{}][Operation] Left {} trainers with gaps in their log as they are; take a snapshot to replay them",
+                    transactionId, result.refused());
+        }
+        if (result.skipped() > 0) {
+            log.warn("[{}][Operation] Left {} trainers written during the replay as they are; run it again to replay them",
+                    transactionId, result.skipped());
+        }
+        log.info("[{}][Operation] Replayed {} workload events into {} trainers in {} ms",
+                transactionId, result.events(), result.trainers(), result.durationMs());
+        return result;
+    }
+
+    private PartitionReplay replayPartition(List<String> usernames, String transactionId) {
+        PartitionReplay replayed = new PartitionReplay(0, 0, 0, 0);
+        for (int from = 0; from < usernames.size(); from += batchSize) {
+            replayed = replayed.plus(replayBatch(usernames.subList(from, Math.min(from + batchSize, usernames.size()))));
+        }
+        log.debug("[{}][Operation] Replayed partition: {} events into {} trainers, {} refused, {} skipped",
+                transactionId, replayed.events(), replayed.trainers(), replayed.refused(), replayed.skipped());
+        return replayed;
+    }
+
+    private PartitionReplay replayBatch(List<String> usernames) {
+        List<TrainerWorkload> rebuilt = new ArrayList<>(usernames.size());
+        long replayable = 0;
+        long events = 0;
+        try (Stream<WorkloadEvent> entries = eventRepository.streamFromLatestSnapshot(usernames, batchSize)) {
+            String username = null;
+            WorkloadProjection projection = null;
+            Iterator<WorkloadEvent> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                WorkloadEvent event = iterator.next();
+                if (!event.getUsername().equals(username)) {
+                    collect(projection, rebuilt);
+                    username = event.getUsername();
+                    projection = new WorkloadProjection(username);
+                    replayable++;
+                }
+                if (projection == null) {
+                    continue;
+                }
+                if (event.getType() != WorkloadEventType.SNAPSHOT && !follows(event, projection)) {
+                    projection = null;
+                    replayable--;
+                    continue;
+                }
+                projection.apply(event);
+                events++;
+            }
+            collect(projection, rebuilt);
+        }
+
+        Set<String> skipped = workloadRepository.replaceHistories(rebuilt);
+        return new PartitionReplay(rebuilt.size() - skipped.size(), usernames.size() - replayable, skipped.size(), events);
+    }
+
+    private static boolean follows(WorkloadEvent event, WorkloadProjection projection) {
+        return event.getSequence() != null && event.getSequence() == projection.sequence() + 1;
+    }
+
+    private void collect(WorkloadProjection projection, List<TrainerWorkload> rebuilt) {
+        if (projection != null && projection.exists()) {
+            rebuilt.add(projection.toWorkload());
+        }
+    }
+
+    private record PartitionReplay(long trainers, long refused, long skipped, long events) {
+
+        PartitionReplay plus(PartitionReplay other) {
+            return new PartitionReplay(trainers + other.trainers, refused + other.refused, skipped + other.skipped,
+                    events + other.events);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.amangusss.service.eventlog;
+
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadEvent;
+import com.github.amangusss.entity.YearSummary;
+
+import java.util.Map;
+
+/**
+ * Folds one trainer's log entries, in sequence order, into its {@link TrainerWorkload}. The folded
+ * workload carries the sequence of the last entry as its version. Each entry type is folded with
+ * the same rules the live write path applies:
+ * <ul>
+ *     <li>{@code ADD} adds hours, creating the trainer and month on demand;</li>
+ *     <li>{@code DELETE} subtracts hours from a month the trainer has and drops it at zero or below;</li>
+ *     <li>{@code DELTA} refreshes the profile if it carries one, which it does when the batch applied
+ *     an ADD, then adds signed hours and drops months a removal took to zero or below; a delta
+ *     without a profile is ignored for a trainer that does not exist yet;</li>
+ *     <li>{@code SNAPSHOT} replaces the whole history.</li>
+ * </ul>
+ * Years left without months are dropped. Not thread-safe.
+ */
+public class WorkloadProjection {
+
+    private final TrainerWorkload workload;
+    private boolean exists;
+    private long sequence;
+
+    public WorkloadProjection(String username) {
+        this.workload = TrainerWorkload.builder().username(username).build();
+    }
+
+    public void apply(WorkloadEvent event) {
+        if (event.getSequence() != null) {
+            sequence = event.getSequence();
+        }
+        switch (event.getType()) {
+            case ADD -> {
+                refreshProfile(event);
+                forEachMonth(event, this::add);
+            }
+            case DELETE -> {
+                if (exists) {
+                    forEachMonth(event, this::subtract);
+                }
+            }
+            case DELTA -> {
+                if (hasProfile(event)) {
+                    refreshProfile(event);
+                }
+                if (exists) {
+                    forEachMonth(event, (year, month, hours) -> {
+                        if (hours > 0) {
+                            add(year, month, hours);
+                        } else if (hours < 0) {
+                            subtract(year, month, -hours);
+                        }
+                    });
+                }
+            }
+            case SNAPSHOT -> {
+                refreshProfile(event);
+                workload.getYears().clear();
+                forEachMonth(event, this::add);
+            }
+        }
+    }
+
+    /**
+     * @return whether the folded entries leave the trainer with a document at all
+     */
+    public boolean exists() {
+        return exists;
+    }
+
+    /**
+     * @return sequence of the last folded entry, {@code 0} before any
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    public TrainerWorkload toWorkload() {
+        workload.setVersion(sequence);
+        return workload;
+    }
+
+    private void refreshProfile(WorkloadEvent event) {
+        workload.setFirstName(event.getFirstName());
+        workload.setLastName(event.getLastName());
+        workload.setStatus(event.getStatus());
+        exists = true;
+    }
+
+    private void add(int year, int month, double hours) {
+        MonthSummary summary = workload.getYears()
+                .computeIfAbsent(year, key -> new YearSummary())
+                .getMonths()
+                .computeIfAbsent(month, key -> new MonthSummary());
+        summary.setTotalHours(summary.getTotalHours() + hours);
+    }
+
+    /**
+     * A missing month is skipped, as the live write path reports it as not found.
+     */
+    private void subtract(int year, int month, double hours) {
+        YearSummary yearSummary = workload.getYears().get(year);
+        MonthSummary summary = yearSummary != null ? yearSummary.getMonths().get(month) : null;
+        if (summary == null) {
+            return;
+        }
+
+        double remaining = summary.getTotalHours() - hours;
+        if (remaining > 0) {
+            summary.setTotalHours(remaining);
+            return;
+        }
+        yearSummary.getMonths().remove(month);
+        if (yearSummary.getMonths().isEmpty()) {
+            workload.getYears().remove(year);
+        }
+    }
+
+    private static boolean hasProfile(WorkloadEvent event) {
+        return event.getFirstName() != null || event.getLastName() != null || event.getStatus() != null;
+    }
+
+    private static void forEachMonth(WorkloadEvent event, MonthHoursConsumer consumer) {
+        if (event.getYears() == null) {
+            return;
+        }
+        event.getYears().forEach((year, yearSummary) -> {
+            for (Map.Entry<Integer, MonthSummary> month : yearSummary.getMonths().entrySet()) {
+                consumer.accept(year, month.getKey(), month.getValue().getTotalHours());
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface MonthHoursConsumer {
+        void accept(int year, int month, double hours);
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.amangusss.service.idempotency;
+
+import com.github.amangusss.metrics.WorkloadMetrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Predicate;
+
+/**
+ * Makes workload events idempotent across redeliveries and replays.
+ * <p>
+ * An event is identified by the id its producer gave it or, without one, by the JMS message id,
+ * which the broker keeps across redeliveries; the id travels with the event into the DLQ, so a
+ * replay is recognised too. Two distinct trainings with identical content therefore never
+ * collide. The id is recorded on the trainer's document in the same atomic update that applies
+ * the event ({@code processedEvents}), and that update only matches a trainer that does not list
+ * the id yet, so a fresh event costs no write besides its own and an event that fails to apply
+ * was never recorded. Events without an id are applied without deduplication.
+ * <p>
+ * Ids applied or rejected on this instance are remembered in an LRU, so a redelivery storm for
+ * events this instance has already seen is answered without touching Mongo at all.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadEventDeduplicator {
+
+    static String SOURCE_CACHE = "cache";
+    static String SOURCE_STORE = "store";
+
+    WorkloadMetrics metrics;
+    boolean enabled;
+    Cache<String, Boolean> recent;
+
+    public WorkloadEventDeduplicator(WorkloadMetrics metrics,
+                                     @Value("${app.workload.dedup.enabled}") boolean enabled,
+                                     @Value("${app.workload.dedup.recent-size}") long recentSize) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(recentSize)
+                .build();
+    }
+
+    /**
+     * Applies the event unless this instance already saw it. {@code apply} receives the id to
+     * record with the write, {@code null} when the event is not deduplicated, and reports whether
+     * the write applied the event or found the id already recorded.
+     *
+     * @return {@code false} if the event was a duplicate
+     */
+    public boolean runOnce(String eventId, String transactionId, Predicate<String> apply) {
+        String key = key(eventId);
+        if (key != null && seenRecently(key, transactionId)) {
+            return false;
+        }
+        boolean applied = apply.test(key);
+        if (key != null) {
+            if (applied) {
+                remember(key);
+            } else {
+                skipProcessed(key, transactionId);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * @return the id to deduplicate the event on, or {@code null} if it is not deduplicated
+     */
+    public String key(String eventId) {
+        return enabled && eventId != null && !eventId.isBlank() ? eventId : null;
+    }
+
+    /**
+     * @return whether this instance already applied or rejected {@code eventId}, in which case the
+     * duplicate is counted
+     */
+    public boolean seenRecently(String eventId, String transactionId) {
+        if (recent.getIfPresent(eventId) == null) {
+            return false;
+        }
+        log.info("[{}] Skipping duplicate workload event {} (seen on this instance)", transactionId, eventId);
+        metrics.recordDuplicateEvent(SOURCE_CACHE);
+        return true;
+    }
+
+    /**
+     * Remembers an event whose write applied it.
+     */
+    public void remember(String eventId) {
+        recent.put(eventId, Boolean.TRUE);
+    }
+
+    /**
+     * Counts and remembers an event whose trainer had already recorded it.
+     */
+    public void skipProcessed(String eventId, String transactionId) {
+        log.info("[{}] Skipping duplicate workload event {} (already processed)", transactionId, eventId);
+        recent.put(eventId, Boolean.TRUE);
+        metrics.recordDuplicateEvent(SOURCE_STORE);
+    }
+}
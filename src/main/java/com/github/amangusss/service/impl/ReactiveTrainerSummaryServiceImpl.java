@@ -0,0 +1,55 @@
+package com.github.amangusss.service.impl;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.exception.TrainerNotFoundException;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.ReactiveTrainerWorkloadRepository;
+import com.github.amangusss.service.ReactiveTrainerSummaryService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Summary reads on the reactive MongoDB driver. Nothing blocks: the returned {@link Mono} completes
+ * on a driver thread once the document arrives, so no request thread waits for MongoDB.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.workload.reactive-reads.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReactiveTrainerSummaryServiceImpl implements ReactiveTrainerSummaryService {
+
+    ReactiveTrainerWorkloadRepository repository;
+    TrainerWorkloadMapper mapper;
+    WorkloadMetrics metrics;
+
+    @Override
+    public Mono<TrainerWorkloadDTO.Response.Summary> getTrainerSummary(String username, String transactionId) {
+        return metrics.timeRepository("findByUsernameReactive", repository.findByUsername(username))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn("[{}] Workload not found for trainer {}", transactionId, username);
+                    return Mono.error(new TrainerNotFoundException(username));
+                }))
+                .map(mapper::toSummary)
+                .doOnSubscribe(subscription -> log.info("[{}][Transaction] Retrieving workload summary for trainer {}",
+                        transactionId, username))
+                .doOnNext(summary -> log.info("[{}][Transaction] Successfully retrieved summary for trainer: {}",
+                        transactionId, username));
+    }
+
+    @Override
+    public Mono<String> getTrainerRevision(String username, String transactionId) {
+        return metrics.timeRepository("findVersionByUsernameReactive", repository.findVersionByUsername(username))
+                .map(mapper::toRevision)
+                .doOnSubscribe(subscription -> log.debug("[{}][Operation] Reading workload revision for trainer {}",
+                        transactionId, username));
+    }
+}
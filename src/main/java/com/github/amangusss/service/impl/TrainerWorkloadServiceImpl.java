@@ -1,24 +1,50 @@
 package com.github.amangusss.service.impl;
 
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDelta;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
 import com.github.amangusss.entity.MonthSummary;
 import com.github.amangusss.entity.TrainerWorkload;
 import com.github.amangusss.entity.YearSummary;
 import com.github.amangusss.entity.Month;
+import com.github.amangusss.exception.DeltaWriteException;
 import com.github.amangusss.exception.TrainerNotFoundException;
 import com.github.amangusss.mapper.TrainerWorkloadMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
 import com.github.amangusss.repository.TrainerWorkloadRepository;
 import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.batch.WorkloadDeltaAggregator;
+import com.github.amangusss.service.batch.WorkloadDeltaPlanner;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -29,9 +55,19 @@ public class TrainerWorkloadServiceImpl implements TrainerWorkloadService {
 
     TrainerWorkloadRepository repository;
     TrainerWorkloadMapper mapper;
-
+    WorkloadWriteRetrier retrier;
+    TrainerWorkloadCache workloadCache;
+    TrainerSummaryCache summaryCache;
+    WorkloadMetrics metrics;
+    WorkloadRollupUpdater rollupUpdater;
+    WorkloadEventLog eventLog;
+
+    /**
+     * Applies the event and records {@code eventId} on the trainer in the same write, unless the
+     * trainer already lists it.
+     */
     @Override
-    public void obtainWorkload(TrainerWorkloadDTO.Request.Create request, String transactionId) {
+    public boolean obtainWorkload(TrainerWorkloadDTO.Request.Create request, String eventId, String transactionId) {
         log.info("[{}][Transaction] Processing training event for trainer: {}, action: {}",
                 transactionId, request.username(), request.actionType());
 
@@ -42,13 +78,161 @@ public class TrainerWorkloadServiceImpl implements TrainerWorkloadService {
         log.debug("[{}][Operation] Calculated year {} and month {} for training date {}",
                 transactionId, year, month, trainingDate);
 
-        switch (request.actionType()) {
-            case ADD -> addTrainingHours(request, year, month, transactionId);
-            case DELETE -> deleteTrainingHours(request.username(), year, month, request.trainingDuration(), transactionId);
+        Timer.Sample sample = metrics.startEventApply();
+        String outcome = WorkloadMetrics.OUTCOME_FAILED;
+        try {
+            Optional<AppliedChange> applied = retrier.execute(request.username(), request.actionType(), transactionId, () ->
+                    switch (request.actionType()) {
+                        case ADD -> addTrainingHours(request, eventId, year, month, transactionId);
+                        case DELETE -> deleteTrainingHours(request.username(), eventId, year, month,
+                                request.trainingDuration(), transactionId);
+                    });
+            if (applied.isEmpty()) {
+                outcome = WorkloadMetrics.OUTCOME_DUPLICATE;
+                log.info("[{}][Transaction] Skipped training event {} already applied for trainer: {}",
+                        transactionId, eventId, request.username());
+                return false;
+            }
+            eventLog.record(request, year, month.getValue(), applied.get().sequence(), transactionId);
+            rollupUpdater.record(year, month.getValue(), applied.get().hours(), transactionId);
+            outcome = WorkloadMetrics.OUTCOME_APPLIED;
+        } finally {
+            summaryCache.evict(request.username());
+            metrics.recordEventApply(sample, request.actionType(), outcome);
         }
 
         log.info("[{}][Transaction] Completed processing training event for trainer: {}",
                 transactionId, request.username());
+        return true;
+    }
+
+    @Override
+    public DeltaWriteResult obtainWorkloadBatch(List<TrainerWorkloadDTO.Request.Create> requests, List<String> eventIds,
+                                                String transactionId) {
+        log.info("[{}][Transaction] Processing batch of {} training events", transactionId, requests.size());
+
+        WorkloadDeltaAggregator aggregator = new WorkloadDeltaAggregator();
+        for (int i = 0; i < requests.size(); i++) {
+            aggregator.add(requests.get(i), eventIds.get(i));
+        }
+
+        log.debug("[{}][Operation] Coalesced {} events into deltas for {} trainers",
+                transactionId, aggregator.eventCount(), aggregator.trainerCount());
+
+        DeltaWriteResult result = applyWorkloadDeltas(aggregator.toDeltas(), transactionId);
+
+        log.info("[{}][Transaction] Completed batch of {} training events for {} trainers, {} events not found, {} duplicates",
+                transactionId, aggregator.eventCount(), aggregator.trainerCount(), result.notFound().size(),
+                result.duplicates().size());
+        return result;
+    }
+
+    /**
+     * Reads the trainers, folds each one's events into its document with
+     * {@link WorkloadDeltaPlanner} and writes the results through {@link WorkloadWriteRetrier}.
+     * Every attempt re-reads the trainers it still has to write, so a trainer written concurrently
+     * is folded again from its new state. A failed bulk write reports the trainers it already
+     * applied; they are dropped from the retry so their hours are never added twice. If the write
+     * finally fails, those trainers are reported through {@link DeltaWriteException} so the caller
+     * can treat their events as done. Only the trainers that were written are logged.
+     */
+    @Override
+    public DeltaWriteResult applyWorkloadDeltas(List<TrainerWorkloadDelta> deltas, String transactionId) {
+        log.debug("[{}][Operation] Applying deltas for {} trainers", transactionId, deltas.size());
+
+        Map<String, TrainerWorkloadDelta> pending = new LinkedHashMap<>();
+        deltas.forEach(delta -> pending.put(delta.username(), delta));
+        List<TrainerWorkloadWrite> written = new ArrayList<>();
+        Set<Integer> notFound = new TreeSet<>();
+        Set<Integer> duplicates = new TreeSet<>();
+        try {
+            retrier.executeBatch(transactionId, () -> {
+                List<TrainerWorkloadWrite> writes = new ArrayList<>();
+                for (TrainerWorkloadWrite write : plan(pending.values())) {
+                    if (write.hasChanges()) {
+                        writes.add(write);
+                    } else {
+                        notFound.addAll(write.notFound());
+                        duplicates.addAll(write.duplicates());
+                        pending.remove(write.username());
+                    }
+                }
+                write(writes, pending, written, notFound, duplicates, transactionId);
+                return null;
+            });
+            recordApplied(written, transactionId);
+            return new DeltaWriteResult(usernames(written), notFound, duplicates);
+        } catch (RuntimeException e) {
+            if (written.isEmpty()) {
+                throw e;
+            }
+            log.warn("[{}][Operation] Delta write failed after applying {} of {} trainers",
+                    transactionId, written.size(), deltas.size());
+            recordApplied(written, transactionId);
+            throw new DeltaWriteException(usernames(written), e instanceof DeltaWriteException partial ? partial.getCause() : e);
+        } finally {
+            List<String> usernames = deltas.stream().map(TrainerWorkloadDelta::username).toList();
+            workloadCache.evictAll(usernames);
+            summaryCache.evictAll(usernames);
+        }
+    }
+
+    private List<TrainerWorkloadWrite> plan(Collection<TrainerWorkloadDelta> deltas) {
+        Set<Integer> years = new TreeSet<>();
+        deltas.forEach(delta -> years.addAll(delta.years()));
+        Map<String, TrainerWorkload> current = new HashMap<>();
+        metrics.timeRepository("findHistories", () -> repository.findHistories(
+                        deltas.stream().map(TrainerWorkloadDelta::username).toList(), years))
+                .forEach(workload -> current.put(workload.getUsername(), workload));
+        return deltas.stream()
+                .map(delta -> WorkloadDeltaPlanner.plan(delta, current.get(delta.username())))
+                .toList();
+    }
+
+    /**
+     * Stores and logs one attempt's writes. Trainers that were written move from {@code pending}
+     * to {@code written}; a write conflict is rethrown as such so the retrier folds the remaining
+     * trainers again.
+     */
+    private void write(List<TrainerWorkloadWrite> writes, Map<String, TrainerWorkloadDelta> pending,
+                       List<TrainerWorkloadWrite> written, Set<Integer> notFound, Set<Integer> duplicates,
+                       String transactionId) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        try {
+            metrics.timeRepository("applyWrites", () -> repository.applyWrites(writes));
+        } catch (DeltaWriteException e) {
+            List<TrainerWorkloadWrite> applied = writes.stream()
+                    .filter(write -> e.getApplied().contains(write.username()))
+                    .toList();
+            eventLog.record(applied, transactionId);
+            applied.forEach(write -> done(write, pending, written, notFound, duplicates));
+            throw e.getCause() instanceof OptimisticLockingFailureException
+                    || e.getCause() instanceof DuplicateKeyException ? (RuntimeException) e.getCause() : e;
+        }
+        eventLog.record(writes, transactionId);
+        writes.forEach(write -> done(write, pending, written, notFound, duplicates));
+    }
+
+    private static void done(TrainerWorkloadWrite write, Map<String, TrainerWorkloadDelta> pending,
+                             List<TrainerWorkloadWrite> written, Set<Integer> notFound, Set<Integer> duplicates) {
+        written.add(write);
+        notFound.addAll(write.notFound());
+        duplicates.addAll(write.duplicates());
+        pending.remove(write.username());
+    }
+
+    private void recordApplied(List<TrainerWorkloadWrite> written, String transactionId) {
+        if (!written.isEmpty()) {
+            rollupUpdater.record(written, transactionId);
+        }
+    }
+
+    private static Set<String> usernames(List<TrainerWorkloadWrite> writes) {
+        Set<String> usernames = new LinkedHashSet<>();
+        writes.forEach(write -> usernames.add(write.username()));
+        return usernames;
     }
 
     @Override
@@ -56,7 +240,7 @@ public class TrainerWorkloadServiceImpl implements TrainerWorkloadService {
     public TrainerWorkloadDTO.Response.Summary getTrainerSummary(String username, String transactionId) {
         log.info("[{}][Transaction] Retrieving workload summary for trainer {}", transactionId, username);
 
-        TrainerWorkload workload = repository.findByUsername(username)
+        TrainerWorkload workload = findByUsername(username)
                 .orElseThrow(() -> {
                     log.warn("[{}] Workload not found for trainer {}", transactionId, username);
                     return new TrainerNotFoundException(username);
@@ -70,105 +254,175 @@ public class TrainerWorkloadServiceImpl implements TrainerWorkloadService {
         return summary;
     }
 
-    private void addTrainingHours(TrainerWorkloadDTO.Request.Create request, int year, Month month, String transactionId) {
-        log.debug("[{}][Operation] Searching for existing workload: username={}", transactionId, request.username());
+    @Override
+    @Transactional(readOnly = true)
+    public TrainerWorkloadDTO.Response.Summary getTrainerSummary(String username, SummaryRange range, String transactionId) {
+        log.info("[{}][Transaction] Retrieving workload summary for trainer {} within {}", transactionId, username, range.tag());
+
+        TrainerWorkload workload = metrics.timeRepository("findByUsernameWithin",
+                        () -> repository.findByUsernameWithin(username, range))
+                .orElseThrow(() -> {
+                    log.warn("[{}] Workload not found for trainer {}", transactionId, username);
+                    return new TrainerNotFoundException(username);
+                });
+        // The projection keeps the year sub-document even when none of its months is in range
+        workload.getYears().values().removeIf(year -> year.getMonths().isEmpty());
 
-        TrainerWorkload workload = repository.findByUsername(request.username())
-                .orElseGet(() -> createNewWorkload(request, transactionId));
+        TrainerWorkloadDTO.Response.Summary summary = mapper.toSummary(workload);
+        log.info("[{}][Transaction] Successfully retrieved summary for trainer: {} within {}", transactionId, username, range.tag());
 
-        mapper.updateWorkloadInfo(workload, request);
+        return summary;
+    }
 
-        YearSummary yearSummary = findOrCreateYear(workload, year);
-        MonthSummary monthSummary = findOrCreateMonth(yearSummary, month);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getTrainerRevision(String username, String transactionId) {
+        log.debug("[{}][Operation] Reading workload revision for trainer {}", transactionId, username);
 
-        double oldHours = monthSummary.getTotalHours();
-        double newHours = oldHours + request.trainingDuration();
-        monthSummary.setTotalHours(newHours);
+        return metrics.timeRepository("findVersionByUsername", () -> repository.findVersionByUsername(username))
+                .map(mapper::toRevision);
+    }
 
-        log.debug("[{}][Operation] Saving updated workload: totalHours: {} -> {}", transactionId, oldHours, newHours);
-        repository.save(workload);
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<TrainerWorkloadDTO.Response.Summary> streamTrainerSummaries(Collection<String> usernames, String transactionId) {
+        log.debug("[{}][Operation] Streaming workload summaries for {} trainers", transactionId, usernames.size());
 
-        log.info("[{}][Operation] Added {} hours for trainer: {}, new total: {}",
-                transactionId, request.trainingDuration(), request.username(), newHours);
+        return repository.streamByUsernameIn(usernames).map(mapper::toSummary);
     }
 
-    private TrainerWorkload createNewWorkload(TrainerWorkloadDTO.Request.Create request, String transactionId) {
-        log.debug("[{}][Operation] Creating new workload for trainer: {}", transactionId, request.username());
+    private Optional<AppliedChange> addTrainingHours(TrainerWorkloadDTO.Request.Create request, String eventId, int year,
+                                                     Month month, String transactionId) {
+        log.debug("[{}][Operation] Incrementing workload atomically: username={}, year={}, month={}",
+                transactionId, request.username(), year, month);
 
-        return TrainerWorkload.builder()
+        TrainerWorkload profile = TrainerWorkload.builder()
                 .username(request.username())
                 .firstName(request.firstName())
                 .lastName(request.lastName())
                 .status(request.status())
-                .years(new ArrayList<>())
                 .build();
-    }
 
-    private YearSummary findOrCreateYear(TrainerWorkload workload, int year) {
-        return workload.getYears().stream()
-                .filter(y -> y.getYear().equals(year))
-                .findFirst()
-                .orElseGet(() -> {
-                    YearSummary newYear = YearSummary.builder()
-                            .year(year)
-                            .months(new ArrayList<>())
-                            .build();
-                    workload.getYears().add(newYear);
-                    return newYear;
-                });
-    }
+        Optional<TrainerWorkload> incremented = metrics.timeRepository("incrementMonthHours",
+                () -> repository.incrementMonthHours(profile, eventId, year, month, request.trainingDuration()));
+        if (incremented.isEmpty()) {
+            return Optional.empty();
+        }
+        TrainerWorkload updated = incremented.get();
+        workloadCache.patch(request.username(), cached -> withIncrementedMonth(cached, profile, eventId, updated, year, month));
 
-    private MonthSummary findOrCreateMonth(YearSummary yearSummary, Month month) {
-        return yearSummary.getMonths().stream()
-                .filter(m -> m.getMonth() == month)
-                .findFirst()
-                .orElseGet(() -> {
-                    MonthSummary newMonth = MonthSummary.builder()
-                            .month(month)
-                            .totalHours(0.0)
-                            .build();
-                    yearSummary.getMonths().add(newMonth);
-                    return newMonth;
-                });
+        log.info("[{}][Operation] Added {} hours for trainer: {}, year: {}, month: {}",
+                transactionId, request.trainingDuration(), request.username(), year, month);
+        return Optional.of(new AppliedChange(request.trainingDuration(), sequenceOf(updated)));
     }
 
-    private void deleteTrainingHours(String username, int year, Month month, Double trainingDuration, String transactionId) {
+    private Optional<AppliedChange> deleteTrainingHours(String username, String eventId, int year, Month month,
+                                                        Double trainingDuration, String transactionId) {
         log.debug("[{}][Operation] Searching for workload to delete: username={}", transactionId, username);
 
-        TrainerWorkload workload = repository.findByUsername(username)
-                .orElseThrow(() -> {
-                    log.warn("[{}] Workload not found for trainer {} when trying to delete hours", transactionId, username);
-                    return new TrainerNotFoundException(username);
-                });
+        TrainerWorkload workload = workloadCache.get(username)
+                .filter(cached -> hasMonth(cached, year, month))
+                .orElseGet(() -> findByUsername(username)
+                        .orElseThrow(() -> {
+                            log.warn("[{}] Workload not found for trainer {} when trying to delete hours", transactionId, username);
+                            return new TrainerNotFoundException(username);
+                        }));
+        if (eventId != null && workload.getProcessedEvents().contains(eventId)) {
+            return Optional.empty();
+        }
 
-        YearSummary yearSummary = workload.getYears().stream()
-                .filter(y -> y.getYear().equals(year))
-                .findFirst()
-                .orElseThrow(() -> new TrainerNotFoundException(username));
+        YearSummary yearSummary = workload.getYears().get(year);
+        if (yearSummary == null) {
+            throw new TrainerNotFoundException(username);
+        }
 
-        MonthSummary monthSummary = yearSummary.getMonths().stream()
-                .filter(m -> m.getMonth() == month)
-                .findFirst()
-                .orElseThrow(() -> new TrainerNotFoundException(username));
+        MonthSummary monthSummary = yearSummary.getMonths().get(month.getValue());
+        if (monthSummary == null) {
+            throw new TrainerNotFoundException(username);
+        }
 
         double oldHours = monthSummary.getTotalHours();
         double newHours = oldHours - trainingDuration;
 
         if (newHours <= 0) {
             log.debug("[{}][Operation] Removing month: totalHours became {} (≤ 0)", transactionId, newHours);
-            yearSummary.getMonths().remove(monthSummary);
+            yearSummary.getMonths().remove(month.getValue());
 
             if (yearSummary.getMonths().isEmpty()) {
                 log.debug("[{}][Operation] Removing year: no months left", transactionId);
-                workload.getYears().remove(yearSummary);
+                workload.getYears().remove(year);
             }
         } else {
             monthSummary.setTotalHours(newHours);
         }
+        if (eventId != null) {
+            workload.recordProcessedEvent(eventId);
+        }
 
         log.debug("[{}][Operation] Saving updated workload", transactionId);
-        repository.save(workload);
+        TrainerWorkload saved;
+        try {
+            saved = metrics.timeRepository("save", () -> repository.save(workload));
+            metrics.recordDocumentSize(saved);
+            workloadCache.put(saved);
+        } catch (RuntimeException e) {
+            workloadCache.evict(username);
+            throw e;
+        }
 
         log.info("[{}][Operation] Removed {} hours for trainer: {}", transactionId, trainingDuration, username);
+        return Optional.of(new AppliedChange(-Math.min(oldHours, trainingDuration), sequenceOf(saved)));
     }
+
+    /**
+     * The version a write left the trainer at numbers its log entry; a document without one logs
+     * {@code 0}, which replay treats as a gap.
+     */
+    private static long sequenceOf(TrainerWorkload written) {
+        return written.getVersion() != null ? written.getVersion() : 0L;
+    }
+
+    /**
+     * The increment only reads back the touched month, so a cached document exactly one version
+     * behind is brought up to date with it. Any other cached copy missed a write and is dropped.
+     */
+    private TrainerWorkload withIncrementedMonth(TrainerWorkload cached, TrainerWorkload profile, String eventId,
+                                                 TrainerWorkload updated, int year, Month month) {
+        if (updated == null || updated.getVersion() == null || cached.getVersion() == null
+                || cached.getVersion() + 1 != updated.getVersion()) {
+            return null;
+        }
+        MonthSummary monthSummary = Optional.ofNullable(updated.getYears().get(year))
+                .map(yearSummary -> yearSummary.getMonths().get(month.getValue()))
+                .orElse(null);
+        if (monthSummary == null) {
+            return null;
+        }
+
+        cached.setVersion(updated.getVersion());
+        cached.setFirstName(profile.getFirstName());
+        cached.setLastName(profile.getLastName());
+        cached.setStatus(updated.getStatus());
+        cached.getYears().computeIfAbsent(year, key -> new YearSummary()).getMonths().put(month.getValue(), monthSummary);
+        if (eventId != null) {
+            cached.recordProcessedEvent(eventId);
+        }
+        metrics.recordDocumentSize(cached);
+        return cached;
+    }
+
+    private Optional<TrainerWorkload> findByUsername(String username) {
+        return metrics.timeRepository("findByUsername", () -> repository.findByUsername(username));
+    }
+
+    private boolean hasMonth(TrainerWorkload workload, int year, Month month) {
+        YearSummary yearSummary = workload.getYears().get(year);
+        return yearSummary != null && yearSummary.getMonths().containsKey(month.getValue());
+    }
+
+    /**
+     * @param hours    hours the event added (positive) or actually removed (negative)
+     * @param sequence the trainer's version after the write
+     */
+    private record AppliedChange(double hours, long sequence) {}
 }
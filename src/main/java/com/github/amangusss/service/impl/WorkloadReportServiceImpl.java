@@ -0,0 +1,116 @@
+package com.github.amangusss.service.impl;
+
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadRollupRepository;
+import com.github.amangusss.service.WorkloadReportService;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadReportServiceImpl implements WorkloadReportService {
+
+    TrainerWorkloadRepository repository;
+    WorkloadRollupRepository rollupRepository;
+    WorkloadMetrics metrics;
+    int maxPageSize;
+    int cursorBatchSize;
+
+    public WorkloadReportServiceImpl(TrainerWorkloadRepository repository,
+                                     WorkloadRollupRepository rollupRepository,
+                                     WorkloadMetrics metrics,
+                                     @Value("${app.workload.reports.max-page-size}") int maxPageSize,
+                                     @Value("${app.workload.reports.cursor-batch-size}") int cursorBatchSize) {
+        this.repository = repository;
+        this.rollupRepository = rollupRepository;
+        this.metrics = metrics;
+        this.maxPageSize = maxPageSize;
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    @Override
+    public List<WorkloadReportDTO.MonthlyTotal> getMonthlyTotals(int year, TrainerStatus status, String transactionId) {
+        log.info("[{}][Transaction] Aggregating monthly totals for year {}, status {}", transactionId, year, status);
+
+        List<WorkloadReportDTO.MonthlyTotal> totals = metrics.timeRepository("aggregateMonthlyTotals",
+                () -> repository.aggregateMonthlyTotals(year, status));
+
+        log.info("[{}][Transaction] Aggregated totals of {} months for year {}", transactionId, totals.size(), year);
+        return totals;
+    }
+
+    /**
+     * Reads the pre-aggregated rollups of the year, at most one per month, so the cost does not
+     * depend on the number of trainers. Rollups are not split by status, so a status filter is
+     * answered from the trainers' documents, the same way as {@link #getMonthlyTotals}.
+     */
+    @Override
+    public List<WorkloadReportDTO.MonthlyHours> getMonthlyHours(int year, TrainerStatus status, String transactionId) {
+        if (status != null) {
+            log.info("[{}][Transaction] Aggregating monthly hours for year {}, status {}", transactionId, year, status);
+
+            return metrics.timeRepository("aggregateMonthlyTotals", () -> repository.aggregateMonthlyTotals(year, status)).stream()
+                    .filter(total -> total.totalHours() > 0)
+                    .map(total -> new WorkloadReportDTO.MonthlyHours(total.month(), total.totalHours()))
+                    .toList();
+        }
+
+        log.info("[{}][Transaction] Reading monthly rollups for year {}", transactionId, year);
+
+        List<WorkloadMonthlyRollup> rollups = metrics.timeRepository("findRollupsByYear",
+                () -> rollupRepository.findByYearOrderByMonth(year));
+
+        return rollups.stream()
+                .filter(rollup -> rollup.getTotalHours() > 0)
+                .map(rollup -> new WorkloadReportDTO.MonthlyHours(rollup.getMonth(), rollup.getTotalHours()))
+                .toList();
+    }
+
+    /**
+     * Reads one trainer more than the page size to tell whether another page follows, so no
+     * separate count pipeline is needed.
+     *
+     * @throws IllegalArgumentException if the page is negative or the size is outside 1..max-page-size
+     */
+    @Override
+    public WorkloadReportDTO.TrainerTotalsPage getTrainerTotals(int year, TrainerStatus status, int page, int size, String transactionId) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize);
+        }
+
+        log.info("[{}][Transaction] Aggregating trainer totals for year {}, status {}, page {} of size {}",
+                transactionId, year, status, page, size);
+
+        List<WorkloadReportDTO.TrainerTotal> totals = metrics.timeRepository("aggregateTrainerTotals",
+                () -> repository.aggregateTrainerTotals(year, status, (long) page * size, size + 1));
+        boolean hasMore = totals.size() > size;
+
+        return new WorkloadReportDTO.TrainerTotalsPage(
+                hasMore ? totals.subList(0, size) : totals, page, size, hasMore);
+    }
+
+    @Override
+    public Stream<WorkloadReportDTO.TrainerTotal> streamTrainerTotals(int year, TrainerStatus status, String transactionId) {
+        log.info("[{}][Transaction] Streaming trainer totals for year {}, status {}", transactionId, year, status);
+
+        return repository.streamTrainerTotals(year, status, cursorBatchSize);
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.amangusss.service.retry;
+
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.metrics.WorkloadMetrics;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a workload write when it lost a race against a concurrent writer: a stale
+ * {@code version} on save or a concurrent first insert of the same trainer. Attempts are
+ * spaced with exponential backoff and full jitter so contending consumers spread out.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadWriteRetrier {
+
+    WorkloadMetrics metrics;
+    int maxAttempts;
+    long initialBackoffMs;
+    long maxBackoffMs;
+
+    public WorkloadWriteRetrier(WorkloadMetrics metrics,
+                                @Value("${app.workload.retry.max-attempts}") int maxAttempts,
+                                @Value("${app.workload.retry.initial-backoff-ms}") long initialBackoffMs,
+                                @Value("${app.workload.retry.max-backoff-ms}") long maxBackoffMs) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry max attempts must be at least 1");
+        }
+        this.metrics = metrics;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public void execute(String username, ActionType actionType, String transactionId, Runnable operation) {
+        execute(username, actionType, transactionId, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(String username, ActionType actionType, String transactionId, Supplier<T> operation) {
+        return retry("trainer " + username, actionType.getCode(), transactionId, operation);
+    }
+
+    /**
+     * Retries a bulk write of several trainers. The operation is re-run as a whole, so it is
+     * expected to skip the part a failed attempt already applied.
+     */
+    public <T> T executeBatch(String transactionId, Supplier<T> operation) {
+        return executeBatch(WorkloadMetrics.ACTION_BATCH, transactionId, operation);
+    }
+
+    /**
+     * Same as {@link #executeBatch(String, Supplier)}, with retries counted under {@code action}.
+     */
+    public <T> T executeBatch(String action, String transactionId, Supplier<T> operation) {
+        return retry("batch", action, transactionId, operation);
+    }
+
+    private <T> T retry(String target, String action, String transactionId, Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException | DuplicateKeyException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("[{}][Retry] Giving up on {} for {} after {} attempts",
+                            transactionId, action, target, attempt);
+                    metrics.recordWriteRetriesExhausted(action);
+                    throw e;
+                }
+
+                long backoff = backoffFor(attempt);
+                log.debug("[{}][Retry] Concurrent update on {} ({}), attempt {}/{}, retrying in {} ms",
+                        transactionId, target, e.getClass().getSimpleName(), attempt, maxAttempts, backoff);
+                metrics.recordWriteRetry(action);
+                sleep(backoff, e);
+            }
+        }
+    }
+
+    private long backoffFor(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    private void sleep(long backoffMs, RuntimeException cause) {
+        if (backoffMs == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.amangusss.service.rollup;
+
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadRollupRepository;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recomputes {@code workload_monthly_rollups} from {@code trainer_workloads}. Years are
+ * independent chunks: each is aggregated server-side and written back on its own thread, up to
+ * {@code rebuild-parallelism} at a time, and rollups of years no trainer has hours in any more
+ * are removed at the end.
+ * <p>
+ * Rollup increments made while a year is being rebuilt can be overwritten by its totals, so a
+ * rebuild is best run while ingestion is quiet; it is idempotent and can simply be run again. A
+ * rebuild that succeeds clears the rollups {@link WorkloadRollupUpdater} reported stale when it
+ * started.
+ * Only one rebuild runs at a time; callers queue on a lock rather than a monitor, so a waiting
+ * virtual thread does not pin its carrier.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadRollupRebuilder {
+
+    TrainerWorkloadRepository workloadRepository;
+    WorkloadRollupRepository rollupRepository;
+    WorkloadRollupUpdater rollupUpdater;
+    WorkloadThreads threads;
+    int parallelism;
+    ReentrantLock rebuildLock = new ReentrantLock();
+
+    public WorkloadRollupRebuilder(TrainerWorkloadRepository workloadRepository,
+                                   WorkloadRollupRepository rollupRepository,
+                                   WorkloadRollupUpdater rollupUpdater,
+                                   WorkloadThreads threads,
+                                   @Value("${app.workload.rollups.rebuild-parallelism}") int parallelism) {
+        this.workloadRepository = workloadRepository;
+        this.rollupRepository = rollupRepository;
+        this.rollupUpdater = rollupUpdater;
+        this.threads = threads;
+        this.parallelism = parallelism;
+    }
+
+    public WorkloadReportDTO.RollupRebuild rebuild(String transactionId) {
+        rebuildLock.lock();
+        try {
+            return rebuildAll(transactionId);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private WorkloadReportDTO.RollupRebuild rebuildAll(String transactionId) {
+        long startedAt = System.currentTimeMillis();
+        Set<WorkloadMonthlyRollup.Key> stale = rollupUpdater.staleRollups();
+        List<Integer> years = workloadRepository.findYears();
+        log.info("[{}][Operation] Rebuilding monthly rollups of {} years", transactionId, years.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, years.size())),
+                threads.threadFactory("rollup-rebuild-"));
+        int rollups;
+        try {
+            List<CompletableFuture<Integer>> chunks = years.stream()
+                    .map(year -> CompletableFuture.supplyAsync(() -> rebuildYear(year, transactionId), executor))
+                    .toList();
+            rollups = chunks.stream().mapToInt(CompletableFuture::join).sum();
+        } catch (CompletionException e) {
+            log.error("[{}][Operation] Monthly rollup rebuild failed: {}", transactionId, e.getCause().getMessage());
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdown();
+        }
+
+        long removed = rollupRepository.deleteYearsOtherThan(years);
+        rollupUpdater.rebuilt(stale);
+        WorkloadReportDTO.RollupRebuild result = new WorkloadReportDTO.RollupRebuild(years.size(), rollups, removed, System.currentTimeMillis() - startedAt);
+
+        log.info("[{}][Operation] Rebuilt {} monthly rollups of {} years in {} ms, removed {} stale",
+                transactionId, result.rollups(), result.years(), result.durationMs(), result.removed());
+        return result;
+    }
+
+    private int rebuildYear(int year, String transactionId) {
+        List<WorkloadMonthlyRollup> rollups = workloadRepository.aggregateRollups(year);
+        rollups.forEach(rollup -> rollup.setId(WorkloadMonthlyRollup.idOf(rollup.getYear(), rollup.getMonth())));
+        rollupRepository.replaceYear(year, rollups);
+
+        log.debug("[{}][Operation] Rebuilt {} monthly rollups of {}", transactionId, rollups.size(), year);
+        return rollups.size();
+    }
+}
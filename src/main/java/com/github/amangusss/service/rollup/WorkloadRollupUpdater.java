@@ -0,0 +1,115 @@
+package com.github.amangusss.service.rollup;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.exception.RollupWriteException;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.WorkloadRollupRepository;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code workload_monthly_rollups} in step with trainer writes by {@code $inc}-ing the
+ * affected (year, month) rollups right after the trainer's document was written. Rollups carry no
+ * status, so a trainer changing status leaves them as they are.
+ * <p>
+ * Increments go through {@link WorkloadWriteRetrier} like the trainer writes: an upsert that lost
+ * the race to create a rollup is retried, and only the rollups a failed attempt did not increment
+ * are sent again. MongoDB has no transaction around the trainer write and the rollups, so an
+ * increment that still fails is not propagated: the trainer write already happened and retrying
+ * the event would apply it twice. Instead the failure and the hours it left out are counted, and
+ * the rollups it missed stay in the {@code workload.rollups.stale} gauge until
+ * {@link WorkloadRollupRebuilder} recomputes them from the trainers' documents, so drift can be
+ * alerted on. A removal only subtracts what the month held.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WorkloadRollupUpdater {
+
+    WorkloadRollupRepository repository;
+    WorkloadWriteRetrier retrier;
+    WorkloadMetrics metrics;
+    boolean enabled;
+    Set<WorkloadMonthlyRollup.Key> stale = ConcurrentHashMap.newKeySet();
+
+    public WorkloadRollupUpdater(WorkloadRollupRepository repository,
+                                 WorkloadWriteRetrier retrier,
+                                 WorkloadMetrics metrics,
+                                 @Value("${app.workload.rollups.enabled}") boolean enabled) {
+        this.repository = repository;
+        this.retrier = retrier;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        metrics.registerStaleRollups(stale);
+    }
+
+    public void record(int year, int month, double hours, String transactionId) {
+        if (hours == 0) {
+            return;
+        }
+        apply(Map.of(new WorkloadMonthlyRollup.Key(year, month), hours), transactionId);
+    }
+
+    /**
+     * Increments the rollups by the hours each write actually added or removed, so a DELETE of
+     * more than a month held only takes what the month had.
+     */
+    public void record(Collection<TrainerWorkloadWrite> writes, String transactionId) {
+        Map<WorkloadMonthlyRollup.Key, Double> hoursByKey = new HashMap<>();
+        writes.forEach(write -> write.hoursChanged().forEach((yearMonth, hours) ->
+                hoursByKey.merge(new WorkloadMonthlyRollup.Key(yearMonth.getYear(), yearMonth.getMonthValue()), hours, Double::sum)));
+        apply(hoursByKey, transactionId);
+    }
+
+    /**
+     * @return the rollups that missed an update on this instance since they were last rebuilt
+     */
+    public Set<WorkloadMonthlyRollup.Key> staleRollups() {
+        return Set.copyOf(stale);
+    }
+
+    /**
+     * Forgets stale rollups that a rebuild recomputed.
+     */
+    public void rebuilt(Collection<WorkloadMonthlyRollup.Key> keys) {
+        stale.removeAll(keys);
+    }
+
+    private void apply(Map<WorkloadMonthlyRollup.Key, Double> hoursByKey, String transactionId) {
+        if (!enabled || hoursByKey.isEmpty()) {
+            return;
+        }
+        Map<WorkloadMonthlyRollup.Key, Double> pending = new HashMap<>(hoursByKey);
+        try {
+            retrier.executeBatch(WorkloadMetrics.ACTION_ROLLUP, transactionId, () -> {
+                try {
+                    metrics.timeRepository("incrementRollups", () -> repository.incrementHours(Map.copyOf(pending)));
+                    return null;
+                } catch (RollupWriteException e) {
+                    pending.keySet().removeIf(key -> e.getApplied().contains(key.id()));
+                    throw e.getCause() instanceof DuplicateKeyException duplicate ? duplicate : e;
+                }
+            });
+            log.debug("[{}][Operation] Updated {} monthly rollups", transactionId, hoursByKey.size());
+        } catch (RuntimeException e) {
+            stale.addAll(pending.keySet());
+            metrics.recordRollupFailure(pending.values().stream().mapToDouble(Math::abs).sum());
+            log.error("[{}][Operation] Could not update {} of {} monthly rollups, they stay off until the next rebuild: {}",
+                    transactionId, pending.size(), hoursByKey.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.amangusss.validation;
+
+import com.github.amangusss.dto.generated.TrainingEventRequest;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Validates training events that arrive in bulk over REST, one at a time, so an invalid event can
+ * be reported without failing the others. An event must satisfy the constraints of the generated
+ * request model and {@link WorkloadEventValidator}, the check the JMS listener applies.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrainingEventRequestValidator {
+
+    public record Result(TrainerWorkloadDTO.Request.Create event, List<String> errors) {
+
+        public boolean isValid() {
+            return errors.isEmpty();
+        }
+    }
+
+    Validator validator;
+    GeneratedDtoMapper generatedDtoMapper;
+
+    /**
+     * @return the event mapped to the internal model if it is valid, otherwise the validation errors
+     */
+    public Result validate(TrainingEventRequest request) {
+        if (request == null) {
+            return new Result(null, List.of("event is null"));
+        }
+
+        List<String> errors = validator.validate(request).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(TrainingEventRequestValidator::describe)
+                .toList();
+        if (!errors.isEmpty()) {
+            return new Result(null, errors);
+        }
+
+        TrainerWorkloadDTO.Request.Create event = generatedDtoMapper.toInternalCreate(request);
+        if (!WorkloadEventValidator.isValid(event)) {
+            return new Result(null, List.of("Required information is missing"));
+        }
+        return new Result(event, List.of());
+    }
+
+    private static String describe(ConstraintViolation<TrainingEventRequest> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.amangusss.validation;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+
+public final class WorkloadEventValidator {
+
+    private WorkloadEventValidator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static boolean isValid(TrainerWorkloadDTO.Request.Create request) {
+        return request != null
+                && request.username() != null && !request.username().isBlank()
+                && request.firstName() != null && !request.firstName().isBlank()
+                && request.lastName() != null && !request.lastName().isBlank()
+                && request.trainingDate() != null
+                && request.trainingDuration() != null && request.trainingDuration() > 0
+                && request.actionType() != null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.amangusss.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.amangusss.config.JacksonConfig;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workload events as they cross JMS: {@code status} and {@code actionType} go through the
+ * {@code CodedEnum} serializers registered by {@link JacksonConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodedEnumJacksonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TrainerWorkloadDTO.Request.Create event;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new JacksonConfig().codedEnumModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        event = WorkloadHistories.event(ActionType.DELETE);
+        json = objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public String serializeEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public TrainerWorkloadDTO.Request.Create deserializeEvent() throws JsonProcessingException {
+        return objectMapper.readValue(json, TrainerWorkloadDTO.Request.Create.class);
+    }
+}
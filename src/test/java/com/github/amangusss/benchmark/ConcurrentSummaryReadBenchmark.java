@@ -0,0 +1,157 @@
+package com.github.amangusss.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.impl.TrainerWorkloadServiceImpl;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent summary GETs against an embedded Tomcat with its default 200 platform request threads
+ * and with the virtual-thread executor Boot installs for {@code spring.threads.virtual.enabled}.
+ * Each request reads the trainer through the real service, with caches off, from a repository
+ * stand-in that blocks for {@code dbLatencyMs} like a Mongo round-trip. One invocation is a wave
+ * of {@code concurrency} requests in flight at once, so requests per second are
+ * {@code concurrency / score}.
+ * <p>
+ * The {@code virtual} model needs a JDK 21 build: {@code mvn -Pjava21,benchmark verify
+ * -Djmh.includes=ConcurrentSummaryReadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentSummaryReadBenchmark {
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    @Param({"100", "1000"})
+    int concurrency;
+
+    @Param({"10"})
+    long dbLatencyMs;
+
+    private WebServer server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && !new WorkloadThreads(true).isVirtual()) {
+            throw new IllegalStateException("Virtual threads need a Java 21+ runtime, build with -Pjava21");
+        }
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WorkloadMetrics metrics = new WorkloadMetrics(registry);
+        TrainerWorkloadServiceImpl service = new TrainerWorkloadServiceImpl(
+                blockingRepository(WorkloadHistories.trainer(5), dbLatencyMs),
+                new TrainerWorkloadMapper(),
+                new WorkloadWriteRetrier(metrics, 5, 0, 0),
+                new TrainerWorkloadCache(registry, false, 1000, 30),
+                new TrainerSummaryCache(registry, false, 1000, 60),
+                metrics,
+                new WorkloadRollupUpdater(null, null, metrics, false),
+                new WorkloadEventLog(null, null, metrics, false, 1));
+        GeneratedDtoMapper mapper = new GeneratedDtoMapper();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        HttpServlet summaries = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                objectMapper.writeValue(resp.getOutputStream(), mapper.toGeneratedSummary(
+                        service.getTrainerSummary(WorkloadHistories.USERNAME, "benchmark")));
+            }
+        };
+
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if (virtual) {
+            new TomcatVirtualThreadsWebServerFactoryCustomizer().customize(factory);
+        }
+        server = factory.getWebServer(context -> context.addServlet("summaries", summaries).addMapping("/summary"));
+        server.start();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/summary")).GET().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public int concurrentGets() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException((concurrency - ok) + " of " + concurrency + " requests failed");
+        }
+        return ok;
+    }
+
+    private static TrainerWorkloadRepository blockingRepository(TrainerWorkload stored, long latencyMs) {
+        return (TrainerWorkloadRepository) Proxy.newProxyInstance(
+                TrainerWorkloadRepository.class.getClassLoader(),
+                new Class<?>[]{TrainerWorkloadRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findByUsername")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Thread.sleep(latencyMs);
+                    return Optional.of(stored);
+                });
+    }
+}
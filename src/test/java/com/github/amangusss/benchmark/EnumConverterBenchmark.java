@@ -0,0 +1,44 @@
+package com.github.amangusss.benchmark;
+
+import com.github.amangusss.converter.EnumConverter;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumConverterBenchmark {
+
+    private String actionCode = "delete";
+    private String statusCode = "INACTIVE";
+
+    @Benchmark
+    public ActionType actionTypeFromCode() {
+        return EnumConverter.fromCode(ActionType.class, actionCode);
+    }
+
+    @Benchmark
+    public TrainerStatus trainerStatusFromMixedCaseCode() {
+        return EnumConverter.fromCode(TrainerStatus.class, statusCode);
+    }
+
+    @Benchmark
+    public String toCode() {
+        return EnumConverter.toCode(ActionType.DELETE);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.amangusss.benchmark;
+
+import com.github.amangusss.dto.generated.TrainerSummaryResponse;
+import com.github.amangusss.dto.generated.TrainingEventRequest;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedDtoMapperBenchmark {
+
+    private static final GeneratedDtoMapper MAPPER = new GeneratedDtoMapper();
+
+    @State(Scope.Benchmark)
+    public static class History {
+
+        @Param({"1", "5", "20"})
+        int years;
+
+        TrainerWorkloadDTO.Response.Summary summary;
+
+        @Setup
+        public void setUp() {
+            summary = new TrainerWorkloadMapper().toSummary(WorkloadHistories.trainer(years));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Event {
+
+        TrainingEventRequest request;
+
+        @Setup
+        public void setUp() {
+            request = new TrainingEventRequest(
+                    WorkloadHistories.USERNAME, "John", "Doe",
+                    TrainingEventRequest.StatusEnum.ACTIVE, new Date(), 1.5,
+                    TrainingEventRequest.ActionTypeEnum.ADD);
+        }
+    }
+
+    @Benchmark
+    public TrainerSummaryResponse toGeneratedSummary(History history) {
+        return MAPPER.toGeneratedSummary(history.summary);
+    }
+
+    @Benchmark
+    public TrainerWorkloadDTO.Request.Create toInternalCreate(Event event) {
+        return MAPPER.toInternalCreate(event.request);
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.amangusss.benchmark;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrainerWorkloadMapperBenchmark {
+
+    @Param({"1", "5", "20"})
+    int years;
+
+    private final TrainerWorkloadMapper mapper = new TrainerWorkloadMapper();
+    private TrainerWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = WorkloadHistories.trainer(years);
+    }
+
+    @Benchmark
+    public TrainerWorkloadDTO.Response.Summary toSummary() {
+        return mapper.toSummary(workload);
+    }
+}
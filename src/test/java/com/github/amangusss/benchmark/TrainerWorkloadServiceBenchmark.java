@@ -0,0 +1,113 @@
+package com.github.amangusss.benchmark;
+
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.YearSummary;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.service.impl.TrainerWorkloadServiceImpl;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-layer cost of the main operations, without Mongo: the repository is an in-memory stand-in
+ * holding one trainer, so the numbers cover retry, caching, mutation and mapping only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrainerWorkloadServiceBenchmark {
+
+    private static final String TRANSACTION_ID = "benchmark";
+
+    @Param({"1", "5", "20"})
+    int years;
+
+    private TrainerWorkloadServiceImpl service;
+    private TrainerWorkloadDTO.Request.Create addEvent;
+    private TrainerWorkloadDTO.Request.Create deleteEvent;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WorkloadMetrics metrics = new WorkloadMetrics(registry);
+        service = new TrainerWorkloadServiceImpl(
+                inMemoryRepository(WorkloadHistories.trainer(years)),
+                new TrainerWorkloadMapper(),
+                new WorkloadWriteRetrier(metrics, 5, 0, 0),
+                new TrainerWorkloadCache(registry, true, 1000, 30),
+                new TrainerSummaryCache(registry, false, 1000, 60),
+                metrics,
+                new WorkloadRollupUpdater(null, null, metrics, false),
+                new WorkloadEventLog(null, null, metrics, false, 1));
+        addEvent = WorkloadHistories.event(ActionType.ADD);
+        deleteEvent = WorkloadHistories.event(ActionType.DELETE);
+    }
+
+    @Benchmark
+    public TrainerWorkloadDTO.Response.Summary getTrainerSummary() {
+        return service.getTrainerSummary(WorkloadHistories.USERNAME, TRANSACTION_ID);
+    }
+
+    /**
+     * ADD followed by the matching DELETE, so the trainer's history stays the same size.
+     */
+    @Benchmark
+    public void addThenDelete() {
+        service.obtainWorkload(addEvent, null, TRANSACTION_ID);
+        service.obtainWorkload(deleteEvent, null, TRANSACTION_ID);
+    }
+
+    private static TrainerWorkloadRepository inMemoryRepository(TrainerWorkload initial) {
+        TrainerWorkload[] stored = {initial};
+        return (TrainerWorkloadRepository) Proxy.newProxyInstance(
+                TrainerWorkloadRepository.class.getClassLoader(),
+                new Class<?>[]{TrainerWorkloadRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUsername", "findVersionByUsername" -> Optional.of(stored[0]);
+                    case "incrementMonthHours" -> {
+                        TrainerWorkload workload = stored[0];
+                        MonthSummary month = workload.getYears()
+                                .computeIfAbsent((Integer) args[2], key -> new YearSummary())
+                                .getMonths()
+                                .computeIfAbsent(((Month) args[3]).getValue(), key -> MonthSummary.builder().totalHours(0.0).build());
+                        month.setTotalHours(month.getTotalHours() + (Double) args[4]);
+                        workload.setVersion(workload.getVersion() + 1);
+                        yield Optional.of(workload);
+                    }
+                    case "save" -> {
+                        stored[0] = (TrainerWorkload) args[0];
+                        stored[0].setVersion(stored[0].getVersion() + 1);
+                        yield stored[0];
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
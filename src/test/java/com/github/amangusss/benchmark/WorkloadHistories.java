@@ -0,0 +1,55 @@
+package com.github.amangusss.benchmark;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.YearSummary;
+
+import java.time.LocalDate;
+import java.util.TreeMap;
+
+/**
+ * Realistic trainer histories for benchmarks: every year has twelve months of recorded hours,
+ * ending with the current year.
+ */
+final class WorkloadHistories {
+
+    static final String USERNAME = "john.doe";
+    static final int LAST_YEAR = LocalDate.now().getYear();
+
+    private WorkloadHistories() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static TrainerWorkload trainer(int years) {
+        TreeMap<Integer, YearSummary> history = new TreeMap<>();
+        for (int year = LAST_YEAR - years + 1; year <= LAST_YEAR; year++) {
+            TreeMap<Integer, MonthSummary> months = new TreeMap<>();
+            for (int month = 1; month <= 12; month++) {
+                months.put(month, MonthSummary.builder()
+                        .totalHours(8.0 + (year * 31 + month * 7) % 40)
+                        .build());
+            }
+            history.put(year, YearSummary.builder().months(months).build());
+        }
+        return TrainerWorkload.builder()
+                .id("6650f0c2a1b2c3d4e5f60718")
+                .version((long) years * 120)
+                .username(USERNAME)
+                .firstName("John")
+                .lastName("Doe")
+                .status(TrainerStatus.ACTIVE)
+                .years(history)
+                .build();
+    }
+
+    static TrainerWorkloadDTO.Request.Create event(ActionType actionType) {
+        return new TrainerWorkloadDTO.Request.Create(
+                USERNAME, "John", "Doe",
+                TrainerStatus.ACTIVE, LocalDate.of(LAST_YEAR, 1, 15), 1.5,
+                actionType
+        );
+    }
+}
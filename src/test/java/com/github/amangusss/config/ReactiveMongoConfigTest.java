@@ -0,0 +1,50 @@
+package com.github.amangusss.config;
+
+import com.github.amangusss.repository.ReactiveTrainerWorkloadRepository;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReactiveMongoConfig Tests")
+class ReactiveMongoConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MongoAutoConfiguration.class, MongoDataAutoConfiguration.class))
+            .withUserConfiguration(ReactiveMongoConfig.class)
+            .withPropertyValues("spring.data.mongodb.uri=mongodb://localhost:27017/workload");
+
+    @Test
+    @DisplayName("Should not create a reactive Mongo client when reactive reads are disabled")
+    void shouldSkipReactiveClientWhenDisabled() {
+        contextRunner
+                .withPropertyValues("app.workload.reactive-reads.enabled=false")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).doesNotHaveBean(MongoClient.class);
+                    assertThat(context).doesNotHaveBean(ReactiveMongoTemplate.class);
+                    assertThat(context).doesNotHaveBean(ReactiveTrainerWorkloadRepository.class);
+                    assertThat(context).hasSingleBean(com.mongodb.client.MongoClient.class);
+                });
+    }
+
+    @Test
+    @DisplayName("Should create the reactive client, template and repository when reactive reads are enabled")
+    void shouldCreateReactiveClientWhenEnabled() {
+        contextRunner
+                .withPropertyValues("app.workload.reactive-reads.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(MongoClient.class);
+                    assertThat(context).hasSingleBean(ReactiveMongoTemplate.class);
+                    assertThat(context).hasSingleBean(ReactiveTrainerWorkloadRepository.class);
+                });
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.amangusss.controller;
+
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.dto.generated.TrainerSummaryResponse;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.exception.GlobalExceptionHandler;
+import com.github.amangusss.exception.TrainerNotFoundException;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.ReactiveTrainerSummaryService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveTrainerSummaryController Tests")
+class ReactiveTrainerSummaryControllerTest {
+
+    private static final String USERNAME = "john.doe";
+    private static final String REVISION = "workload-1-3";
+    private static final String TRANSACTION_ID = "reactive-tx";
+
+    @Mock
+    private ReactiveTrainerSummaryService service;
+
+    private TrainerSummaryCache summaryCache;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        summaryCache = new TrainerSummaryCache(new SimpleMeterRegistry(), true, 100, 60);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ReactiveTrainerSummaryController(service, new GeneratedDtoMapper(), summaryCache))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private static TrainerWorkloadDTO.Response.Summary summary() {
+        return new TrainerWorkloadDTO.Response.Summary(
+                USERNAME, "John", "Doe", TrainerStatus.ACTIVE,
+                List.of(new TrainerWorkloadDTO.YearSummary(2025,
+                        List.of(new TrainerWorkloadDTO.MonthSummary(Month.JANUARY, 5.0)))),
+                REVISION);
+    }
+
+    private MvcResult started(String ifNoneMatch) throws Exception {
+        var request = get("/api/v1/workload/reactive/{username}", USERNAME).header("X-Transaction-Id", TRANSACTION_ID);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/workload/reactive/{username}")
+    class GetTrainerSummaryTests {
+
+        @Test
+        @DisplayName("Should load the summary reactively and return it with its ETag")
+        void shouldReturnLoadedSummary() throws Exception {
+            when(service.getTrainerSummary(eq(USERNAME), eq(TRANSACTION_ID))).thenReturn(Mono.just(summary()));
+
+            mockMvc.perform(asyncDispatch(started(null)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + REVISION + "\""))
+                    .andExpect(jsonPath("$.username").value(USERNAME))
+                    .andExpect(jsonPath("$.years[0].months[0].trainingSummaryDuration").value(5.0));
+        }
+
+        @Test
+        @DisplayName("Should serve a cached summary without reading MongoDB")
+        void shouldServeCachedSummary() throws Exception {
+            summaryCache.get(USERNAME, () -> new TrainerSummaryCache.Entry(
+                    new TrainerSummaryResponse().username(USERNAME), REVISION));
+
+            mockMvc.perform(asyncDispatch(started(null)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.username").value(USERNAME));
+
+            verify(service, never()).getTrainerSummary(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the trainer does not exist")
+        void shouldReturnNotFound() throws Exception {
+            when(service.getTrainerSummary(eq(USERNAME), anyString()))
+                    .thenReturn(Mono.error(new TrainerNotFoundException(USERNAME)));
+
+            mockMvc.perform(asyncDispatch(started(null)))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Should return 304 when the ETag still matches the revision")
+        void shouldReturnNotModified() throws Exception {
+            when(service.getTrainerRevision(eq(USERNAME), anyString())).thenReturn(Mono.just(REVISION));
+
+            mockMvc.perform(asyncDispatch(started("\"" + REVISION + "\"")))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + REVISION + "\""));
+
+            verify(service, never()).getTrainerSummary(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should return the summary when the ETag is stale")
+        void shouldReturnSummaryForStaleETag() throws Exception {
+            when(service.getTrainerRevision(eq(USERNAME), anyString())).thenReturn(Mono.just(REVISION));
+            when(service.getTrainerSummary(eq(USERNAME), anyString())).thenReturn(Mono.just(summary()));
+
+            mockMvc.perform(asyncDispatch(started("\"workload-1-2\"")))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + REVISION + "\""));
+        }
+
+        @Test
+        @DisplayName("Should return 404 for a conditional request of a missing trainer")
+        void shouldReturnNotFoundForMissingTrainer() throws Exception {
+            when(service.getTrainerRevision(eq(USERNAME), anyString())).thenReturn(Mono.empty());
+            when(service.getTrainerSummary(eq(USERNAME), anyString()))
+                    .thenReturn(Mono.error(new TrainerNotFoundException(USERNAME)));
+
+            mockMvc.perform(asyncDispatch(started("*")))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
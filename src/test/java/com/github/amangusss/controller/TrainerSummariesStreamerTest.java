@@ -0,0 +1,139 @@
+package com.github.amangusss.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.dto.generated.TrainerSummaryResponse;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.TrainerWorkloadService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrainerSummariesStreamer Tests")
+class TrainerSummariesStreamerTest {
+
+    private static final String TRANSACTION_ID = "summaries-tx";
+    private static final int MAX_USERNAMES = 3;
+
+    @Mock
+    private TrainerWorkloadService service;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TrainerSummaryCache summaryCache;
+
+    private TrainerSummariesStreamer streamer;
+
+    @BeforeEach
+    void setUp() {
+        summaryCache = new TrainerSummaryCache(new SimpleMeterRegistry(), true, 100, 60);
+        streamer = new TrainerSummariesStreamer(service, new GeneratedDtoMapper(), summaryCache, objectMapper, MAX_USERNAMES);
+    }
+
+    private TrainerWorkloadDTO.Response.Summary summary(String username) {
+        return new TrainerWorkloadDTO.Response.Summary(
+                username, "John", "Doe", TrainerStatus.ACTIVE,
+                List.of(new TrainerWorkloadDTO.YearSummary(2025,
+                        List.of(new TrainerWorkloadDTO.MonthSummary(Month.JANUARY, 4.0)))),
+                username + "-1");
+    }
+
+    private JsonNode render(List<String> usernames) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.stream(usernames, TRANSACTION_ID).writeTo(out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Should write cached summaries first, then loaded ones, then missing usernames")
+        void shouldWriteCachedLoadedAndMissing() throws Exception {
+            summaryCache.get("cached", () -> new TrainerSummaryCache.Entry(
+                    new TrainerSummaryResponse().username("cached"), "cached-1"));
+            when(service.streamTrainerSummaries(eq(List.of("missing", "loaded")), eq(TRANSACTION_ID)))
+                    .thenReturn(Stream.of(summary("loaded")));
+
+            JsonNode results = render(List.of("missing", "cached", "loaded"));
+
+            assertThat(results).hasSize(3);
+            assertThat(results.get(0).get("username").asText()).isEqualTo("cached");
+            assertThat(results.get(1).get("username").asText()).isEqualTo("loaded");
+            assertThat(results.get(1).get("found").asBoolean()).isTrue();
+            assertThat(results.get(1).at("/summary/years/0/months/0/trainingSummaryDuration").asDouble()).isEqualTo(4.0);
+            assertThat(results.get(2).get("username").asText()).isEqualTo("missing");
+            assertThat(results.get(2).get("found").asBoolean()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should not query the database when every summary is cached")
+        void shouldServeAllFromCache() throws Exception {
+            summaryCache.get("cached", () -> new TrainerSummaryCache.Entry(
+                    new TrainerSummaryResponse().username("cached"), "cached-1"));
+
+            JsonNode results = render(List.of("cached"));
+
+            assertThat(results).hasSize(1);
+            verify(service, never()).streamTrainerSummaries(any(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should drop duplicate and blank usernames")
+        void shouldDeduplicateUsernames() throws Exception {
+            when(service.streamTrainerSummaries(eq(List.of("a")), eq(TRANSACTION_ID))).thenReturn(Stream.of(summary("a")));
+            List<String> usernames = new ArrayList<>(List.of("a", " a ", "", "a"));
+            usernames.add(null);
+
+            JsonNode results = render(usernames);
+
+            assertThat(results).hasSize(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Request Checks")
+    class RequestCheckTests {
+
+        @Test
+        @DisplayName("Should refuse more usernames than allowed")
+        void shouldRefuseTooManyUsernames() {
+            assertThatThrownBy(() -> streamer.stream(List.of("a", "b", "c", "d"), TRANSACTION_ID))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should refuse a request without usable usernames")
+        void shouldRefuseBlankUsernames() {
+            assertThatThrownBy(() -> streamer.stream(List.of(" "), TRANSACTION_ID))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
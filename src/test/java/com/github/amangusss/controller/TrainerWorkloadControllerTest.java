@@ -2,12 +2,23 @@ package com.github.amangusss.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.dto.generated.BulkIngestionResponse;
+import com.github.amangusss.dto.generated.BulkItemResult;
+import com.github.amangusss.dto.generated.ImportResponse;
 import com.github.amangusss.dto.generated.TrainerSummaryResponse;
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
 import com.github.amangusss.entity.Month;
 import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.exception.GlobalExceptionHandler;
+import com.github.amangusss.jms.publisher.WorkloadEventPublisher;
 import com.github.amangusss.mapper.GeneratedDtoMapper;
 import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.batch.BulkWorkloadIngestor;
+import com.github.amangusss.service.batch.NdjsonWorkloadImporter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,19 +27,36 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +69,21 @@ class TrainerWorkloadControllerTest {
     @Mock
     private GeneratedDtoMapper generatedDtoMapper;
 
+    @Spy
+    private TrainerSummaryCache summaryCache = new TrainerSummaryCache(new SimpleMeterRegistry(), true, 100, 60);
+
+    @Mock
+    private BulkWorkloadIngestor bulkIngestor;
+
+    @Mock
+    private NdjsonWorkloadImporter ndjsonImporter;
+
+    @Mock
+    private TrainerSummariesStreamer summariesStreamer;
+
+    @Mock
+    private WorkloadEventPublisher eventPublisher;
+
     @InjectMocks
     private TrainerWorkloadController controller;
 
@@ -49,6 +92,7 @@ class TrainerWorkloadControllerTest {
     private static final String USERNAME = "john.doe";
     private static final String FIRST_NAME = "John";
     private static final String LAST_NAME = "Doe";
+    private static final String REVISION = "workload-1-3";
 
     @BeforeEach
     void setUp() {
@@ -69,7 +113,8 @@ class TrainerWorkloadControllerTest {
                     TrainerStatus.ACTIVE,
                     List.of(new TrainerWorkloadDTO.YearSummary(2025, List.of(
                             new TrainerWorkloadDTO.MonthSummary(Month.of(1), 5.0)
-                    )))
+                    ))),
+                    REVISION
             );
 
             TrainerSummaryResponse generatedResponse = new TrainerSummaryResponse();
@@ -98,7 +143,7 @@ class TrainerWorkloadControllerTest {
             String transactionId = "custom-transaction-id";
             var summary = new TrainerWorkloadDTO.Response.Summary(
                     USERNAME, FIRST_NAME, LAST_NAME,
-                    TrainerStatus.ACTIVE, List.of()
+                    TrainerStatus.ACTIVE, List.of(), REVISION
             );
 
             TrainerSummaryResponse generatedResponse = new TrainerSummaryResponse();
@@ -132,7 +177,8 @@ class TrainerWorkloadControllerTest {
                             new TrainerWorkloadDTO.YearSummary(2025, List.of(
                                     new TrainerWorkloadDTO.MonthSummary(Month.of(1), 5.0)
                             ))
-                    )
+                    ),
+                    REVISION
             );
 
             TrainerSummaryResponse generatedResponse = new TrainerSummaryResponse();
@@ -152,6 +198,198 @@ class TrainerWorkloadControllerTest {
 
             verify(generatedDtoMapper).toGeneratedSummary(any());
         }
+
+        @Test
+        @DisplayName("Should serve repeated requests from the summary cache")
+        void shouldServeRepeatedRequestsFromCache() throws Exception {
+            var summary = new TrainerWorkloadDTO.Response.Summary(
+                    USERNAME, FIRST_NAME, LAST_NAME,
+                    TrainerStatus.ACTIVE, List.of(), REVISION
+            );
+
+            TrainerSummaryResponse generatedResponse = new TrainerSummaryResponse();
+            generatedResponse.setUsername(USERNAME);
+
+            when(service.getTrainerSummary(eq(USERNAME), anyString())).thenReturn(summary);
+            when(generatedDtoMapper.toGeneratedSummary(any())).thenReturn(generatedResponse);
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)).andExpect(status().isOk());
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.username").value(USERNAME));
+
+            verify(service, times(1)).getTrainerSummary(eq(USERNAME), anyString());
+            verify(generatedDtoMapper, times(1)).toGeneratedSummary(any());
+            assertThat(summaryCache.stats().hitCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/workload/{username} with a range")
+    class GetRangedTrainerSummaryTests {
+
+        private MockMvc withExceptionHandler() {
+            return MockMvcBuilders.standaloneSetup(controller)
+                    .setControllerAdvice(new GlobalExceptionHandler())
+                    .build();
+        }
+
+        private void stubRangedSummary(SummaryRange range) {
+            var summary = new TrainerWorkloadDTO.Response.Summary(
+                    USERNAME, FIRST_NAME, LAST_NAME,
+                    TrainerStatus.ACTIVE, List.of(), REVISION
+            );
+            TrainerSummaryResponse generatedResponse = new TrainerSummaryResponse();
+            generatedResponse.setUsername(USERNAME);
+
+            when(service.getTrainerSummary(eq(USERNAME), eq(range), anyString())).thenReturn(summary);
+            when(generatedDtoMapper.toGeneratedSummary(any())).thenReturn(generatedResponse);
+        }
+
+        @Test
+        @DisplayName("Should read the month range without going through the summary cache")
+        void shouldReturnRangedSummary() throws Exception {
+            stubRangedSummary(new SummaryRange(2025, 3, 5));
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)
+                            .param("year", "2025")
+                            .param("fromMonth", "3")
+                            .param("toMonth", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + REVISION + ";2025-03..2025-05\""))
+                    .andExpect(jsonPath("$.username").value(USERNAME));
+
+            verify(service, never()).getTrainerSummary(anyString(), anyString());
+            assertThat(summaryCache.peek(USERNAME)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should default to the whole year when only the year is given")
+        void shouldDefaultToWholeYear() throws Exception {
+            stubRangedSummary(new SummaryRange(2025, 1, 12));
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME).param("year", "2025"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + REVISION + ";2025\""));
+        }
+
+        @Test
+        @DisplayName("Should return 304 when the ranged ETag still matches")
+        void shouldReturnNotModifiedForRange() throws Exception {
+            when(service.getTrainerRevision(eq(USERNAME), anyString())).thenReturn(Optional.of(REVISION));
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)
+                            .param("year", "2025")
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"" + REVISION + ";2025\""))
+                    .andExpect(status().isNotModified());
+
+            verify(service, never()).getTrainerSummary(anyString(), any(SummaryRange.class), anyString());
+        }
+
+        @Test
+        @DisplayName("Should check the ranged ETag against the stored revision, not the summary cache")
+        void shouldNotConfirmRangeFromStaleCache() throws Exception {
+            String staleRevision = "workload-1-2";
+            summaryCache.get(USERNAME, () -> new TrainerSummaryCache.Entry(new TrainerSummaryResponse(), staleRevision));
+            stubRangedSummary(new SummaryRange(2025, 1, 12));
+            when(service.getTrainerRevision(eq(USERNAME), anyString())).thenReturn(Optional.of(REVISION));
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)
+                            .param("year", "2025")
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"" + staleRevision + ";2025\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"" + REVISION + ";2025\""));
+
+            verify(service).getTrainerRevision(eq(USERNAME), anyString());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for months without a year")
+        void shouldRejectMonthsWithoutYear() throws Exception {
+            withExceptionHandler().perform(get("/api/v1/workload/{username}", USERNAME).param("fromMonth", "3"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when fromMonth is after toMonth")
+        void shouldRejectInvertedRange() throws Exception {
+            withExceptionHandler().perform(get("/api/v1/workload/{username}", USERNAME)
+                            .param("year", "2025")
+                            .param("fromMonth", "6")
+                            .param("toMonth", "2"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET /api/v1/workload/{username}")
+    class ConditionalGetTests {
+
+        private static final String ETAG = "\"" + REVISION + "\"";
+
+        private void stubSummary() {
+            var summary = new TrainerWorkloadDTO.Response.Summary(
+                    USERNAME, FIRST_NAME, LAST_NAME,
+                    TrainerStatus.ACTIVE, List.of(), REVISION
+            );
+            TrainerSummaryResponse generatedResponse = new TrainerSummaryResponse();
+            generatedResponse.setUsername(USERNAME);
+
+            when(service.getTrainerSummary(eq(USERNAME), anyString())).thenReturn(summary);
+            when(generatedDtoMapper.toGeneratedSummary(any())).thenReturn(generatedResponse);
+        }
+
+        @Test
+        @DisplayName("Should return ETag derived from the document revision")
+        void shouldReturnETag() throws Exception {
+            stubSummary();
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+        }
+
+        @Test
+        @DisplayName("Should return 304 from a version check without loading the summary")
+        void shouldReturnNotModifiedFromVersionCheck() throws Exception {
+            when(service.getTrainerRevision(eq(USERNAME), anyString())).thenReturn(Optional.of(REVISION));
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)
+                            .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                    .andExpect(content().string(""));
+
+            verify(service, never()).getTrainerSummary(anyString(), anyString());
+            verify(generatedDtoMapper, never()).toGeneratedSummary(any());
+        }
+
+        @Test
+        @DisplayName("Should return 304 from the summary cache without touching the service")
+        void shouldReturnNotModifiedFromCache() throws Exception {
+            stubSummary();
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)).andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)
+                            .header(HttpHeaders.IF_NONE_MATCH, "W/\"other\", " + ETAG))
+                    .andExpect(status().isNotModified());
+
+            verify(service, never()).getTrainerRevision(anyString(), anyString());
+            verify(service, times(1)).getTrainerSummary(eq(USERNAME), anyString());
+        }
+
+        @Test
+        @DisplayName("Should return full summary when ETag is stale")
+        void shouldReturnSummaryWhenETagIsStale() throws Exception {
+            stubSummary();
+            when(service.getTrainerRevision(eq(USERNAME), anyString())).thenReturn(Optional.of(REVISION));
+
+            mockMvc.perform(get("/api/v1/workload/{username}", USERNAME)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"workload-1-2\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                    .andExpect(jsonPath("$.username").value(USERNAME));
+        }
     }
 
     @Nested
@@ -179,7 +417,7 @@ class TrainerWorkloadControllerTest {
                     .andExpect(status().isOk());
 
             verify(generatedDtoMapper).toInternalCreate(any());
-            verify(service).obtainWorkload(any(), anyString());
+            verify(service).obtainWorkload(any(), isNull(), anyString());
         }
 
         @Test
@@ -204,7 +442,7 @@ class TrainerWorkloadControllerTest {
                             .content(requestJson))
                     .andExpect(status().isOk());
 
-            verify(service).obtainWorkload(any(), eq(customTransactionId));
+            verify(service).obtainWorkload(any(), isNull(), eq(customTransactionId));
         }
 
         @Test
@@ -228,7 +466,7 @@ class TrainerWorkloadControllerTest {
                     .andExpect(status().isOk());
 
             verify(generatedDtoMapper).toInternalCreate(any());
-            verify(service).obtainWorkload(any(), anyString());
+            verify(service).obtainWorkload(any(), isNull(), anyString());
         }
 
         @Test
@@ -251,7 +489,230 @@ class TrainerWorkloadControllerTest {
                             .content(requestJson))
                     .andExpect(status().isOk());
 
-            verify(service).obtainWorkload(any(), anyString());
+            verify(service).obtainWorkload(any(), isNull(), anyString());
+        }
+    }
+
+
+    @Nested
+    @DisplayName("POST /api/v1/workload with async ingestion")
+    class AsyncIngestionTests {
+
+        private static final String REQUEST_JSON = """
+                {
+                    "username": "john.doe",
+                    "firstName": "John",
+                    "lastName": "Doe",
+                    "status": "ACTIVE",
+                    "trainingDate": "2025-01-15T00:00:00.000Z",
+                    "trainingDuration": 2.5,
+                    "actionType": "ADD"
+                }
+                """;
+
+        private MockMvc withExceptionHandler() {
+            return MockMvcBuilders.standaloneSetup(controller)
+                    .setControllerAdvice(new GlobalExceptionHandler())
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should queue the event and return 202 with the transaction id")
+        void shouldQueueEventAndReturnAccepted() throws Exception {
+            TrainerWorkloadDTO.Request.Create internalDto = new TrainerWorkloadDTO.Request.Create(
+                    USERNAME, FIRST_NAME, LAST_NAME, TrainerStatus.ACTIVE, LocalDate.of(2025, 1, 15), 2.5, ActionType.ADD);
+            when(eventPublisher.isEnabled()).thenReturn(true);
+            when(generatedDtoMapper.toInternalCreate(any())).thenReturn(internalDto);
+
+            mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload")
+                            .header("X-Transaction-Id", "async-tx")
+                            .header("Idempotency-Key", "event-1")
+                            .contentType("application/json")
+                            .content(REQUEST_JSON))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("X-Transaction-Id", "async-tx"))
+                    .andExpect(jsonPath("$.transactionId").value("async-tx"));
+
+            verify(eventPublisher).publish(internalDto, "async-tx", "event-1");
+            verify(service, never()).obtainWorkload(any(), isNull(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should return the generated transaction id when none is given")
+        void shouldReturnGeneratedTransactionId() throws Exception {
+            when(eventPublisher.isEnabled()).thenReturn(true);
+
+            MvcResult result = mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload")
+                            .contentType("application/json")
+                            .content(REQUEST_JSON))
+                    .andExpect(status().isAccepted())
+                    .andReturn();
+
+            String transactionId = result.getResponse().getHeader("X-Transaction-Id");
+            assertThat(transactionId).isNotBlank();
+            verify(eventPublisher).publish(any(), eq(transactionId), isNull());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the event would be dead-lettered")
+        void shouldRejectInvalidEvent() throws Exception {
+            when(eventPublisher.isEnabled()).thenReturn(true);
+            doThrow(new IllegalArgumentException("Required information is missing"))
+                    .when(eventPublisher).publish(any(), anyString(), any());
+
+            withExceptionHandler().perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload")
+                            .contentType("application/json")
+                            .content(REQUEST_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 503 when the broker is unavailable")
+        void shouldReturnServiceUnavailableWhenBrokerIsDown() throws Exception {
+            when(eventPublisher.isEnabled()).thenReturn(true);
+            doThrow(new UncategorizedJmsException("broker down"))
+                    .when(eventPublisher).publish(any(), anyString(), any());
+
+            withExceptionHandler().perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload")
+                            .contentType("application/json")
+                            .content(REQUEST_JSON))
+                    .andExpect(status().isServiceUnavailable());
+
+            verify(service, never()).obtainWorkload(any(), isNull(), anyString());
+        }
+    }
+    @Nested
+    @DisplayName("POST /api/v1/workload/batch")
+    class ProcessTrainingEventsTests {
+
+        private static final String BATCH_JSON = """
+                [
+                    {
+                        "username": "john.doe",
+                        "firstName": "John",
+                        "lastName": "Doe",
+                        "status": "ACTIVE",
+                        "trainingDate": "2025-01-15T00:00:00.000Z",
+                        "trainingDuration": 2.5,
+                        "actionType": "ADD"
+                    },
+                    {
+                        "username": "jane.doe",
+                        "status": "ACTIVE",
+                        "trainingDate": "2025-01-15T00:00:00.000Z",
+                        "trainingDuration": 1.0,
+                        "actionType": "ADD"
+                    }
+                ]
+                """;
+
+        @Test
+        @DisplayName("Should hand all events to the ingestor and return per-item results")
+        void shouldReturnPerItemResults() throws Exception {
+            BulkIngestionResponse response = new BulkIngestionResponse()
+                    .received(2).applied(1).rejected(1).trainers(1)
+                    .results(List.of(
+                            new BulkItemResult().index(0).username(USERNAME).status(BulkItemResult.StatusEnum.APPLIED),
+                            new BulkItemResult().index(1).username("jane.doe").status(BulkItemResult.StatusEnum.REJECTED)
+                                    .errors(List.of("firstName: must not be null"))));
+            when(bulkIngestor.ingest(any(), eq("bulk-key"), eq("bulk-tx"))).thenReturn(response);
+
+            mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload/batch")
+                            .header("X-Transaction-Id", "bulk-tx")
+                            .header("Idempotency-Key", "bulk-key")
+                            .contentType("application/json")
+                            .content(BATCH_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.applied").value(1))
+                    .andExpect(jsonPath("$.rejected").value(1))
+                    .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                    .andExpect(jsonPath("$.results[1].errors[0]").value("firstName: must not be null"));
+
+            verify(bulkIngestor).ingest(argThat(events -> events.size() == 2), eq("bulk-key"), eq("bulk-tx"));
+            verify(service, never()).obtainWorkload(any(), isNull(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject a body that is not an array")
+        void shouldRejectNonArrayBody() throws Exception {
+            mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload/batch")
+                            .contentType("application/json")
+                            .content("{\"username\": \"john.doe\"}"))
+                    .andExpect(status().isBadRequest());
+
+            verify(bulkIngestor, never()).ingest(any(), any(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/workload/import")
+    class ImportTrainingEventsTests {
+
+        @Test
+        @DisplayName("Should stream the NDJSON body to the importer")
+        void shouldStreamBodyToImporter() throws Exception {
+            ImportResponse response = new ImportResponse()
+                    .received(2L).applied(2L).rejected(0L).windows(1).errors(List.of()).errorsTruncated(false);
+            when(ndjsonImporter.importEvents(any(), eq("import-tx"))).thenReturn(response);
+
+            mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload/import")
+                            .header("X-Transaction-Id", "import-tx")
+                            .contentType("application/x-ndjson")
+                            .content("{}\n{}\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.applied").value(2))
+                    .andExpect(jsonPath("$.windows").value(1));
+
+            verify(ndjsonImporter).importEvents(any(), eq("import-tx"));
+        }
+
+        @Test
+        @DisplayName("Should not accept a JSON array on the import endpoint")
+        void shouldRejectJsonContentType() throws Exception {
+            mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload/import")
+                            .contentType("application/json")
+                            .content("[]"))
+                    .andExpect(status().isUnsupportedMediaType());
+
+            verify(ndjsonImporter, never()).importEvents(any(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/workload/summaries")
+    class GetTrainerSummariesTests {
+
+        @Test
+        @DisplayName("Should stream the summaries written by the streamer")
+        void shouldStreamSummaries() throws Exception {
+            when(summariesStreamer.stream(eq(List.of(USERNAME, "ghost")), eq("summaries-tx")))
+                    .thenReturn(out -> out.write("""
+                            [{"username":"john.doe","found":true},{"username":"ghost","found":false}]"""
+                            .getBytes(StandardCharsets.UTF_8)));
+
+            MvcResult result = mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload/summaries")
+                            .header("X-Transaction-Id", "summaries-tx")
+                            .contentType("application/json")
+                            .content("{\"usernames\": [\"john.doe\", \"ghost\"]}"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].found").value(true))
+                    .andExpect(jsonPath("$[1].username").value("ghost"))
+                    .andExpect(jsonPath("$[1].found").value(false));
+        }
+
+        @Test
+        @DisplayName("Should reject a request without usernames")
+        void shouldRejectEmptyUsernames() throws Exception {
+            mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post("/api/v1/workload/summaries")
+                            .contentType("application/json")
+                            .content("{\"usernames\": []}"))
+                    .andExpect(status().isBadRequest());
+
+            verify(summariesStreamer, never()).stream(any(), anyString());
         }
     }
-}
\ No newline at end of file
+}
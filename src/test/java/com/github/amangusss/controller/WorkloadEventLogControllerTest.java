@@ -0,0 +1,72 @@
+package com.github.amangusss.controller;
+
+import com.github.amangusss.dto.eventlog.WorkloadEventLogDTO;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.eventlog.WorkloadEventReplayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadEventLogController Tests")
+class WorkloadEventLogControllerTest {
+
+    private static final String TRANSACTION_ID = "event-log-tx";
+
+    @Mock
+    private WorkloadEventLog eventLog;
+
+    @Mock
+    private WorkloadEventReplayer replayer;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new WorkloadEventLogController(eventLog, replayer, new GeneratedDtoMapper()))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/workload/events")
+    class EventLogTests {
+
+        @Test
+        @DisplayName("Should report the outcome of a replay")
+        void shouldReplay() throws Exception {
+            when(replayer.replay(eq(TRANSACTION_ID))).thenReturn(new WorkloadEventLogDTO.Replay(4, 20, 3, 1, 200, 150));
+
+            mockMvc.perform(post("/api/v1/workload/events/replay").header("X-Transaction-Id", TRANSACTION_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.partitions").value(4))
+                    .andExpect(jsonPath("$.trainers").value(20))
+                    .andExpect(jsonPath("$.refused").value(3))
+                    .andExpect(jsonPath("$.skipped").value(1))
+                    .andExpect(jsonPath("$.events").value(200));
+        }
+
+        @Test
+        @DisplayName("Should report the number of snapshots taken")
+        void shouldTakeSnapshots() throws Exception {
+            when(eventLog.snapshot(eq(TRANSACTION_ID))).thenReturn(new WorkloadEventLogDTO.Snapshot(20, 30));
+
+            mockMvc.perform(post("/api/v1/workload/events/snapshots").header("X-Transaction-Id", TRANSACTION_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.trainers").value(20));
+        }
+    }
+}
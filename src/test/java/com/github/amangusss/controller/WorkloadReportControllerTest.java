@@ -0,0 +1,161 @@
+package com.github.amangusss.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.exception.GlobalExceptionHandler;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.WorkloadReportService;
+import com.github.amangusss.service.rollup.WorkloadRollupRebuilder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadReportController Tests")
+class WorkloadReportControllerTest {
+
+    @Mock
+    private WorkloadReportService reportService;
+
+    @Mock
+    private WorkloadRollupRebuilder rollupRebuilder;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        WorkloadReportController controller = new WorkloadReportController(reportService, rollupRebuilder, new GeneratedDtoMapper(), new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private WorkloadReportDTO.TrainerTotal total(String username, double hours) {
+        return new WorkloadReportDTO.TrainerTotal(username, "John", "Doe", TrainerStatus.ACTIVE, hours);
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/reports/monthly-totals")
+    class MonthlyTotalsTests {
+
+        @Test
+        @DisplayName("Should return monthly totals with month names")
+        void shouldReturnMonthlyTotals() throws Exception {
+            when(reportService.getMonthlyTotals(eq(2025), eq(TrainerStatus.ACTIVE), anyString()))
+                    .thenReturn(List.of(new WorkloadReportDTO.MonthlyTotal(3, 12.5, 4)));
+
+            mockMvc.perform(get("/api/v1/reports/monthly-totals").param("year", "2025").param("status", "ACTIVE"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.year").value(2025))
+                    .andExpect(jsonPath("$.months[0].month").value("MARCH"))
+                    .andExpect(jsonPath("$.months[0].totalHours").value(12.5))
+                    .andExpect(jsonPath("$.months[0].trainers").value(4));
+        }
+
+        @Test
+        @DisplayName("Should return 400 without a year")
+        void shouldRequireYear() throws Exception {
+            mockMvc.perform(get("/api/v1/reports/monthly-totals"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an unknown status")
+        void shouldRejectUnknownStatus() throws Exception {
+            mockMvc.perform(get("/api/v1/reports/monthly-totals").param("year", "2025").param("status", "RETIRED"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Monthly rollups")
+    class MonthlyRollupTests {
+
+        @Test
+        @DisplayName("Should return monthly hours read from the rollups without trainer counts")
+        void shouldReturnMonthlyHours() throws Exception {
+            when(reportService.getMonthlyHours(eq(2025), isNull(), anyString()))
+                    .thenReturn(List.of(new WorkloadReportDTO.MonthlyHours(12, 7.5)));
+
+            mockMvc.perform(get("/api/v1/reports/monthly-hours").param("year", "2025"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.months[0].month").value("DECEMBER"))
+                    .andExpect(jsonPath("$.months[0].totalHours").value(7.5))
+                    .andExpect(jsonPath("$.months[0].trainers").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should report the outcome of a rebuild")
+        void shouldRebuildRollups() throws Exception {
+            when(rollupRebuilder.rebuild(anyString())).thenReturn(new WorkloadReportDTO.RollupRebuild(3, 40, 2, 120));
+
+            mockMvc.perform(post("/api/v1/reports/rollups/rebuild"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.years").value(3))
+                    .andExpect(jsonPath("$.rollups").value(40))
+                    .andExpect(jsonPath("$.removed").value(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/reports/trainer-totals")
+    class TrainerTotalsTests {
+
+        @Test
+        @DisplayName("Should return the requested page of ranked trainers")
+        void shouldReturnPage() throws Exception {
+            when(reportService.getTrainerTotals(eq(2025), isNull(), eq(0), eq(2), anyString()))
+                    .thenReturn(new WorkloadReportDTO.TrainerTotalsPage(
+                            List.of(total("top", 40.0), total("second", 30.0)), 0, 2, true));
+
+            mockMvc.perform(get("/api/v1/reports/trainer-totals").param("year", "2025").param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].username").value("top"))
+                    .andExpect(jsonPath("$.items[1].totalHours").value(30.0))
+                    .andExpect(jsonPath("$.hasMore").value(true));
+        }
+
+        @Test
+        @DisplayName("Should stream every trainer as one NDJSON line")
+        void shouldExportAsNdjson() throws Exception {
+            when(reportService.streamTrainerTotals(eq(2025), isNull(), anyString()))
+                    .thenReturn(Stream.of(total("a", 1.0), total("b", 2.0)));
+
+            MvcResult result = mockMvc.perform(get("/api/v1/reports/trainer-totals/export").param("year", "2025"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"))
+                    .andExpect(content().string("""
+                            {"username":"a","firstName":"John","lastName":"Doe","status":"ACTIVE","totalHours":1.0}
+                            {"username":"b","firstName":"John","lastName":"Doe","status":"ACTIVE","totalHours":2.0}
+                            """));
+        }
+    }
+}
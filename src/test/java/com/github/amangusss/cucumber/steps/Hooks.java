@@ -1,5 +1,7 @@
 package com.github.amangusss.cucumber.steps;
 
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
 import com.github.amangusss.repository.TrainerWorkloadRepository;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
@@ -10,13 +12,23 @@ public class Hooks {
     @Autowired
     private TrainerWorkloadRepository repository;
 
+    @Autowired
+    private TrainerWorkloadCache workloadCache;
+
+    @Autowired
+    private TrainerSummaryCache summaryCache;
+
     @Before
     public void setUp() {
         repository.deleteAll();
+        workloadCache.clear();
+        summaryCache.clear();
     }
 
     @After
     public void tearDown() {
         repository.deleteAll();
+        workloadCache.clear();
+        summaryCache.clear();
     }
 }
@@ -15,9 +15,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -45,7 +45,7 @@ public class TrainerSummarySteps {
         workload.setLastName("Smith");
         workload.setStatus(TrainerStatus.ACTIVE);
 
-        List<YearSummary> years = new ArrayList<>();
+        TreeMap<Integer, YearSummary> years = new TreeMap<>();
         List<Map<String, String>> rows = dataTable.asMaps();
 
         for (Map<String, String> row : rows) {
@@ -53,21 +53,11 @@ public class TrainerSummarySteps {
             Month month = Month.valueOf(row.get("month"));
             double hours = Double.parseDouble(row.get("hours"));
 
-            YearSummary yearSummary = years.stream()
-                    .filter(y -> y.getYear() == year)
-                    .findFirst()
-                    .orElseGet(() -> {
-                        YearSummary newYear = new YearSummary();
-                        newYear.setYear(year);
-                        newYear.setMonths(new ArrayList<>());
-                        years.add(newYear);
-                        return newYear;
-                    });
+            YearSummary yearSummary = years.computeIfAbsent(year, key -> new YearSummary());
 
             MonthSummary monthSummary = new MonthSummary();
-            monthSummary.setMonth(month);
             monthSummary.setTotalHours(hours);
-            yearSummary.getMonths().add(monthSummary);
+            yearSummary.getMonths().put(month.getValue(), monthSummary);
         }
 
         workload.setYears(years);
@@ -81,7 +71,7 @@ public class TrainerSummarySteps {
         workload.setFirstName("Jane");
         workload.setLastName("Doe");
         workload.setStatus(TrainerStatus.ACTIVE);
-        workload.setYears(new ArrayList<>());
+        workload.setYears(new TreeMap<>());
         repository.save(workload);
     }
 
@@ -94,12 +84,10 @@ public class TrainerSummarySteps {
         workload.setStatus(TrainerStatus.valueOf(status));
 
         YearSummary yearSummary = new YearSummary();
-        yearSummary.setYear(year);
         MonthSummary monthSummary = new MonthSummary();
-        monthSummary.setMonth(Month.JANUARY);
         monthSummary.setTotalHours(hours);
-        yearSummary.setMonths(List.of(monthSummary));
-        workload.setYears(List.of(yearSummary));
+        yearSummary.getMonths().put(Month.JANUARY.getValue(), monthSummary);
+        workload.getYears().put(year, yearSummary);
 
         repository.save(workload);
     }
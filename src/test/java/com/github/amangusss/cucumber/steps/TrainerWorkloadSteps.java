@@ -16,9 +16,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,48 +41,22 @@ public class TrainerWorkloadSteps {
     @Given("trainer {string} exists with {double} hours for January {int}")
     public void trainerExistsWithHoursForJanuary(String username, double hours, int year) {
         TrainerWorkload workload = createWorkload(username, "John", "Smith", TrainerStatus.ACTIVE);
-        YearSummary yearSummary = new YearSummary();
-        yearSummary.setYear(year);
         MonthSummary monthSummary = new MonthSummary();
-        monthSummary.setMonth(Month.JANUARY);
         monthSummary.setTotalHours(hours);
-        yearSummary.setMonths(List.of(monthSummary));
-        workload.setYears(List.of(yearSummary));
+        workload.getYears().computeIfAbsent(year, key -> new YearSummary())
+                .getMonths().put(Month.JANUARY.getValue(), monthSummary);
         repository.save(workload);
     }
 
     @Given("trainer {string} exists with {double} hours for February {int}")
     public void trainerExistsWithHoursForFebruary(String username, double hours, int year) {
-        Optional<TrainerWorkload> existingWorkload = repository.findByUsername(username);
-        TrainerWorkload workload;
-
-        if (existingWorkload.isPresent()) {
-            workload = existingWorkload.get();
-            YearSummary yearSummary = workload.getYears().stream()
-                    .filter(y -> y.getYear() == year)
-                    .findFirst()
-                    .orElseGet(() -> {
-                        YearSummary newYear = new YearSummary();
-                        newYear.setYear(year);
-                        newYear.setMonths(new ArrayList<>());
-                        workload.getYears().add(newYear);
-                        return newYear;
-                    });
-
-            MonthSummary monthSummary = new MonthSummary();
-            monthSummary.setMonth(Month.FEBRUARY);
-            monthSummary.setTotalHours(hours);
-            yearSummary.getMonths().add(monthSummary);
-        } else {
-            workload = createWorkload(username, "John", "Smith", TrainerStatus.ACTIVE);
-            YearSummary yearSummary = new YearSummary();
-            yearSummary.setYear(year);
-            MonthSummary monthSummary = new MonthSummary();
-            monthSummary.setMonth(Month.FEBRUARY);
-            monthSummary.setTotalHours(hours);
-            yearSummary.setMonths(List.of(monthSummary));
-            workload.setYears(List.of(yearSummary));
-        }
+        TrainerWorkload workload = repository.findByUsername(username)
+                .orElseGet(() -> createWorkload(username, "John", "Smith", TrainerStatus.ACTIVE));
+
+        MonthSummary monthSummary = new MonthSummary();
+        monthSummary.setTotalHours(hours);
+        workload.getYears().computeIfAbsent(year, key -> new YearSummary())
+                .getMonths().put(Month.FEBRUARY.getValue(), monthSummary);
 
         repository.save(workload);
     }
@@ -171,12 +144,10 @@ public class TrainerWorkloadSteps {
     @And("trainer {string} should have {double} hours for January {int}")
     public void trainerShouldHaveHoursForJanuary(String username, double expectedHours, int year) {
         TrainerWorkload workload = repository.findByUsername(username).orElseThrow();
-        double actualHours = workload.getYears().stream()
-                .filter(y -> y.getYear() == year)
-                .flatMap(y -> y.getMonths().stream())
-                .filter(m -> m.getMonth() == Month.JANUARY)
-                .mapToDouble(MonthSummary::getTotalHours)
-                .sum();
+        double actualHours = Optional.ofNullable(workload.getYears().get(year))
+                .map(y -> y.getMonths().get(Month.JANUARY.getValue()))
+                .map(MonthSummary::getTotalHours)
+                .orElse(0.0);
 
         assertThat(actualHours).isEqualTo(expectedHours);
     }
@@ -184,12 +155,10 @@ public class TrainerWorkloadSteps {
     @And("trainer {string} should have {double} hours for February {int}")
     public void trainerShouldHaveHoursForFebruary(String username, double expectedHours, int year) {
         TrainerWorkload workload = repository.findByUsername(username).orElseThrow();
-        double actualHours = workload.getYears().stream()
-                .filter(y -> y.getYear() == year)
-                .flatMap(y -> y.getMonths().stream())
-                .filter(m -> m.getMonth() == Month.FEBRUARY)
-                .mapToDouble(MonthSummary::getTotalHours)
-                .sum();
+        double actualHours = Optional.ofNullable(workload.getYears().get(year))
+                .map(y -> y.getMonths().get(Month.FEBRUARY.getValue()))
+                .map(MonthSummary::getTotalHours)
+                .orElse(0.0);
 
         assertThat(actualHours).isEqualTo(expectedHours);
     }
@@ -200,7 +169,7 @@ public class TrainerWorkloadSteps {
         workload.setFirstName(firstName);
         workload.setLastName(lastName);
         workload.setStatus(status);
-        workload.setYears(new ArrayList<>());
+        workload.setYears(new TreeMap<>());
         return workload;
     }
 }
@@ -0,0 +1,381 @@
+package com.github.amangusss.jms;
+
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.exception.DeltaWriteException;
+import com.github.amangusss.jms.listener.BatchWorkloadMessageConsumer;
+import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.idempotency.WorkloadEventDeduplicator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchWorkloadMessageConsumer Tests")
+class BatchWorkloadMessageConsumerTest {
+
+    @Mock
+    private MessageConverter messageConverter;
+
+    @Mock
+    private TrainerWorkloadService trainerWorkloadService;
+
+    private WorkloadEventDeduplicator deduplicator;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private MessageConsumer consumer;
+
+    @Mock
+    private MessageProducer dlqProducer;
+
+    @Captor
+    private ArgumentCaptor<List<TrainerWorkloadDTO.Request.Create>> eventsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<String>> keysCaptor;
+
+    private SimpleMeterRegistry registry;
+
+    private BatchWorkloadMessageConsumer batchConsumer;
+
+    private static final int MAX_SIZE = 3;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        WorkloadMetrics metrics = new WorkloadMetrics(registry);
+        deduplicator = new WorkloadEventDeduplicator(metrics, true, 100);
+        batchConsumer = new BatchWorkloadMessageConsumer(null, messageConverter, trainerWorkloadService, deduplicator,
+                metrics, new WorkloadThreads(false), "workload.queue", "workload.dlq", MAX_SIZE, 50, 1);
+        lenient().when(trainerWorkloadService.obtainWorkloadBatch(anyList(), anyList(), anyString())).thenReturn(DeltaWriteResult.empty());
+    }
+
+    private TrainerWorkloadDTO.Request.Create createValidRequest(String username) {
+        return new TrainerWorkloadDTO.Request.Create(
+                username, "John", "Doe",
+                TrainerStatus.ACTIVE,
+                LocalDate.of(2025, 1, 15),
+                2.5,
+                ActionType.ADD
+        );
+    }
+
+    private Message messageWith(Object payload, String transactionId) throws Exception {
+        Message message = messageWith(payload);
+        lenient().when(message.getStringProperty("transactionId")).thenReturn(transactionId);
+        lenient().when(message.getJMSMessageID()).thenReturn(messageId(transactionId));
+        return message;
+    }
+
+    private static String messageId(String transactionId) {
+        return "ID:" + transactionId;
+    }
+
+    private Message messageWith(Object payload) throws Exception {
+        Message message = mock(Message.class);
+        when(messageConverter.fromMessage(message)).thenReturn(payload);
+        return message;
+    }
+
+    @Nested
+    @DisplayName("Draining")
+    class DrainingTests {
+
+        @Test
+        @DisplayName("Should return zero and not commit when the queue is empty")
+        void shouldReturnZeroWhenQueueIsEmpty() throws Exception {
+            when(consumer.receive(anyLong())).thenReturn(null);
+
+            int consumed = batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            assertThat(consumed).isZero();
+            verify(session, never()).commit();
+            verify(trainerWorkloadService, never()).obtainWorkloadBatch(anyList(), anyList(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should stop draining at max batch size")
+        void shouldStopAtMaxBatchSize() throws Exception {
+            Message first = messageWith(createValidRequest("a"));
+            Message second = messageWith(createValidRequest("b"));
+            Message third = messageWith(createValidRequest("c"));
+            when(consumer.receive(anyLong())).thenReturn(first, second, third);
+
+            int consumed = batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            assertThat(consumed).isEqualTo(MAX_SIZE);
+            verify(trainerWorkloadService).obtainWorkloadBatch(eventsCaptor.capture(), anyList(), anyString());
+            assertThat(eventsCaptor.getValue()).extracting(TrainerWorkloadDTO.Request.Create::username)
+                    .containsExactly("a", "b", "c");
+        }
+
+        @Test
+        @DisplayName("Should process a partial batch when no more messages arrive")
+        void shouldProcessPartialBatch() throws Exception {
+            Message first = messageWith(createValidRequest("a"));
+            when(consumer.receive(anyLong())).thenReturn(first, (Message) null);
+
+            int consumed = batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            assertThat(consumed).isEqualTo(1);
+            verify(trainerWorkloadService).obtainWorkloadBatch(anyList(), anyList(), anyString());
+            verify(session).commit();
+        }
+    }
+
+    @Nested
+    @DisplayName("Acknowledgement")
+    class AcknowledgementTests {
+
+        @Test
+        @DisplayName("Should commit only after the bulk write succeeds")
+        void shouldCommitAfterBulkWrite() throws Exception {
+            Message first = messageWith(createValidRequest("a"));
+            when(consumer.receive(anyLong())).thenReturn(first, (Message) null);
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            InOrder order = inOrder(trainerWorkloadService, session);
+            order.verify(trainerWorkloadService).obtainWorkloadBatch(anyList(), anyList(), anyString());
+            order.verify(session).commit();
+            verify(session, never()).rollback();
+        }
+
+        @Test
+        @DisplayName("Should roll back the whole batch when the bulk write fails")
+        void shouldRollbackWhenBulkWriteFails() throws Exception {
+            Message first = messageWith(createValidRequest("a"));
+            when(consumer.receive(anyLong())).thenReturn(first, (Message) null);
+            doThrow(new RuntimeException("Database error"))
+                    .when(trainerWorkloadService).obtainWorkloadBatch(anyList(), anyList(), anyString());
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(session).rollback();
+            verify(session, never()).commit();
+        }
+    }
+
+    @Nested
+    @DisplayName("Redelivery and Replay")
+    class DeduplicationTests {
+
+        @Test
+        @DisplayName("Should hand the message ids to the bulk write alongside the events")
+        void shouldPassEventIdsToBulkWrite() throws Exception {
+            Message first = messageWith(createValidRequest("a"), "tx-1");
+            Message second = messageWith(createValidRequest("a"), "tx-2");
+            when(consumer.receive(anyLong())).thenReturn(first, second, null);
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(trainerWorkloadService).obtainWorkloadBatch(eventsCaptor.capture(), keysCaptor.capture(), anyString());
+            assertThat(eventsCaptor.getValue()).hasSize(2);
+            assertThat(keysCaptor.getValue()).containsExactly(messageId("tx-1"), messageId("tx-2"));
+        }
+
+        @Test
+        @DisplayName("Should count events the trainers had already recorded as duplicates and commit")
+        void shouldSkipAlreadyProcessedEvents() throws Exception {
+            Message fresh = messageWith(createValidRequest("a"), "tx-1");
+            Message replayed = messageWith(createValidRequest("b"), "tx-2");
+            when(consumer.receive(anyLong())).thenReturn(fresh, replayed, null);
+            when(trainerWorkloadService.obtainWorkloadBatch(anyList(), anyList(), anyString()))
+                    .thenReturn(new DeltaWriteResult(Set.of("a"), Set.of(), Set.of(1)));
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(dlqProducer, never()).send(any());
+            verify(session).commit();
+            assertThat(registry.get("workload.events.duplicates").tag("source", "store").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should leave events this instance already applied out of the next bulk write")
+        void shouldSkipEventsSeenOnThisInstance() throws Exception {
+            Message first = messageWith(createValidRequest("a"), "tx-1");
+            Message redelivered = messageWith(createValidRequest("a"), "tx-1");
+            Message fresh = messageWith(createValidRequest("b"), "tx-2");
+            when(consumer.receive(anyLong())).thenReturn(first, null, redelivered, fresh, null);
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(trainerWorkloadService, times(2))
+                    .obtainWorkloadBatch(eventsCaptor.capture(), anyList(), anyString());
+            assertThat(eventsCaptor.getAllValues().get(1)).extracting(TrainerWorkloadDTO.Request.Create::username)
+                    .containsExactly("b");
+            assertThat(registry.get("workload.events.duplicates").tag("source", "cache").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should apply an event id repeated within the batch once")
+        void shouldApplyRepeatedEventIdOnce() throws Exception {
+            Message first = messageWith(createValidRequest("a"), "tx-1");
+            Message repeated = messageWith(createValidRequest("a"), "tx-1");
+            when(consumer.receive(anyLong())).thenReturn(first, repeated, null);
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(trainerWorkloadService).obtainWorkloadBatch(eventsCaptor.capture(), anyList(), anyString());
+            assertThat(eventsCaptor.getValue()).hasSize(1);
+            verify(session).commit();
+        }
+
+        @Test
+        @DisplayName("Should not remember the events of a rolled back batch")
+        void shouldNotRememberRolledBackEvents() throws Exception {
+            Message first = messageWith(createValidRequest("a"), "tx-1");
+            Message redelivered = messageWith(createValidRequest("a"), "tx-1");
+            when(consumer.receive(anyLong())).thenReturn(first, null, redelivered, null);
+            when(trainerWorkloadService.obtainWorkloadBatch(anyList(), anyList(), anyString()))
+                    .thenThrow(new DeltaWriteException(Set.of("a"), new RuntimeException("Database error")))
+                    .thenReturn(DeltaWriteResult.empty());
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(trainerWorkloadService, times(2))
+                    .obtainWorkloadBatch(anyList(), anyList(), anyString());
+            verify(session).rollback();
+            verify(session).commit();
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid Message - Send to DLQ")
+    class InvalidMessageTests {
+
+        @Test
+        @DisplayName("Should send events of a trainer that was not found to the DLQ and commit the rest")
+        void shouldSendMissingTrainerEventsToDlq() throws Exception {
+            TextMessage dlqMessage = mock(TextMessage.class);
+            TrainerWorkloadDTO.Request.Create missing = createValidRequest("ghost");
+            Message first = messageWith(createValidRequest("a"), "tx-1");
+            Message second = messageWith(missing, "tx-2");
+            when(consumer.receive(anyLong())).thenReturn(first, second, null);
+            when(trainerWorkloadService.obtainWorkloadBatch(anyList(), anyList(), anyString()))
+                    .thenReturn(new DeltaWriteResult(Set.of("a"), Set.of(1), Set.of()));
+            when(messageConverter.toMessage(missing, session)).thenReturn(dlqMessage);
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(dlqProducer).send(dlqMessage);
+            verify(dlqMessage).setStringProperty("errorReason", "Processing error: Trainer not found: ghost");
+            verify(dlqMessage).setStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY, messageId("tx-2"));
+            verify(session).commit();
+            assertThat(registry.get("workload.dlq.sent").tag("reason", "processing-error").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should send invalid events to DLQ within the batch transaction")
+        void shouldSendInvalidEventsToDlq() throws Exception {
+            var invalid = new TrainerWorkloadDTO.Request.Create(
+                    null, "John", "Doe",
+                    TrainerStatus.ACTIVE,
+                    LocalDate.of(2025, 1, 15),
+                    2.5,
+                    ActionType.ADD
+            );
+            Message valid = messageWith(createValidRequest("a"));
+            Message broken = messageWith(invalid);
+            TextMessage dlqMessage = mock(TextMessage.class);
+            when(consumer.receive(anyLong())).thenReturn(valid, broken, null);
+            when(messageConverter.toMessage(eq(invalid), eq(session))).thenReturn(dlqMessage);
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(dlqMessage).setStringProperty(eq("errorReason"), anyString());
+            verify(dlqProducer).send(dlqMessage);
+            verify(trainerWorkloadService).obtainWorkloadBatch(eventsCaptor.capture(), anyList(), anyString());
+            assertThat(eventsCaptor.getValue()).hasSize(1);
+            verify(session).commit();
+            assertThat(deadLetters("invalid")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should not count DLQ sends of a rolled back batch")
+        void shouldNotCountDeadLettersOfRolledBackBatch() throws Exception {
+            var invalid = new TrainerWorkloadDTO.Request.Create(
+                    null, "John", "Doe",
+                    TrainerStatus.ACTIVE,
+                    LocalDate.of(2025, 1, 15),
+                    2.5,
+                    ActionType.ADD
+            );
+            Message valid = messageWith(createValidRequest("a"));
+            Message broken = messageWith(invalid);
+            when(consumer.receive(anyLong())).thenReturn(valid, broken, null);
+            when(messageConverter.toMessage(eq(invalid), eq(session))).thenReturn(mock(TextMessage.class));
+            doThrow(new RuntimeException("mongo down")).when(trainerWorkloadService).obtainWorkloadBatch(anyList(), anyList(), anyString());
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(session).rollback();
+            assertThat(registry.find("workload.dlq.sent").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should forward unreadable messages to DLQ unchanged")
+        void shouldForwardUnreadableMessages() throws Exception {
+            Message unreadable = mock(Message.class);
+            when(messageConverter.fromMessage(unreadable)).thenThrow(new MessageConversionException("bad json"));
+            when(consumer.receive(anyLong())).thenReturn(unreadable, (Message) null);
+
+            batchConsumer.pollBatch(session, consumer, dlqProducer);
+
+            verify(dlqProducer).send(unreadable);
+            verify(trainerWorkloadService, never()).obtainWorkloadBatch(any(), any(), anyString());
+            verify(session).commit();
+            assertThat(deadLetters("unreadable")).isEqualTo(1.0);
+        }
+    }
+
+    private double deadLetters(String reason) {
+        return registry.get("workload.dlq.sent").tag("reason", reason).counter().count();
+    }
+}
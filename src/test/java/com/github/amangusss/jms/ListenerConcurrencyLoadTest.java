@@ -0,0 +1,126 @@
+package com.github.amangusss.jms;
+
+import com.github.amangusss.config.JmsConfig;
+import com.github.amangusss.config.WorkloadThreads;
+
+import jakarta.jms.Connection;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.config.SimpleJmsListenerEndpoint;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drains a pre-filled queue on an embedded broker through the container factory from
+ * {@link JmsConfig} and compares throughput for one and four consumers. Each message
+ * simulates a short database round-trip, so the work is I/O bound and should scale
+ * with the number of consumers. The speedup assertion depends on the machine, so it runs with
+ * the {@code load} group ({@code -Pload-test}) rather than in the default suite.
+ */
+@Tag("load")
+@DisplayName("Listener concurrency load test")
+class ListenerConcurrencyLoadTest {
+
+    private static final String BROKER_URL = "vm://workload-load-test?create=false";
+    private static final int MESSAGES = 160;
+    private static final long PROCESSING_MS = 10;
+    private static final int PREFETCH = 10;
+
+    private static BrokerService broker;
+
+    private final JmsConfig jmsConfig = new JmsConfig();
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("workload-load-test");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setUseShutdownHook(false);
+        broker.start();
+        broker.waitUntilStarted();
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+
+    @Test
+    @DisplayName("Should increase throughput as consumer count grows")
+    void shouldScaleThroughputWithConsumers() throws Exception {
+        double single = drain("load.single", "1");
+        double concurrent = drain("load.concurrent", "4");
+
+        assertThat(concurrent)
+                .as("throughput with 4 consumers (%.0f msg/s) vs 1 consumer (%.0f msg/s)", concurrent, single)
+                .isGreaterThan(single * 2);
+    }
+
+    private double drain(String queue, String concurrency) throws Exception {
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(BROKER_URL);
+        jmsConfig.workloadPrefetchCustomizer(PREFETCH, false, 8, 100).customize(connectionFactory);
+        fill(connectionFactory, queue);
+
+        DefaultJmsListenerContainerFactoryConfigurer configurer = mock(DefaultJmsListenerContainerFactoryConfigurer.class);
+        doAnswer(invocation -> {
+            invocation.<DefaultJmsListenerContainerFactory>getArgument(0).setConnectionFactory(invocation.getArgument(1));
+            return null;
+        }).when(configurer).configure(any(), any());
+
+        DefaultJmsListenerContainerFactory factory = jmsConfig.jmsListenerContainerFactory(configurer, connectionFactory,
+                concurrency, true, "CACHE_CONSUMER", 100, false, new WorkloadThreads(false));
+
+        CountDownLatch processed = new CountDownLatch(MESSAGES);
+        SimpleJmsListenerEndpoint endpoint = new SimpleJmsListenerEndpoint();
+        endpoint.setId(queue);
+        endpoint.setDestination(queue);
+        endpoint.setMessageListener(message -> {
+            try {
+                Thread.sleep(PROCESSING_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.countDown();
+        });
+
+        DefaultMessageListenerContainer container = factory.createListenerContainer(endpoint);
+        container.afterPropertiesSet();
+        long start = System.nanoTime();
+        container.start();
+        try {
+            assertThat(processed.await(30, TimeUnit.SECONDS)).isTrue();
+            long elapsedNanos = System.nanoTime() - start;
+            return MESSAGES / (elapsedNanos / 1_000_000_000.0);
+        } finally {
+            container.shutdown();
+        }
+    }
+
+    private void fill(ActiveMQConnectionFactory connectionFactory, String queue) throws Exception {
+        try (Connection connection = connectionFactory.createConnection()) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(session.createQueue(queue));
+            for (int i = 0; i < MESSAGES; i++) {
+                producer.send(session.createTextMessage("{\"username\":\"trainer." + i + "\"}"));
+            }
+        }
+    }
+}
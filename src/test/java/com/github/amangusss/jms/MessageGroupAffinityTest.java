@@ -0,0 +1,247 @@
+package com.github.amangusss.jms;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
+import com.github.amangusss.config.JmsConfig;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.YearSummary;
+import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.jms.publisher.WorkloadDeadLetterPublisher;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.idempotency.WorkloadEventDeduplicator;
+import com.github.amangusss.service.impl.TrainerWorkloadServiceImpl;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Simulates several service instances reading one queue on an embedded broker. Each instance is
+ * the real {@link WorkloadMessageListener} and {@link TrainerWorkloadServiceImpl} with its own
+ * {@link TrainerWorkloadCache} and meter registry; they share one in-memory store. Producers key
+ * {@code JMSXGroupID} on the username, so every trainer should stick to one instance, keep its
+ * event order and miss that instance's cache only on its first event. The cache hits and misses
+ * are read from the {@code cache.gets} meters each instance exports.
+ */
+@DisplayName("Message group affinity test")
+class MessageGroupAffinityTest {
+
+    private static final String BROKER_URL = "vm://workload-group-test?create=false";
+    private static final String QUEUE = "workload.groups";
+    private static final int CONSUMERS = 3;
+    private static final int TRAINERS = 12;
+    private static final int EVENTS_PER_TRAINER = 25;
+    private static final LocalDate TRAINING_DATE = LocalDate.of(2025, 3, 10);
+
+    private static BrokerService broker;
+
+    private final MessageConverter converter = new JmsConfig().jacksonJmsMessageConverter(new ObjectMapper().findAndRegisterModules());
+    private final Map<String, TrainerWorkload> store = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("workload-group-test");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setUseShutdownHook(false);
+        broker.start();
+        broker.waitUntilStarted();
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+
+    @Test
+    @DisplayName("Should pin each trainer to one instance, keep order and hit that instance's cache")
+    void shouldPinTrainersToConsumers() throws Exception {
+        for (int trainer = 0; trainer < TRAINERS; trainer++) {
+            store.put(username(trainer), trainerWithHours(username(trainer), 1000.0));
+        }
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(BROKER_URL);
+        connectionFactory.getPrefetchPolicy().setQueuePrefetch(10);
+
+        CountDownLatch processed = new CountDownLatch(TRAINERS * EVENTS_PER_TRAINER);
+        Map<String, Set<Integer>> consumersByTrainer = new ConcurrentHashMap<>();
+        Map<String, Integer> lastSequence = new ConcurrentHashMap<>();
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        List<SimpleMeterRegistry> registries = new ArrayList<>();
+        List<WorkloadDeadLetterPublisher> deadLetters = new ArrayList<>();
+        List<DefaultMessageListenerContainer> containers = new ArrayList<>();
+
+        for (int consumer = 0; consumer < CONSUMERS; consumer++) {
+            int consumerId = consumer;
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            WorkloadDeadLetterPublisher deadLetterPublisher = mock(WorkloadDeadLetterPublisher.class);
+            WorkloadMessageListener listener = instance(registry, deadLetterPublisher);
+            registries.add(registry);
+            deadLetters.add(deadLetterPublisher);
+
+            DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.setDestinationName(QUEUE);
+            container.setSessionTransacted(true);
+            container.setCacheLevel(DefaultMessageListenerContainer.CACHE_CONSUMER);
+            container.setMessageListener((jakarta.jms.MessageListener) message -> {
+                TrainerWorkloadDTO.Request.Create request = fromMessage(message);
+                String transactionId = property(message, "transactionId");
+                int sequence = Integer.parseInt(transactionId.substring(transactionId.lastIndexOf('-') + 1));
+
+                consumersByTrainer.computeIfAbsent(request.username(), key -> ConcurrentHashMap.newKeySet()).add(consumerId);
+                Integer previous = lastSequence.put(request.username(), sequence);
+                if (previous != null && previous >= sequence) {
+                    outOfOrder.set(true);
+                }
+                listener.receiveMessage(request, transactionId, message);
+                processed.countDown();
+            });
+            container.afterPropertiesSet();
+            containers.add(container);
+        }
+
+        try {
+            containers.forEach(DefaultMessageListenerContainer::start);
+            send(connectionFactory);
+
+            assertThat(processed.await(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            containers.forEach(DefaultMessageListenerContainer::shutdown);
+        }
+
+        assertThat(consumersByTrainer).hasSize(TRAINERS)
+                .allSatisfy((username, consumers) -> assertThat(consumers).hasSize(1));
+        assertThat(outOfOrder).isFalse();
+        deadLetters.forEach(publisher -> verify(publisher, never()).publish(any(), anyString(), any(), anyString(), anyString()));
+        assertThat(store.values()).allSatisfy(workload ->
+                assertThat(workload.getYears().get(2025).getMonths().get(3).getTotalHours())
+                        .isEqualTo(1000.0 - EVENTS_PER_TRAINER));
+        assertThat(cacheGets(registries, "miss")).isEqualTo(TRAINERS);
+        assertThat(cacheGets(registries, "hit")).isEqualTo(TRAINERS * (EVENTS_PER_TRAINER - 1));
+    }
+
+    private WorkloadMessageListener instance(SimpleMeterRegistry registry, WorkloadDeadLetterPublisher deadLetters) {
+        WorkloadMetrics metrics = new WorkloadMetrics(registry);
+        TrainerWorkloadRepository repository = mock(TrainerWorkloadRepository.class);
+        when(repository.findByUsername(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(store.get(invocation.<String>getArgument(0))));
+        when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> {
+            TrainerWorkload workload = invocation.getArgument(0);
+            store.put(workload.getUsername(), workload);
+            return workload;
+        });
+
+        TrainerWorkloadServiceImpl service = new TrainerWorkloadServiceImpl(
+                repository,
+                mock(TrainerWorkloadMapper.class),
+                new WorkloadWriteRetrier(metrics, 3, 0, 0),
+                new TrainerWorkloadCache(registry, true, 1000, 10),
+                new TrainerSummaryCache(registry, false, 1000, 60),
+                metrics,
+                mock(WorkloadRollupUpdater.class),
+                mock(WorkloadEventLog.class));
+        WorkloadEventDeduplicator deduplicator = new WorkloadEventDeduplicator(metrics, false, 100);
+        return new WorkloadMessageListener(deadLetters, service, deduplicator, metrics, Optional.empty());
+    }
+
+    private static double cacheGets(List<SimpleMeterRegistry> registries, String result) {
+        return registries.stream()
+                .mapToDouble(registry -> registry.get("cache.gets")
+                        .tag("cache", "trainerWorkloads")
+                        .tag("result", result)
+                        .functionCounter()
+                        .count())
+                .sum();
+    }
+
+    private void send(ActiveMQConnectionFactory connectionFactory) throws JMSException {
+        try (Connection connection = connectionFactory.createConnection()) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(session.createQueue(QUEUE));
+            for (int sequence = 0; sequence < EVENTS_PER_TRAINER; sequence++) {
+                for (int trainer = 0; trainer < TRAINERS; trainer++) {
+                    TrainerWorkloadDTO.Request.Create request = new TrainerWorkloadDTO.Request.Create(
+                            username(trainer), "John", "Doe", TrainerStatus.ACTIVE, TRAINING_DATE, 1.0, ActionType.DELETE);
+                    Message message = converter.toMessage(request, session);
+                    message.setStringProperty(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY, request.username());
+                    message.setStringProperty("transactionId", request.username() + "-" + sequence);
+                    producer.send(message);
+                }
+            }
+        }
+    }
+
+    private TrainerWorkloadDTO.Request.Create fromMessage(Message message) {
+        try {
+            return (TrainerWorkloadDTO.Request.Create) converter.fromMessage(message);
+        } catch (JMSException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String username(int trainer) {
+        return "trainer." + trainer;
+    }
+
+    private static TrainerWorkload trainerWithHours(String username, double hours) {
+        TreeMap<Integer, MonthSummary> months = new TreeMap<>(Map.of(3, MonthSummary.builder().totalHours(hours).build()));
+        return TrainerWorkload.builder()
+                .username(username)
+                .firstName("John")
+                .lastName("Doe")
+                .status(TrainerStatus.ACTIVE)
+                .years(new TreeMap<>(Map.of(2025, YearSummary.builder().months(months).build())))
+                .build();
+    }
+
+    private static String property(Message message, String name) {
+        try {
+            return message.getStringProperty(name);
+        } catch (JMSException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.github.amangusss.jms;
+
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.jms.listener.PartitionedWorkloadDispatcher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PartitionedWorkloadDispatcher Tests")
+class PartitionedWorkloadDispatcherTest {
+
+    private static final int LANES = 4;
+
+    private PartitionedWorkloadDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new PartitionedWorkloadDispatcher(LANES, 16, new WorkloadThreads(false));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.destroy();
+    }
+
+    private String otherLaneUsername(String username) {
+        int lane = dispatcher.laneFor(username);
+        for (int i = 0; ; i++) {
+            String candidate = "trainer." + i;
+            if (dispatcher.laneFor(candidate) != lane) {
+                return candidate;
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class OrderingTests {
+
+        @Test
+        @DisplayName("Should map the same username to the same lane")
+        void shouldMapUsernameToStableLane() {
+            assertThat(dispatcher.laneFor("john.doe"))
+                    .isEqualTo(dispatcher.laneFor("john.doe"))
+                    .isBetween(0, LANES - 1);
+        }
+
+        @Test
+        @DisplayName("Should apply events for one trainer in dispatch order")
+        void shouldKeepOrderPerTrainer() throws InterruptedException {
+            List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(200);
+
+            for (int i = 0; i < 200; i++) {
+                int sequence = i;
+                dispatcher.dispatch("john.doe", () -> {
+                    applied.add(sequence);
+                    done.countDown();
+                }, () -> {}, e -> {});
+            }
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(applied).isSorted().hasSize(200);
+        }
+
+        @Test
+        @DisplayName("Should keep lane running after a task fails")
+        void shouldSurviveFailingTask() throws InterruptedException {
+            CountDownLatch done = new CountDownLatch(1);
+
+            dispatcher.dispatch("john.doe", () -> {
+                throw new IllegalStateException("boom");
+            }, () -> {}, e -> {});
+            dispatcher.dispatch("john.doe", done::countDown, () -> {}, e -> {});
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Acknowledgement")
+    class AcknowledgementTests {
+
+        @Test
+        @DisplayName("Should acknowledge only after the task has run")
+        void shouldAcknowledgeAfterTask() throws InterruptedException {
+            List<String> steps = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch acknowledged = new CountDownLatch(1);
+
+            dispatcher.dispatch("john.doe", () -> steps.add("task"), () -> {
+                steps.add("ack");
+                acknowledged.countDown();
+            }, e -> steps.add("dlq"));
+
+            assertThat(acknowledged.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(steps).containsExactly("task", "ack");
+        }
+
+        @Test
+        @DisplayName("Should dead-letter and then acknowledge a failed task")
+        void shouldDeadLetterFailedTask() throws InterruptedException {
+            List<String> steps = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch acknowledged = new CountDownLatch(1);
+
+            dispatcher.dispatch("john.doe", () -> {
+                throw new IllegalStateException("boom");
+            }, () -> {
+                steps.add("ack");
+                acknowledged.countDown();
+            }, e -> steps.add("dlq:" + e.getMessage()));
+
+            assertThat(acknowledged.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(steps).containsExactly("dlq:boom", "ack");
+        }
+
+        @Test
+        @DisplayName("Should leave the message unacknowledged when the dead letter fails too")
+        void shouldNotAcknowledgeWhenDeadLetterFails() throws InterruptedException {
+            AtomicBoolean acknowledged = new AtomicBoolean();
+            CountDownLatch next = new CountDownLatch(1);
+
+            dispatcher.dispatch("john.doe", () -> {
+                throw new IllegalStateException("boom");
+            }, () -> acknowledged.set(true), e -> {
+                throw new IllegalStateException("DLQ down");
+            });
+            dispatcher.dispatch("john.doe", next::countDown, () -> {}, e -> {});
+
+            assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(acknowledged).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should count a running and the queued tasks of every lane as in flight")
+        void shouldBoundInFlightMessages() {
+            assertThat(PartitionedWorkloadDispatcher.inFlightLimit(8, 100)).isEqualTo(809);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallelism")
+    class ParallelismTests {
+
+        @Test
+        @DisplayName("Should process different lanes in parallel")
+        void shouldRunDifferentTrainersInParallel() throws InterruptedException {
+            String first = "john.doe";
+            String second = otherLaneUsername(first);
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            CountDownLatch finished = new CountDownLatch(2);
+
+            Runnable task = () -> {
+                bothStarted.countDown();
+                try {
+                    if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                        finished.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            dispatcher.dispatch(first, task, () -> {}, e -> {});
+            dispatcher.dispatch(second, task, () -> {}, e -> {});
+
+            assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.github.amangusss.jms;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.jms.publisher.WorkloadDeadLetterPublisher;
+import com.github.amangusss.metrics.WorkloadMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadDeadLetterPublisher Tests")
+class WorkloadDeadLetterPublisherTest {
+
+    private static final String DLQ_QUEUE = "workload.dlq";
+    private static final String TRANSACTION_ID = "dlq-tx";
+    private static final String USERNAME = "john.doe";
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private MessageProducer producer;
+
+    @Mock
+    private MessageConverter messageConverter;
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private WorkloadDeadLetterPublisher publisher(int capacity, int batchSize, long retryDelayMs) {
+        return new WorkloadDeadLetterPublisher(connectionFactory, messageConverter,
+                new ObjectMapper().findAndRegisterModules(), new WorkloadMetrics(registry), new WorkloadThreads(false),
+                DLQ_QUEUE, capacity, batchSize, retryDelayMs, spillFile().toString());
+    }
+
+    private Path spillFile() {
+        return directory.resolve("dlq.spill");
+    }
+
+    private Path replayFile() {
+        return directory.resolve("dlq.spill.replay");
+    }
+
+    private static TrainerWorkloadDTO.Request.Create request(String username) {
+        return new TrainerWorkloadDTO.Request.Create(username, "John", "Doe", TrainerStatus.ACTIVE,
+                LocalDate.of(2025, 1, 15), 0.0, ActionType.ADD);
+    }
+
+    private void brokerUp() throws JMSException {
+        Queue queue = mock(Queue.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(true, Session.SESSION_TRANSACTED)).thenReturn(session);
+        when(session.createQueue(DLQ_QUEUE)).thenReturn(queue);
+        when(session.createProducer(queue)).thenReturn(producer);
+        lenient().when(messageConverter.toMessage(any(), eq(session))).thenAnswer(invocation -> mock(TextMessage.class));
+    }
+
+    private void brokerDown() throws JMSException {
+        when(connectionFactory.createConnection()).thenThrow(new JMSException("Connection refused"));
+    }
+
+    private long spilledLines(Path file) throws IOException {
+        return Files.exists(file) ? Files.readAllLines(file).stream().filter(line -> !line.isBlank()).count() : 0;
+    }
+
+    private double sent(String reason) {
+        var counter = registry.find("workload.dlq.sent").tag("reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Nested
+    @DisplayName("Batched Sends")
+    class BatchedSendTests {
+
+        @Test
+        @DisplayName("Should send queued letters in batches, one transaction per batch")
+        void shouldSendInBatches() throws Exception {
+            brokerUp();
+            WorkloadDeadLetterPublisher publisher = publisher(10, 2, 0);
+            for (int i = 0; i < 3; i++) {
+                publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            }
+
+            assertThat(publisher.deliverPending(0)).isEqualTo(2);
+            assertThat(publisher.deliverPending(0)).isEqualTo(1);
+            assertThat(publisher.deliverPending(0)).isZero();
+
+            verify(producer, times(3)).send(any(Message.class));
+            verify(session, times(2)).commit();
+            assertThat(sent(WorkloadMetrics.REASON_INVALID)).isEqualTo(3.0);
+        }
+
+        @Test
+        @DisplayName("Should keep the transaction id, event id, reason and trainer group on the message")
+        void shouldSetMessageProperties() throws Exception {
+            brokerUp();
+            TextMessage message = mock(TextMessage.class);
+            TrainerWorkloadDTO.Request.Create request = request(USERNAME);
+            when(messageConverter.toMessage(eq(request), eq(session))).thenReturn(message);
+            WorkloadDeadLetterPublisher publisher = publisher(10, 10, 0);
+
+            publisher.publish(request, TRANSACTION_ID, "event-1", WorkloadMetrics.REASON_PROCESSING_ERROR, "Processing error: boom");
+            publisher.deliverPending(0);
+
+            verify(message).setStringProperty("transactionId", TRANSACTION_ID);
+            verify(message).setStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY, "event-1");
+            verify(message).setStringProperty("errorReason", "Processing error: boom");
+            verify(message).setLongProperty(eq("timeStamp"), any(Long.class));
+            verify(message).setStringProperty(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY, USERNAME);
+            verify(producer).send(message);
+        }
+
+        @Test
+        @DisplayName("Should send an empty message for a null payload")
+        void shouldSendNullPayload() throws Exception {
+            brokerUp();
+            Message message = mock(Message.class);
+            when(session.createMessage()).thenReturn(message);
+            WorkloadDeadLetterPublisher publisher = publisher(10, 10, 0);
+
+            publisher.publish(null, TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            publisher.deliverPending(0);
+
+            verify(producer).send(message);
+            verify(message, never()).setStringProperty(eq(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Spillover")
+    class SpilloverTests {
+
+        @Test
+        @DisplayName("Should spill a batch the broker did not accept")
+        void shouldSpillWhenBrokerIsDown() throws Exception {
+            brokerDown();
+            WorkloadDeadLetterPublisher publisher = publisher(10, 10, 0);
+            publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            publisher.publish(request("jane.doe"), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+
+            publisher.deliverPending(0);
+
+            assertThat(spilledLines(spillFile())).isEqualTo(2);
+            assertThat(registry.get("workload.dlq.spilled").counter().count()).isEqualTo(2.0);
+            assertThat(sent(WorkloadMetrics.REASON_INVALID)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should spill without retrying the broker during the retry delay")
+        void shouldNotRetryDuringDelay() throws Exception {
+            brokerDown();
+            WorkloadDeadLetterPublisher publisher = publisher(10, 1, 60_000);
+            publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+
+            publisher.deliverPending(0);
+            publisher.deliverPending(0);
+
+            verify(connectionFactory, times(1)).createConnection();
+            assertThat(spilledLines(spillFile())).isEqualTo(2);
+            assertThat(publisher.replaySpilled()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should spill instead of blocking when the queue is full")
+        void shouldSpillWhenQueueIsFull() throws Exception {
+            WorkloadDeadLetterPublisher publisher = publisher(1, 10, 0);
+
+            publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+
+            assertThat(spilledLines(spillFile())).isEqualTo(1);
+            assertThat(registry.get("workload.dlq.pending").gauge().value()).isEqualTo(1.0);
+            verify(connectionFactory, never()).createConnection();
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should replay spilled letters once the broker is back")
+        void shouldReplaySpilledLetters() throws Exception {
+            WorkloadDeadLetterPublisher publisher = publisher(1, 10, 0);
+            for (int i = 0; i < 3; i++) {
+                publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            }
+            brokerUp();
+
+            assertThat(publisher.replaySpilled()).isEqualTo(2);
+
+            verify(producer, times(2)).send(any(Message.class));
+            assertThat(spillFile()).doesNotExist();
+            assertThat(replayFile()).doesNotExist();
+            assertThat(sent(WorkloadMetrics.REASON_INVALID)).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should keep letters of a failed replay batch for the next attempt")
+        void shouldKeepUnsentLetters() throws Exception {
+            WorkloadDeadLetterPublisher publisher = publisher(1, 1, 0);
+            for (String username : new String[]{USERNAME, "jane.doe", "jack.doe", "jill.doe"}) {
+                publisher.publish(request(username), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            }
+            brokerUp();
+            doNothing().doThrow(new JMSException("Connection lost")).when(producer).send(any(Message.class));
+
+            assertThat(publisher.replaySpilled()).isEqualTo(1);
+            assertThat(spilledLines(replayFile())).isEqualTo(2);
+
+            doNothing().when(producer).send(any(Message.class));
+            publisher.publish(request("late.doe"), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+
+            assertThat(publisher.replaySpilled()).isEqualTo(2);
+            assertThat(replayFile()).doesNotExist();
+            assertThat(publisher.replaySpilled()).isEqualTo(1);
+            assertThat(spillFile()).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should skip unreadable lines of the spill file")
+        void shouldSkipUnreadableLines() throws Exception {
+            brokerUp();
+            WorkloadDeadLetterPublisher publisher = publisher(10, 10, 0);
+            Files.writeString(spillFile(), "not json\n");
+            publisher.publish(request(USERNAME), TRANSACTION_ID, null, WorkloadMetrics.REASON_INVALID, "Required information is missing");
+            publisher.stop();
+
+            assertThat(publisher.replaySpilled()).isEqualTo(1);
+            verify(producer, times(1)).send(any(Message.class));
+        }
+    }
+}
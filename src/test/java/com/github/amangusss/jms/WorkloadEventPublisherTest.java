@@ -0,0 +1,109 @@
+package com.github.amangusss.jms;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.jms.publisher.WorkloadEventPublisher;
+
+import jakarta.jms.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadEventPublisher Tests")
+class WorkloadEventPublisherTest {
+
+    private static final String QUEUE = "workload.queue";
+    private static final String TRANSACTION_ID = "async-tx";
+    private static final String USERNAME = "john.doe";
+
+    @Mock
+    private JmsTemplate jmsTemplate;
+
+    private WorkloadEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new WorkloadEventPublisher(jmsTemplate, QUEUE, true);
+    }
+
+    private static TrainerWorkloadDTO.Request.Create request(Double duration) {
+        return new TrainerWorkloadDTO.Request.Create(USERNAME, "John", "Doe", TrainerStatus.ACTIVE,
+                LocalDate.of(2025, 1, 15), duration, ActionType.ADD);
+    }
+
+    @Nested
+    @DisplayName("Publishing")
+    class PublishingTests {
+
+        @Test
+        @DisplayName("Should send the event with its transaction id, grouped by trainer")
+        void shouldSendEventWithHeaders() throws Exception {
+            TrainerWorkloadDTO.Request.Create request = request(2.5);
+
+            publisher.publish(request, TRANSACTION_ID, null);
+
+            ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+            verify(jmsTemplate).convertAndSend(eq(QUEUE), eq(request), postProcessor.capture());
+            Message message = mock(Message.class);
+            postProcessor.getValue().postProcessMessage(message);
+            verify(message).setStringProperty("transactionId", TRANSACTION_ID);
+            verify(message).setStringProperty(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY, USERNAME);
+            verify(message, never()).setStringProperty(eq(WorkloadMessageListener.EVENT_ID_PROPERTY), anyString());
+        }
+
+        @Test
+        @DisplayName("Should send the idempotency key as the event id")
+        void shouldSendIdempotencyKeyAsEventId() throws Exception {
+            TrainerWorkloadDTO.Request.Create request = request(2.5);
+
+            publisher.publish(request, TRANSACTION_ID, "event-1");
+
+            ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+            verify(jmsTemplate).convertAndSend(eq(QUEUE), eq(request), postProcessor.capture());
+            Message message = mock(Message.class);
+            postProcessor.getValue().postProcessMessage(message);
+            verify(message).setStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY, "event-1");
+        }
+
+        @Test
+        @DisplayName("Should refuse an event the listener would dead-letter")
+        void shouldRefuseInvalidEvent() {
+            assertThatThrownBy(() -> publisher.publish(request(0.0), TRANSACTION_ID, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(jmsTemplate, never()).convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class));
+        }
+
+        @Test
+        @DisplayName("Should propagate a failed send")
+        void shouldPropagateSendFailure() {
+            doThrow(new UncategorizedJmsException("broker down"))
+                    .when(jmsTemplate).convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class));
+
+            assertThatThrownBy(() -> publisher.publish(request(2.5), TRANSACTION_ID, null))
+                    .isInstanceOf(UncategorizedJmsException.class);
+        }
+    }
+}
@@ -3,51 +3,78 @@ package com.github.amangusss.jms;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
 import com.github.amangusss.entity.ActionType;
 import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.jms.listener.PartitionedWorkloadDispatcher;
 import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.jms.publisher.WorkloadDeadLetterPublisher;
+import com.github.amangusss.metrics.WorkloadMetrics;
 import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.idempotency.WorkloadEventDeduplicator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.jms.Message;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.jms.core.JmsTemplate;
-import org.springframework.jms.core.MessagePostProcessor;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("WorkloadMessageListener Tests")
 class WorkloadMessageListenerTest {
 
     @Mock
-    private JmsTemplate jmsTemplate;
+    private WorkloadDeadLetterPublisher deadLetters;
 
     @Mock
     private TrainerWorkloadService trainerWorkloadService;
 
+    private SimpleMeterRegistry registry;
+
+    private WorkloadMetrics metrics;
+
+    private WorkloadEventDeduplicator deduplicator;
+
     private WorkloadMessageListener listener;
 
-    private static final String DLQ_QUEUE = "workload.dlq";
     private static final String TRANSACTION_ID = "test-tx-123";
     private static final String DEFAULT_TX_ID = "Non-Provided";
     private static final String USERNAME = "john.doe";
+    private static final String MESSAGE_ID = "ID:broker-1:1:1:1:1";
+
+    @Mock
+    private Message message;
 
     @BeforeEach
-    void setUp() {
-        listener = new WorkloadMessageListener(jmsTemplate, trainerWorkloadService);
-        ReflectionTestUtils.setField(listener, "dlqQueue", DLQ_QUEUE);
+    void setUp() throws Exception {
+        lenient().when(message.getJMSMessageID()).thenReturn(MESSAGE_ID);
+        lenient().when(trainerWorkloadService.obtainWorkload(any(), any(), anyString())).thenReturn(true);
+        registry = new SimpleMeterRegistry();
+        metrics = new WorkloadMetrics(registry);
+        deduplicator = new WorkloadEventDeduplicator(metrics, true, 100);
+        listener = new WorkloadMessageListener(deadLetters, trainerWorkloadService, deduplicator, metrics, Optional.empty());
     }
 
     private TrainerWorkloadDTO.Request.Create createValidRequest() {
@@ -69,10 +96,10 @@ class WorkloadMessageListenerTest {
         void shouldProcessValidMessageSuccessfully() {
             var request = createValidRequest();
 
-            listener.receiveMessage(request, TRANSACTION_ID);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
 
-            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(TRANSACTION_ID));
-            verify(jmsTemplate, never()).convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class));
+            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(MESSAGE_ID), eq(TRANSACTION_ID));
+            verify(deadLetters, never()).publish(any(), anyString(), any(), anyString(), anyString());
         }
 
         @Test
@@ -80,9 +107,9 @@ class WorkloadMessageListenerTest {
         void shouldUseDefaultTransactionIdWhenNull() {
             var request = createValidRequest();
 
-            listener.receiveMessage(request, null);
+            listener.receiveMessage(request, null, message);
 
-            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(DEFAULT_TX_ID));
+            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(MESSAGE_ID), eq(DEFAULT_TX_ID));
         }
 
         @Test
@@ -90,9 +117,9 @@ class WorkloadMessageListenerTest {
         void shouldUseDefaultTransactionIdWhenBlank() {
             var request = createValidRequest();
 
-            listener.receiveMessage(request, "   ");
+            listener.receiveMessage(request, "   ", message);
 
-            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(DEFAULT_TX_ID));
+            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(MESSAGE_ID), eq(DEFAULT_TX_ID));
         }
     }
 
@@ -111,10 +138,10 @@ class WorkloadMessageListenerTest {
                     ActionType.ADD
             );
 
-            listener.receiveMessage(request, TRANSACTION_ID);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
 
-            verify(jmsTemplate).convertAndSend(eq(DLQ_QUEUE), eq(request), any(MessagePostProcessor.class));
-            verify(trainerWorkloadService, never()).obtainWorkload(any(), anyString());
+            verify(deadLetters).publish(eq(request), eq(TRANSACTION_ID), any(), eq(WorkloadMetrics.REASON_INVALID), anyString());
+            verify(trainerWorkloadService, never()).obtainWorkload(any(), any(), anyString());
         }
 
         @Test
@@ -128,10 +155,10 @@ class WorkloadMessageListenerTest {
                     ActionType.ADD
             );
 
-            listener.receiveMessage(request, TRANSACTION_ID);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
 
-            verify(jmsTemplate).convertAndSend(eq(DLQ_QUEUE), eq(request), any(MessagePostProcessor.class));
-            verify(trainerWorkloadService, never()).obtainWorkload(any(), anyString());
+            verify(deadLetters).publish(eq(request), eq(TRANSACTION_ID), any(), eq(WorkloadMetrics.REASON_INVALID), anyString());
+            verify(trainerWorkloadService, never()).obtainWorkload(any(), any(), anyString());
         }
 
         @Test
@@ -145,19 +172,19 @@ class WorkloadMessageListenerTest {
                     null
             );
 
-            listener.receiveMessage(request, TRANSACTION_ID);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
 
-            verify(jmsTemplate).convertAndSend(eq(DLQ_QUEUE), eq(request), any(MessagePostProcessor.class));
-            verify(trainerWorkloadService, never()).obtainWorkload(any(), anyString());
+            verify(deadLetters).publish(eq(request), eq(TRANSACTION_ID), any(), eq(WorkloadMetrics.REASON_INVALID), anyString());
+            verify(trainerWorkloadService, never()).obtainWorkload(any(), any(), anyString());
         }
 
         @Test
         @DisplayName("Should send to DLQ when request is null")
         void shouldSendToDlqWhenRequestIsNull() {
-            listener.receiveMessage(null, TRANSACTION_ID);
+            listener.receiveMessage(null, TRANSACTION_ID, message);
 
-            verify(jmsTemplate).convertAndSend(eq(DLQ_QUEUE), isNull(), any(MessagePostProcessor.class));
-            verify(trainerWorkloadService, never()).obtainWorkload(any(), anyString());
+            verify(deadLetters).publish(isNull(), eq(TRANSACTION_ID), any(), eq(WorkloadMetrics.REASON_INVALID), anyString());
+            verify(trainerWorkloadService, never()).obtainWorkload(any(), any(), anyString());
         }
 
         @Test
@@ -171,10 +198,10 @@ class WorkloadMessageListenerTest {
                     ActionType.ADD
             );
 
-            listener.receiveMessage(request, TRANSACTION_ID);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
 
-            verify(jmsTemplate).convertAndSend(eq(DLQ_QUEUE), eq(request), any(MessagePostProcessor.class));
-            verify(trainerWorkloadService, never()).obtainWorkload(any(), anyString());
+            verify(deadLetters).publish(eq(request), eq(TRANSACTION_ID), any(), eq(WorkloadMetrics.REASON_INVALID), anyString());
+            verify(trainerWorkloadService, never()).obtainWorkload(any(), any(), anyString());
         }
     }
 
@@ -186,12 +213,208 @@ class WorkloadMessageListenerTest {
         @DisplayName("Should send to DLQ when service throws exception")
         void shouldSendToDlqWhenServiceThrowsException() {
             var request = createValidRequest();
-            doThrow(new RuntimeException("Database error"))
-                    .when(trainerWorkloadService).obtainWorkload(any(), anyString());
+            when(trainerWorkloadService.obtainWorkload(any(), any(), anyString()))
+                    .thenThrow(new RuntimeException("Database error"));
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+
+            verify(deadLetters).publish(eq(request), eq(TRANSACTION_ID), any(), eq(WorkloadMetrics.REASON_PROCESSING_ERROR), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Redelivery and Replay")
+    class DeduplicationTests {
+
+        @Test
+        @DisplayName("Should hand the message id to the write and apply a redelivered message only once")
+        void shouldApplyRedeliveredMessageOnce() {
+            var request = createValidRequest();
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+
+            verify(trainerWorkloadService, times(1)).obtainWorkload(eq(request), eq(MESSAGE_ID), eq(TRANSACTION_ID));
+            assertThat(registry.get("workload.events.duplicates").tag("source", "cache").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should skip a message its trainer had already applied")
+        void shouldSkipMessageProcessedElsewhere() {
+            var request = createValidRequest();
+            when(trainerWorkloadService.obtainWorkload(any(), any(), anyString())).thenReturn(false);
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+
+            verify(trainerWorkloadService, times(1)).obtainWorkload(any(), any(), anyString());
+            verify(deadLetters, never()).publish(any(), anyString(), any(), anyString(), anyString());
+            assertThat(registry.get("workload.listener.processing").tag("outcome", "duplicate").timer().count()).isEqualTo(2);
+            assertThat(registry.get("workload.events.duplicates").tag("source", "store").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should process a message again after it failed")
+        void shouldRetryFailedMessage() {
+            var request = createValidRequest();
+            when(trainerWorkloadService.obtainWorkload(any(), any(), anyString()))
+                    .thenThrow(new RuntimeException("Database error"));
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+
+            verify(trainerWorkloadService, times(2)).obtainWorkload(eq(request), eq(MESSAGE_ID), eq(TRANSACTION_ID));
+        }
+
+        @Test
+        @DisplayName("Should apply identical events carried by different messages")
+        void shouldApplyIdenticalEventsWithDifferentMessageIds() throws Exception {
+            var request = createValidRequest();
+            Message other = mock(Message.class);
+            when(other.getJMSMessageID()).thenReturn("ID:broker-1:1:1:1:2");
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+            listener.receiveMessage(request, TRANSACTION_ID, other);
+
+            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(MESSAGE_ID), eq(TRANSACTION_ID));
+            verify(trainerWorkloadService).obtainWorkload(eq(request), eq("ID:broker-1:1:1:1:2"), eq(TRANSACTION_ID));
+        }
+
+        @Test
+        @DisplayName("Should key a replayed message on the producer's event id")
+        void shouldKeyOnProducerEventId() throws Exception {
+            var request = createValidRequest();
+            Message replay = mock(Message.class);
+            when(message.getStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY)).thenReturn("event-1");
+            when(replay.getStringProperty(WorkloadMessageListener.EVENT_ID_PROPERTY)).thenReturn("event-1");
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+            listener.receiveMessage(request, "replay-tx", replay);
+
+            verify(trainerWorkloadService, times(1)).obtainWorkload(any(), eq("event-1"), anyString());
+        }
+
+        @Test
+        @DisplayName("Should apply without deduplication when the message has no id")
+        void shouldNotDeduplicateWithoutMessageId() {
+            var request = createValidRequest();
+            Message anonymous = mock(Message.class);
+
+            listener.receiveMessage(request, null, anonymous);
+            listener.receiveMessage(request, null, anonymous);
+
+            verify(trainerWorkloadService, times(2)).obtainWorkload(eq(request), isNull(), eq(DEFAULT_TX_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("Partitioned Dispatch")
+    class PartitionedDispatchTests {
+
+        private PartitionedWorkloadDispatcher dispatcher;
+
+        @BeforeEach
+        void setUp() {
+            dispatcher = mock(PartitionedWorkloadDispatcher.class);
+            listener = new WorkloadMessageListener(deadLetters, trainerWorkloadService, deduplicator, metrics, Optional.of(dispatcher));
+            }
+
+        @Test
+        @DisplayName("Should hand valid message to the trainer's lane")
+        void shouldDispatchValidMessageByUsername() {
+            var request = createValidRequest();
+            doAnswer(invocation -> {
+                invocation.<Runnable>getArgument(1).run();
+                return null;
+            }).when(dispatcher).dispatch(eq(USERNAME), any(), any(), any());
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+
+            verify(dispatcher).dispatch(eq(USERNAME), any(), any(), any());
+            verify(trainerWorkloadService).obtainWorkload(eq(request), eq(MESSAGE_ID), eq(TRANSACTION_ID));
+        }
+
+        @Test
+        @DisplayName("Should acknowledge the message only when its lane completes the event")
+        void shouldAcknowledgeFromLane() throws Exception {
+            ArgumentCaptor<Runnable> acknowledge = ArgumentCaptor.forClass(Runnable.class);
+
+            listener.receiveMessage(createValidRequest(), TRANSACTION_ID, message);
+
+            verify(dispatcher).dispatch(eq(USERNAME), any(), acknowledge.capture(), any());
+            verify(message, never()).acknowledge();
+            acknowledge.getValue().run();
+            verify(message).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should send the event of a failed lane task to DLQ")
+        void shouldDeadLetterFailedLaneTask() {
+            ArgumentCaptor<Consumer<RuntimeException>> deadLetter = ArgumentCaptor.forClass(Consumer.class);
+            var request = createValidRequest();
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+
+            verify(dispatcher).dispatch(eq(USERNAME), any(), any(), deadLetter.capture());
+            deadLetter.getValue().accept(new IllegalStateException("boom"));
+            verify(deadLetters).publish(eq(request), eq(TRANSACTION_ID), any(),
+                    eq(WorkloadMetrics.REASON_PROCESSING_ERROR), eq("Processing error: boom"));
+        }
+
+        @Test
+        @DisplayName("Should send invalid message to DLQ and acknowledge it without dispatching")
+        void shouldNotDispatchInvalidMessage() throws Exception {
+            listener.receiveMessage(null, TRANSACTION_ID, message);
+
+            verify(dispatcher, never()).dispatch(anyString(), any(), any(), any());
+            verify(deadLetters).publish(isNull(), eq(TRANSACTION_ID), any(), eq(WorkloadMetrics.REASON_INVALID), anyString());
+            verify(message).acknowledge();
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should time processed messages and clear the backlog")
+        void shouldTimeProcessedMessage() {
+            listener.receiveMessage(createValidRequest(), TRANSACTION_ID, message);
+
+            assertThat(registry.get("workload.listener.processing").tag("outcome", "applied").timer().count()).isEqualTo(1);
+            assertThat(registry.get("workload.listener.backlog").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should record invalid messages with the DLQ outcome")
+        void shouldCountInvalidMessages() {
+            listener.receiveMessage(null, TRANSACTION_ID, message);
+
+            assertThat(registry.get("workload.listener.processing").tag("outcome", "dlq").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should record processing errors with the DLQ outcome")
+        void shouldCountProcessingErrors() {
+            var request = createValidRequest();
+            when(trainerWorkloadService.obtainWorkload(any(), any(), anyString()))
+                    .thenThrow(new RuntimeException("Database error"));
+
+            listener.receiveMessage(request, TRANSACTION_ID, message);
+
+            assertThat(registry.get("workload.listener.processing").tag("outcome", "dlq").timer().count()).isEqualTo(1);
+            assertThat(registry.get("workload.listener.backlog").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep dispatched messages in the backlog until their lane runs them")
+        void shouldCountQueuedMessagesAsBacklog() {
+            PartitionedWorkloadDispatcher dispatcher = mock(PartitionedWorkloadDispatcher.class);
+            listener = new WorkloadMessageListener(deadLetters, trainerWorkloadService, deduplicator, metrics, Optional.of(dispatcher));
 
-            listener.receiveMessage(request, TRANSACTION_ID);
+            listener.receiveMessage(createValidRequest(), TRANSACTION_ID, message);
 
-            verify(jmsTemplate).convertAndSend(eq(DLQ_QUEUE), eq(request), any(MessagePostProcessor.class));
+            assertThat(registry.get("workload.listener.backlog").gauge().value()).isEqualTo(1.0);
         }
     }
-}
\ No newline at end of file
+}
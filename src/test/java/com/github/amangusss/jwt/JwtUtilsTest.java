@@ -0,0 +1,142 @@
+package com.github.amangusss.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtUtils Tests")
+class JwtUtilsTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-must-be-at-least-256-bits";
+    private static final String OTHER_SECRET = "another-secret-key-for-testing-purposes-only-at-least-256-bits";
+    private static final String USERNAME = "john.doe";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, true, 100);
+
+    private String token(String secret, Date expiration) {
+        var builder = Jwts.builder()
+                .setSubject(USERNAME)
+                .setIssuedAt(new Date());
+        if (expiration != null) {
+            builder.setExpiration(expiration);
+        }
+        return builder
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private Date inOneHour() {
+        return new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Test
+    @DisplayName("Should reject secrets shorter than 256 bits")
+    void shouldRejectShortSecret() {
+        assertThatThrownBy(() -> new JwtUtils("too-short", false, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Nested
+    @DisplayName("Authenticate")
+    class AuthenticateTests {
+
+        @Test
+        @DisplayName("Should return subject and expiry of a valid token")
+        void shouldAuthenticateValidToken() {
+            Date expiration = inOneHour();
+
+            var result = jwtUtils.authenticate(token(SECRET, expiration));
+
+            assertThat(result).hasValueSatisfying(authenticated -> {
+                assertThat(authenticated.subject()).isEqualTo(USERNAME);
+                assertThat(authenticated.expiresAt().getEpochSecond()).isEqualTo(expiration.getTime() / 1000);
+            });
+        }
+
+        @Test
+        @DisplayName("Should read the subject's roles from the roles claim")
+        void shouldReadRoles() {
+            String token = Jwts.builder()
+                    .setSubject(USERNAME)
+                    .claim(JwtUtils.ROLES_CLAIM, List.of("ADMIN", "TRAINER"))
+                    .setExpiration(inOneHour())
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+
+            assertThat(jwtUtils.authenticate(token)).hasValueSatisfying(authenticated ->
+                    assertThat(authenticated.roles()).containsExactlyInAnyOrder("ADMIN", "TRAINER"));
+        }
+
+        @Test
+        @DisplayName("Should authenticate a token without roles as having none")
+        void shouldAuthenticateWithoutRoles() {
+            assertThat(jwtUtils.authenticate(token(SECRET, inOneHour()))).hasValueSatisfying(authenticated ->
+                    assertThat(authenticated.roles()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return the same result from the cache on repeated calls")
+        void shouldServeRepeatedCallsFromCache() {
+            String token = token(SECRET, inOneHour());
+
+            var first = jwtUtils.authenticate(token);
+            var second = jwtUtils.authenticate(token);
+
+            assertThat(second).containsSame(first.orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Should authenticate without the cache when it is disabled")
+        void shouldAuthenticateWithoutCache() {
+            var uncached = new JwtUtils(SECRET, false, 100);
+            String token = token(SECRET, inOneHour());
+
+            assertThat(uncached.authenticate(token)).isPresent();
+            assertThat(uncached.authenticate(token)).isPresent();
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token")
+        void shouldRejectExpiredToken() {
+            String token = token(SECRET, new Date(System.currentTimeMillis() - 1000));
+
+            assertThat(jwtUtils.authenticate(token)).isEmpty();
+            assertThat(jwtUtils.isTokenValid(token)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject a token signed with another key")
+        void shouldRejectForeignSignature() {
+            assertThat(jwtUtils.authenticate(token(OTHER_SECRET, inOneHour()))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject a token without expiry")
+        void shouldRejectTokenWithoutExpiry() {
+            assertThat(jwtUtils.authenticate(token(SECRET, null))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed token")
+        void shouldRejectMalformedToken() {
+            assertThat(jwtUtils.authenticate("not-a-jwt")).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should extract username from a valid token")
+    void shouldExtractUsername() {
+        assertThat(jwtUtils.extractUsername(token(SECRET, inOneHour()))).isEqualTo(USERNAME);
+    }
+}
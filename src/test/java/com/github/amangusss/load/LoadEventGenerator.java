@@ -0,0 +1,106 @@
+package com.github.amangusss.load;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerStatus;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Produces a reproducible stream of workload events and tracks the totals they should add up to.
+ * <p>
+ * Trainers are picked with a Zipf distribution ({@code skew} 0 is uniform, 1 and above concentrates
+ * load on a few hot trainers). A DELETE only ever removes hours that earlier events for the same
+ * trainer added, so with per-trainer ordering no event is expected to fail.
+ */
+class LoadEventGenerator {
+
+    private static final double[] DURATIONS = {0.5, 1.0, 1.5, 2.0, 2.5, 3.0};
+    private static final int HISTORY_MONTHS = 24;
+
+    private final Random random;
+    private final int trainers;
+    private final double deleteRatio;
+    private final double[] cumulativeWeights;
+    private final YearMonth currentMonth = YearMonth.now();
+    private final Map<String, TreeMap<YearMonth, Double>> expected = new HashMap<>();
+
+    LoadEventGenerator(int trainers, double deleteRatio, double skew, long seed) {
+        this.random = new Random(seed);
+        this.trainers = trainers;
+        this.deleteRatio = deleteRatio;
+        this.cumulativeWeights = new double[trainers];
+        double total = 0;
+        for (int rank = 0; rank < trainers; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cumulativeWeights[rank] = total;
+        }
+        for (int rank = 0; rank < trainers; rank++) {
+            cumulativeWeights[rank] /= total;
+        }
+    }
+
+    static String username(int rank) {
+        return "load.trainer." + rank;
+    }
+
+    TrainerWorkloadDTO.Request.Create next() {
+        String username = username(pickTrainer());
+        TreeMap<YearMonth, Double> months = expected.computeIfAbsent(username, key -> new TreeMap<>());
+        double duration = DURATIONS[random.nextInt(DURATIONS.length)];
+
+        if (!months.isEmpty() && random.nextDouble() < deleteRatio) {
+            List<YearMonth> recorded = new ArrayList<>(months.keySet());
+            YearMonth month = recorded.get(random.nextInt(recorded.size()));
+            double hours = Math.min(duration, months.get(month));
+            months.computeIfPresent(month, (key, total) -> total - hours <= 0 ? null : total - hours);
+            return event(username, month, hours, ActionType.DELETE);
+        }
+
+        YearMonth month = currentMonth.minusMonths(random.nextInt(HISTORY_MONTHS));
+        months.merge(month, duration, Double::sum);
+        return event(username, month, duration, ActionType.ADD);
+    }
+
+    /**
+     * Expected hours per month for every trainer that received at least one event.
+     */
+    Map<String, TreeMap<YearMonth, Double>> expectedTotals() {
+        return expected;
+    }
+
+    int trainers() {
+        return trainers;
+    }
+
+    private int pickTrainer() {
+        double point = random.nextDouble();
+        int low = 0;
+        int high = trainers - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] < point) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private TrainerWorkloadDTO.Request.Create event(String username, YearMonth month, double hours, ActionType actionType) {
+        LocalDate day = month.atDay(1);
+        return new TrainerWorkloadDTO.Request.Create(
+                username, "Load", "Trainer",
+                TrainerStatus.ACTIVE, day, hours,
+                actionType
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.amangusss.load;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures end-to-end latency from send to the service call returning.
+ * <p>
+ * Events carry no id through the service, so send times are matched by event content. Events of
+ * one trainer are processed in send order, so identical events are matched first in, first out.
+ */
+class LoadProbe {
+
+    private final Map<String, Queue<Long>> sentAt = new ConcurrentHashMap<>();
+    private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong lastCompletedAt = new AtomicLong();
+
+    void sent(TrainerWorkloadDTO.Request.Create event) {
+        sentAt.computeIfAbsent(key(event), key -> new ConcurrentLinkedQueue<>()).add(System.nanoTime());
+    }
+
+    void completed(TrainerWorkloadDTO.Request.Create event) {
+        long now = System.nanoTime();
+        Queue<Long> pending = sentAt.get(key(event));
+        Long sent = pending != null ? pending.poll() : null;
+        if (sent != null) {
+            latencies.add(now - sent);
+        }
+        lastCompletedAt.accumulateAndGet(now, Math::max);
+        completed.incrementAndGet();
+    }
+
+    void failed(int events) {
+        failed.addAndGet(events);
+    }
+
+    int completed() {
+        return completed.get();
+    }
+
+    int failed() {
+        return failed.get();
+    }
+
+    long lastCompletedAt() {
+        return lastCompletedAt.get();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency in milliseconds
+     */
+    double latencyMillis(double percentile) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static String key(TrainerWorkloadDTO.Request.Create event) {
+        return String.join("|",
+                event.username(),
+                String.valueOf(event.trainingDate()),
+                String.valueOf(event.trainingDuration()),
+                String.valueOf(event.actionType()));
+    }
+}
@@ -0,0 +1,312 @@
+package com.github.amangusss.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.amangusss.dto.eventlog.WorkloadEventLogDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.jms.listener.WorkloadMessageListener;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.service.TrainerWorkloadService;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.eventlog.WorkloadEventReplayer;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.broker.BrokerService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the whole service runs against an in-process ActiveMQ broker and an
+ * in-memory Mongo-compatible server, and {@code workload.queue} is flooded with generated events.
+ * <p>
+ * The first {@code load.warm-up-ratio} of the events is processed before the flood, and the event
+ * log is snapshotted after it. Once the flood is done, the trainers are deleted and the log
+ * replayed, which has to restore every trainer from its snapshot, or from the start of the log for
+ * trainers first seen during the flood, and the entries logged since.
+ * <p>
+ * Excluded from the regular build; run with {@code mvn -Pload-test test}. The event mix is set with
+ * system properties: {@code load.events}, {@code load.warm-up-ratio}, {@code load.trainers},
+ * {@code load.delete-ratio}, {@code load.skew}, {@code load.seed} and {@code load.timeout-seconds}.
+ * Any application property (e.g. {@code -Dapp.jms.batch.enabled=true}) can be overridden the same
+ * way. The report is logged and written to {@code target/load-test-report.json}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles({"test", "load-test"})
+@DisplayName("Workload load test")
+class WorkloadLoadTest {
+
+    private static final String BROKER_NAME = "workload-load-test";
+
+    private static BrokerService broker;
+    private static MongoServer mongoServer;
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @Autowired
+    private TrainerWorkloadRepository repository;
+
+    @Autowired
+    private LoadProbe probe;
+
+    @Autowired
+    private WorkloadEventLog eventLog;
+
+    @Autowired
+    private WorkloadEventReplayer replayer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.jms.queue.workload}")
+    private String workloadQueue;
+
+    @Value("${app.jms.queue.workload-dlq}")
+    private String dlqQueue;
+
+    @Value("${load.events}")
+    private int events;
+
+    @Value("${load.warm-up-ratio}")
+    private double warmUpRatio;
+
+    @Value("${load.trainers}")
+    private int trainers;
+
+    @Value("${load.delete-ratio}")
+    private double deleteRatio;
+
+    @Value("${load.skew}")
+    private double skew;
+
+    @Value("${load.seed}")
+    private long seed;
+
+    @Value("${load.timeout-seconds}")
+    private long timeoutSeconds;
+
+    @Value("${load.report}")
+    private String reportPath;
+
+    @DynamicPropertySource
+    static void embeddedInfrastructure(DynamicPropertyRegistry registry) throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName(BROKER_NAME);
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setUseShutdownHook(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        mongoServer = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongoServer.bind();
+
+        registry.add("spring.activemq.broker-url", () -> "vm://" + BROKER_NAME + "?create=false");
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + address.getHostString() + ":" + address.getPort() + "/trainer_workload_load");
+    }
+
+    @AfterAll
+    static void stopInfrastructure() throws Exception {
+        if (mongoServer != null) {
+            mongoServer.shutdownNow();
+        }
+        if (broker != null) {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @Test
+    @DisplayName("Should process a flood of workload events with correct final totals")
+    void shouldProcessFloodOfEvents() throws Exception {
+        LoadEventGenerator generator = new LoadEventGenerator(trainers, deleteRatio, skew, seed);
+        int warmUp = (int) (events * warmUpRatio);
+        long deadline = System.nanoTime() + Duration.ofSeconds(timeoutSeconds).toNanos();
+
+        send(generator, warmUp);
+        awaitProcessed(warmUp, deadline);
+        WorkloadEventLogDTO.Snapshot snapshot = eventLog.snapshot(UUID.randomUUID().toString());
+
+        long startedAt = System.nanoTime();
+        send(generator, events - warmUp);
+        long sentAt = System.nanoTime();
+        awaitProcessed(events, deadline);
+
+        int processed = probe.completed();
+        int dlq = countDlqMessages();
+        long mismatches = countMismatches(generator.expectedTotals());
+
+        long wipedTrainers = mongoTemplate.remove(new Query(), TrainerWorkload.class).getDeletedCount();
+        WorkloadEventLogDTO.Replay replay = replayer.replay(UUID.randomUUID().toString());
+        long replayMismatches = countMismatches(generator.expectedTotals());
+        double elapsedSeconds = (Math.max(probe.lastCompletedAt(), sentAt) - startedAt) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("events", events);
+        report.put("trainers", trainers);
+        report.put("deleteRatio", deleteRatio);
+        report.put("skew", skew);
+        report.put("warmUpEvents", warmUp);
+        report.put("processed", processed);
+        report.put("failed", probe.failed());
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("messagesPerSecond", (processed - warmUp) / elapsedSeconds);
+        report.put("sendRatePerSecond", (events - warmUp) / ((sentAt - startedAt) / 1e9));
+        report.put("latencyP50Ms", probe.latencyMillis(50));
+        report.put("latencyP99Ms", probe.latencyMillis(99));
+        report.put("dlqMessages", dlq);
+        report.put("dlqRate", (double) dlq / events);
+        report.put("trainersWithWrongTotals", mismatches);
+        report.put("snapshottedTrainers", snapshot.trainers());
+        report.put("wipedTrainers", wipedTrainers);
+        report.put("replayedTrainers", replay.trainers());
+        report.put("refusedTrainers", replay.refused());
+        report.put("skippedTrainers", replay.skipped());
+        report.put("replayedEvents", replay.events());
+        report.put("replayMs", replay.durationMs());
+        report.put("trainersWithWrongTotalsAfterReplay", replayMismatches);
+        writeReport(report);
+
+        assertThat(processed).as("events processed before timeout").isEqualTo(events);
+        assertThat(dlq).as("events sent to DLQ").isZero();
+        assertThat(mismatches).as("trainers with wrong totals").isZero();
+        assertThat(wipedTrainers).as("trainers deleted before the replay").isPositive();
+        assertThat(replay.events()).as("replayed log entries").isPositive();
+        assertThat(replay.refused() + replay.skipped()).as("trainers left out of the replay").isZero();
+        assertThat(replayMismatches).as("trainers with wrong totals after replaying the event log").isZero();
+    }
+
+    private void send(LoadEventGenerator generator, int count) {
+        for (int i = 0; i < count; i++) {
+            TrainerWorkloadDTO.Request.Create event = generator.next();
+            probe.sent(event);
+            jmsTemplate.convertAndSend(workloadQueue, event, message -> {
+                message.setStringProperty("transactionId", UUID.randomUUID().toString());
+                message.setStringProperty(WorkloadMessageListener.MESSAGE_GROUP_PROPERTY, event.username());
+                return message;
+            });
+        }
+    }
+
+    private void awaitProcessed(int count, long deadline) throws InterruptedException {
+        while (probe.completed() + probe.failed() < count && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private int countDlqMessages() {
+        Integer count = jmsTemplate.browse(dlqQueue, (session, browser) -> Collections.list(browser.getEnumeration()).size());
+        return count != null ? count : 0;
+    }
+
+    private long countMismatches(Map<String, TreeMap<YearMonth, Double>> expected) {
+        return expected.entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(storedTotals(entry.getKey())))
+                .peek(entry -> log.warn("Wrong totals for {}: expected {}, stored {}",
+                        entry.getKey(), entry.getValue(), storedTotals(entry.getKey())))
+                .count();
+    }
+
+    private TreeMap<YearMonth, Double> storedTotals(String username) {
+        TreeMap<YearMonth, Double> totals = new TreeMap<>();
+        repository.findByUsername(username).map(TrainerWorkload::getYears).ifPresent(years ->
+                years.forEach((year, summary) -> summary.getMonths().forEach((month, monthSummary) ->
+                        totals.put(YearMonth.of(year, month), monthSummary.getTotalHours()))));
+        return totals;
+    }
+
+    private void writeReport(Map<String, Object> report) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        log.info("Load test report:\n{}", objectMapper.writeValueAsString(report));
+        File file = new File(reportPath);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(file, report);
+    }
+
+    /**
+     * Wraps the service so the probe sees when each event has been applied.
+     */
+    @TestConfiguration
+    static class ProbeConfiguration {
+
+        @Bean
+        LoadProbe loadProbe() {
+            return new LoadProbe();
+        }
+
+        @Bean
+        static BeanPostProcessor workloadServiceProbe(@Lazy LoadProbe probe) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof TrainerWorkloadService service)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(
+                            TrainerWorkloadService.class.getClassLoader(),
+                            new Class<?>[]{TrainerWorkloadService.class},
+                            (proxy, method, args) -> {
+                                try {
+                                    Object result = method.invoke(service, args);
+                                    record(method.getName(), args, probe);
+                                    return result;
+                                } catch (InvocationTargetException e) {
+                                    if (method.getName().startsWith("obtainWorkload")) {
+                                        probe.failed(args[0] instanceof List<?> batch ? batch.size() : 1);
+                                    }
+                                    throw e.getCause();
+                                }
+                            });
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void record(String method, Object[] args, LoadProbe probe) {
+            switch (method) {
+                case "obtainWorkload" -> probe.completed((TrainerWorkloadDTO.Request.Create) args[0]);
+                case "obtainWorkloadBatch" -> ((List<TrainerWorkloadDTO.Request.Create>) args[0]).forEach(probe::completed);
+                default -> { }
+            }
+        }
+    }
+}
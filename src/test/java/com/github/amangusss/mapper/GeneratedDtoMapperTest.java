@@ -154,7 +154,8 @@ class GeneratedDtoMapperTest {
                     FIRST_NAME,
                     LAST_NAME,
                     TrainerStatus.ACTIVE,
-                    List.of(yearSummary)
+                    List.of(yearSummary),
+                    null
             );
         }
 
@@ -166,7 +167,8 @@ class GeneratedDtoMapperTest {
                     FIRST_NAME,
                     LAST_NAME,
                     TrainerStatus.INACTIVE,
-                    List.of()
+                    List.of(),
+                    null
             );
 
             TrainerSummaryResponse result = mapper.toGeneratedSummary(summary);
@@ -199,7 +201,8 @@ class GeneratedDtoMapperTest {
                     FIRST_NAME,
                     LAST_NAME,
                     TrainerStatus.ACTIVE,
-                    List.of(year2025, year2026)
+                    List.of(year2025, year2026),
+                    null
             );
         }
 
@@ -213,7 +216,8 @@ class GeneratedDtoMapperTest {
                     FIRST_NAME,
                     LAST_NAME,
                     TrainerStatus.ACTIVE,
-                    List.of(yearSummary)
+                    List.of(yearSummary),
+                    null
             );
 
             TrainerSummaryResponse result = mapper.toGeneratedSummary(summary);
@@ -252,7 +256,8 @@ class GeneratedDtoMapperTest {
                     FIRST_NAME,
                     LAST_NAME,
                     TrainerStatus.ACTIVE,
-                    List.of()
+                    List.of(),
+                    null
             );
 
             TrainerSummaryResponse result = mapper.toGeneratedSummary(summary);
@@ -12,8 +12,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -47,13 +47,11 @@ class TrainerWorkloadMapperTest {
         @DisplayName("Should map workload to summary with single year and month")
         void shouldMapWorkloadToSummaryWithSingleYearAndMonth() {
             MonthSummary monthSummary = MonthSummary.builder()
-                    .month(Month.JANUARY)
                     .totalHours(10.0)
                     .build();
 
             YearSummary yearSummary = YearSummary.builder()
-                    .year(2025)
-                    .months(new ArrayList<>(List.of(monthSummary)))
+                    .months(new TreeMap<>(Map.of(Month.JANUARY.getValue(), monthSummary)))
                     .build();
 
             TrainerWorkload workload = TrainerWorkload.builder()
@@ -61,7 +59,7 @@ class TrainerWorkloadMapperTest {
                     .firstName(FIRST_NAME)
                     .lastName(LAST_NAME)
                     .status(TrainerStatus.ACTIVE)
-                    .years(new ArrayList<>(List.of(yearSummary)))
+                    .years(new TreeMap<>(Map.of(2025, yearSummary)))
                     .build();
 
             var result = mapper.toSummary(workload);
@@ -82,28 +80,23 @@ class TrainerWorkloadMapperTest {
         @DisplayName("Should map workload with multiple years and months")
         void shouldMapWorkloadWithMultipleYearsAndMonths() {
             MonthSummary jan2025 = MonthSummary.builder()
-                    .month(Month.JANUARY)
                     .totalHours(5.0)
                     .build();
 
             MonthSummary feb2025 = MonthSummary.builder()
-                    .month(Month.FEBRUARY)
                     .totalHours(8.0)
                     .build();
 
             YearSummary year2025 = YearSummary.builder()
-                    .year(2025)
-                    .months(new ArrayList<>(List.of(jan2025, feb2025)))
+                    .months(new TreeMap<>(Map.of(Month.FEBRUARY.getValue(), feb2025, Month.JANUARY.getValue(), jan2025)))
                     .build();
 
             MonthSummary mar2026 = MonthSummary.builder()
-                    .month(Month.MARCH)
                     .totalHours(12.0)
                     .build();
 
             YearSummary year2026 = YearSummary.builder()
-                    .year(2026)
-                    .months(new ArrayList<>(List.of(mar2026)))
+                    .months(new TreeMap<>(Map.of(Month.MARCH.getValue(), mar2026)))
                     .build();
 
             TrainerWorkload workload = TrainerWorkload.builder()
@@ -111,7 +104,7 @@ class TrainerWorkloadMapperTest {
                     .firstName(FIRST_NAME)
                     .lastName(LAST_NAME)
                     .status(TrainerStatus.ACTIVE)
-                    .years(new ArrayList<>(List.of(year2025, year2026)))
+                    .years(new TreeMap<>(Map.of(2025, year2025, 2026, year2026)))
                     .build();
 
             var result = mapper.toSummary(workload);
@@ -120,34 +113,30 @@ class TrainerWorkloadMapperTest {
             assertThat(result.years()).hasSize(2);
             assertThat(result.years().get(0).year()).isEqualTo(2025);
             assertThat(result.years().get(0).months()).hasSize(2);
+            assertThat(result.years().get(0).months().get(0).month()).isEqualTo(Month.JANUARY);
+            assertThat(result.years().get(0).months().get(1).month()).isEqualTo(Month.FEBRUARY);
             assertThat(result.years().get(1).year()).isEqualTo(2026);
             assertThat(result.years().get(1).months()).hasSize(1);
         }
 
         @Test
-        @DisplayName("Should sort years in ascending order")
+        @DisplayName("Should emit years in ascending order")
         void shouldSortYearsInAscendingOrder() {
-            YearSummary year2026 = YearSummary.builder()
-                    .year(2026)
-                    .months(new ArrayList<>())
-                    .build();
+            YearSummary year2026 = YearSummary.builder().build();
+            YearSummary year2024 = YearSummary.builder().build();
+            YearSummary year2025 = YearSummary.builder().build();
 
-            YearSummary year2024 = YearSummary.builder()
-                    .year(2024)
-                    .months(new ArrayList<>())
-                    .build();
-
-            YearSummary year2025 = YearSummary.builder()
-                    .year(2025)
-                    .months(new ArrayList<>())
-                    .build();
+            TreeMap<Integer, YearSummary> years = new TreeMap<>();
+            years.put(2026, year2026);
+            years.put(2024, year2024);
+            years.put(2025, year2025);
 
             TrainerWorkload workload = TrainerWorkload.builder()
                     .username(USERNAME)
                     .firstName(FIRST_NAME)
                     .lastName(LAST_NAME)
                     .status(TrainerStatus.ACTIVE)
-                    .years(new ArrayList<>(List.of(year2026, year2024, year2025)))
+                    .years(years)
                     .build();
 
             var result = mapper.toSummary(workload);
@@ -166,7 +155,7 @@ class TrainerWorkloadMapperTest {
                     .firstName(FIRST_NAME)
                     .lastName(LAST_NAME)
                     .status(TrainerStatus.INACTIVE)
-                    .years(new ArrayList<>())
+                    .years(new TreeMap<>())
                     .build();
 
             var result = mapper.toSummary(workload);
@@ -176,6 +165,19 @@ class TrainerWorkloadMapperTest {
             assertThat(result.status()).isEqualTo(TrainerStatus.INACTIVE);
             assertThat(result.years()).isEmpty();
         }
+
+        @Test
+        @DisplayName("Should derive revision from document id and version")
+        void shouldDeriveRevisionFromIdAndVersion() {
+            TrainerWorkload workload = TrainerWorkload.builder()
+                    .id("workload-1")
+                    .version(3L)
+                    .username(USERNAME)
+                    .build();
+
+            assertThat(mapper.toSummary(workload).revision()).isEqualTo("workload-1-3");
+            assertThat(mapper.toRevision(TrainerWorkload.builder().id("workload-1").build())).isEqualTo("workload-1-0");
+        }
     }
 
     @Nested
@@ -190,7 +192,7 @@ class TrainerWorkloadMapperTest {
                     .firstName("OldFirstName")
                     .lastName("OldLastName")
                     .status(TrainerStatus.INACTIVE)
-                    .years(new ArrayList<>())
+                    .years(new TreeMap<>())
                     .build();
 
             TrainerWorkloadDTO.Request.Create request = new TrainerWorkloadDTO.Request.Create(
@@ -219,7 +221,7 @@ class TrainerWorkloadMapperTest {
                     .firstName(FIRST_NAME)
                     .lastName(LAST_NAME)
                     .status(TrainerStatus.ACTIVE)
-                    .years(new ArrayList<>())
+                    .years(new TreeMap<>())
                     .build();
 
             TrainerWorkloadDTO.Request.Create request = new TrainerWorkloadDTO.Request.Create(
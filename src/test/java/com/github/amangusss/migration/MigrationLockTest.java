@@ -0,0 +1,111 @@
+package com.github.amangusss.migration;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MigrationLock Tests")
+class MigrationLockTest {
+
+    private static final String STEP = "step";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MigrationLock lock;
+
+    @BeforeEach
+    void setUp() {
+        lock = new MigrationLock(mongoTemplate, 60, 1, 10);
+    }
+
+    @Nested
+    @DisplayName("Run Once")
+    class RunOnceTests {
+
+        @Test
+        @DisplayName("Should take an expired or missing lease, run the step and release the lease")
+        void shouldRunStepUnderLease() {
+            AtomicInteger runs = new AtomicInteger();
+
+            lock.runOnce(STEP, () -> runs.get() == 0, runs::incrementAndGet);
+
+            assertThat(runs).hasValue(1);
+            ArgumentCaptor<Query> lease = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).upsert(lease.capture(), any(Update.class), eq("migration_locks"));
+            assertThat(lease.getValue().getQueryObject()).containsEntry("_id", STEP);
+            assertThat(lease.getValue().getQueryObject().get("expiresAt", Document.class)).containsKey("$lt");
+            verify(mongoTemplate).remove(any(Query.class), eq("migration_locks"));
+        }
+
+        @Test
+        @DisplayName("Should not touch the lock when the step is not pending")
+        void shouldSkipFinishedStep() {
+            lock.runOnce(STEP, () -> false, () -> {
+                throw new AssertionError("step ran");
+            });
+
+            verifyNoInteractions(mongoTemplate);
+        }
+
+        @Test
+        @DisplayName("Should wait for the instance holding the lease instead of running the step")
+        void shouldWaitForHolder() {
+            AtomicInteger checks = new AtomicInteger();
+            when(mongoTemplate.upsert(any(Query.class), any(Update.class), anyString()))
+                    .thenThrow(new DuplicateKeyException("duplicate key"));
+            AtomicBoolean ran = new AtomicBoolean();
+
+            lock.runOnce(STEP, () -> checks.incrementAndGet() < 3, () -> ran.set(true));
+
+            assertThat(ran).isFalse();
+            assertThat(checks).hasValue(3);
+            verify(mongoTemplate, never()).remove(any(Query.class), anyString());
+        }
+
+        @Test
+        @DisplayName("Should fail when the step is still pending after waiting")
+        void shouldTimeOut() {
+            when(mongoTemplate.upsert(any(Query.class), any(Update.class), anyString()))
+                    .thenThrow(new DuplicateKeyException("duplicate key"));
+
+            assertThatThrownBy(() -> lock.runOnce(STEP, () -> true, () -> { }))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining(STEP);
+        }
+
+        @Test
+        @DisplayName("Should release the lease when the step fails")
+        void shouldReleaseOnFailure() {
+            assertThatThrownBy(() -> lock.runOnce(STEP, () -> true, () -> {
+                throw new IllegalStateException("mongo down");
+            })).hasMessage("mongo down");
+
+            verify(mongoTemplate).remove(any(Query.class), eq("migration_locks"));
+        }
+    }
+}
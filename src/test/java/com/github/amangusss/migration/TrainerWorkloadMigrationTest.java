@@ -0,0 +1,135 @@
+package com.github.amangusss.migration;
+
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.service.rollup.WorkloadRollupRebuilder;
+
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrainerWorkloadMigration Tests")
+class TrainerWorkloadMigrationTest {
+
+    private static final String COLLECTION = "trainer_workloads";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private WorkloadRollupRebuilder rollupRebuilder;
+
+    @Mock
+    private MigrationLock migrationLock;
+
+    @InjectMocks
+    private TrainerWorkloadMigration migration;
+
+    @Nested
+    @DisplayName("Startup")
+    class StartupTests {
+
+        @Test
+        @DisplayName("Should fail startup when a migration step fails")
+        void shouldFailStartupOnError() {
+            when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(TrainerWorkload.class)))
+                    .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+            assertThatThrownBy(() -> migration.afterSingletonsInstantiated())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyed Layout")
+    class KeyedLayoutTests {
+
+        @Test
+        @DisplayName("Should stream legacy documents and rewrite them to keyed years and months")
+        void shouldStreamLegacyDocuments() {
+            Document legacy = new Document("_id", "workload-1").append("years", List.of(
+                    new Document("year", 2025).append("months", List.of(
+                            new Document("month", "MARCH").append("totalHours", 4.0)))));
+            when(mongoTemplate.getCollectionName(TrainerWorkload.class)).thenReturn(COLLECTION);
+            when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq(COLLECTION))).thenReturn(Stream.of(legacy));
+            when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(COLLECTION)))
+                    .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+            migration.migrateToKeyedLayout();
+
+            ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+            verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(COLLECTION));
+            Document years = (Document) update.getValue().getUpdateObject().get("$set", Document.class).get("years");
+            assertThat(years.get("2025", Document.class).get("months", Document.class).get("3", Document.class))
+                    .containsEntry("totalHours", 4.0);
+            verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq(COLLECTION));
+        }
+    }
+
+    @Nested
+    @DisplayName("Rollups")
+    class RollupTests {
+
+        @BeforeEach
+        void runStepsInline() {
+            doAnswer(invocation -> {
+                if (invocation.<BooleanSupplier>getArgument(1).getAsBoolean()) {
+                    invocation.<Runnable>getArgument(2).run();
+                }
+                return null;
+            }).when(migrationLock).runOnce(anyString(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should rebuild rollups that are still split by trainer status")
+        void shouldRebuildStatusKeyedRollups() {
+            when(mongoTemplate.exists(any(Query.class), eq(WorkloadMonthlyRollup.class))).thenReturn(true);
+
+            migration.rebuildStatusKeyedRollups();
+
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).exists(query.capture(), eq(WorkloadMonthlyRollup.class));
+            assertThat(query.getValue().getQueryObject()).containsKey("status");
+            verify(rollupRebuilder).rebuild(any());
+            verify(migrationLock).runOnce(eq("rebuild-status-keyed-rollups"), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should leave rollups keyed by year and month alone")
+        void shouldSkipCurrentRollups() {
+            when(mongoTemplate.exists(any(Query.class), eq(WorkloadMonthlyRollup.class))).thenReturn(false);
+
+            migration.rebuildStatusKeyedRollups();
+
+            verify(rollupRebuilder, never()).rebuild(any());
+        }
+    }
+}
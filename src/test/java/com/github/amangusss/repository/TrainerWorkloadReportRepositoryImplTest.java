@@ -0,0 +1,149 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.repository.impl.TrainerWorkloadReportRepositoryImpl;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrainerWorkloadReportRepositoryImpl Tests")
+class TrainerWorkloadReportRepositoryImplTest {
+
+    private static final String COLLECTION = "trainer_workloads";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TrainerWorkloadReportRepositoryImpl repository;
+
+    @Captor
+    private ArgumentCaptor<Aggregation> aggregationCaptor;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(TrainerWorkload.class)).thenReturn(COLLECTION);
+    }
+
+    private List<Document> pipeline() {
+        return aggregationCaptor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    @Nested
+    @DisplayName("Monthly Totals")
+    class MonthlyTotalsTests {
+
+        @Test
+        @DisplayName("Should match status and year first, then group the year's months server-side")
+        void shouldGroupMonthsOfYear() {
+            var totals = List.of(new WorkloadReportDTO.MonthlyTotal(1, 9.0, 2));
+            when(mongoTemplate.aggregate(any(Aggregation.class), eq(COLLECTION), eq(WorkloadReportDTO.MonthlyTotal.class)))
+                    .thenReturn(new AggregationResults<>(totals, new Document()));
+
+            var result = repository.aggregateMonthlyTotals(2025, TrainerStatus.ACTIVE);
+
+            assertThat(result).isEqualTo(totals);
+            verify(mongoTemplate).aggregate(aggregationCaptor.capture(), eq(COLLECTION), eq(WorkloadReportDTO.MonthlyTotal.class));
+            List<Document> pipeline = pipeline();
+            assertThat(pipeline.get(0)).isEqualTo(new Document("$match",
+                    new Document("status", "ACTIVE").append("years.2025", new Document("$exists", true))));
+            assertThat(pipeline.get(1).toJson()).contains("\"$objectToArray\": \"$years.2025.months\"");
+            assertThat(pipeline).extracting(stage -> stage.keySet().iterator().next())
+                    .containsExactly("$match", "$project", "$unwind", "$group", "$sort", "$project");
+        }
+
+        @Test
+        @DisplayName("Should not filter on status when none is given")
+        void shouldMatchAllStatuses() {
+            when(mongoTemplate.aggregate(any(Aggregation.class), eq(COLLECTION), eq(WorkloadReportDTO.MonthlyTotal.class)))
+                    .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+            repository.aggregateMonthlyTotals(2025, null);
+
+            verify(mongoTemplate).aggregate(aggregationCaptor.capture(), eq(COLLECTION), eq(WorkloadReportDTO.MonthlyTotal.class));
+            assertThat(pipeline().get(0).get("$match", Document.class)).doesNotContainKey("status");
+        }
+    }
+
+    @Nested
+    @DisplayName("Trainer Totals")
+    class TrainerTotalsTests {
+
+        @Test
+        @DisplayName("Should rank trainers by yearly hours and page with skip and limit")
+        void shouldRankAndPage() {
+            when(mongoTemplate.aggregate(any(Aggregation.class), eq(COLLECTION), eq(WorkloadReportDTO.TrainerTotal.class)))
+                    .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+            repository.aggregateTrainerTotals(2025, TrainerStatus.ACTIVE, 40, 21);
+
+            verify(mongoTemplate).aggregate(aggregationCaptor.capture(), eq(COLLECTION), eq(WorkloadReportDTO.TrainerTotal.class));
+            List<Document> pipeline = pipeline();
+            assertThat(pipeline.get(2)).isEqualTo(new Document("$sort", new Document("totalHours", -1).append("username", 1)));
+            assertThat(pipeline.get(3)).isEqualTo(new Document("$skip", 40L));
+            assertThat(pipeline.get(4)).isEqualTo(new Document("$limit", 21));
+        }
+
+        @Test
+        @DisplayName("Should stream every trainer in username order through a cursor")
+        void shouldStreamThroughCursor() {
+            var total = new WorkloadReportDTO.TrainerTotal("john.doe", "John", "Doe", TrainerStatus.ACTIVE, 5.0);
+            when(mongoTemplate.aggregateStream(any(Aggregation.class), eq(COLLECTION), eq(WorkloadReportDTO.TrainerTotal.class)))
+                    .thenReturn(Stream.of(total));
+
+            try (var totals = repository.streamTrainerTotals(2025, null, 250)) {
+                assertThat(totals).containsExactly(total);
+            }
+
+            verify(mongoTemplate).aggregateStream(aggregationCaptor.capture(), eq(COLLECTION), eq(WorkloadReportDTO.TrainerTotal.class));
+            assertThat(pipeline().get(1)).isEqualTo(new Document("$sort", new Document("username", 1)));
+            assertThat(aggregationCaptor.getValue().getOptions().getCursorBatchSize()).isEqualTo(250);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rollups")
+    class RollupTests {
+
+        @Test
+        @DisplayName("Should group a year's hours by month only")
+        void shouldGroupByMonth() {
+            when(mongoTemplate.aggregate(any(Aggregation.class), eq(COLLECTION), eq(WorkloadMonthlyRollup.class)))
+                    .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+            repository.aggregateRollups(2025);
+
+            verify(mongoTemplate).aggregate(aggregationCaptor.capture(), eq(COLLECTION), eq(WorkloadMonthlyRollup.class));
+            List<Document> pipeline = pipeline();
+            assertThat(pipeline.get(0)).isEqualTo(new Document("$match",
+                    new Document("years.2025", new Document("$exists", true))));
+            assertThat(pipeline.get(3).toJson()).contains("\"_id\": {\"$toInt\": \"$months.k\"}");
+            assertThat(pipeline.get(1).toJson()).doesNotContain("status");
+        }
+    }
+}
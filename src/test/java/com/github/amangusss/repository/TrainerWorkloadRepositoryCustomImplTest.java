@@ -0,0 +1,451 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.exception.DeltaWriteException;
+import com.github.amangusss.repository.impl.TrainerWorkloadRepositoryCustomImpl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrainerWorkloadRepositoryCustomImpl Tests")
+class TrainerWorkloadRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TrainerWorkloadRepositoryCustomImpl repository;
+
+    @Captor
+    private ArgumentCaptor<Update> updateCaptor;
+
+    @Captor
+    private ArgumentCaptor<FindAndModifyOptions> optionsCaptor;
+
+    private static final String USERNAME = "john.doe";
+    private static final int YEAR = 2025;
+    private static final double HOURS = 2.5;
+
+    private TrainerWorkload createProfile() {
+        return TrainerWorkload.builder()
+                .username(USERNAME)
+                .firstName("John")
+                .lastName("Doe")
+                .status(TrainerStatus.ACTIVE)
+                .build();
+    }
+    @Nested
+    @DisplayName("Increment Month Hours")
+    class IncrementMonthHoursTests {
+
+        @Test
+        @DisplayName("Should upsert with a single $inc on the direct month path")
+        void shouldApplySingleUpsertingInc() {
+            var updated = createProfile();
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TrainerWorkload.class)))
+                    .thenReturn(updated);
+
+            var result = repository.incrementMonthHours(createProfile(), null, YEAR, Month.MARCH, HOURS);
+
+            assertThat(result).containsSame(updated);
+            verify(mongoTemplate, times(1)).findAndModify(any(Query.class), updateCaptor.capture(),
+                    optionsCaptor.capture(), eq(TrainerWorkload.class));
+            assertThat(updateCaptor.getValue().getUpdateObject()).containsKey("$inc");
+            assertThat(updateCaptor.getValue().modifies("years.2025.months.3.totalHours")).isTrue();
+            assertThat(updateCaptor.getValue().getArrayFilters()).isEmpty();
+            assertThat(optionsCaptor.getValue().isUpsert()).isTrue();
+            assertThat(optionsCaptor.getValue().isReturnNew()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should read back only the profile keys and the touched month")
+        void shouldProjectTouchedMonth() {
+            ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TrainerWorkload.class)))
+                    .thenReturn(createProfile());
+
+            repository.incrementMonthHours(createProfile(), null, YEAR, Month.MARCH, HOURS);
+
+            verify(mongoTemplate).findAndModify(queryCaptor.capture(), any(Update.class),
+                    any(FindAndModifyOptions.class), eq(TrainerWorkload.class));
+            assertThat(queryCaptor.getValue().getFieldsObject())
+                    .containsOnlyKeys("version", "username", "status", "years.2025.months.3");
+        }
+
+        @Test
+        @DisplayName("Should bump document version with every increment")
+        void shouldBumpVersion() {
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TrainerWorkload.class)))
+                    .thenReturn(createProfile());
+
+            repository.incrementMonthHours(createProfile(), null, YEAR, Month.JANUARY, HOURS);
+
+            verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(),
+                    any(FindAndModifyOptions.class), eq(TrainerWorkload.class));
+            assertThat(updateCaptor.getValue().modifies("version")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should propagate duplicate key from a concurrent insert to the caller")
+        void shouldPropagateConcurrentInsert() {
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TrainerWorkload.class)))
+                    .thenThrow(new DuplicateKeyException("username"));
+
+            assertThatThrownBy(() -> repository.incrementMonthHours(createProfile(), null, YEAR, Month.JANUARY, HOURS))
+                    .isInstanceOf(DuplicateKeyException.class);
+        }
+
+        @Test
+        @DisplayName("Should only match a trainer without the event id and record it in the same update")
+        void shouldRecordEventIdInSameUpdate() {
+            ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TrainerWorkload.class)))
+                    .thenReturn(createProfile());
+
+            repository.incrementMonthHours(createProfile(), "event-1", YEAR, Month.JANUARY, HOURS);
+
+            verify(mongoTemplate).findAndModify(queryCaptor.capture(), updateCaptor.capture(),
+                    any(FindAndModifyOptions.class), eq(TrainerWorkload.class));
+            assertThat(queryCaptor.getValue().getQueryObject().get("processedEvents")).isEqualTo(new Document("$ne", "event-1"));
+            assertThat(updateCaptor.getValue().getUpdateObject().get("$push", Document.class))
+                    .containsKey("processedEvents");
+        }
+
+        @Test
+        @DisplayName("Should report an event the trainer already recorded as a duplicate")
+        void shouldReportRecordedEvent() {
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TrainerWorkload.class)))
+                    .thenThrow(new DuplicateKeyException("username"));
+            when(mongoTemplate.exists(any(Query.class), eq(TrainerWorkload.class))).thenReturn(true);
+
+            assertThat(repository.incrementMonthHours(createProfile(), "event-1", YEAR, Month.JANUARY, HOURS)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should propagate a concurrent insert of a trainer that has not recorded the event")
+        void shouldPropagateConcurrentInsertWithEventId() {
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TrainerWorkload.class)))
+                    .thenThrow(new DuplicateKeyException("username"));
+            when(mongoTemplate.exists(any(Query.class), eq(TrainerWorkload.class))).thenReturn(false);
+
+            assertThatThrownBy(() -> repository.incrementMonthHours(createProfile(), "event-1", YEAR, Month.JANUARY, HOURS))
+                    .isInstanceOf(DuplicateKeyException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Histories")
+    class FindHistoriesTests {
+
+        @Captor
+        private ArgumentCaptor<Query> queryCaptor;
+
+        @Test
+        @DisplayName("Should not query for no trainers")
+        void shouldSkipNoTrainers() {
+            assertThat(repository.findHistories(List.of(), Set.of(YEAR))).isEmpty();
+
+            verify(mongoTemplate, never()).find(any(Query.class), eq(TrainerWorkload.class));
+        }
+
+        @Test
+        @DisplayName("Should project the profile, version and the requested years only")
+        void shouldProjectRequestedYears() {
+            when(mongoTemplate.find(queryCaptor.capture(), eq(TrainerWorkload.class))).thenReturn(List.of(createProfile()));
+
+            assertThat(repository.findHistories(List.of(USERNAME), Set.of(2025, 2026))).hasSize(1);
+
+            assertThat(queryCaptor.getValue().getFieldsObject())
+                    .containsKeys("username", "version", "years.2025", "years.2026")
+                    .doesNotContainKey("years");
+        }
+    }
+
+    @Nested
+    @DisplayName("Apply Writes")
+    class ApplyWritesTests {
+
+        @Mock
+        private BulkOperations bulkOperations;
+
+        @Captor
+        private ArgumentCaptor<Query> queryCaptor;
+
+        private TrainerWorkloadWrite write(String username, Long version, TrainerWorkload profile,
+                                           Map<YearMonth, Double> before, Map<YearMonth, Double> after,
+                                           Set<Integer> emptiedYears) {
+            return new TrainerWorkloadWrite(username, version, profile, new TreeMap<>(before), new TreeMap<>(after),
+                    emptiedYears, List.of(0), List.of(), List.of(), List.of());
+        }
+
+        @Test
+        @DisplayName("Should not touch the database for an empty batch")
+        void shouldSkipEmptyBatch() {
+            repository.applyWrites(List.of());
+
+            verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(TrainerWorkload.class));
+        }
+
+        @Test
+        @DisplayName("Should upsert the trainer at the version it was read and set the resulting totals")
+        void shouldSetResultingTotalsAtReadVersion() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+            repository.applyWrites(List.of(write(USERNAME, 3L, createProfile(),
+                    Map.of(YearMonth.of(2025, 1), 2.0, YearMonth.of(2026, 2), 0.0),
+                    Map.of(YearMonth.of(2025, 1), 3.0, YearMonth.of(2026, 2), 1.5),
+                    Set.of())));
+
+            verify(bulkOperations).upsert(queryCaptor.capture(), updateCaptor.capture());
+            assertThat(queryCaptor.getValue().getQueryObject()).containsEntry("version", 3L);
+            Update update = updateCaptor.getValue();
+            assertThat(update.getUpdateObject().get("$set", Document.class))
+                    .containsEntry("years.2025.months.1.totalHours", 3.0)
+                    .containsEntry("years.2026.months.2.totalHours", 1.5)
+                    .containsEntry("firstName", "John");
+            assertThat(update.modifies("version")).isTrue();
+            verify(bulkOperations, times(1)).execute();
+        }
+
+        @Test
+        @DisplayName("Should unset emptied months and years without touching the profile when only removing hours")
+        void shouldUnsetEmptiedMonthsAndYears() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+            repository.applyWrites(List.of(write(USERNAME, 3L, null,
+                    Map.of(YearMonth.of(2025, 1), 2.0, YearMonth.of(2026, 2), 4.0),
+                    Map.of(YearMonth.of(2026, 3), 1.0),
+                    Set.of(2025))));
+
+            verify(bulkOperations).upsert(any(Query.class), updateCaptor.capture());
+            Update update = updateCaptor.getValue();
+            assertThat(update.modifies("years.2025")).isTrue();
+            assertThat(update.modifies("years.2025.months.1")).isFalse();
+            assertThat(update.modifies("years.2026.months.2")).isTrue();
+            assertThat(update.modifies("firstName")).isFalse();
+            assertThat(update.modifies("version")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should only create a trainer that did not exist when it was read")
+        void shouldCreateTrainerWithoutVersion() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+            repository.applyWrites(List.of(write(USERNAME, null, createProfile(),
+                    Map.of(YearMonth.of(2025, 1), 0.0), Map.of(YearMonth.of(2025, 1), 1.0), Set.of())));
+
+            verify(bulkOperations).upsert(queryCaptor.capture(), any(Update.class));
+            assertThat(queryCaptor.getValue().getQueryObject().get("version", Document.class))
+                    .containsEntry("$exists", false);
+        }
+
+        @Test
+        @DisplayName("Should report the trainers that were written and a conflict for the ones that changed")
+        void shouldReportAppliedTrainersOnConflict() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            MongoBulkWriteException failure = new MongoBulkWriteException(
+                    BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()),
+                    List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+                    null, new ServerAddress(), Set.of());
+            when(bulkOperations.execute()).thenThrow(new DuplicateKeyException("duplicate key", failure));
+
+            Map<YearMonth, Double> before = Map.of(YearMonth.of(2025, 1), 0.0);
+            Map<YearMonth, Double> after = Map.of(YearMonth.of(2025, 1), 1.0);
+            List<TrainerWorkloadWrite> writes = List.of(
+                    write("a", 1L, null, before, after, Set.of()),
+                    write("b", 1L, null, before, after, Set.of()),
+                    write("c", 1L, null, before, after, Set.of()));
+
+            assertThatThrownBy(() -> repository.applyWrites(writes))
+                    .isInstanceOfSatisfying(DeltaWriteException.class, e -> {
+                        assertThat(e.getApplied()).containsExactlyInAnyOrder("a", "c");
+                        assertThat(e.getCause()).isInstanceOf(OptimisticLockingFailureException.class);
+                    });
+        }
+
+        @Test
+        @DisplayName("Should report nothing as applied when the bulk failed without write errors")
+        void shouldReportNothingWithoutWriteErrors() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            when(bulkOperations.execute()).thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+            TrainerWorkloadWrite write = write(USERNAME, 1L, null,
+                    Map.of(YearMonth.of(2025, 1), 0.0), Map.of(YearMonth.of(2025, 1), 1.0), Set.of());
+
+            assertThatThrownBy(() -> repository.applyWrites(List.of(write)))
+                    .isInstanceOfSatisfying(DeltaWriteException.class, e -> {
+                        assertThat(e.getApplied()).isEmpty();
+                        assertThat(e.getCause()).isInstanceOf(DataAccessResourceFailureException.class);
+                    });
+        }
+    }
+
+    @Nested
+    @DisplayName("Replace Histories")
+    class ReplaceHistoriesTests {
+
+        @Mock
+        private BulkOperations bulkOperations;
+
+        @Test
+        @DisplayName("Should upsert each trainer's profile and whole history in one unordered bulk write")
+        void shouldOverwriteHistories() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+            TrainerWorkload rebuilt = createProfile();
+            rebuilt.setVersion(7L);
+
+            assertThat(repository.replaceHistories(List.of(rebuilt))).isEmpty();
+
+            ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+            verify(bulkOperations).upsert(queryCaptor.capture(), updateCaptor.capture());
+            assertThat(queryCaptor.getValue().getQueryObject().get("version", Document.class))
+                    .containsEntry("$not", new Document("$gt", 7L));
+            assertThat(updateCaptor.getValue().modifies("years")).isTrue();
+            assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("version", 7L);
+            verify(bulkOperations).execute();
+        }
+
+        @Test
+        @DisplayName("Should report the trainers written past their rebuilt version instead of overwriting them")
+        void shouldReportMovedTrainers() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            MongoBulkWriteException failure = new MongoBulkWriteException(
+                    BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()),
+                    List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+                    null, new ServerAddress(), Set.of());
+            when(bulkOperations.execute()).thenThrow(new DuplicateKeyException("duplicate key", failure));
+            TrainerWorkload first = createProfile();
+            TrainerWorkload second = TrainerWorkload.builder().username("jane.doe").version(3L).build();
+
+            assertThat(repository.replaceHistories(List.of(first, second))).containsExactly("jane.doe");
+        }
+
+        @Test
+        @DisplayName("Should propagate a failure that is not a fenced trainer")
+        void shouldPropagateOtherFailures() {
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrainerWorkload.class)).thenReturn(bulkOperations);
+            when(bulkOperations.execute()).thenThrow(new DataAccessResourceFailureException("mongo down"));
+
+            assertThatThrownBy(() -> repository.replaceHistories(List.of(createProfile())))
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+        }
+
+        @Test
+        @DisplayName("Should not touch the database when nothing was rebuilt")
+        void shouldSkipEmptyBatch() {
+            repository.replaceHistories(List.of());
+
+            verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(TrainerWorkload.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Find Version By Username")
+    class FindVersionByUsernameTests {
+
+        @Captor
+        private ArgumentCaptor<Query> queryCaptor;
+
+        @Test
+        @DisplayName("Should read only the version of the trainer's document")
+        void shouldProjectVersionOnly() {
+            var projected = TrainerWorkload.builder().id("workload-1").version(3L).build();
+            when(mongoTemplate.findOne(any(Query.class), eq(TrainerWorkload.class))).thenReturn(projected);
+
+            var result = repository.findVersionByUsername(USERNAME);
+
+            assertThat(result).containsSame(projected);
+            verify(mongoTemplate).findOne(queryCaptor.capture(), eq(TrainerWorkload.class));
+            assertThat(queryCaptor.getValue().getQueryObject()).containsEntry("username", USERNAME);
+            assertThat(queryCaptor.getValue().getFieldsObject()).containsOnlyKeys("version");
+        }
+
+        @Test
+        @DisplayName("Should return empty when trainer does not exist")
+        void shouldReturnEmptyWhenMissing() {
+            when(mongoTemplate.findOne(any(Query.class), eq(TrainerWorkload.class))).thenReturn(null);
+
+            assertThat(repository.findVersionByUsername(USERNAME)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Find By Username Within Range")
+    class FindByUsernameWithinTests {
+
+        @Captor
+        private ArgumentCaptor<Query> queryCaptor;
+
+        @Test
+        @DisplayName("Should project the whole year sub-document for a year range")
+        void shouldProjectWholeYear() {
+            repository.findByUsernameWithin(USERNAME, new SummaryRange(YEAR, 1, 12));
+
+            verify(mongoTemplate).findOne(queryCaptor.capture(), eq(TrainerWorkload.class));
+            assertThat(queryCaptor.getValue().getFieldsObject())
+                    .containsOnlyKeys("username", "firstName", "lastName", "status", "version", "years.2025");
+        }
+
+        @Test
+        @DisplayName("Should project only the months inside the range")
+        void shouldProjectMonthRange() {
+            var projected = createProfile();
+            when(mongoTemplate.findOne(any(Query.class), eq(TrainerWorkload.class))).thenReturn(projected);
+
+            var result = repository.findByUsernameWithin(USERNAME, new SummaryRange(YEAR, 3, 5));
+
+            assertThat(result).containsSame(projected);
+            verify(mongoTemplate).findOne(queryCaptor.capture(), eq(TrainerWorkload.class));
+            assertThat(queryCaptor.getValue().getQueryObject()).containsEntry("username", USERNAME);
+            assertThat(queryCaptor.getValue().getFieldsObject())
+                    .containsKeys("years.2025.months.3", "years.2025.months.4", "years.2025.months.5")
+                    .doesNotContainKeys("years.2025", "years.2025.months.2", "years.2025.months.6");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.amangusss.repository;
+
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.exception.RollupWriteException;
+import com.github.amangusss.repository.impl.WorkloadRollupRepositoryCustomImpl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadRollupRepositoryCustomImpl Tests")
+class WorkloadRollupRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private WorkloadRollupRepositoryCustomImpl repository;
+
+    private final Map<WorkloadMonthlyRollup.Key, Double> hoursByKey = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        hoursByKey.put(new WorkloadMonthlyRollup.Key(2025, 1), 2.0);
+        hoursByKey.put(new WorkloadMonthlyRollup.Key(2025, 2), -1.0);
+        hoursByKey.put(new WorkloadMonthlyRollup.Key(2025, 3), 4.0);
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WorkloadMonthlyRollup.class)).thenReturn(bulkOperations);
+        lenient().when(bulkOperations.upsert(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+    }
+
+    private static DuplicateKeyException failure(BulkWriteError... errors) {
+        MongoBulkWriteException cause = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 2, List.of(), List.of()),
+                List.of(errors), null, new ServerAddress(), Set.of());
+        return new DuplicateKeyException("duplicate key", cause);
+    }
+
+    @Test
+    @DisplayName("Should upsert one (year, month) rollup per key without a status")
+    void shouldUpsertByYearAndMonth() {
+        repository.incrementHours(Map.of(new WorkloadMonthlyRollup.Key(2025, 3), 4.0));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).upsert(query.capture(), update.capture());
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", "2025-3");
+        assertThat(update.getValue().getUpdateObject().toJson())
+                .contains("\"totalHours\": 4.0")
+                .doesNotContain("status");
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    @DisplayName("Should report which rollups a partly failed bulk incremented")
+    void shouldReportAppliedRollups() {
+        when(bulkOperations.execute()).thenThrow(failure(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)));
+
+        assertThatThrownBy(() -> repository.incrementHours(hoursByKey))
+                .isInstanceOfSatisfying(RollupWriteException.class, e -> {
+                    assertThat(e.getApplied()).containsExactlyInAnyOrder("2025-1", "2025-3");
+                    assertThat(e.getCause()).isInstanceOf(DuplicateKeyException.class);
+                });
+    }
+
+    @Test
+    @DisplayName("Should rethrow failures that are not per-operation bulk errors")
+    void shouldRethrowOtherFailures() {
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("mongo down");
+        when(bulkOperations.execute()).thenThrow(failure);
+
+        assertThatThrownBy(() -> repository.incrementHours(hoursByKey)).isSameAs(failure);
+    }
+}
@@ -0,0 +1,277 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.generated.BulkIngestionResponse;
+import com.github.amangusss.dto.generated.BulkItemResult;
+import com.github.amangusss.dto.generated.TrainingEventRequest;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.service.batch.BulkWorkloadIngestor;
+import com.github.amangusss.service.idempotency.WorkloadEventDeduplicator;
+import com.github.amangusss.validation.TrainingEventRequestValidator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkWorkloadIngestor Tests")
+class BulkWorkloadIngestorTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final String TRANSACTION_ID = "bulk-tx";
+    private static final int MAX_EVENTS = 3;
+
+    @Mock
+    private TrainerWorkloadService service;
+
+    @Captor
+    private ArgumentCaptor<List<TrainerWorkloadDTO.Request.Create>> eventsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<String>> idsCaptor;
+
+    private BulkWorkloadIngestor ingestor;
+
+    @BeforeEach
+    void setUp() {
+        WorkloadEventDeduplicator deduplicator = new WorkloadEventDeduplicator(
+                new WorkloadMetrics(new SimpleMeterRegistry()), true, 100);
+        ingestor = new BulkWorkloadIngestor(service,
+                new TrainingEventRequestValidator(VALIDATOR, new GeneratedDtoMapper()), deduplicator, MAX_EVENTS);
+        lenient().when(service.obtainWorkloadBatch(anyList(), anyList(), anyString())).thenReturn(DeltaWriteResult.empty());
+    }
+
+    private TrainingEventRequest event(String username, TrainingEventRequest.ActionTypeEnum actionType) {
+        return new TrainingEventRequest()
+                .username(username)
+                .firstName("John")
+                .lastName("Doe")
+                .status(TrainingEventRequest.StatusEnum.ACTIVE)
+                .trainingDate(new Date())
+                .trainingDuration(2.5)
+                .actionType(actionType);
+    }
+
+    @Nested
+    @DisplayName("Valid Events")
+    class ValidEventTests {
+
+        @Test
+        @DisplayName("Should apply all valid events with one batch call")
+        void shouldApplyValidEventsInOneBatch() {
+            List<TrainingEventRequest> events = List.of(
+                    event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("john.doe", TrainingEventRequest.ActionTypeEnum.DELETE),
+                    event("jane.doe", TrainingEventRequest.ActionTypeEnum.ADD));
+
+            BulkIngestionResponse response = ingestor.ingest(events, null, TRANSACTION_ID);
+
+            verify(service).obtainWorkloadBatch(eventsCaptor.capture(), anyList(), eq(TRANSACTION_ID));
+            assertThat(eventsCaptor.getValue())
+                    .extracting(TrainerWorkloadDTO.Request.Create::actionType)
+                    .containsExactly(ActionType.ADD, ActionType.DELETE, ActionType.ADD);
+            assertThat(response.getReceived()).isEqualTo(3);
+            assertThat(response.getApplied()).isEqualTo(3);
+            assertThat(response.getRejected()).isZero();
+            assertThat(response.getTrainers()).isEqualTo(2);
+            assertThat(response.getResults())
+                    .extracting(BulkItemResult::getIndex, BulkItemResult::getStatus)
+                    .containsExactly(
+                            tuple(0, BulkItemResult.StatusEnum.APPLIED),
+                            tuple(1, BulkItemResult.StatusEnum.APPLIED),
+                            tuple(2, BulkItemResult.StatusEnum.APPLIED));
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid Events")
+    class InvalidEventTests {
+
+        @Test
+        @DisplayName("Should reject invalid events and still apply the valid ones")
+        void shouldRejectInvalidEventsOnly() {
+            TrainingEventRequest missingName = event("jane.doe", TrainingEventRequest.ActionTypeEnum.ADD).firstName(null);
+            List<TrainingEventRequest> events = List.of(event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD), missingName);
+
+            BulkIngestionResponse response = ingestor.ingest(events, null, TRANSACTION_ID);
+
+            verify(service).obtainWorkloadBatch(eventsCaptor.capture(), anyList(), anyString());
+            assertThat(eventsCaptor.getValue()).extracting(TrainerWorkloadDTO.Request.Create::username)
+                    .containsExactly("john.doe");
+            BulkItemResult rejected = response.getResults().get(1);
+            assertThat(rejected.getStatus()).isEqualTo(BulkItemResult.StatusEnum.REJECTED);
+            assertThat(rejected.getUsername()).isEqualTo("jane.doe");
+            assertThat(rejected.getErrors()).singleElement().asString().startsWith("firstName:");
+        }
+
+        @Test
+        @DisplayName("Should reject blank names the bean constraints let through")
+        void shouldRejectBlankNames() {
+            List<TrainingEventRequest> events = List.of(event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD).lastName(" "));
+
+            BulkIngestionResponse response = ingestor.ingest(events, null, TRANSACTION_ID);
+
+            assertThat(response.getRejected()).isEqualTo(1);
+            assertThat(response.getResults().get(0).getErrors()).containsExactly("Required information is missing");
+            verify(service, never()).obtainWorkloadBatch(any(), any(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should report null entries without failing the request")
+        void shouldRejectNullEntries() {
+            List<TrainingEventRequest> events = new ArrayList<>(Arrays.asList(null, event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD)));
+
+            BulkIngestionResponse response = ingestor.ingest(events, null, TRANSACTION_ID);
+
+            assertThat(response.getApplied()).isEqualTo(1);
+            assertThat(response.getResults().get(0).getStatus()).isEqualTo(BulkItemResult.StatusEnum.REJECTED);
+        }
+
+        @Test
+        @DisplayName("Should refuse requests above the configured size")
+        void shouldRefuseOversizedRequest() {
+            List<TrainingEventRequest> events = List.of(
+                    event("a", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("b", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("c", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("d", TrainingEventRequest.ActionTypeEnum.ADD));
+
+            assertThatThrownBy(() -> ingestor.ingest(events, null, TRANSACTION_ID))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(service, never()).obtainWorkloadBatch(any(), any(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Write Result")
+    class WriteResultTests {
+
+        @Test
+        @DisplayName("Should report events of a trainer that does not exist as not found")
+        void shouldReportMissingTrainer() {
+            when(service.obtainWorkloadBatch(anyList(), anyList(), anyString()))
+                    .thenReturn(new DeltaWriteResult(Set.of("john.doe"), Set.of(1), Set.of()));
+            List<TrainingEventRequest> events = List.of(
+                    event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("ghost", TrainingEventRequest.ActionTypeEnum.DELETE));
+
+            BulkIngestionResponse response = ingestor.ingest(events, null, TRANSACTION_ID);
+
+            assertThat(response.getApplied()).isEqualTo(1);
+            assertThat(response.getNotFound()).isEqualTo(1);
+            assertThat(response.getTrainers()).isEqualTo(1);
+            BulkItemResult missing = response.getResults().get(1);
+            assertThat(missing.getStatus()).isEqualTo(BulkItemResult.StatusEnum.NOT_FOUND);
+            assertThat(missing.getErrors()).containsExactly("Trainer not found: ghost");
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotency Key")
+    class IdempotencyTests {
+
+        private static final String KEY = "import-42";
+
+        @Test
+        @DisplayName("Should identify every valid event by the key and its position")
+        void shouldIdentifyEventsUnderKey() {
+            List<TrainingEventRequest> events = List.of(
+                    event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD).firstName(null),
+                    event("jane.doe", TrainingEventRequest.ActionTypeEnum.ADD));
+
+            ingestor.ingest(events, KEY, TRANSACTION_ID);
+
+            verify(service).obtainWorkloadBatch(anyList(), idsCaptor.capture(), anyString());
+            assertThat(idsCaptor.getValue()).containsExactly(KEY + ":0", KEY + ":2");
+        }
+
+        @Test
+        @DisplayName("Should report events the trainers had already recorded as duplicates")
+        void shouldReportRecordedEventsAsDuplicates() {
+            when(service.obtainWorkloadBatch(anyList(), anyList(), anyString()))
+                    .thenReturn(new DeltaWriteResult(Set.of("jane.doe"), Set.of(), Set.of(0)));
+            List<TrainingEventRequest> events = List.of(
+                    event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("jane.doe", TrainingEventRequest.ActionTypeEnum.ADD));
+
+            BulkIngestionResponse response = ingestor.ingest(events, KEY, TRANSACTION_ID);
+
+            assertThat(response.getApplied()).isEqualTo(1);
+            assertThat(response.getDuplicates()).isEqualTo(1);
+            assertThat(response.getResults().get(0).getStatus()).isEqualTo(BulkItemResult.StatusEnum.DUPLICATE);
+        }
+
+        @Test
+        @DisplayName("Should leave events this instance already applied out of a retried request")
+        void shouldSkipAppliedEventsOnRetry() {
+            List<TrainingEventRequest> first = List.of(event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD));
+            List<TrainingEventRequest> retry = List.of(
+                    event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD),
+                    event("jane.doe", TrainingEventRequest.ActionTypeEnum.ADD));
+            ingestor.ingest(first, KEY, TRANSACTION_ID);
+
+            BulkIngestionResponse response = ingestor.ingest(retry, KEY, TRANSACTION_ID);
+
+            verify(service, times(2)).obtainWorkloadBatch(eventsCaptor.capture(), anyList(), anyString());
+            assertThat(eventsCaptor.getAllValues().get(1)).extracting(TrainerWorkloadDTO.Request.Create::username)
+                    .containsExactly("jane.doe");
+            assertThat(response.getDuplicates()).isEqualTo(1);
+            assertThat(response.getResults().get(0).getStatus()).isEqualTo(BulkItemResult.StatusEnum.DUPLICATE);
+        }
+
+        @Test
+        @DisplayName("Should apply events of trainers that were not found again on a retry")
+        void shouldRetryMissingTrainers() {
+            when(service.obtainWorkloadBatch(anyList(), anyList(), anyString()))
+                    .thenReturn(new DeltaWriteResult(Set.of(), Set.of(0), Set.of()));
+            List<TrainingEventRequest> events = List.of(event("ghost", TrainingEventRequest.ActionTypeEnum.DELETE));
+
+            ingestor.ingest(events, KEY, TRANSACTION_ID);
+            ingestor.ingest(events, KEY, TRANSACTION_ID);
+
+            verify(service, times(2)).obtainWorkloadBatch(anyList(), anyList(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should not identify events without a key")
+        void shouldNotIdentifyWithoutKey() {
+            ingestor.ingest(List.of(event("john.doe", TrainingEventRequest.ActionTypeEnum.ADD)), null, TRANSACTION_ID);
+
+            verify(service).obtainWorkloadBatch(anyList(), idsCaptor.capture(), anyString());
+            assertThat(idsCaptor.getValue()).containsOnlyNulls();
+        }
+    }
+}
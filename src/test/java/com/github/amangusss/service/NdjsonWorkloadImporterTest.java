@@ -0,0 +1,180 @@
+package com.github.amangusss.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.amangusss.dto.generated.ImportLineError;
+import com.github.amangusss.dto.generated.ImportResponse;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDelta;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.mapper.GeneratedDtoMapper;
+import com.github.amangusss.service.batch.NdjsonWorkloadImporter;
+import com.github.amangusss.validation.TrainingEventRequestValidator;
+
+import jakarta.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NdjsonWorkloadImporter Tests")
+class NdjsonWorkloadImporterTest {
+
+    private static final String TRANSACTION_ID = "import-tx";
+    private static final int WINDOW_SIZE = 2;
+    private static final int MAX_LINE_LENGTH = 400;
+    private static final int MAX_REPORTED_ERRORS = 2;
+
+    @Mock
+    private TrainerWorkloadService service;
+
+    @Captor
+    private ArgumentCaptor<List<TrainerWorkloadDelta>> deltasCaptor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(service.applyWorkloadDeltas(anyList(), eq(TRANSACTION_ID))).thenReturn(DeltaWriteResult.empty());
+    }
+
+    private NdjsonWorkloadImporter importer() {
+        TrainingEventRequestValidator validator = new TrainingEventRequestValidator(
+                Validation.buildDefaultValidatorFactory().getValidator(), new GeneratedDtoMapper());
+        return new NdjsonWorkloadImporter(service, validator, new ObjectMapper(),
+                WINDOW_SIZE, MAX_LINE_LENGTH, MAX_REPORTED_ERRORS);
+    }
+
+    private static String event(String username, String date, double duration, String action) {
+        return """
+                {"username":"%s","firstName":"John","lastName":"Doe","status":"ACTIVE","trainingDate":"%s","trainingDuration":%s,"actionType":"%s"}"""
+                .formatted(username, date, duration, action);
+    }
+
+    private static InputStream stream(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("Windows")
+    class WindowTests {
+
+        @Test
+        @DisplayName("Should flush one bulk write per full window and one for the remainder")
+        void shouldFlushInWindows() throws Exception {
+            ImportResponse response = importer().importEvents(stream(
+                    event("a", "2025-01-10", 1.0, "ADD"),
+                    event("a", "2025-01-20", 2.0, "ADD"),
+                    event("b", "2025-02-10", 1.5, "ADD"),
+                    event("b", "2025-02-11", 0.5, "DELETE"),
+                    event("c", "2025-03-01", 3.0, "ADD")), TRANSACTION_ID);
+
+            verify(service, times(3)).applyWorkloadDeltas(deltasCaptor.capture(), eq(TRANSACTION_ID));
+            List<List<TrainerWorkloadDelta>> windows = deltasCaptor.getAllValues();
+            assertThat(windows.get(0)).singleElement().satisfies(delta ->
+                    assertThat(delta.events()).extracting(TrainerWorkloadDelta.Event::index).containsExactly(0, 1));
+            assertThat(windows.get(1)).singleElement().satisfies(delta ->
+                    assertThat(delta.events()).extracting(event -> event.request().actionType())
+                            .containsExactly(ActionType.ADD, ActionType.DELETE));
+            assertThat(windows.get(2)).extracting(TrainerWorkloadDelta::username).containsExactly("c");
+            assertThat(response.getReceived()).isEqualTo(5);
+            assertThat(response.getApplied()).isEqualTo(5);
+            assertThat(response.getWindows()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should keep windows applied before a failing write")
+        void shouldPropagateWriteFailure() {
+            doReturn(DeltaWriteResult.empty()).doThrow(new RuntimeException("mongo down"))
+                    .when(service).applyWorkloadDeltas(anyList(), eq(TRANSACTION_ID));
+
+            assertThatThrownBy(() -> importer().importEvents(stream(
+                    event("a", "2025-01-10", 1.0, "ADD"),
+                    event("a", "2025-01-20", 2.0, "ADD"),
+                    event("b", "2025-02-10", 1.5, "ADD"),
+                    event("b", "2025-02-11", 0.5, "ADD")), TRANSACTION_ID))
+                    .hasMessage("mongo down");
+
+            verify(service, times(2)).applyWorkloadDeltas(anyList(), eq(TRANSACTION_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid Lines")
+    class InvalidLineTests {
+
+        @Test
+        @DisplayName("Should skip blank lines and report malformed and invalid lines by number")
+        void shouldReportRejectedLines() throws Exception {
+            ImportResponse response = importer().importEvents(stream(
+                    event("a", "2025-01-10", 1.0, "ADD"),
+                    "",
+                    "{not json",
+                    event("a", "2025-01-20", -1.0, "ADD")), TRANSACTION_ID);
+
+            assertThat(response.getReceived()).isEqualTo(3);
+            assertThat(response.getApplied()).isEqualTo(1);
+            assertThat(response.getRejected()).isEqualTo(2);
+            assertThat(response.getErrors()).extracting(ImportLineError::getLine).containsExactly(3L, 4L);
+            assertThat(response.getErrors().get(1).getErrors()).singleElement().asString().startsWith("trainingDuration:");
+            assertThat(response.getErrorsTruncated()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject oversized lines and continue with the next one")
+        void shouldRejectOversizedLine() throws Exception {
+            String oversized = "{\"username\":\"" + "x".repeat(MAX_LINE_LENGTH) + "\"}";
+
+            ImportResponse response = importer().importEvents(stream(
+                    oversized,
+                    event("a", "2025-01-10", 1.0, "ADD")), TRANSACTION_ID);
+
+            assertThat(response.getApplied()).isEqualTo(1);
+            assertThat(response.getErrors()).singleElement().satisfies(error -> {
+                assertThat(error.getLine()).isEqualTo(1L);
+                assertThat(error.getErrors()).containsExactly("line exceeds " + MAX_LINE_LENGTH + " characters");
+            });
+        }
+
+        @Test
+        @DisplayName("Should accept CRLF line endings")
+        void shouldAcceptCrLf() throws Exception {
+            String body = event("a", "2025-01-10", 1.0, "ADD") + "\r\n" + event("b", "2025-01-10", 1.0, "ADD") + "\r\n";
+
+            ImportResponse response = importer().importEvents(
+                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), TRANSACTION_ID);
+
+            assertThat(response.getApplied()).isEqualTo(2);
+            assertThat(response.getRejected()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should cap the number of reported errors")
+        void shouldTruncateReportedErrors() throws Exception {
+            ImportResponse response = importer().importEvents(stream("{", "{", "{"), TRANSACTION_ID);
+
+            assertThat(response.getRejected()).isEqualTo(3);
+            assertThat(response.getErrors()).hasSize(MAX_REPORTED_ERRORS);
+            assertThat(response.getErrorsTruncated()).isTrue();
+        }
+    }
+}
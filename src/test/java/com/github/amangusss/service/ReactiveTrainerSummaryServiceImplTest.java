@@ -0,0 +1,125 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.YearSummary;
+import com.github.amangusss.exception.TrainerNotFoundException;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.ReactiveTrainerWorkloadRepository;
+import com.github.amangusss.service.impl.ReactiveTrainerSummaryServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveTrainerSummaryServiceImpl Tests")
+class ReactiveTrainerSummaryServiceImplTest {
+
+    private static final String USERNAME = "john.doe";
+    private static final String TRANSACTION_ID = "reactive-tx";
+
+    @Mock
+    private ReactiveTrainerWorkloadRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReactiveTrainerSummaryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveTrainerSummaryServiceImpl(repository, new TrainerWorkloadMapper(), new WorkloadMetrics(meterRegistry));
+    }
+
+    private static TrainerWorkload workload() {
+        TrainerWorkload workload = TrainerWorkload.builder()
+                .id("workload-1")
+                .username(USERNAME)
+                .firstName("John")
+                .lastName("Doe")
+                .status(TrainerStatus.ACTIVE)
+                .version(3L)
+                .build();
+        YearSummary year = new YearSummary();
+        year.getMonths().put(1, MonthSummary.builder().totalHours(5.0).build());
+        workload.getYears().put(2025, year);
+        return workload;
+    }
+
+    @Nested
+    @DisplayName("Summary")
+    class SummaryTests {
+
+        @Test
+        @DisplayName("Should map the document read through the reactive repository")
+        void shouldMapDocument() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Mono.just(workload()));
+
+            TrainerWorkloadDTO.Response.Summary summary = service.getTrainerSummary(USERNAME, TRANSACTION_ID).block();
+
+            assertThat(summary).isNotNull();
+            assertThat(summary.username()).isEqualTo(USERNAME);
+            assertThat(summary.revision()).isEqualTo("workload-1-3");
+            assertThat(summary.years()).singleElement()
+                    .satisfies(year -> assertThat(year.months()).singleElement()
+                            .satisfies(month -> assertThat(month.trainingSummaryDuration()).isEqualTo(5.0)));
+        }
+
+        @Test
+        @DisplayName("Should fail with TrainerNotFoundException when the trainer does not exist")
+        void shouldFailForMissingTrainer() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Mono.empty());
+
+            assertThatThrownBy(() -> service.getTrainerSummary(USERNAME, TRANSACTION_ID).block())
+                    .isInstanceOf(TrainerNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should time the repository call once it completes")
+        void shouldTimeRepositoryCall() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Mono.just(workload()));
+
+            service.getTrainerSummary(USERNAME, TRANSACTION_ID).block();
+
+            assertThat(meterRegistry.get("workload.repository.calls").tag("operation", "findByUsernameReactive").timer().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Revision")
+    class RevisionTests {
+
+        @Test
+        @DisplayName("Should derive the revision from the projected id and version")
+        void shouldDeriveRevision() {
+            when(repository.findVersionByUsername(USERNAME))
+                    .thenReturn(Mono.just(TrainerWorkload.builder().id("workload-1").version(3L).build()));
+
+            assertThat(service.getTrainerRevision(USERNAME, TRANSACTION_ID).block()).isEqualTo("workload-1-3");
+        }
+
+        @Test
+        @DisplayName("Should complete empty when the trainer does not exist")
+        void shouldCompleteEmptyForMissingTrainer() {
+            when(repository.findVersionByUsername(USERNAME)).thenReturn(Mono.empty());
+
+            assertThat(service.getTrainerRevision(USERNAME, TRANSACTION_ID).blockOptional()).isEmpty();
+        }
+    }
+}
@@ -1,38 +1,72 @@
 package com.github.amangusss.service;
 
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
+import com.github.amangusss.dto.trainerWorkload.DeltaWriteResult;
+import com.github.amangusss.dto.trainerWorkload.SummaryRange;
 import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
 import com.github.amangusss.entity.TrainerWorkload;
 import com.github.amangusss.entity.MonthSummary;
 import com.github.amangusss.entity.YearSummary;
 import com.github.amangusss.entity.Month;
 import com.github.amangusss.entity.TrainerStatus;
 import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.exception.DeltaWriteException;
 import com.github.amangusss.exception.TrainerNotFoundException;
 import com.github.amangusss.mapper.TrainerWorkloadMapper;
 import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.metrics.WorkloadMetrics;
 import com.github.amangusss.service.impl.TrainerWorkloadServiceImpl;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +79,27 @@ class TrainerWorkloadServiceImplTest {
     @Mock
     private TrainerWorkloadMapper mapper;
 
+    @Spy
+    private WorkloadWriteRetrier retrier = new WorkloadWriteRetrier(
+            new WorkloadMetrics(new SimpleMeterRegistry()), 3, 0, 0);
+
+    @Spy
+    private TrainerWorkloadCache workloadCache = new TrainerWorkloadCache(new SimpleMeterRegistry(), true, 100, 10);
+
+    @Spy
+    private TrainerSummaryCache summaryCache = new TrainerSummaryCache(new SimpleMeterRegistry(), true, 100, 60);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private WorkloadMetrics metrics = new WorkloadMetrics(meterRegistry);
+
+    @Mock
+    private WorkloadRollupUpdater rollupUpdater;
+
+    @Mock
+    private WorkloadEventLog eventLog;
+
     @InjectMocks
     private TrainerWorkloadServiceImpl service;
 
@@ -58,6 +113,16 @@ class TrainerWorkloadServiceImplTest {
     private static final LocalDate TRAINING_DATE = LocalDate.of(2025, 1, 15);
     private static final Double DURATION = 2.5;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(repository.incrementMonthHours(any(), any(), anyInt(), any(), anyDouble()))
+                .thenReturn(Optional.of(TrainerWorkload.builder().username(USERNAME).version(1L).build()));
+    }
+
+    private DeltaWriteResult obtainBatch(List<TrainerWorkloadDTO.Request.Create> requests, String transactionId) {
+        return service.obtainWorkloadBatch(requests, Collections.nCopies(requests.size(), null), transactionId);
+    }
+
     private TrainerWorkloadDTO.Request.Create createAddRequest() {
         return new TrainerWorkloadDTO.Request.Create(
                 USERNAME, FIRST_NAME, LAST_NAME,
@@ -76,79 +141,95 @@ class TrainerWorkloadServiceImplTest {
 
     private TrainerWorkload createWorkloadWithHours(Double totalHours) {
         MonthSummary monthSummary = MonthSummary.builder()
-                .month(Month.JANUARY)
                 .totalHours(totalHours)
                 .build();
 
         YearSummary yearSummary = YearSummary.builder()
-                .year(2025)
-                .months(new ArrayList<>(List.of(monthSummary)))
+                .months(new TreeMap<>(Map.of(Month.JANUARY.getValue(), monthSummary)))
                 .build();
 
         return TrainerWorkload.builder()
                 .id("test-id")
+                .version(1L)
                 .username(USERNAME)
                 .firstName(FIRST_NAME)
                 .lastName(LAST_NAME)
                 .status(TrainerStatus.ACTIVE)
-                .years(new ArrayList<>(List.of(yearSummary)))
+                .years(new TreeMap<>(Map.of(2025, yearSummary)))
                 .build();
     }
 
+    private TrainerWorkloadDTO.Request.Create createAddRequest(String username) {
+        return new TrainerWorkloadDTO.Request.Create(
+                username, FIRST_NAME, LAST_NAME,
+                TrainerStatus.ACTIVE, TRAINING_DATE, DURATION,
+                ActionType.ADD
+        );
+    }
+
+    private TrainerWorkload createWorkloadWithHours(Double totalHours, long version) {
+        TrainerWorkload workload = createWorkloadWithHours(totalHours);
+        workload.setVersion(version);
+        return workload;
+    }
+
     @Nested
     @DisplayName("ADD Training Hours")
     class AddTrainingHoursTests {
 
         @Test
-        @DisplayName("Should create new workload when no existing record")
-        void shouldCreateNewWorkloadWhenNoExistingRecord() {
+        @DisplayName("Should increment hours with a single atomic repository update")
+        void shouldIncrementHoursAtomically() {
             var request = createAddRequest();
 
-            when(repository.findByUsername(USERNAME)).thenReturn(Optional.empty());
-            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-            service.obtainWorkload(request, TRANSACTION_ID);
+            service.obtainWorkload(request, null, TRANSACTION_ID);
 
-            verify(repository).save(workloadCaptor.capture());
-            TrainerWorkload saved = workloadCaptor.getValue();
-            assertThat(saved.getUsername()).isEqualTo(USERNAME);
-            assertThat(saved.getYears()).hasSize(1);
-            assertThat(saved.getYears().get(0).getMonths()).hasSize(1);
-            assertThat(saved.getYears().get(0).getMonths().get(0).getTotalHours()).isEqualTo(DURATION);
+            verify(repository).incrementMonthHours(workloadCaptor.capture(), isNull(), eq(2025), eq(Month.JANUARY), eq(DURATION));
+            verify(repository, never()).findByUsername(any());
+            verify(repository, never()).save(any());
         }
 
         @Test
-        @DisplayName("Should add hours to existing workload")
-        void shouldAddHoursToExistingWorkload() {
+        @DisplayName("Should pass trainer profile along with the increment")
+        void shouldPassTrainerProfileWithIncrement() {
             var request = createAddRequest();
-            var existingWorkload = createWorkloadWithHours(5.0);
 
-            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(existingWorkload));
-            doNothing().when(mapper).updateWorkloadInfo(any(), any());
-            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            service.obtainWorkload(request, null, TRANSACTION_ID);
 
-            service.obtainWorkload(request, TRANSACTION_ID);
+            verify(repository).incrementMonthHours(workloadCaptor.capture(), isNull(), anyInt(), any(), anyDouble());
+            TrainerWorkload profile = workloadCaptor.getValue();
+            assertThat(profile.getUsername()).isEqualTo(USERNAME);
+            assertThat(profile.getFirstName()).isEqualTo(FIRST_NAME);
+            assertThat(profile.getLastName()).isEqualTo(LAST_NAME);
+            assertThat(profile.getStatus()).isEqualTo(TrainerStatus.ACTIVE);
+        }
 
-            verify(repository).save(workloadCaptor.capture());
-            TrainerWorkload saved = workloadCaptor.getValue();
-            assertThat(saved.getYears().get(0).getMonths().get(0).getTotalHours()).isEqualTo(7.5); // 5.0 + 2.5
+        @Test
+        @DisplayName("Should map training date to year and month of the increment")
+        void shouldMapTrainingDateToYearAndMonth() {
+            var request = new TrainerWorkloadDTO.Request.Create(
+                    USERNAME, FIRST_NAME, LAST_NAME,
+                    TrainerStatus.ACTIVE, LocalDate.of(2024, 11, 3), DURATION,
+                    ActionType.ADD
+            );
+
+            service.obtainWorkload(request, null, TRANSACTION_ID);
+
+            verify(repository).incrementMonthHours(any(), any(), eq(2024), eq(Month.NOVEMBER), eq(DURATION));
         }
 
         @Test
-        @DisplayName("Should accumulate multiple trainings in same month")
-        void shouldAccumulateMultipleTrainingsInSameMonth() {
+        @DisplayName("Should retry increment after a concurrent first insert of the trainer")
+        void shouldRetryIncrementAfterConcurrentInsert() {
             var request = createAddRequest();
-            var existingWorkload = createWorkloadWithHours(10.0);
 
-            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(existingWorkload));
-            doNothing().when(mapper).updateWorkloadInfo(any(), any());
-            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(repository.incrementMonthHours(any(), any(), anyInt(), any(), anyDouble()))
+                    .thenThrow(new DuplicateKeyException("username"))
+                    .thenReturn(Optional.of(createWorkloadWithHours(DURATION)));
 
-            service.obtainWorkload(request, TRANSACTION_ID);
+            service.obtainWorkload(request, null, TRANSACTION_ID);
 
-            verify(repository).save(workloadCaptor.capture());
-            TrainerWorkload saved = workloadCaptor.getValue();
-            assertThat(saved.getYears().get(0).getMonths().get(0).getTotalHours()).isEqualTo(12.5); // 10.0 + 2.5
+            verify(repository, times(2)).incrementMonthHours(any(), any(), anyInt(), any(), anyDouble());
         }
     }
 
@@ -165,11 +246,11 @@ class TrainerWorkloadServiceImplTest {
             when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(existingWorkload));
             when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-            service.obtainWorkload(request, TRANSACTION_ID);
+            service.obtainWorkload(request, null, TRANSACTION_ID);
 
             verify(repository).save(workloadCaptor.capture());
             TrainerWorkload saved = workloadCaptor.getValue();
-            assertThat(saved.getYears().get(0).getMonths().get(0).getTotalHours()).isEqualTo(2.5); // 5.0 - 2.5
+            assertThat(saved.getYears().get(2025).getMonths().get(1).getTotalHours()).isEqualTo(2.5); // 5.0 - 2.5
         }
 
         @Test
@@ -181,13 +262,13 @@ class TrainerWorkloadServiceImplTest {
             when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(existingWorkload));
             when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-            service.obtainWorkload(request, TRANSACTION_ID);
+            service.obtainWorkload(request, null, TRANSACTION_ID);
 
             verify(repository).save(workloadCaptor.capture());
             TrainerWorkload saved = workloadCaptor.getValue();
             assertThat(saved.getYears()).satisfiesAnyOf(
                     years -> assertThat(years).isEmpty(),
-                    years -> assertThat(years.get(0).getMonths()).isEmpty()
+                    years -> assertThat(years.get(2025).getMonths()).isEmpty()
             );
         }
 
@@ -200,14 +281,14 @@ class TrainerWorkloadServiceImplTest {
             when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(existingWorkload));
             when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-            service.obtainWorkload(request, TRANSACTION_ID);
+            service.obtainWorkload(request, null, TRANSACTION_ID);
 
             verify(repository).save(workloadCaptor.capture());
             TrainerWorkload saved = workloadCaptor.getValue();
             // Проверяем что список годов пустой или первый год не имеет месяцев
             assertThat(saved.getYears()).satisfiesAnyOf(
                     years -> assertThat(years).isEmpty(),
-                    years -> assertThat(years.get(0).getMonths()).isEmpty()
+                    years -> assertThat(years.get(2025).getMonths()).isEmpty()
             );
         }
 
@@ -218,11 +299,472 @@ class TrainerWorkloadServiceImplTest {
 
             when(repository.findByUsername(USERNAME)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> service.obtainWorkload(request, TRANSACTION_ID))
+            assertThatThrownBy(() -> service.obtainWorkload(request, null, TRANSACTION_ID))
                     .isInstanceOf(TrainerNotFoundException.class);
 
             verify(repository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("Should reload and retry when workload was modified concurrently")
+        void shouldReloadAndRetryOnVersionConflict() {
+            var request = createDeleteRequest();
+
+            when(repository.findByUsername(USERNAME))
+                    .thenReturn(Optional.of(createWorkloadWithHours(5.0)))
+                    .thenReturn(Optional.of(createWorkloadWithHours(8.0)));
+            when(repository.save(any(TrainerWorkload.class)))
+                    .thenThrow(new OptimisticLockingFailureException("stale version"))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            service.obtainWorkload(request, null, TRANSACTION_ID);
+
+            verify(repository, times(2)).findByUsername(USERNAME);
+            verify(repository, times(2)).save(workloadCaptor.capture());
+            TrainerWorkload saved = workloadCaptor.getValue();
+            assertThat(saved.getYears().get(2025).getMonths().get(1).getTotalHours()).isEqualTo(5.5); // 8.0 - 2.5
+        }
+
+        @Test
+        @DisplayName("Should give up after max attempts on persistent version conflicts")
+        void shouldGiveUpAfterMaxAttempts() {
+            var request = createDeleteRequest();
+
+            when(repository.findByUsername(USERNAME)).thenAnswer(invocation -> Optional.of(createWorkloadWithHours(5.0)));
+            when(repository.save(any(TrainerWorkload.class)))
+                    .thenThrow(new OptimisticLockingFailureException("stale version"));
+
+            assertThatThrownBy(() -> service.obtainWorkload(request, null, TRANSACTION_ID))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+
+            verify(repository, times(3)).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Hot Workload Cache")
+    class HotWorkloadCacheTests {
+
+        @Test
+        @DisplayName("Should serve DELETE from the document cached by a previous ADD")
+        void shouldServeDeleteFromCache() {
+            workloadCache.put(createWorkloadWithHours(2.5, 1));
+            when(repository.incrementMonthHours(any(TrainerWorkload.class), any(), anyInt(), any(Month.class), anyDouble()))
+                    .thenReturn(Optional.of(createWorkloadWithHours(5.0, 2)));
+            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            service.obtainWorkload(createAddRequest(), null, TRANSACTION_ID);
+            service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID);
+
+            verify(repository, never()).findByUsername(any());
+            verify(repository).save(workloadCaptor.capture());
+            assertThat(workloadCaptor.getValue().getYears().get(2025).getMonths().get(1).getTotalHours()).isEqualTo(2.5);
+            assertThat(workloadCache.stats().hitCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should drop a cached document that missed a write")
+        void shouldDropCachedDocumentThatMissedWrite() {
+            workloadCache.put(createWorkloadWithHours(2.5, 1));
+            when(repository.incrementMonthHours(any(TrainerWorkload.class), any(), anyInt(), any(Month.class), anyDouble()))
+                    .thenReturn(Optional.of(createWorkloadWithHours(7.5, 3)));
+
+            service.obtainWorkload(createAddRequest(), null, TRANSACTION_ID);
+
+            assertThat(workloadCache.get(USERNAME)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not cache the partial document read back by an ADD")
+        void shouldNotCachePartialDocument() {
+            when(repository.incrementMonthHours(any(TrainerWorkload.class), any(), anyInt(), any(Month.class), anyDouble()))
+                    .thenReturn(Optional.of(createWorkloadWithHours(5.0, 1)));
+
+            service.obtainWorkload(createAddRequest(), null, TRANSACTION_ID);
+
+            assertThat(workloadCache.get(USERNAME)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reload from repository when cached document lacks the month")
+        void shouldReloadWhenCachedDocumentLacksMonth() {
+            var cached = createWorkloadWithHours(5.0);
+            MonthSummary january = cached.getYears().get(2025).getMonths().remove(Month.JANUARY.getValue());
+            cached.getYears().get(2025).getMonths().put(Month.FEBRUARY.getValue(), january);
+            workloadCache.put(cached);
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(createWorkloadWithHours(5.0)));
+            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID);
+
+            verify(repository).findByUsername(USERNAME);
+            verify(repository).save(any(TrainerWorkload.class));
+        }
+
+        @Test
+        @DisplayName("Should not keep a cached document modified by a failed save")
+        void shouldEvictAfterFailedSave() {
+            workloadCache.put(createWorkloadWithHours(5.0));
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(createWorkloadWithHours(8.0)));
+            when(repository.save(any(TrainerWorkload.class)))
+                    .thenThrow(new OptimisticLockingFailureException("stale version"))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID);
+
+            verify(repository).findByUsername(USERNAME);
+            verify(repository, times(2)).save(workloadCaptor.capture());
+            assertThat(workloadCaptor.getValue().getYears().get(2025).getMonths().get(1).getTotalHours()).isEqualTo(5.5);
+        }
+
+        @Test
+        @DisplayName("Should evict trainers touched by a batch")
+        void shouldEvictTrainersAfterBatch() {
+            workloadCache.put(createWorkloadWithHours(5.0));
+
+            obtainBatch(List.of(createAddRequest()), TRANSACTION_ID);
+
+            assertThat(workloadCache.get(USERNAME)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Summary Cache")
+    class SummaryCacheTests {
+
+        @Test
+        @DisplayName("Should evict cached summary after ADD")
+        void shouldEvictSummaryAfterAdd() {
+            when(repository.incrementMonthHours(any(TrainerWorkload.class), any(), anyInt(), any(Month.class), anyDouble()))
+                    .thenReturn(Optional.of(createWorkloadWithHours(5.0)));
+
+            service.obtainWorkload(createAddRequest(), null, TRANSACTION_ID);
+
+            verify(summaryCache).evict(USERNAME);
+        }
+
+        @Test
+        @DisplayName("Should evict cached summary even when DELETE fails")
+        void shouldEvictSummaryWhenDeleteFails() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID))
+                    .isInstanceOf(TrainerNotFoundException.class);
+
+            verify(summaryCache).evict(USERNAME);
+        }
+
+        @Test
+        @DisplayName("Should evict cached summaries of trainers touched by a batch")
+        void shouldEvictSummariesAfterBatch() {
+            obtainBatch(List.of(createAddRequest()), TRANSACTION_ID);
+
+            verify(summaryCache).evictAll(List.of(USERNAME));
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should time applied events by action and record document size")
+        void shouldTimeAppliedEvent() {
+            workloadCache.put(createWorkloadWithHours(2.5, 1));
+            when(repository.incrementMonthHours(any(TrainerWorkload.class), any(), anyInt(), any(Month.class), anyDouble()))
+                    .thenReturn(Optional.of(createWorkloadWithHours(5.0, 2)));
+
+            service.obtainWorkload(createAddRequest(), null, TRANSACTION_ID);
+
+            assertThat(meterRegistry.get("workload.events.apply").tag("action", "add").tag("outcome", "applied")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("workload.repository.calls").tag("operation", "incrementMonthHours")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("workload.document.months").summary().totalAmount()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should time failed events and the repository calls they made")
+        void shouldTimeFailedEvent() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID))
+                    .isInstanceOf(TrainerNotFoundException.class);
+
+            assertThat(meterRegistry.get("workload.events.apply").tag("action", "delete").tag("outcome", "failed")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("workload.repository.calls").tag("operation", "findByUsername")
+                    .timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Duplicate Events")
+    class DuplicateEventTests {
+
+        @Test
+        @DisplayName("Should record the event id with the atomic increment")
+        void shouldRecordEventIdWithIncrement() {
+            assertThat(service.obtainWorkload(createAddRequest(), "event-1", TRANSACTION_ID)).isTrue();
+
+            verify(repository).incrementMonthHours(any(TrainerWorkload.class), eq("event-1"), eq(2025), eq(Month.JANUARY), eq(DURATION));
+        }
+
+        @Test
+        @DisplayName("Should skip an ADD the trainer already recorded without logging it")
+        void shouldSkipRecordedAdd() {
+            when(repository.incrementMonthHours(any(), eq("event-1"), anyInt(), any(), anyDouble())).thenReturn(Optional.empty());
+
+            assertThat(service.obtainWorkload(createAddRequest(), "event-1", TRANSACTION_ID)).isFalse();
+
+            verifyNoInteractions(eventLog, rollupUpdater);
+            assertThat(meterRegistry.get("workload.events.apply").tag("outcome", "duplicate").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should skip a DELETE the trainer already recorded without saving")
+        void shouldSkipRecordedDelete() {
+            TrainerWorkload workload = createWorkloadWithHours(5.0);
+            workload.recordProcessedEvent("event-1");
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(workload));
+
+            assertThat(service.obtainWorkload(createDeleteRequest(), "event-1", TRANSACTION_ID)).isFalse();
+
+            verify(repository, never()).save(any());
+            verifyNoInteractions(rollupUpdater);
+        }
+
+        @Test
+        @DisplayName("Should record the id of an applied DELETE with the save")
+        void shouldRecordDeleteEventId() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(createWorkloadWithHours(5.0)));
+            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            assertThat(service.obtainWorkload(createDeleteRequest(), "event-1", TRANSACTION_ID)).isTrue();
+
+            verify(repository).save(workloadCaptor.capture());
+            assertThat(workloadCaptor.getValue().getProcessedEvents()).containsExactly("event-1");
+        }
+
+        @Test
+        @DisplayName("Should report batched events the trainer already recorded as duplicates")
+        void shouldReportRecordedBatchEvents() {
+            TrainerWorkload workload = createWorkloadWithHours(5.0);
+            workload.recordProcessedEvent("event-1");
+            when(repository.findHistories(anyCollection(), anyCollection())).thenReturn(List.of(workload));
+
+            DeltaWriteResult result = service.obtainWorkloadBatch(List.of(createAddRequest(), createAddRequest()),
+                    List.of("event-1", "event-2"), TRANSACTION_ID);
+
+            assertThat(result.duplicates()).containsExactly(0);
+            assertThat(result.applied()).containsExactly(USERNAME);
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch of Training Events")
+    class ObtainWorkloadBatchTests {
+
+        @Captor
+        private ArgumentCaptor<Collection<TrainerWorkloadWrite>> writesCaptor;
+
+        @Test
+        @DisplayName("Should fold a trainer's events into a single bulk write")
+        void shouldFoldEventsIntoSingleBulkWrite() {
+            when(repository.findHistories(anyCollection(), anyCollection()))
+                    .thenReturn(List.of(createWorkloadWithHours(1.0)));
+            var requests = List.of(createAddRequest(), createAddRequest(), createDeleteRequest());
+
+            obtainBatch(requests, TRANSACTION_ID);
+
+            verify(repository).applyWrites(writesCaptor.capture());
+            assertThat(writesCaptor.getValue()).singleElement().satisfies(write -> {
+                assertThat(write.username()).isEqualTo(USERNAME);
+                assertThat(write.hoursChanged()).containsEntry(YearMonth.of(2025, 1), DURATION);
+            });
+            verify(repository, never()).findByUsername(any());
+            verify(repository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should clamp a DELETE before a later ADD as single events would")
+        void shouldClampDeleteBeforeAdd() {
+            when(repository.findHistories(anyCollection(), anyCollection()))
+                    .thenReturn(List.of(createWorkloadWithHours(1.0)));
+
+            obtainBatch(List.of(createDeleteRequest(), createAddRequest()), TRANSACTION_ID);
+
+            verify(repository).applyWrites(writesCaptor.capture());
+            assertThat(writesCaptor.getValue()).singleElement()
+                    .satisfies(write -> assertThat(write.hoursAfter()).containsEntry(YearMonth.of(2025, 1), DURATION));
+        }
+
+        @Test
+        @DisplayName("Should report DELETEs whose trainer or month was not found without writing them")
+        void shouldReportNotFoundEvents() {
+            DeltaWriteResult result = obtainBatch(List.of(createDeleteRequest()), TRANSACTION_ID);
+
+            assertThat(result.notFound()).containsExactly(0);
+            assertThat(result.applied()).isEmpty();
+            verify(repository, never()).applyWrites(anyCollection());
+            verifyNoInteractions(eventLog, rollupUpdater);
+        }
+
+        @Test
+        @DisplayName("Should refold conflicting trainers without re-applying trainers already written")
+        void shouldRetryOnlyUnappliedTrainers() {
+            doThrow(new DeltaWriteException(Set.of("a"), new OptimisticLockingFailureException("changed")))
+                    .doNothing()
+                    .when(repository).applyWrites(anyCollection());
+
+            DeltaWriteResult result = obtainBatch(
+                    List.of(createAddRequest("a"), createAddRequest("b")), TRANSACTION_ID);
+
+            verify(repository, times(2)).applyWrites(writesCaptor.capture());
+            assertThat(writesCaptor.getAllValues().get(1)).extracting(TrainerWorkloadWrite::username).containsExactly("b");
+            verify(repository).findHistories(List.of("b"), Set.of(2025));
+            assertThat(result.applied()).containsExactlyInAnyOrder("a", "b");
+        }
+
+        @Test
+        @DisplayName("Should report the trainers applied before a bulk write failed")
+        void shouldReportAppliedTrainersOnFailure() {
+            doThrow(new DeltaWriteException(Set.of("a"), new DataAccessResourceFailureException("connection reset")))
+                    .when(repository).applyWrites(anyCollection());
+
+            assertThatThrownBy(() -> obtainBatch(
+                    List.of(createAddRequest("a"), createAddRequest("b")), TRANSACTION_ID))
+                    .isInstanceOfSatisfying(DeltaWriteException.class, e -> {
+                        assertThat(e.getApplied()).containsExactly("a");
+                        assertThat(e.getCause()).isInstanceOf(DataAccessResourceFailureException.class);
+                    });
+
+            verify(repository, times(1)).applyWrites(anyCollection());
+            verify(rollupUpdater).record(argThat((Collection<TrainerWorkloadWrite> writes) -> writes.size() == 1
+                    && writes.iterator().next().username().equals("a")), eq(TRANSACTION_ID));
+        }
+
+        @Test
+        @DisplayName("Should only log the trainers a failed bulk write applied")
+        void shouldLogAppliedTrainersOnly() {
+            doThrow(new DeltaWriteException(Set.of("a"), new DataAccessResourceFailureException("connection reset")))
+                    .when(repository).applyWrites(anyCollection());
+
+            assertThatThrownBy(() -> obtainBatch(
+                    List.of(createAddRequest("a"), createAddRequest("b")), TRANSACTION_ID))
+                    .isInstanceOf(DeltaWriteException.class);
+
+            verify(eventLog).record(argThat((Collection<TrainerWorkloadWrite> writes) -> writes.size() == 1
+                    && writes.iterator().next().username().equals("a")), eq(TRANSACTION_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("Monthly Rollups")
+    class MonthlyRollupTests {
+
+        @Test
+        @DisplayName("Should add the hours of an ADD event to the rollup of its month")
+        void shouldRecordAddedHours() {
+            service.obtainWorkload(createAddRequest(), null, TRANSACTION_ID);
+
+            verify(rollupUpdater).record(2025, 1, DURATION, TRANSACTION_ID);
+        }
+
+        @Test
+        @DisplayName("Should subtract no more than the month held on DELETE")
+        void shouldRecordRemovedHours() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(createWorkloadWithHours(1.0)));
+            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID);
+
+            verify(rollupUpdater).record(2025, 1, -1.0, TRANSACTION_ID);
+        }
+
+        @Test
+        @DisplayName("Should not touch rollups when the trainer write fails")
+        void shouldSkipRollupsAfterFailedWrite() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID))
+                    .isInstanceOf(TrainerNotFoundException.class);
+
+            verifyNoInteractions(rollupUpdater);
+        }
+
+        @Test
+        @DisplayName("Should record the writes of a bulk write")
+        void shouldRecordBatchDeltas() {
+            obtainBatch(List.of(createAddRequest()), TRANSACTION_ID);
+
+            verify(rollupUpdater).record(anyCollection(), eq(TRANSACTION_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("Workload Event Log")
+    class EventLogTests {
+
+        @Test
+        @DisplayName("Should log an event with the trainer's version once it is applied")
+        void shouldLogEventAfterWrite() {
+            var request = createAddRequest();
+            when(repository.incrementMonthHours(any(), any(), anyInt(), any(), anyDouble()))
+                    .thenReturn(Optional.of(createWorkloadWithHours(DURATION, 7)));
+
+            service.obtainWorkload(request, null, TRANSACTION_ID);
+
+            InOrder inOrder = inOrder(eventLog, repository);
+            inOrder.verify(repository).incrementMonthHours(any(TrainerWorkload.class), any(), anyInt(), any(Month.class), anyDouble());
+            inOrder.verify(eventLog).record(request, 2025, 1, 7L, TRANSACTION_ID);
+        }
+
+        @Test
+        @DisplayName("Should log a DELETE with the version it was saved at")
+        void shouldLogDeleteWithSavedVersion() {
+            var request = createDeleteRequest();
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(createWorkloadWithHours(5.0)));
+            when(repository.save(any(TrainerWorkload.class))).thenAnswer(invocation -> {
+                TrainerWorkload saved = invocation.getArgument(0);
+                saved.setVersion(saved.getVersion() + 1);
+                return saved;
+            });
+
+            service.obtainWorkload(request, null, TRANSACTION_ID);
+
+            verify(eventLog).record(request, 2025, 1, 2L, TRANSACTION_ID);
+        }
+
+        @Test
+        @DisplayName("Should not log an event that could not be applied")
+        void shouldNotLogFailedEvent() {
+            when(repository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.obtainWorkload(createDeleteRequest(), null, TRANSACTION_ID))
+                    .isInstanceOf(TrainerNotFoundException.class);
+
+            verifyNoInteractions(eventLog);
+        }
+
+        @Test
+        @DisplayName("Should not log a bulk write that failed")
+        void shouldNotLogFailedBatch() {
+            doThrow(new DataAccessResourceFailureException("mongo down")).when(repository).applyWrites(anyCollection());
+
+            assertThatThrownBy(() -> obtainBatch(List.of(createAddRequest()), TRANSACTION_ID))
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+
+            verifyNoInteractions(eventLog);
+        }
+
+        @Test
+        @DisplayName("Should log the writes of a bulk write")
+        void shouldLogBatchDeltas() {
+            obtainBatch(List.of(createAddRequest()), TRANSACTION_ID);
+
+            verify(eventLog).record(anyCollection(), eq(TRANSACTION_ID));
+        }
     }
 
     @Nested
@@ -239,7 +781,8 @@ class TrainerWorkloadServiceImplTest {
                     TrainerStatus.ACTIVE,
                     List.of(new TrainerWorkloadDTO.YearSummary(2025, List.of(
                             new TrainerWorkloadDTO.MonthSummary(Month.JANUARY, 5.0)
-                    )))
+                    ))),
+                    "test-id-0"
             );
 
             when(repository.findByUsername(USERNAME)).thenReturn(Optional.of(workload));
@@ -262,5 +805,59 @@ class TrainerWorkloadServiceImplTest {
 
             verify(mapper, never()).toSummary(any());
         }
+
+        @Test
+        @DisplayName("Should read only the requested range through the projected query")
+        void shouldReturnRangedSummary() {
+            var range = new SummaryRange(2025, 1, 3);
+            var workload = createWorkloadWithHours(5.0);
+            var summary = new TrainerWorkloadDTO.Response.Summary(
+                    USERNAME, FIRST_NAME, LAST_NAME, TrainerStatus.ACTIVE, List.of(), "test-id-0");
+            when(repository.findByUsernameWithin(USERNAME, range)).thenReturn(Optional.of(workload));
+            when(mapper.toSummary(workload)).thenReturn(summary);
+
+            var result = service.getTrainerSummary(USERNAME, range, TRANSACTION_ID);
+
+            assertThat(result).isEqualTo(summary);
+            verify(repository, never()).findByUsername(any());
+        }
+
+        @Test
+        @DisplayName("Should drop projected years without months in range")
+        void shouldDropEmptyProjectedYears() {
+            var range = new SummaryRange(2024, 6, 6);
+            var workload = createWorkloadWithHours(5.0);
+            workload.getYears().put(2024, YearSummary.builder().build());
+            when(repository.findByUsernameWithin(USERNAME, range)).thenReturn(Optional.of(workload));
+
+            service.getTrainerSummary(USERNAME, range, TRANSACTION_ID);
+
+            verify(mapper).toSummary(argThat(projected -> !projected.getYears().containsKey(2024)));
+        }
+
+        @Test
+        @DisplayName("Should throw exception when trainer of a ranged read is not found")
+        void shouldThrowWhenRangedTrainerNotFound() {
+            var range = new SummaryRange(2025, 1, 12);
+            when(repository.findByUsernameWithin(USERNAME, range)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.getTrainerSummary(USERNAME, range, TRANSACTION_ID))
+                    .isInstanceOf(TrainerNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should map every trainer returned by the single $in query")
+        void shouldStreamSummariesOfManyTrainers() {
+            var workload = createWorkloadWithHours(5.0);
+            var summary = new TrainerWorkloadDTO.Response.Summary(
+                    USERNAME, FIRST_NAME, LAST_NAME, TrainerStatus.ACTIVE, List.of(), "test-id-0");
+            when(repository.streamByUsernameIn(List.of(USERNAME, "ghost"))).thenReturn(Stream.of(workload));
+            when(mapper.toSummary(workload)).thenReturn(summary);
+
+            try (var summaries = service.streamTrainerSummaries(List.of(USERNAME, "ghost"), TRANSACTION_ID)) {
+                assertThat(summaries).containsExactly(summary);
+            }
+            verify(repository, never()).findByUsername(any());
+        }
     }
 }
@@ -0,0 +1,84 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDelta;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.service.batch.WorkloadDeltaAggregator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WorkloadDeltaAggregator Tests")
+class WorkloadDeltaAggregatorTest {
+
+    private WorkloadDeltaAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new WorkloadDeltaAggregator();
+    }
+
+    private TrainerWorkloadDTO.Request.Create event(String username, String firstName, LocalDate date,
+                                                    double hours, ActionType actionType) {
+        return new TrainerWorkloadDTO.Request.Create(
+                username, firstName, "Doe",
+                TrainerStatus.ACTIVE, date, hours,
+                actionType
+        );
+    }
+
+    @Nested
+    @DisplayName("Grouping")
+    class GroupingTests {
+
+        @Test
+        @DisplayName("Should keep every event of a trainer in arrival order with its batch index")
+        void shouldKeepEventsInOrder() {
+            aggregator.add(event("john.doe", "John", LocalDate.of(2025, 1, 10), 2.0, ActionType.ADD));
+            aggregator.add(event("jane.roe", "Jane", LocalDate.of(2025, 1, 10), 1.0, ActionType.ADD));
+            aggregator.add(event("john.doe", "John", LocalDate.of(2025, 1, 21), 1.5, ActionType.DELETE));
+            aggregator.add(event("john.doe", "John", LocalDate.of(2026, 2, 1), 1.0, ActionType.ADD));
+
+            TrainerWorkloadDelta delta = aggregator.toDeltas().get(0);
+
+            assertThat(delta.events()).extracting(TrainerWorkloadDelta.Event::index).containsExactly(0, 2, 3);
+            assertThat(delta.events()).extracting(TrainerWorkloadDelta.Event::month)
+                    .containsExactly(YearMonth.of(2025, 1), YearMonth.of(2025, 1), YearMonth.of(2026, 2));
+            assertThat(delta.years()).containsExactly(2025, 2026);
+            assertThat(aggregator.eventCount()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should keep one delta per trainer in arrival order")
+        void shouldKeepOneDeltaPerTrainer() {
+            aggregator.add(event("john.doe", "John", LocalDate.of(2025, 1, 10), 2.0, ActionType.ADD));
+            aggregator.add(event("jane.roe", "Jane", LocalDate.of(2025, 1, 10), 1.0, ActionType.ADD));
+            aggregator.add(event("john.doe", "John", LocalDate.of(2025, 1, 11), 2.0, ActionType.ADD));
+
+            assertThat(aggregator.trainerCount()).isEqualTo(2);
+            assertThat(aggregator.toDeltas())
+                    .extracting(TrainerWorkloadDelta::username)
+                    .containsExactly("john.doe", "jane.roe");
+        }
+
+        @Test
+        @DisplayName("Should be empty after clear")
+        void shouldBeEmptyAfterClear() {
+            aggregator.add(event("john.doe", "John", LocalDate.of(2025, 1, 10), 2.0, ActionType.ADD));
+
+            aggregator.clear();
+
+            assertThat(aggregator.isEmpty()).isTrue();
+            assertThat(aggregator.toDeltas()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDelta;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.YearSummary;
+import com.github.amangusss.service.batch.WorkloadDeltaAggregator;
+import com.github.amangusss.service.batch.WorkloadDeltaPlanner;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WorkloadDeltaPlanner Tests")
+class WorkloadDeltaPlannerTest {
+
+    private static final String USERNAME = "john.doe";
+
+    private TrainerWorkloadDTO.Request.Create event(LocalDate date, double hours, ActionType actionType) {
+        return new TrainerWorkloadDTO.Request.Create(
+                USERNAME, "John", "Doe",
+                TrainerStatus.ACTIVE, date, hours,
+                actionType
+        );
+    }
+
+    private TrainerWorkloadDelta delta(TrainerWorkloadDTO.Request.Create... events) {
+        WorkloadDeltaAggregator aggregator = new WorkloadDeltaAggregator();
+        List.of(events).forEach(aggregator::add);
+        return aggregator.toDeltas().get(0);
+    }
+
+    private TrainerWorkload trainerWithMonth(int year, int month, double hours) {
+        YearSummary yearSummary = new YearSummary();
+        yearSummary.getMonths().put(month, MonthSummary.builder().totalHours(hours).build());
+        TrainerWorkload workload = TrainerWorkload.builder()
+                .username(USERNAME)
+                .firstName("John")
+                .lastName("Doe")
+                .status(TrainerStatus.ACTIVE)
+                .version(4L)
+                .build();
+        workload.getYears().put(year, yearSummary);
+        return workload;
+    }
+
+    @Nested
+    @DisplayName("Sequential Folding")
+    class SequentialFoldingTests {
+
+        @Test
+        @DisplayName("Should clamp a DELETE before a later ADD, as event by event")
+        void shouldClampDeleteBeforeAdd() {
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(delta(
+                            event(LocalDate.of(2025, 1, 10), 5.0, ActionType.DELETE),
+                            event(LocalDate.of(2025, 1, 11), 3.0, ActionType.ADD)),
+                    trainerWithMonth(2025, 1, 2.0));
+
+            assertThat(write.hoursAfter()).containsEntry(YearMonth.of(2025, 1), 3.0);
+            assertThat(write.hoursChanged()).containsEntry(YearMonth.of(2025, 1), 1.0);
+            assertThat(write.applied()).containsExactly(0, 1);
+            assertThat(write.version()).isEqualTo(4L);
+            assertThat(write.emptiedYears()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should only count the hours a month held for an over-delete")
+        void shouldCountClampedHoursForOverDelete() {
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(delta(
+                            event(LocalDate.of(2025, 1, 10), 5.0, ActionType.DELETE)),
+                    trainerWithMonth(2025, 1, 2.0));
+
+            assertThat(write.hoursAfter()).isEmpty();
+            assertThat(write.hoursChanged()).containsEntry(YearMonth.of(2025, 1), -2.0);
+            assertThat(write.emptiedYears()).containsExactly(2025);
+            assertThat(write.profile()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should report a DELETE of a missing month as not found and apply the rest")
+        void shouldReportMissingMonth() {
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(delta(
+                            event(LocalDate.of(2025, 2, 10), 1.0, ActionType.DELETE),
+                            event(LocalDate.of(2025, 1, 11), 1.0, ActionType.ADD)),
+                    trainerWithMonth(2025, 1, 2.0));
+
+            assertThat(write.notFound()).containsExactly(0);
+            assertThat(write.applied()).containsExactly(1);
+            assertThat(write.hoursChanged()).containsOnlyKeys(YearMonth.of(2025, 1));
+        }
+
+        @Test
+        @DisplayName("Should report every DELETE of a trainer that does not exist as not found")
+        void shouldReportMissingTrainer() {
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(delta(
+                    event(LocalDate.of(2025, 1, 10), 1.0, ActionType.DELETE)), null);
+
+            assertThat(write.hasChanges()).isFalse();
+            assertThat(write.notFound()).containsExactly(0);
+        }
+
+        @Test
+        @DisplayName("Should create a trainer with its first ADD and let a later DELETE find the month")
+        void shouldCreateTrainerOnAdd() {
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(delta(
+                    event(LocalDate.of(2025, 1, 10), 3.0, ActionType.ADD),
+                    event(LocalDate.of(2025, 1, 11), 1.0, ActionType.DELETE)), null);
+
+            assertThat(write.version()).isNull();
+            assertThat(write.profile().getFirstName()).isEqualTo("John");
+            assertThat(write.hoursAfter()).containsEntry(YearMonth.of(2025, 1), 2.0);
+            assertThat(write.applied()).containsExactly(0, 1);
+            assertThat(write.notFound()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Event Deduplication")
+    class DeduplicationTests {
+
+        @Test
+        @DisplayName("Should skip events the trainer already recorded and record the applied ids")
+        void shouldSkipRecordedEvents() {
+            WorkloadDeltaAggregator aggregator = new WorkloadDeltaAggregator();
+            aggregator.add(event(LocalDate.of(2025, 1, 10), 1.0, ActionType.ADD), "event-1");
+            aggregator.add(event(LocalDate.of(2025, 1, 11), 2.0, ActionType.ADD), "event-2");
+            TrainerWorkload current = trainerWithMonth(2025, 1, 2.0);
+            current.recordProcessedEvent("event-1");
+
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(aggregator.toDeltas().get(0), current);
+
+            assertThat(write.duplicates()).containsExactly(0);
+            assertThat(write.applied()).containsExactly(1);
+            assertThat(write.processedEvents()).containsExactly("event-2");
+            assertThat(write.hoursAfter()).containsEntry(YearMonth.of(2025, 1), 4.0);
+        }
+
+        @Test
+        @DisplayName("Should apply an id repeated within the batch only once")
+        void shouldSkipRepeatedIdInBatch() {
+            WorkloadDeltaAggregator aggregator = new WorkloadDeltaAggregator();
+            aggregator.add(event(LocalDate.of(2025, 1, 10), 1.0, ActionType.ADD), "event-1");
+            aggregator.add(event(LocalDate.of(2025, 1, 10), 1.0, ActionType.ADD), "event-1");
+
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(aggregator.toDeltas().get(0), null);
+
+            assertThat(write.applied()).containsExactly(0);
+            assertThat(write.duplicates()).containsExactly(1);
+            assertThat(write.hoursAfter()).containsEntry(YearMonth.of(2025, 1), 1.0);
+        }
+
+        @Test
+        @DisplayName("Should not record an event that found nothing to delete")
+        void shouldNotRecordNotFoundEvent() {
+            WorkloadDeltaAggregator aggregator = new WorkloadDeltaAggregator();
+            aggregator.add(event(LocalDate.of(2025, 3, 10), 1.0, ActionType.DELETE), "event-1");
+
+            TrainerWorkloadWrite write = WorkloadDeltaPlanner.plan(aggregator.toDeltas().get(0),
+                    trainerWithMonth(2025, 1, 2.0));
+
+            assertThat(write.notFound()).containsExactly(0);
+            assertThat(write.processedEvents()).isEmpty();
+        }
+    }
+}
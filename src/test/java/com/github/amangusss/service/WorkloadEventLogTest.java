@@ -0,0 +1,186 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadEvent;
+import com.github.amangusss.entity.WorkloadEventType;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadEventRepository;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadEventLog Tests")
+class WorkloadEventLogTest {
+
+    private static final String TRANSACTION_ID = "event-log-tx";
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private WorkloadEventRepository repository;
+
+    @Mock
+    private TrainerWorkloadRepository workloadRepository;
+
+    @Captor
+    private ArgumentCaptor<List<WorkloadEvent>> eventsCaptor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WorkloadEventLog eventLog(boolean enabled) {
+        return new WorkloadEventLog(repository, workloadRepository, new WorkloadMetrics(meterRegistry), enabled, BATCH_SIZE);
+    }
+
+    private static TrainerWorkloadWrite write(String username, TrainerWorkload profile,
+                                              Map<YearMonth, Double> hoursBefore, Map<YearMonth, Double> hoursAfter) {
+        return new TrainerWorkloadWrite(username, 1L, profile, new TreeMap<>(hoursBefore), new TreeMap<>(hoursAfter),
+                Set.of(), List.of(0), List.of(), List.of(), List.of());
+    }
+
+    private static TrainerWorkloadDTO.Request.Create request(ActionType actionType) {
+        return new TrainerWorkloadDTO.Request.Create("john.doe", "John", "Doe", TrainerStatus.ACTIVE,
+                LocalDate.of(2025, 3, 10), 2.5, actionType);
+    }
+
+    @Nested
+    @DisplayName("Appending")
+    class AppendTests {
+
+        @Test
+        @DisplayName("Should log a single event with its month and requested hours")
+        void shouldAppendSingleEvent() {
+            eventLog(true).record(request(ActionType.DELETE), 2025, 3, 7L, TRANSACTION_ID);
+
+            verify(repository).insert(eventsCaptor.capture());
+            assertThat(eventsCaptor.getValue()).singleElement().satisfies(event -> {
+                assertThat(event.getType()).isEqualTo(WorkloadEventType.DELETE);
+                assertThat(event.getUsername()).isEqualTo("john.doe");
+                assertThat(event.getSequence()).isEqualTo(7L);
+                assertThat(event.getYears().get(2025).getMonths().get(3).getTotalHours()).isEqualTo(2.5);
+                assertThat(event.getTransactionId()).isEqualTo(TRANSACTION_ID);
+                assertThat(event.getRecordedAt()).isNotNull();
+            });
+        }
+
+        @Test
+        @DisplayName("Should log the hours each write changed with one insert, numbered with the version it wrote")
+        void shouldAppendWritesInOneInsert() {
+            TrainerWorkload profile = TrainerWorkload.builder().firstName("C").lastName("C").status(TrainerStatus.INACTIVE).build();
+            eventLog(true).record(List.of(
+                    write("a", null, Map.of(YearMonth.of(2025, 1), 0.0, YearMonth.of(2026, 2), 1.0),
+                            Map.of(YearMonth.of(2025, 1), 2.0)),
+                    write("b", null, Map.of(YearMonth.of(2025, 1), 1.0), Map.of(YearMonth.of(2025, 1), 1.0)),
+                    write("c", profile, Map.of(YearMonth.of(2025, 5), 0.0), Map.of(YearMonth.of(2025, 5), 1.0))),
+                    TRANSACTION_ID);
+
+            verify(repository).insert(eventsCaptor.capture());
+            assertThat(eventsCaptor.getValue()).extracting(WorkloadEvent::getUsername).containsExactly("a", "b", "c");
+            assertThat(eventsCaptor.getValue()).extracting(WorkloadEvent::getSequence).containsOnly(2L);
+            WorkloadEvent first = eventsCaptor.getValue().get(0);
+            assertThat(first.getType()).isEqualTo(WorkloadEventType.DELTA);
+            assertThat(first.getYears().get(2026).getMonths().get(2).getTotalHours()).isEqualTo(-1.0);
+            assertThat(first.getFirstName()).isNull();
+            assertThat(eventsCaptor.getValue().get(1).getYears()).isEmpty();
+            assertThat(eventsCaptor.getValue().get(2).getStatus()).isEqualTo(TrainerStatus.INACTIVE);
+        }
+
+        @Test
+        @DisplayName("Should not log anything when disabled")
+        void shouldSkipWhenDisabled() {
+            eventLog(false).record(request(ActionType.ADD), 2025, 3, 1L, TRANSACTION_ID);
+
+            verifyNoInteractions(repository);
+        }
+
+        @Test
+        @DisplayName("Should snapshot the trainers of a failed append instead of failing the write")
+        void shouldSnapshotWhenAppendFails() {
+            when(repository.insert(anyList()))
+                    .thenThrow(new DataAccessResourceFailureException("mongo down"))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+            when(workloadRepository.streamByUsernameIn(List.of("john.doe")))
+                    .thenReturn(Stream.of(TrainerWorkload.builder().username("john.doe").version(8L).build()));
+
+            eventLog(true).record(request(ActionType.ADD), 2025, 3, 7L, TRANSACTION_ID);
+
+            verify(repository, times(2)).insert(eventsCaptor.capture());
+            assertThat(eventsCaptor.getAllValues().get(1)).singleElement().satisfies(snapshot -> {
+                assertThat(snapshot.getType()).isEqualTo(WorkloadEventType.SNAPSHOT);
+                assertThat(snapshot.getSequence()).isEqualTo(8L);
+            });
+            assertThat(meterRegistry.find("workload.event.log.failures").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should count an append that no snapshot could cover")
+        void shouldCountUncoveredAppend() {
+            doThrow(new DataAccessResourceFailureException("mongo down")).when(repository).insert(anyList());
+            when(workloadRepository.streamByUsernameIn(List.of("john.doe")))
+                    .thenReturn(Stream.of(TrainerWorkload.builder().username("john.doe").version(8L).build()));
+
+            eventLog(true).record(request(ActionType.ADD), 2025, 3, 7L, TRANSACTION_ID);
+
+            assertThat(meterRegistry.get("workload.event.log.failures").counter().count()).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshots")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should snapshot every trainer in batches")
+        void shouldSnapshotInBatches() {
+            when(workloadRepository.streamAllBy()).thenReturn(Stream.of("a", "b", "c")
+                    .map(username -> TrainerWorkload.builder().username(username).version(3L).build()));
+            List<Integer> batches = new ArrayList<>();
+            doAnswer(invocation -> {
+                List<WorkloadEvent> batch = invocation.getArgument(0);
+                batches.add(batch.size());
+                assertThat(batch).allSatisfy(event -> {
+                    assertThat(event.getType()).isEqualTo(WorkloadEventType.SNAPSHOT);
+                    assertThat(event.getSequence()).isEqualTo(3L);
+                });
+                return batch;
+            }).when(repository).insert(anyList());
+
+            var result = eventLog(false).snapshot(TRANSACTION_ID);
+
+            assertThat(result.trainers()).isEqualTo(3);
+            assertThat(batches).containsExactly(2, 1);
+        }
+    }
+}
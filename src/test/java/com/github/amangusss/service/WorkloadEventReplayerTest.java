@@ -0,0 +1,368 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.cache.TrainerSummaryCache;
+import com.github.amangusss.cache.TrainerWorkloadCache;
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadDTO;
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.entity.Month;
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.TrainerWorkload;
+import com.github.amangusss.entity.WorkloadEvent;
+import com.github.amangusss.entity.WorkloadEventType;
+import com.github.amangusss.entity.YearSummary;
+import com.github.amangusss.mapper.TrainerWorkloadMapper;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadEventRepository;
+import com.github.amangusss.service.eventlog.WorkloadEventLog;
+import com.github.amangusss.service.eventlog.WorkloadEventReplayer;
+import com.github.amangusss.service.impl.TrainerWorkloadServiceImpl;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadEventReplayer Tests")
+class WorkloadEventReplayerTest {
+
+    private static final String TRANSACTION_ID = "replay-tx";
+
+    @Mock
+    private WorkloadEventRepository eventRepository;
+
+    @Mock
+    private TrainerWorkloadRepository workloadRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TrainerWorkloadCache workloadCache = new TrainerWorkloadCache(registry, true, 100, 10);
+    private final Map<String, TrainerWorkload> written = new ConcurrentHashMap<>();
+
+    private WorkloadEventReplayer replayer(int parallelism, int batchSize) {
+        return new WorkloadEventReplayer(eventRepository, workloadRepository, workloadCache,
+                new TrainerSummaryCache(registry, true, 100, 60), new WorkloadThreads(false),
+                parallelism, batchSize);
+    }
+
+    private static WorkloadEvent entry(WorkloadEventType type, String username, long sequence, int month, double hours) {
+        YearSummary year = new YearSummary();
+        year.getMonths().put(month, MonthSummary.builder().totalHours(hours).build());
+        return WorkloadEvent.builder()
+                .type(type)
+                .username(username)
+                .sequence(sequence)
+                .status(TrainerStatus.ACTIVE)
+                .years(new TreeMap<>(Map.of(2025, year)))
+                .build();
+    }
+
+    private static WorkloadEvent add(String username, long sequence, int month, double hours) {
+        return entry(WorkloadEventType.ADD, username, sequence, month, hours);
+    }
+
+    private static WorkloadEvent snapshot(String username, long sequence, int month, double hours) {
+        return entry(WorkloadEventType.SNAPSHOT, username, sequence, month, hours);
+    }
+
+    private static double hours(TrainerWorkload workload, int month) {
+        return workload.getYears().get(2025).getMonths().get(month).getTotalHours();
+    }
+
+    /**
+     * Serves the log the way the repository does: each trainer's entries in sequence order, from
+     * its latest snapshot on or from the start when it has none.
+     */
+    @SuppressWarnings("unchecked")
+    private void serveLog(Map<String, List<WorkloadEvent>> log) {
+        when(eventRepository.findUsernames()).thenAnswer(invocation -> new ArrayList<>(log.keySet()));
+        when(eventRepository.streamFromLatestSnapshot(anyCollection(), anyInt())).thenAnswer(invocation ->
+                ((Collection<String>) invocation.getArgument(0)).stream().sorted().flatMap(username -> {
+                    List<WorkloadEvent> entries = log.getOrDefault(username, List.of()).stream()
+                            .sorted(Comparator.comparing(WorkloadEvent::getSequence))
+                            .toList();
+                    long from = entries.stream()
+                            .filter(entry -> entry.getType() == WorkloadEventType.SNAPSHOT)
+                            .mapToLong(WorkloadEvent::getSequence)
+                            .max()
+                            .orElse(0L);
+                    return entries.stream().filter(entry -> entry.getType() == WorkloadEventType.SNAPSHOT
+                            ? entry.getSequence() == from
+                            : entry.getSequence() > from);
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectWrites(String... moved) {
+        doAnswer(invocation -> {
+            ((Collection<TrainerWorkload>) invocation.getArgument(0)).stream()
+                    .filter(workload -> !List.of(moved).contains(workload.getUsername()))
+                    .forEach(workload -> written.put(workload.getUsername(), workload));
+            return Set.of(moved);
+        }).when(workloadRepository).replaceHistories(anyCollection());
+    }
+
+    @Nested
+    @DisplayName("Replay")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should rebuild every logged trainer across partitions from its latest snapshot")
+        void shouldRebuildEveryTrainer() {
+            serveLog(Map.of(
+                    "a", List.of(snapshot("a", 3, 1, 9.0), add("a", 4, 1, 4.0), snapshot("a", 4, 1, 0.5),
+                            add("a", 5, 1, 1.0), add("a", 6, 1, 2.0)),
+                    "b", List.of(snapshot("b", 1, 2, 0.0), add("b", 2, 2, 4.0)),
+                    "c", List.of(snapshot("c", 9, 3, 5.0)),
+                    "d", List.of(snapshot("d", 2, 4, 1.0), add("d", 3, 4, 6.0))));
+            collectWrites();
+            workloadCache.put(TrainerWorkload.builder().username("a").build());
+
+            var result = replayer(2, 1).replay(TRANSACTION_ID);
+
+            assertThat(result.partitions()).isEqualTo(2);
+            assertThat(result.trainers()).isEqualTo(4);
+            assertThat(result.refused()).isZero();
+            assertThat(result.events()).isEqualTo(8);
+            assertThat(written).containsOnlyKeys("a", "b", "c", "d");
+            assertThat(hours(written.get("a"), 1)).isEqualTo(3.5);
+            assertThat(hours(written.get("d"), 4)).isEqualTo(7.0);
+            assertThat(written.get("a").getVersion()).isEqualTo(6L);
+            assertThat(written.get("c").getVersion()).isEqualTo(9L);
+            assertThat(workloadCache.get("a")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should replay a trainer without a snapshot from an empty history")
+        void shouldReplayFromGenesis() {
+            serveLog(Map.of("a", List.of(add("a", 1, 1, 1.0), add("a", 2, 1, 2.0))));
+            collectWrites();
+
+            var result = replayer(1, 10).replay(TRANSACTION_ID);
+
+            assertThat(result.trainers()).isEqualTo(1);
+            assertThat(result.refused()).isZero();
+            assertThat(hours(written.get("a"), 1)).isEqualTo(3.0);
+            assertThat(written.get("a").getVersion()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Should fold entries in sequence order, not in the order they were stored")
+        void shouldFollowSequenceOrder() {
+            WorkloadEvent delete = entry(WorkloadEventType.DELETE, "a", 2, 1, 5.0);
+            serveLog(Map.of("a", List.of(add("a", 3, 1, 4.0), delete, add("a", 1, 1, 2.0))));
+            collectWrites();
+
+            replayer(1, 10).replay(TRANSACTION_ID);
+
+            assertThat(hours(written.get("a"), 1)).isEqualTo(4.0);
+        }
+
+        @Test
+        @DisplayName("Should refuse a trainer whose log has a gap since its latest snapshot")
+        void shouldRefuseTrainerWithGap() {
+            serveLog(Map.of(
+                    "a", List.of(add("a", 2, 1, 1.0)),
+                    "b", List.of(snapshot("b", 4, 2, 3.0), add("b", 5, 2, 1.0), add("b", 7, 2, 1.0)),
+                    "c", List.of(snapshot("c", 2, 3, 3.0), add("c", 3, 3, 1.0))));
+            collectWrites();
+
+            var result = replayer(1, 10).replay(TRANSACTION_ID);
+
+            assertThat(result.trainers()).isEqualTo(1);
+            assertThat(result.refused()).isEqualTo(2);
+            assertThat(written).containsOnlyKeys("c");
+        }
+
+        @Test
+        @DisplayName("Should report trainers written past their rebuilt version as skipped")
+        void shouldReportSkippedTrainers() {
+            serveLog(Map.of(
+                    "a", List.of(snapshot("a", 1, 1, 1.0)),
+                    "b", List.of(snapshot("b", 1, 2, 3.0))));
+            collectWrites("b");
+
+            var result = replayer(1, 10).replay(TRANSACTION_ID);
+
+            assertThat(result.trainers()).isEqualTo(1);
+            assertThat(result.skipped()).isEqualTo(1);
+            assertThat(result.refused()).isZero();
+            assertThat(written).containsOnlyKeys("a");
+        }
+
+        @Test
+        @DisplayName("Should do nothing for an empty log")
+        void shouldHandleEmptyLog() {
+            when(eventRepository.findUsernames()).thenReturn(List.of());
+
+            var result = replayer(4, 10).replay(TRANSACTION_ID);
+
+            assertThat(result.trainers()).isZero();
+            assertThat(result.partitions()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should propagate a failed partition")
+        void shouldPropagateFailure() {
+            when(eventRepository.findUsernames()).thenReturn(List.of("a"));
+            when(eventRepository.streamFromLatestSnapshot(anyCollection(), anyInt())).thenReturn(Stream.of(snapshot("a", 1, 1, 1.0)));
+            doThrow(new IllegalStateException("mongo down")).when(workloadRepository).replaceHistories(anyCollection());
+
+            assertThatThrownBy(() -> replayer(2, 10).replay(TRANSACTION_ID))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("mongo down");
+        }
+    }
+
+    /**
+     * The service, log and replayer run for real against in-memory stores: trainers hold hours
+     * recorded before the log was enabled, and the append of an event fails.
+     */
+    @Nested
+    @DisplayName("Pre-log History")
+    class PreLogHistoryTests {
+
+        private final Map<String, TrainerWorkload> store = new ConcurrentHashMap<>();
+        private final List<WorkloadEvent> log = new ArrayList<>();
+        private final AtomicBoolean failNextAppend = new AtomicBoolean();
+
+        @Test
+        @DisplayName("Should not lose pre-log hours or the hours of an event whose append failed")
+        void shouldKeepHoursAfterFailedAppend() {
+            store.put("john.doe", trainer("john.doe", 10.0, 5L));
+            store.put("jane.doe", trainer("jane.doe", 8.0, 5L));
+            WorkloadMetrics metrics = new WorkloadMetrics(registry);
+            WorkloadEventLog eventLog = new WorkloadEventLog(eventRepository, workloadRepository, metrics, true, 10);
+            TrainerWorkloadServiceImpl service = service(metrics, eventLog);
+            serveStores();
+
+            eventLog.snapshot(TRANSACTION_ID);
+            log.removeIf(entry -> entry.getUsername().equals("jane.doe"));
+
+            failNextAppend.set(true);
+            service.obtainWorkload(addRequest("john.doe"), null, TRANSACTION_ID);
+            service.obtainWorkload(addRequest("john.doe"), null, TRANSACTION_ID);
+            service.obtainWorkload(addRequest("jane.doe"), null, TRANSACTION_ID);
+            store.get("john.doe").getYears().clear();
+
+            var result = replayer(2, 10).replay(TRANSACTION_ID);
+
+            assertThat(result.trainers()).isEqualTo(1);
+            assertThat(result.refused()).isEqualTo(1);
+            assertThat(hours(store.get("john.doe"), 3)).isEqualTo(14.0);
+            assertThat(store.get("john.doe").getVersion()).isEqualTo(7L);
+            assertThat(hours(store.get("jane.doe"), 3)).isEqualTo(10.0);
+            assertThat(registry.find("workload.event.log.failures").counter()).isNull();
+        }
+
+        private TrainerWorkloadServiceImpl service(WorkloadMetrics metrics, WorkloadEventLog eventLog) {
+            return new TrainerWorkloadServiceImpl(
+                    workloadRepository,
+                    mock(TrainerWorkloadMapper.class),
+                    new WorkloadWriteRetrier(metrics, 3, 0, 0),
+                    new TrainerWorkloadCache(registry, false, 100, 10),
+                    new TrainerSummaryCache(registry, false, 100, 60),
+                    metrics,
+                    mock(WorkloadRollupUpdater.class),
+                    eventLog);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void serveStores() {
+            serveLog(new LogView());
+            doAnswer(invocation -> {
+                if (failNextAppend.getAndSet(false)) {
+                    throw new DataAccessResourceFailureException("mongo down");
+                }
+                List<WorkloadEvent> entries = invocation.getArgument(0);
+                entries.forEach(entry -> entry.setId(String.valueOf(log.size())));
+                log.addAll(entries);
+                return entries;
+            }).when(eventRepository).insert(anyList());
+            when(workloadRepository.streamAllBy()).thenAnswer(invocation -> store.values().stream().map(this::copy));
+            when(workloadRepository.streamByUsernameIn(anyCollection())).thenAnswer(invocation ->
+                    invocation.<Collection<String>>getArgument(0).stream().map(store::get).map(this::copy));
+            when(workloadRepository.incrementMonthHours(any(TrainerWorkload.class), any(), anyInt(), any(Month.class), anyDouble()))
+                    .thenAnswer(invocation -> {
+                        TrainerWorkload workload = store.get(invocation.<TrainerWorkload>getArgument(0).getUsername());
+                        MonthSummary month = workload.getYears().get(invocation.<Integer>getArgument(2)).getMonths()
+                                .get(invocation.<Month>getArgument(3).getValue());
+                        month.setTotalHours(month.getTotalHours() + invocation.<Double>getArgument(4));
+                        workload.setVersion(workload.getVersion() + 1);
+                        return Optional.of(copy(workload));
+                    });
+            doAnswer(invocation -> {
+                ((Collection<TrainerWorkload>) invocation.getArgument(0)).forEach(workload -> store.put(workload.getUsername(), workload));
+                return Set.of();
+            }).when(workloadRepository).replaceHistories(anyCollection());
+        }
+
+        private TrainerWorkload copy(TrainerWorkload workload) {
+            return trainer(workload.getUsername(), hours(workload, 3), workload.getVersion());
+        }
+
+        private TrainerWorkload trainer(String username, double hours, long version) {
+            TreeMap<Integer, MonthSummary> months = new TreeMap<>(Map.of(3, MonthSummary.builder().totalHours(hours).build()));
+            return TrainerWorkload.builder()
+                    .username(username)
+                    .firstName("John")
+                    .lastName("Doe")
+                    .status(TrainerStatus.ACTIVE)
+                    .years(new TreeMap<>(Map.of(2025, YearSummary.builder().months(months).build())))
+                    .version(version)
+                    .build();
+        }
+
+        private TrainerWorkloadDTO.Request.Create addRequest(String username) {
+            return new TrainerWorkloadDTO.Request.Create(username, "John", "Doe", TrainerStatus.ACTIVE,
+                    LocalDate.of(2025, 3, 10), 2.0, ActionType.ADD);
+        }
+
+        /**
+         * Groups the in-memory log by trainer on every read, so entries appended later are served.
+         */
+        private class LogView extends java.util.AbstractMap<String, List<WorkloadEvent>> {
+
+            @Override
+            public Set<Entry<String, List<WorkloadEvent>>> entrySet() {
+                Map<String, List<WorkloadEvent>> byUsername = new TreeMap<>();
+                log.forEach(entry -> byUsername.computeIfAbsent(entry.getUsername(), key -> new ArrayList<>()).add(entry));
+                return byUsername.entrySet();
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.entity.MonthSummary;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.entity.WorkloadEvent;
+import com.github.amangusss.entity.WorkloadEventType;
+import com.github.amangusss.entity.YearSummary;
+import com.github.amangusss.service.eventlog.WorkloadProjection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WorkloadProjection Tests")
+class WorkloadProjectionTest {
+
+    private static final String USERNAME = "john.doe";
+
+    private static WorkloadEvent event(WorkloadEventType type, TrainerStatus status, Map<Integer, Map<Integer, Double>> hours) {
+        SortedMap<Integer, YearSummary> years = new TreeMap<>();
+        hours.forEach((year, months) -> {
+            YearSummary yearSummary = new YearSummary();
+            months.forEach((month, total) -> yearSummary.getMonths().put(month, MonthSummary.builder().totalHours(total).build()));
+            years.put(year, yearSummary);
+        });
+        return WorkloadEvent.builder()
+                .type(type)
+                .username(USERNAME)
+                .firstName("John")
+                .lastName("Doe")
+                .status(status)
+                .years(years)
+                .build();
+    }
+
+    private static WorkloadEvent event(WorkloadEventType type, int year, int month, double hours) {
+        return event(type, TrainerStatus.ACTIVE, Map.of(year, Map.of(month, hours)));
+    }
+
+    private static Map<Integer, Double> months(WorkloadProjection projection, int year) {
+        Map<Integer, Double> months = new TreeMap<>();
+        YearSummary yearSummary = projection.toWorkload().getYears().get(year);
+        if (yearSummary != null) {
+            yearSummary.getMonths().forEach((month, summary) -> months.put(month, summary.getTotalHours()));
+        }
+        return months;
+    }
+
+    @Nested
+    @DisplayName("Single Events")
+    class SingleEventTests {
+
+        @Test
+        @DisplayName("Should add hours and subtract them down to removing the month and year")
+        void shouldAddAndDelete() {
+            WorkloadProjection projection = new WorkloadProjection(USERNAME);
+
+            projection.apply(event(WorkloadEventType.ADD, 2025, 1, 3.0));
+            projection.apply(event(WorkloadEventType.ADD, 2025, 1, 2.0));
+            projection.apply(event(WorkloadEventType.DELETE, 2025, 1, 1.5));
+
+            assertThat(projection.exists()).isTrue();
+            assertThat(months(projection, 2025)).containsExactly(Map.entry(1, 3.5));
+
+            projection.apply(event(WorkloadEventType.DELETE, 2025, 1, 10.0));
+
+            assertThat(projection.toWorkload().getYears()).isEmpty();
+            assertThat(projection.exists()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should ignore deletes of unknown trainers and months")
+        void shouldIgnoreUnknownDeletes() {
+            WorkloadProjection projection = new WorkloadProjection(USERNAME);
+
+            projection.apply(event(WorkloadEventType.DELETE, 2025, 1, 1.0));
+            assertThat(projection.exists()).isFalse();
+
+            projection.apply(event(WorkloadEventType.ADD, 2025, 1, 1.0));
+            projection.apply(event(WorkloadEventType.DELETE, 2025, 2, 1.0));
+            assertThat(months(projection, 2025)).containsExactly(Map.entry(1, 1.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Deltas and Snapshots")
+    class DeltaAndSnapshotTests {
+
+        @Test
+        @DisplayName("Should apply signed deltas and refresh the profile")
+        void shouldApplyDeltas() {
+            WorkloadProjection projection = new WorkloadProjection(USERNAME);
+            projection.apply(event(WorkloadEventType.ADD, 2025, 1, 2.0));
+
+            projection.apply(event(WorkloadEventType.DELTA, TrainerStatus.INACTIVE,
+                    Map.of(2025, Map.of(1, -2.0, 2, 4.0))));
+
+            assertThat(months(projection, 2025)).containsExactly(Map.entry(2, 4.0));
+            assertThat(projection.toWorkload().getStatus()).isEqualTo(TrainerStatus.INACTIVE);
+        }
+
+        @Test
+        @DisplayName("Should not create a trainer from a delta without a profile")
+        void shouldIgnoreRemovalOnlyDeltaOfUnknownTrainer() {
+            WorkloadProjection projection = new WorkloadProjection(USERNAME);
+
+            WorkloadEvent removal = event(WorkloadEventType.DELTA, null, Map.of(2025, Map.of(1, -2.0)));
+            removal.setFirstName(null);
+            removal.setLastName(null);
+            projection.apply(removal);
+
+            assertThat(projection.exists()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should keep the profile for a delta without one")
+        void shouldKeepProfileForDeltaWithoutOne() {
+            WorkloadProjection projection = new WorkloadProjection(USERNAME);
+            projection.apply(event(WorkloadEventType.ADD, 2025, 1, 3.0));
+
+            WorkloadEvent removal = event(WorkloadEventType.DELTA, null, Map.of(2025, Map.of(1, -1.0)));
+            removal.setFirstName(null);
+            removal.setLastName(null);
+            projection.apply(removal);
+
+            assertThat(months(projection, 2025)).containsExactly(Map.entry(1, 2.0));
+            assertThat(projection.toWorkload().getFirstName()).isEqualTo("John");
+            assertThat(projection.toWorkload().getStatus()).isEqualTo(TrainerStatus.ACTIVE);
+        }
+
+        @Test
+        @DisplayName("Should restart from a snapshot")
+        void shouldRestartFromSnapshot() {
+            WorkloadProjection projection = new WorkloadProjection(USERNAME);
+            projection.apply(event(WorkloadEventType.ADD, 2024, 12, 9.0));
+
+            projection.apply(event(WorkloadEventType.SNAPSHOT, 2025, 3, 5.0));
+            projection.apply(event(WorkloadEventType.ADD, 2025, 3, 1.0));
+
+            assertThat(projection.toWorkload().getYears()).containsOnlyKeys(2025);
+            assertThat(months(projection, 2025)).containsExactly(Map.entry(3, 6.0));
+        }
+
+        @Test
+        @DisplayName("Should version the folded trainer with the sequence of its last entry")
+        void shouldVersionWithLastSequence() {
+            WorkloadProjection projection = new WorkloadProjection(USERNAME);
+            WorkloadEvent snapshot = event(WorkloadEventType.SNAPSHOT, 2025, 3, 5.0);
+            snapshot.setSequence(4L);
+            WorkloadEvent add = event(WorkloadEventType.ADD, 2025, 3, 1.0);
+            add.setSequence(5L);
+
+            projection.apply(snapshot);
+            projection.apply(add);
+
+            assertThat(projection.sequence()).isEqualTo(5L);
+            assertThat(projection.toWorkload().getVersion()).isEqualTo(5L);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.report.WorkloadReportDTO;
+import com.github.amangusss.entity.TrainerStatus;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadRollupRepository;
+import com.github.amangusss.service.impl.WorkloadReportServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadReportServiceImpl Tests")
+class WorkloadReportServiceImplTest {
+
+    private static final String TRANSACTION_ID = "report-tx";
+    private static final int MAX_PAGE_SIZE = 50;
+
+    @Mock
+    private TrainerWorkloadRepository repository;
+
+    @Mock
+    private WorkloadRollupRepository rollupRepository;
+
+    private WorkloadReportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new WorkloadReportServiceImpl(repository, rollupRepository, new WorkloadMetrics(new SimpleMeterRegistry()), MAX_PAGE_SIZE, 100);
+    }
+
+    private List<WorkloadReportDTO.TrainerTotal> totals(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new WorkloadReportDTO.TrainerTotal("trainer" + i, "John", "Doe", TrainerStatus.ACTIVE, 100.0 - i))
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Trainer Totals Paging")
+    class TrainerTotalsPagingTests {
+
+        @Test
+        @DisplayName("Should read one extra trainer to detect a next page")
+        void shouldDetectNextPage() {
+            when(repository.aggregateTrainerTotals(2025, TrainerStatus.ACTIVE, 20, 11)).thenReturn(totals(11));
+
+            var page = service.getTrainerTotals(2025, TrainerStatus.ACTIVE, 2, 10, TRANSACTION_ID);
+
+            assertThat(page.items()).hasSize(10);
+            assertThat(page.hasMore()).isTrue();
+            assertThat(page.page()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should report the last page")
+        void shouldReportLastPage() {
+            when(repository.aggregateTrainerTotals(2025, null, 0, 11)).thenReturn(totals(3));
+
+            var page = service.getTrainerTotals(2025, null, 0, 10, TRANSACTION_ID);
+
+            assertThat(page.items()).hasSize(3);
+            assertThat(page.hasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should refuse page sizes above the configured maximum")
+        void shouldRefuseOversizedPage() {
+            assertThatThrownBy(() -> service.getTrainerTotals(2025, null, 0, MAX_PAGE_SIZE + 1, TRANSACTION_ID))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.getTrainerTotals(2025, null, -1, 10, TRANSACTION_ID))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(repository, never()).aggregateTrainerTotals(anyInt(), any(), anyLong(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Monthly Totals")
+    class MonthlyTotalsTests {
+
+        @Test
+        @DisplayName("Should return the totals aggregated by the repository")
+        void shouldReturnMonthlyTotals() {
+            var totals = List.of(new WorkloadReportDTO.MonthlyTotal(1, 12.5, 3));
+            when(repository.aggregateMonthlyTotals(2025, TrainerStatus.ACTIVE)).thenReturn(totals);
+
+            assertThat(service.getMonthlyTotals(2025, TrainerStatus.ACTIVE, TRANSACTION_ID)).isEqualTo(totals);
+        }
+    }
+
+    @Nested
+    @DisplayName("Monthly Hours From Rollups")
+    class MonthlyHoursTests {
+
+        private WorkloadMonthlyRollup rollup(int month, double hours) {
+            return WorkloadMonthlyRollup.builder()
+                    .id(WorkloadMonthlyRollup.idOf(2025, month))
+                    .year(2025).month(month).totalHours(hours)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should read months with hours from the rollups when no status is given")
+        void shouldReadRollups() {
+            when(rollupRepository.findByYearOrderByMonth(2025)).thenReturn(List.of(
+                    rollup(1, 7.0),
+                    rollup(2, 0.0),
+                    rollup(3, 4.0)));
+
+            assertThat(service.getMonthlyHours(2025, null, TRANSACTION_ID)).containsExactly(
+                    new WorkloadReportDTO.MonthlyHours(1, 7.0),
+                    new WorkloadReportDTO.MonthlyHours(3, 4.0));
+            verifyNoInteractions(repository);
+        }
+
+        @Test
+        @DisplayName("Should aggregate trainers by their current status when a status is given")
+        void shouldAggregateByCurrentStatus() {
+            when(repository.aggregateMonthlyTotals(2025, TrainerStatus.INACTIVE)).thenReturn(List.of(
+                    new WorkloadReportDTO.MonthlyTotal(1, 2.0, 1),
+                    new WorkloadReportDTO.MonthlyTotal(2, 0.0, 1)));
+
+            assertThat(service.getMonthlyHours(2025, TrainerStatus.INACTIVE, TRANSACTION_ID))
+                    .containsExactly(new WorkloadReportDTO.MonthlyHours(1, 2.0));
+            verifyNoInteractions(rollupRepository);
+        }
+    }
+}
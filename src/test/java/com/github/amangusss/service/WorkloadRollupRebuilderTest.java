@@ -0,0 +1,101 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.config.WorkloadThreads;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.repository.TrainerWorkloadRepository;
+import com.github.amangusss.repository.WorkloadRollupRepository;
+import com.github.amangusss.service.rollup.WorkloadRollupRebuilder;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadRollupRebuilder Tests")
+class WorkloadRollupRebuilderTest {
+
+    private static final String TRANSACTION_ID = "rebuild-tx";
+
+    @Mock
+    private TrainerWorkloadRepository workloadRepository;
+
+    @Mock
+    private WorkloadRollupRepository rollupRepository;
+
+    @Mock
+    private WorkloadRollupUpdater rollupUpdater;
+
+    private WorkloadRollupRebuilder rebuilder;
+
+    private final Set<WorkloadMonthlyRollup.Key> stale = Set.of(new WorkloadMonthlyRollup.Key(2025, 1));
+
+    @BeforeEach
+    void setUp() {
+        rebuilder = new WorkloadRollupRebuilder(workloadRepository, rollupRepository, rollupUpdater,
+                new WorkloadThreads(false), 2);
+        lenient().when(rollupUpdater.staleRollups()).thenReturn(stale);
+    }
+
+    private static WorkloadMonthlyRollup rollup(int year, int month, double hours) {
+        return WorkloadMonthlyRollup.builder().year(year).month(month).totalHours(hours).build();
+    }
+
+    @Nested
+    @DisplayName("Rebuild")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should replace each year's rollups, remove years without hours and clear stale rollups")
+        void shouldReplaceEveryYear() {
+            when(workloadRepository.findYears()).thenReturn(List.of(2024, 2025));
+            when(workloadRepository.aggregateRollups(2024)).thenReturn(List.of(rollup(2024, 12, 3.0)));
+            when(workloadRepository.aggregateRollups(2025)).thenReturn(List.of(
+                    rollup(2025, 1, 5.0),
+                    rollup(2025, 2, 2.0)));
+            when(rollupRepository.deleteYearsOtherThan(List.of(2024, 2025))).thenReturn(1L);
+
+            var result = rebuilder.rebuild(TRANSACTION_ID);
+
+            assertThat(result.years()).isEqualTo(2);
+            assertThat(result.rollups()).isEqualTo(3);
+            assertThat(result.removed()).isEqualTo(1);
+            verify(rollupRepository).replaceYear(eq(2024), argThat(rollups ->
+                    rollups.iterator().next().getId().equals("2024-12")));
+            verify(rollupRepository).replaceYear(eq(2025), argThat(rollups -> rollups.size() == 2));
+            verify(rollupUpdater).rebuilt(stale);
+        }
+
+        @Test
+        @DisplayName("Should propagate a failed year and keep stale years in place")
+        void shouldPropagateFailure() {
+            when(workloadRepository.findYears()).thenReturn(List.of(2025));
+            when(workloadRepository.aggregateRollups(anyInt())).thenThrow(new IllegalStateException("mongo down"));
+
+            assertThatThrownBy(() -> rebuilder.rebuild(TRANSACTION_ID))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("mongo down");
+
+            verify(rollupRepository, never()).deleteYearsOtherThan(anyCollection());
+            verify(rollupUpdater, never()).rebuilt(anyCollection());
+        }
+    }
+}
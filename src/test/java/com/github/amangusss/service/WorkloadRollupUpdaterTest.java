@@ -0,0 +1,175 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.dto.trainerWorkload.TrainerWorkloadWrite;
+import com.github.amangusss.entity.WorkloadMonthlyRollup;
+import com.github.amangusss.exception.RollupWriteException;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.repository.WorkloadRollupRepository;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+import com.github.amangusss.service.rollup.WorkloadRollupUpdater;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkloadRollupUpdater Tests")
+class WorkloadRollupUpdaterTest {
+
+    private static final String TRANSACTION_ID = "rollup-tx";
+
+    @Mock
+    private WorkloadRollupRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WorkloadRollupUpdater updater(boolean enabled) {
+        WorkloadMetrics metrics = new WorkloadMetrics(meterRegistry);
+        return new WorkloadRollupUpdater(repository, new WorkloadWriteRetrier(metrics, 3, 0, 0), metrics, enabled);
+    }
+
+    private static TrainerWorkloadWrite write(String username, Map<YearMonth, Double> hoursBefore,
+                                              Map<YearMonth, Double> hoursAfter) {
+        return new TrainerWorkloadWrite(username, 1L, null, new TreeMap<>(hoursBefore), new TreeMap<>(hoursAfter),
+                Set.of(), List.of(0), List.of(), List.of(), List.of());
+    }
+
+    private double counter(String name, String action) {
+        var counter = meterRegistry.find(name).tag("action", action).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Nested
+    @DisplayName("Increments")
+    class IncrementTests {
+
+        @Test
+        @DisplayName("Should increment the rollup of a single event's month")
+        void shouldIncrementSingleRollup() {
+            updater(true).record(2025, 3, -1.5, TRANSACTION_ID);
+
+            verify(repository).incrementHours(Map.of(new WorkloadMonthlyRollup.Key(2025, 3), -1.5));
+        }
+
+        @Test
+        @DisplayName("Should merge the writes of many trainers into one increment per month")
+        void shouldMergeWritesByMonth() {
+            updater(true).record(List.of(
+                    write("a", Map.of(YearMonth.of(2025, 1), 0.0, YearMonth.of(2025, 2), 1.0),
+                            Map.of(YearMonth.of(2025, 1), 2.0, YearMonth.of(2025, 2), 1.0)),
+                    write("b", Map.of(YearMonth.of(2025, 1), 1.0), Map.of(YearMonth.of(2025, 1), 4.0)),
+                    write("c", Map.of(YearMonth.of(2025, 1), 0.0, YearMonth.of(2025, 4), 0.0),
+                            Map.of(YearMonth.of(2025, 1), 1.0, YearMonth.of(2025, 4), 2.0))),
+                    TRANSACTION_ID);
+
+            verify(repository).incrementHours(Map.of(
+                    new WorkloadMonthlyRollup.Key(2025, 1), 6.0,
+                    new WorkloadMonthlyRollup.Key(2025, 4), 2.0));
+        }
+
+        @Test
+        @DisplayName("Should only subtract the hours a month held when a batch removed more")
+        void shouldSubtractClampedHours() {
+            updater(true).record(List.of(write("a", Map.of(YearMonth.of(2025, 1), 2.0), Map.of())), TRANSACTION_ID);
+
+            verify(repository).incrementHours(Map.of(new WorkloadMonthlyRollup.Key(2025, 1), -2.0));
+        }
+
+        @Test
+        @DisplayName("Should skip zero-hour events and disabled rollups")
+        void shouldSkipNoOps() {
+            updater(true).record(2025, 3, 0.0, TRANSACTION_ID);
+            updater(false).record(2025, 3, 1.0, TRANSACTION_ID);
+
+            verifyNoInteractions(repository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should retry only the rollups a racing upsert did not increment")
+        void shouldRetryUnappliedRollups() {
+            WorkloadMonthlyRollup.Key january = new WorkloadMonthlyRollup.Key(2025, 1);
+            WorkloadMonthlyRollup.Key february = new WorkloadMonthlyRollup.Key(2025, 2);
+            doThrow(new RollupWriteException(Set.of(january.id()), new DuplicateKeyException("duplicate key")))
+                    .when(repository).incrementHours(Map.of(january, 2.0, february, 3.0));
+
+            updater(true).record(List.of(write("a",
+                    Map.of(YearMonth.of(2025, 1), 0.0, YearMonth.of(2025, 2), 0.0),
+                    Map.of(YearMonth.of(2025, 1), 2.0, YearMonth.of(2025, 2), 3.0))), TRANSACTION_ID);
+
+            verify(repository).incrementHours(Map.of(february, 3.0));
+            assertThat(counter("workload.write.retries", WorkloadMetrics.ACTION_ROLLUP)).isEqualTo(1.0);
+            assertThat(meterRegistry.find("workload.rollup.failures").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should count a rollup that still fails after all retries")
+        void shouldCountExhaustedRetries() {
+            doThrow(new DuplicateKeyException("duplicate key")).when(repository).incrementHours(anyMap());
+
+            updater(true).record(2025, 3, 1.0, TRANSACTION_ID);
+
+            verify(repository, times(3)).incrementHours(anyMap());
+            assertThat(counter("workload.write.retries.exhausted", WorkloadMetrics.ACTION_ROLLUP)).isEqualTo(1.0);
+            assertThat(meterRegistry.get("workload.rollup.failures").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should count a failed increment without retrying it or failing the trainer write")
+        void shouldCountFailure() {
+            doThrow(new DataAccessResourceFailureException("mongo down")).when(repository).incrementHours(anyMap());
+
+            updater(true).record(2025, 3, 1.0, TRANSACTION_ID);
+
+            verify(repository).incrementHours(anyMap());
+            assertThat(meterRegistry.get("workload.rollup.failures").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should report the hours and rollups a failed update left out until they are rebuilt")
+        void shouldReportStaleRollups() {
+            WorkloadMonthlyRollup.Key january = new WorkloadMonthlyRollup.Key(2025, 1);
+            WorkloadMonthlyRollup.Key february = new WorkloadMonthlyRollup.Key(2025, 2);
+            doThrow(new RollupWriteException(Set.of(january.id()), new DataAccessResourceFailureException("mongo down")))
+                    .when(repository).incrementHours(anyMap());
+            WorkloadRollupUpdater updater = updater(true);
+
+            updater.record(List.of(write("a",
+                    Map.of(YearMonth.of(2025, 1), 0.0, YearMonth.of(2025, 2), 5.0),
+                    Map.of(YearMonth.of(2025, 1), 2.0, YearMonth.of(2025, 2), 2.0))), TRANSACTION_ID);
+
+            assertThat(updater.staleRollups()).containsExactly(february);
+            assertThat(meterRegistry.get("workload.rollup.drift").counter().count()).isEqualTo(3.0);
+            assertThat(meterRegistry.get("workload.rollups.stale").gauge().value()).isEqualTo(1.0);
+
+            updater.rebuilt(Set.of(february));
+
+            assertThat(updater.staleRollups()).isEmpty();
+            assertThat(meterRegistry.get("workload.rollups.stale").gauge().value()).isZero();
+        }
+    }
+}
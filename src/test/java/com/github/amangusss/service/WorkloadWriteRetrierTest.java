@@ -0,0 +1,138 @@
+package com.github.amangusss.service;
+
+import com.github.amangusss.entity.ActionType;
+import com.github.amangusss.metrics.WorkloadMetrics;
+import com.github.amangusss.service.retry.WorkloadWriteRetrier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WorkloadWriteRetrier Tests")
+class WorkloadWriteRetrierTest {
+
+    private static final String USERNAME = "john.doe";
+    private static final String TRANSACTION_ID = "test-transaction-id";
+
+    private SimpleMeterRegistry registry;
+    private WorkloadWriteRetrier retrier;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        retrier = new WorkloadWriteRetrier(new WorkloadMetrics(registry), 3, 1, 2);
+    }
+
+    private double retries() {
+        var counter = registry.find("workload.write.retries")
+                .tag("action", ActionType.DELETE.getCode())
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private double exhausted() {
+        var counter = registry.find("workload.write.retries.exhausted")
+                .tag("action", ActionType.DELETE.getCode())
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Nested
+    @DisplayName("Execute")
+    class ExecuteTests {
+
+        @Test
+        @DisplayName("Should run operation once when there is no conflict")
+        void shouldRunOnceWithoutConflict() {
+            var calls = new AtomicInteger();
+
+            var result = retrier.execute(USERNAME, ActionType.DELETE, TRANSACTION_ID, calls::incrementAndGet);
+
+            assertThat(result).isEqualTo(1);
+            assertThat(retries()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should retry on optimistic locking failure and count the retry")
+        void shouldRetryOnOptimisticLockingFailure() {
+            var calls = new AtomicInteger();
+
+            retrier.execute(USERNAME, ActionType.DELETE, TRANSACTION_ID, () -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new OptimisticLockingFailureException("stale version");
+                }
+            });
+
+            assertThat(calls.get()).isEqualTo(2);
+            assertThat(retries()).isEqualTo(1);
+            assertThat(exhausted()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should retry on duplicate key from concurrent insert")
+        void shouldRetryOnDuplicateKey() {
+            var calls = new AtomicInteger();
+
+            retrier.execute(USERNAME, ActionType.DELETE, TRANSACTION_ID, () -> {
+                if (calls.incrementAndGet() < 3) {
+                    throw new DuplicateKeyException("username");
+                }
+            });
+
+            assertThat(calls.get()).isEqualTo(3);
+            assertThat(retries()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should rethrow and count exhaustion after max attempts")
+        void shouldRethrowAfterMaxAttempts() {
+            var calls = new AtomicInteger();
+
+            assertThatThrownBy(() -> retrier.execute(USERNAME, ActionType.DELETE, TRANSACTION_ID, () -> {
+                calls.incrementAndGet();
+                throw new OptimisticLockingFailureException("stale version");
+            })).isInstanceOf(OptimisticLockingFailureException.class);
+
+            assertThat(calls.get()).isEqualTo(3);
+            assertThat(retries()).isEqualTo(2);
+            assertThat(exhausted()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not tag retry counters with the trainer")
+        void shouldNotTagRetriesWithTrainer() {
+            var calls = new AtomicInteger();
+
+            retrier.execute(USERNAME, ActionType.DELETE, TRANSACTION_ID, () -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new OptimisticLockingFailureException("stale version");
+                }
+            });
+
+            assertThat(registry.get("workload.write.retries").counter().getId().getTag("trainer")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should not retry unrelated exceptions")
+        void shouldNotRetryUnrelatedExceptions() {
+            var calls = new AtomicInteger();
+
+            assertThatThrownBy(() -> retrier.execute(USERNAME, ActionType.DELETE, TRANSACTION_ID, () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(retries()).isZero();
+        }
+    }
+}